@@ -0,0 +1,118 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import hudson.util.ArgumentListBuilder;
+
+/**
+ * The common arguments of a CLI invocation, together with the host connection endpoint they were built for and the slot they
+ * hold on their host connection.
+ * <p>
+ * The endpoint counts as in flight, and the slot counts against the maximum number of concurrent invocations per host
+ * connection, until this is closed, so close it once the CLI has finished, preferably with try-with-resources. Report the
+ * outcome of the invocation through {@link #recordExitCode(int, int...)} so it is recorded against the endpoint that was used
+ * and in the {@link HostConnectionUsage} statistics of the connection.
+ */
+public class CLIArguments implements AutoCloseable
+{
+	// Member Variables
+	private final ArgumentListBuilder m_args;
+	private final HostEndpointSelector.Selection m_selection;
+	private final HostConnectionLimiter.Permit m_permit;
+	private final HostConnectionUsage.Invocation m_invocation;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param args
+	 *            the arguments
+	 * @param selection
+	 *            the selected endpoint
+	 * @param permit
+	 *            the slot on the host connection; can be null
+	 * @param invocation
+	 *            the usage of the host connection by the invocation; can be null
+	 */
+	CLIArguments(ArgumentListBuilder args, HostEndpointSelector.Selection selection, HostConnectionLimiter.Permit permit,
+			HostConnectionUsage.Invocation invocation)
+	{
+		m_args = args;
+		m_selection = selection;
+		m_permit = permit;
+		m_invocation = invocation;
+	}
+
+	/**
+	 * Returns the arguments.
+	 *
+	 * @return the argument list builder
+	 */
+	public ArgumentListBuilder getArgumentBuilder()
+	{
+		return m_args;
+	}
+
+	/**
+	 * Returns the host connection endpoint the arguments were built for.
+	 *
+	 * @return the selected endpoint
+	 */
+	public HostEndpointSelector.Selection getSelection()
+	{
+		return m_selection;
+	}
+
+	/**
+	 * Records the outcome of the invocation against the circuit of the selected endpoint and in the usage statistics.
+	 *
+	 * @param exitCode
+	 *            the CLI exit code
+	 * @param connectionFailureExitCodes
+	 *            the exit codes that mean the host could not be reached
+	 */
+	public void recordExitCode(int exitCode, int... connectionFailureExitCodes)
+	{
+		m_selection.recordExitCode(exitCode, connectionFailureExitCodes);
+		if (m_invocation != null)
+		{
+			m_invocation.setExitCode(exitCode);
+		}
+	}
+
+	/**
+	 * Records the usage of the host connection, and releases the selected endpoint and the slot on the host connection.
+	 */
+	@Override
+	public void close()
+	{
+		try
+		{
+			if (m_invocation != null)
+			{
+				m_invocation.close();
+			}
+			m_selection.close();
+		}
+		finally
+		{
+			if (m_permit != null)
+			{
+				m_permit.close();
+			}
+		}
+	}
+}
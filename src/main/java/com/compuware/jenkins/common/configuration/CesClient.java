@@ -0,0 +1,251 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+import hudson.ProxyConfiguration;
+
+/**
+ * Class used to make REST calls against a single CES URL.
+ * <p>
+ * Instances are shared by every consumer of the same CES URL and are obtained from {@link CesClientRegistry}. Connections are
+ * opened through the Jenkins proxy configuration and kept alive and reused between calls, and the number of calls in flight
+ * against the CES host is limited by a permit shared with every client for that host.
+ */
+public class CesClient
+{
+	// Constants
+	private static final int BUFFER_SIZE = 8192;
+	private static final int CONNECT_TIMEOUT_MILLIS = 30000;
+	private static final String GET = "GET"; //$NON-NLS-1$
+
+	// Member Variables
+	private final String m_baseUrl;
+	private final int m_readTimeoutMillis;
+	private final Semaphore m_hostPermits;
+	private volatile long m_lastUsed = System.currentTimeMillis();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param baseUrl
+	 *            the normalized CES URL, without a trailing slash
+	 * @param readTimeoutMillis
+	 *            the read timeout in milliseconds; 0 for no timeout
+	 * @param hostPermits
+	 *            the permits limiting concurrent calls against the CES host
+	 */
+	CesClient(String baseUrl, int readTimeoutMillis, Semaphore hostPermits)
+	{
+		m_baseUrl = baseUrl;
+		m_readTimeoutMillis = readTimeoutMillis;
+		m_hostPermits = hostPermits;
+	}
+
+	/**
+	 * Returns the normalized CES URL this client calls.
+	 *
+	 * @return the CES URL
+	 */
+	public String getBaseUrl()
+	{
+		return m_baseUrl;
+	}
+
+	/**
+	 * Returns the read timeout of this client.
+	 *
+	 * @return the read timeout in milliseconds; 0 for no timeout
+	 */
+	int getReadTimeoutMillis()
+	{
+		return m_readTimeoutMillis;
+	}
+
+	/**
+	 * Returns the time this client was last used.
+	 *
+	 * @return the time in milliseconds
+	 */
+	long getLastUsed()
+	{
+		return m_lastUsed;
+	}
+
+	/**
+	 * Performs a GET request.
+	 *
+	 * @param path
+	 *            the request path, relative to the CES URL
+	 * @param headers
+	 *            the request headers; can be null
+	 *
+	 * @return the response
+	 * @throws IOException
+	 *             if the request could not be completed
+	 */
+	public CesResponse get(String path, Map<String, String> headers) throws IOException
+	{
+		return execute(GET, path, headers, null);
+	}
+
+	/**
+	 * Performs a request.
+	 *
+	 * @param method
+	 *            the HTTP method
+	 * @param path
+	 *            the request path, relative to the CES URL
+	 * @param headers
+	 *            the request headers; can be null
+	 * @param body
+	 *            the request body; can be null
+	 *
+	 * @return the response
+	 * @throws IOException
+	 *             if the request could not be completed
+	 */
+	public CesResponse execute(String method, String path, Map<String, String> headers, byte[] body) throws IOException
+	{
+		URL url = new URL(resolve(path));
+
+		acquirePermit();
+		try
+		{
+			HttpURLConnection connection = (HttpURLConnection) ProxyConfiguration.open(url);
+
+			connection.setRequestMethod(method);
+			connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+			connection.setReadTimeout(m_readTimeoutMillis);
+			connection.setUseCaches(false);
+
+			Map<String, String> requestHeaders = headers != null ? headers : Collections.<String, String>emptyMap();
+			for (Map.Entry<String, String> header : requestHeaders.entrySet())
+			{
+				connection.setRequestProperty(header.getKey(), header.getValue());
+			}
+
+			if (body != null)
+			{
+				connection.setDoOutput(true);
+				connection.setFixedLengthStreamingMode(body.length);
+				try (OutputStream out = connection.getOutputStream())
+				{
+					out.write(body);
+				}
+			}
+
+			int status = connection.getResponseCode();
+
+			// the body must be read to the end and closed for the connection to be returned to the keep-alive cache
+			InputStream in = status >= HttpURLConnection.HTTP_BAD_REQUEST ? connection.getErrorStream()
+					: connection.getInputStream();
+			byte[] responseBody = readFully(in);
+
+			return new CesResponse(status, connection.getHeaderFields(), responseBody);
+		}
+		finally
+		{
+			m_lastUsed = System.currentTimeMillis();
+			m_hostPermits.release();
+		}
+	}
+
+	/**
+	 * Resolves the given path against the CES URL.
+	 *
+	 * @param path
+	 *            the request path
+	 *
+	 * @return the absolute URL
+	 */
+	String resolve(String path)
+	{
+		if (path == null || path.isEmpty())
+		{
+			return m_baseUrl;
+		}
+
+		return path.startsWith(CommonConstants.SLASH) ? m_baseUrl + path : m_baseUrl + CommonConstants.SLASH + path;
+	}
+
+	/**
+	 * Waits for a free connection to the CES host.
+	 *
+	 * @throws IOException
+	 *             if no connection became free in time or the wait was interrupted
+	 */
+	private void acquirePermit() throws IOException
+	{
+		try
+		{
+			if (!m_hostPermits.tryAcquire(CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+			{
+				throw new IOException(String.format("Timed out waiting for a connection to %s", m_baseUrl)); //$NON-NLS-1$
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads and closes the given stream.
+	 *
+	 * @param in
+	 *            the stream to read; can be null
+	 *
+	 * @return the bytes read
+	 * @throws IOException
+	 *             if the stream could not be read
+	 */
+	private static byte[] readFully(InputStream in) throws IOException
+	{
+		if (in == null)
+		{
+			return new byte[0];
+		}
+
+		try (InputStream stream = in)
+		{
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int count;
+			while ((count = stream.read(buffer)) != -1)
+			{
+				out.write(buffer, 0, count);
+			}
+
+			return out.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,289 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+/**
+ * Class used to share {@link CesClient} instances between every consumer of a CES URL.
+ * <p>
+ * Clients are keyed by the normalized CES URL and the read timeout of a {@link HostConnection}, so "HTTPS://Host/" and
+ * "https://host:443" share a client while connections with different timeouts each get their own. Clients that have not been
+ * used for the idle timeout are evicted, and a client is invalidated whenever the host connection it was created for changes.
+ */
+public class CesClientRegistry
+{
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.CesClientRegistry"); //$NON-NLS-1$
+
+	private static final char KEY_SEPARATOR = '#';
+	private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = Integer
+			.getInteger(CesClientRegistry.class.getName() + ".maxConnectionsPerHost", 10); //$NON-NLS-1$
+	private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES
+			.toMillis(Long.getLong(CesClientRegistry.class.getName() + ".idleTimeoutMinutes", 10)); //$NON-NLS-1$
+
+	private static final CesClientRegistry INSTANCE = new CesClientRegistry(DEFAULT_MAX_CONNECTIONS_PER_HOST,
+			DEFAULT_IDLE_TIMEOUT_MILLIS);
+
+	// Member Variables
+	private final int m_maxConnectionsPerHost;
+	private final long m_idleTimeoutMillis;
+	private final ConcurrentMap<String, CesClient> m_clients = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Semaphore> m_hostPermits = new ConcurrentHashMap<>();
+	private volatile long m_lastEviction = System.currentTimeMillis();
+
+	/**
+	 * Returns the shared registry.
+	 *
+	 * @return the registry
+	 */
+	public static CesClientRegistry get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxConnectionsPerHost
+	 *            the maximum number of concurrent calls against a CES host
+	 * @param idleTimeoutMillis
+	 *            the time after which an unused client is evicted
+	 */
+	CesClientRegistry(int maxConnectionsPerHost, long idleTimeoutMillis)
+	{
+		m_maxConnectionsPerHost = maxConnectionsPerHost;
+		m_idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	/**
+	 * Returns the client for the CES URL and timeout of the given host connection.
+	 *
+	 * @param connection
+	 *            the host connection
+	 *
+	 * @return the shared client
+	 * @throws IllegalArgumentException
+	 *             if the host connection does not have a valid CES URL
+	 */
+	public CesClient getClient(final HostConnection connection)
+	{
+		evictIdleClients();
+
+		final String cesUrl = normalize(connection.getCesUrl());
+		final int readTimeoutMillis = (int) Math.min(Integer.MAX_VALUE,
+				TimeUnit.MINUTES.toMillis(NumberUtils.toLong(connection.getTimeout())));
+		final String key = cesUrl + KEY_SEPARATOR + readTimeoutMillis;
+		CesClient client = m_clients.get(key);
+		if (client == null)
+		{
+			CesClient newClient = createClient(cesUrl, readTimeoutMillis);
+			client = m_clients.putIfAbsent(key, newClient);
+			if (client == null)
+			{
+				client = newClient;
+			}
+		}
+
+		return client;
+	}
+
+	/**
+	 * Drops the clients for the given CES URL, whatever their timeout; the next request for it creates a new client.
+	 *
+	 * @param cesUrl
+	 *            the CES URL
+	 */
+	public void invalidate(String cesUrl)
+	{
+		if (StringUtils.isNotBlank(cesUrl))
+		{
+			try
+			{
+				String prefix = normalize(cesUrl) + KEY_SEPARATOR;
+				m_clients.keySet().removeIf(key -> key.startsWith(prefix));
+			}
+			catch (IllegalArgumentException e)
+			{
+				// an invalid URL never had a client
+				LOGGER.log(Level.FINEST, e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * Invalidates the clients and cached responses of every connection that was removed or changed.
+	 *
+	 * @param oldConnections
+	 *            the host connections before the change
+	 * @param newConnections
+	 *            the host connections after the change
+	 */
+	public void invalidateChanged(HostConnection[] oldConnections, HostConnection[] newConnections)
+	{
+		for (HostConnection oldConnection : oldConnections)
+		{
+			HostConnection newConnection = null;
+			for (HostConnection connection : newConnections)
+			{
+				if (StringUtils.equalsIgnoreCase(oldConnection.getConnectionId(), connection.getConnectionId()))
+				{
+					newConnection = connection;
+					break;
+				}
+			}
+
+			if (newConnection == null || !StringUtils.equals(oldConnection.getCesUrl(), newConnection.getCesUrl())
+					|| !StringUtils.equals(oldConnection.getTimeout(), newConnection.getTimeout()))
+			{
+				invalidate(oldConnection.getCesUrl());
+				CesResponseCache.get().invalidateConnection(oldConnection.getConnectionId());
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of clients currently held.
+	 *
+	 * @return the number of clients
+	 */
+	int size()
+	{
+		return m_clients.size();
+	}
+
+	/**
+	 * Drops every client that has not been used within the idle timeout.
+	 * <p>
+	 * Eviction runs at most once per idle timeout period, from whichever caller gets here first.
+	 */
+	void evictIdleClients()
+	{
+		long now = System.currentTimeMillis();
+		long lastEviction = m_lastEviction;
+		if (now - lastEviction < m_idleTimeoutMillis)
+		{
+			return;
+		}
+		m_lastEviction = now;
+
+		Iterator<Map.Entry<String, CesClient>> iterator = m_clients.entrySet().iterator();
+		while (iterator.hasNext())
+		{
+			Map.Entry<String, CesClient> entry = iterator.next();
+			if (now - entry.getValue().getLastUsed() >= m_idleTimeoutMillis)
+			{
+				iterator.remove();
+				LOGGER.fine(String.format("Evicted idle CES client for %s", entry.getKey())); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Creates a client for the given normalized CES URL.
+	 *
+	 * @param cesUrl
+	 *            the normalized CES URL
+	 * @param readTimeoutMillis
+	 *            the read timeout in milliseconds; 0 for no timeout
+	 *
+	 * @return the new client
+	 */
+	private CesClient createClient(String cesUrl, int readTimeoutMillis)
+	{
+		URL url = toUrl(cesUrl);
+		String authority = url.getHost() + CommonConstants.COLON + url.getPort();
+		Semaphore permits = m_hostPermits.get(authority);
+		if (permits == null)
+		{
+			Semaphore newPermits = new Semaphore(m_maxConnectionsPerHost, true);
+			permits = m_hostPermits.putIfAbsent(authority, newPermits);
+			if (permits == null)
+			{
+				permits = newPermits;
+			}
+		}
+
+		return new CesClient(cesUrl, readTimeoutMillis, permits);
+	}
+
+	/**
+	 * Normalizes the given CES URL.
+	 * <p>
+	 * The scheme and host are lower cased, the default port is made explicit and any trailing slashes are removed.
+	 *
+	 * @param cesUrl
+	 *            the CES URL
+	 *
+	 * @return the normalized CES URL
+	 * @throws IllegalArgumentException
+	 *             if the CES URL is blank or not valid
+	 */
+	public static String normalize(String cesUrl)
+	{
+		String trimmedUrl = StringUtils.trimToEmpty(cesUrl);
+		if (trimmedUrl.isEmpty())
+		{
+			throw new IllegalArgumentException(Messages.checkCesUrlInvalidError());
+		}
+
+		URL url = toUrl(trimmedUrl);
+		String scheme = url.getProtocol().toLowerCase(Locale.ENGLISH);
+		String host = url.getHost().toLowerCase(Locale.ENGLISH);
+		int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+		String path = StringUtils.stripEnd(url.getPath(), CommonConstants.SLASH);
+
+		return scheme + "://" + host + CommonConstants.COLON + port + path; //$NON-NLS-1$
+	}
+
+	/**
+	 * Converts the given string to a URL.
+	 *
+	 * @param urlString
+	 *            the URL string
+	 *
+	 * @return the URL
+	 * @throws IllegalArgumentException
+	 *             if the string is not a valid URL
+	 */
+	private static URL toUrl(String urlString)
+	{
+		try
+		{
+			return new URL(urlString);
+		}
+		catch (MalformedURLException e)
+		{
+			throw new IllegalArgumentException(Messages.checkCesUrlInvalidError(), e);
+		}
+	}
+}
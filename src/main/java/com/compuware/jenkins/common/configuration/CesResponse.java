@@ -0,0 +1,127 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Class used to hold a fully read response from a CES REST call.
+ * <p>
+ * Responses are immutable, since a cached response is handed to every caller of the same request.
+ */
+public class CesResponse
+{
+	// Member Variables
+	private final int m_status;
+	private final Map<String, List<String>> m_headers;
+	private final byte[] m_body;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param status
+	 *            the HTTP status code
+	 * @param headers
+	 *            the response headers
+	 * @param body
+	 *            the response body; never null. It is copied.
+	 */
+	public CesResponse(int status, Map<String, List<String>> headers, byte[] body)
+	{
+		m_status = status;
+
+		// header names are case insensitive; the status line is reported under a null key and is dropped
+		Map<String, List<String>> caseInsensitiveHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (Map.Entry<String, List<String>> entry : headers.entrySet())
+		{
+			if (entry.getKey() != null)
+			{
+				caseInsensitiveHeaders.put(entry.getKey(), entry.getValue());
+			}
+		}
+		m_headers = Collections.unmodifiableMap(caseInsensitiveHeaders);
+		m_body = body.clone();
+	}
+
+	/**
+	 * Returns the HTTP status code.
+	 *
+	 * @return the status code
+	 */
+	public int getStatus()
+	{
+		return m_status;
+	}
+
+	/**
+	 * Returns the response headers, keyed case insensitively.
+	 *
+	 * @return the headers
+	 */
+	public Map<String, List<String>> getHeaders()
+	{
+		return m_headers;
+	}
+
+	/**
+	 * Returns the first value of the given response header.
+	 *
+	 * @param name
+	 *            the header name
+	 *
+	 * @return the header value; can be null
+	 */
+	public String getHeader(String name)
+	{
+		List<String> values = m_headers.get(name);
+		return values == null || values.isEmpty() ? null : values.get(0);
+	}
+
+	/**
+	 * Returns the raw response body.
+	 *
+	 * @return a copy of the body
+	 */
+	public byte[] getBody()
+	{
+		return m_body.clone();
+	}
+
+	/**
+	 * Returns the length of the response body.
+	 *
+	 * @return the length in bytes
+	 */
+	public int getBodyLength()
+	{
+		return m_body.length;
+	}
+
+	/**
+	 * Returns the response body decoded as UTF-8.
+	 *
+	 * @return the body text
+	 */
+	public String getBodyAsString()
+	{
+		return new String(m_body, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,348 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Class used to cache the responses of idempotent CES REST reads.
+ * <p>
+ * Responses are keyed by host connection, credentials, request URI and request headers, so that different users never share
+ * an entry and a request for another representation, such as a different <code>Accept</code> header, is never answered with
+ * the wrong one. A cached
+ * response is returned without a request until its time to live expires; after that it is revalidated with a conditional
+ * request using its ETag or Last-Modified value, and a "304 Not Modified" answer renews it. The cache is bounded by the total
+ * size of the cached bodies and evicts the least recently used entries first.
+ */
+public class CesResponseCache
+{
+	// Constants
+	private static final String CACHE_CONTROL = "Cache-Control"; //$NON-NLS-1$
+	private static final String NO_STORE = "no-store"; //$NON-NLS-1$
+	private static final String ETAG = "ETag"; //$NON-NLS-1$
+	private static final String LAST_MODIFIED = "Last-Modified"; //$NON-NLS-1$
+	private static final String IF_NONE_MATCH = "If-None-Match"; //$NON-NLS-1$
+	private static final String IF_MODIFIED_SINCE = "If-Modified-Since"; //$NON-NLS-1$
+	private static final char KEY_SEPARATOR = '\n';
+
+	private static final long DEFAULT_MAX_BYTES = Long.getLong(CesResponseCache.class.getName() + ".maxBytes", //$NON-NLS-1$
+			32L * 1024 * 1024);
+	private static final long DEFAULT_TTL_MILLIS = TimeUnit.SECONDS
+			.toMillis(Long.getLong(CesResponseCache.class.getName() + ".ttlSeconds", 60)); //$NON-NLS-1$
+
+	private static final CesResponseCache INSTANCE = new CesResponseCache(DEFAULT_MAX_BYTES, DEFAULT_TTL_MILLIS);
+
+	// Member Variables
+	private final long m_maxBytes;
+	private final long m_defaultTtlMillis;
+	private final ConcurrentMap<String, Long> m_endpointTtls = new ConcurrentHashMap<>();
+	private final LinkedHashMap<String, Entry> m_entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long m_currentBytes;
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the cache
+	 */
+	public static CesResponseCache get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxBytes
+	 *            the maximum total size of the cached response bodies
+	 * @param defaultTtlMillis
+	 *            the time to live of responses with no endpoint specific time to live
+	 */
+	CesResponseCache(long maxBytes, long defaultTtlMillis)
+	{
+		m_maxBytes = maxBytes;
+		m_defaultTtlMillis = defaultTtlMillis;
+	}
+
+	/**
+	 * Sets the time to live for every request path starting with the given prefix.
+	 * <p>
+	 * When several prefixes match a path, the longest one wins. A time to live of 0 revalidates every read.
+	 *
+	 * @param pathPrefix
+	 *            the request path prefix, relative to the CES URL
+	 * @param ttl
+	 *            the time to live
+	 * @param unit
+	 *            the unit of the time to live
+	 */
+	public void setTtl(String pathPrefix, long ttl, TimeUnit unit)
+	{
+		m_endpointTtls.put(pathPrefix, unit.toMillis(ttl));
+	}
+
+	/**
+	 * Performs a cached GET request.
+	 *
+	 * @param client
+	 *            the client for the CES URL of the connection
+	 * @param connectionId
+	 *            the identifier of the host connection the request is made for
+	 * @param credentialsId
+	 *            the identifier of the credentials the request is authorized with
+	 * @param path
+	 *            the request path, relative to the CES URL
+	 * @param headers
+	 *            the request headers; can be null
+	 *
+	 * @return the cached or fresh response
+	 * @throws IOException
+	 *             if the request could not be completed
+	 */
+	public CesResponse get(CesClient client, String connectionId, String credentialsId, String path,
+			Map<String, String> headers) throws IOException
+	{
+		String key = getKey(connectionId, credentialsId, client.resolve(path), headers);
+		long now = System.currentTimeMillis();
+
+		Entry entry;
+		synchronized (m_entries)
+		{
+			entry = m_entries.get(key);
+		}
+
+		if (entry != null && now < entry.m_expiresAt)
+		{
+			return entry.m_response;
+		}
+
+		Map<String, String> requestHeaders = new HashMap<>();
+		if (headers != null)
+		{
+			requestHeaders.putAll(headers);
+		}
+		if (entry != null)
+		{
+			if (entry.m_etag != null)
+			{
+				requestHeaders.put(IF_NONE_MATCH, entry.m_etag);
+			}
+			if (entry.m_lastModified != null)
+			{
+				requestHeaders.put(IF_MODIFIED_SINCE, entry.m_lastModified);
+			}
+		}
+
+		CesResponse response = client.get(path, requestHeaders);
+		long expiresAt = System.currentTimeMillis() + getTtl(path);
+
+		if (entry != null && response.getStatus() == HttpURLConnection.HTTP_NOT_MODIFIED)
+		{
+			put(key, new Entry(entry.m_response, entry.m_etag, entry.m_lastModified, expiresAt));
+			return entry.m_response;
+		}
+
+		if (isCacheable(response))
+		{
+			put(key, new Entry(response, response.getHeader(ETAG), response.getHeader(LAST_MODIFIED), expiresAt));
+		}
+
+		return response;
+	}
+
+	/**
+	 * Removes every cached response of the given host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 */
+	public void invalidateConnection(String connectionId)
+	{
+		String prefix = connectionId.toLowerCase(Locale.ENGLISH) + KEY_SEPARATOR;
+		synchronized (m_entries)
+		{
+			Iterator<Map.Entry<String, Entry>> iterator = m_entries.entrySet().iterator();
+			while (iterator.hasNext())
+			{
+				Map.Entry<String, Entry> mapEntry = iterator.next();
+				if (mapEntry.getKey().startsWith(prefix))
+				{
+					m_currentBytes -= mapEntry.getValue().size();
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the total size of the cached response bodies.
+	 *
+	 * @return the size in bytes
+	 */
+	long getCurrentBytes()
+	{
+		synchronized (m_entries)
+		{
+			return m_currentBytes;
+		}
+	}
+
+	/**
+	 * Returns the cache key of a request.
+	 * <p>
+	 * Host connection identifiers are compared ignoring case, as everywhere else; header names are too, and the headers are
+	 * sorted so their order does not matter.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param credentialsId
+	 *            the credentials identifier
+	 * @param uri
+	 *            the request URI
+	 * @param headers
+	 *            the request headers; can be null
+	 *
+	 * @return the key
+	 */
+	private static String getKey(String connectionId, String credentialsId, String uri, Map<String, String> headers)
+	{
+		StringBuilder key = new StringBuilder();
+		key.append(connectionId.toLowerCase(Locale.ENGLISH)).append(KEY_SEPARATOR).append(credentialsId).append(KEY_SEPARATOR)
+				.append(uri);
+		if (headers != null && !headers.isEmpty())
+		{
+			Map<String, String> sortedHeaders = new TreeMap<>();
+			for (Map.Entry<String, String> header : headers.entrySet())
+			{
+				sortedHeaders.put(header.getKey().toLowerCase(Locale.ENGLISH), header.getValue());
+			}
+			for (Map.Entry<String, String> header : sortedHeaders.entrySet())
+			{
+				key.append(KEY_SEPARATOR).append(header.getKey()).append(':').append(header.getValue());
+			}
+		}
+
+		return key.toString();
+	}
+
+	/**
+	 * Returns the time to live for the given request path.
+	 *
+	 * @param path
+	 *            the request path
+	 *
+	 * @return the time to live in milliseconds
+	 */
+	private long getTtl(String path)
+	{
+		long ttl = m_defaultTtlMillis;
+		int matchLength = -1;
+		for (Map.Entry<String, Long> endpointTtl : m_endpointTtls.entrySet())
+		{
+			String prefix = endpointTtl.getKey();
+			if (StringUtils.startsWith(path, prefix) && prefix.length() > matchLength)
+			{
+				ttl = endpointTtl.getValue();
+				matchLength = prefix.length();
+			}
+		}
+
+		return ttl;
+	}
+
+	/**
+	 * Adds an entry, evicting the least recently used entries until the cache is back within its size limit.
+	 *
+	 * @param key
+	 *            the cache key
+	 * @param entry
+	 *            the entry to add
+	 */
+	private void put(String key, Entry entry)
+	{
+		if (entry.size() > m_maxBytes)
+		{
+			return;
+		}
+
+		synchronized (m_entries)
+		{
+			Entry previous = m_entries.put(key, entry);
+			if (previous != null)
+			{
+				m_currentBytes -= previous.size();
+			}
+			m_currentBytes += entry.size();
+
+			Iterator<Entry> iterator = m_entries.values().iterator();
+			while (m_currentBytes > m_maxBytes && iterator.hasNext())
+			{
+				m_currentBytes -= iterator.next().size();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given response may be cached.
+	 *
+	 * @param response
+	 *            the response
+	 *
+	 * @return <code>true</code> if the response may be cached
+	 */
+	private static boolean isCacheable(CesResponse response)
+	{
+		return response.getStatus() == HttpURLConnection.HTTP_OK
+				&& !StringUtils.containsIgnoreCase(response.getHeader(CACHE_CONTROL), NO_STORE);
+	}
+
+	/**
+	 * A cached response along with its validators.
+	 */
+	private static final class Entry
+	{
+		private final CesResponse m_response;
+		private final String m_etag;
+		private final String m_lastModified;
+		private final long m_expiresAt;
+
+		private Entry(CesResponse response, String etag, String lastModified, long expiresAt)
+		{
+			m_response = response;
+			m_etag = etag;
+			m_lastModified = lastModified;
+			m_expiresAt = expiresAt;
+		}
+
+		private long size()
+		{
+			return m_response.getBodyLength();
+		}
+	}
+}
@@ -0,0 +1,282 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+
+import com.compuware.jenkins.common.utils.CodePageTranscoder;
+import com.compuware.jenkins.common.utils.NumericStringComparator;
+
+/**
+ * Registry of the code pages a host connection can use, parsed once from the code page mappings.
+ * <p>
+ * Entries are keyed by code page number, so "37" and "037" resolve to the same entry, and list in display order. Each entry
+ * knows the JDK charset of its code page, if there is one, and its {@link CodePageTranscoder} if the code page is single-byte;
+ * both are looked up the first time they are asked for, so listing or validating code pages builds no transcoders. The
+ * registry is immutable.
+ */
+public final class CodePageRegistry
+{
+	// Constants
+	private static final String CODE_PAGE_MAPPINGS = "com.compuware.jenkins.common.configuration.codePageMappings"; //$NON-NLS-1$
+
+	/**
+	 * Holder for the lazily parsed shared registry.
+	 */
+	private static final class Holder
+	{
+		private static final CodePageRegistry INSTANCE = new CodePageRegistry(ResourceBundle.getBundle(CODE_PAGE_MAPPINGS));
+	}
+
+	// Member Variables
+	private final Map<Integer, Entry> m_entries;
+	private final List<Entry> m_sortedEntries;
+
+	/**
+	 * Returns the registry of the code pages in the code page mappings.
+	 *
+	 * @return the registry
+	 */
+	public static CodePageRegistry get()
+	{
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param mappings
+	 *            the code page mappings, from code page to description
+	 */
+	CodePageRegistry(ResourceBundle mappings)
+	{
+		List<String> codePages = new ArrayList<>(mappings.keySet());
+		Collections.sort(codePages, new NumericStringComparator());
+
+		Map<Integer, Entry> entries = new HashMap<>();
+		List<Entry> sortedEntries = new ArrayList<>();
+		for (String codePage : codePages)
+		{
+			int number = NumberUtils.toInt(codePage, -1);
+			if (number >= 0 && !entries.containsKey(number))
+			{
+				Entry entry = new Entry(number, codePage, mappings.getString(codePage), sortedEntries.size());
+				entries.put(number, entry);
+				sortedEntries.add(entry);
+			}
+		}
+
+		m_entries = Collections.unmodifiableMap(entries);
+		m_sortedEntries = Collections.unmodifiableList(sortedEntries);
+	}
+
+	/**
+	 * Returns the entry for the given code page number.
+	 *
+	 * @param number
+	 *            the code page number
+	 *
+	 * @return the entry, or null if the code page is not registered
+	 */
+	public Entry getEntry(int number)
+	{
+		return m_entries.get(number);
+	}
+
+	/**
+	 * Returns the entry for the given code page, as stored in a host connection.
+	 *
+	 * @param codePage
+	 *            the code page, such as "1047"
+	 *
+	 * @return the entry, or null if the code page is not a number or not registered
+	 */
+	public Entry getEntry(String codePage)
+	{
+		int number = NumberUtils.toInt(StringUtils.trimToEmpty(codePage), -1);
+		return number >= 0 ? getEntry(number) : null;
+	}
+
+	/**
+	 * Returns whether the given code page is registered.
+	 *
+	 * @param codePage
+	 *            the code page
+	 *
+	 * @return <code>true</code> if the code page is registered
+	 */
+	public boolean isRegistered(String codePage)
+	{
+		return getEntry(codePage) != null;
+	}
+
+	/**
+	 * Returns the JDK charset of the given code page.
+	 *
+	 * @param codePage
+	 *            the code page
+	 *
+	 * @return the charset, or null if the code page is not registered or the JVM has no charset for it
+	 */
+	public Charset getCharset(String codePage)
+	{
+		Entry entry = getEntry(codePage);
+		return entry != null ? entry.getCharset() : null;
+	}
+
+	/**
+	 * Returns the entries in display order.
+	 *
+	 * @return an unmodifiable list of the entries
+	 */
+	public List<Entry> getEntries()
+	{
+		return m_sortedEntries;
+	}
+
+	/**
+	 * A registered code page.
+	 */
+	public static final class Entry
+	{
+		private final int m_number;
+		private final String m_codePage;
+		private final String m_description;
+		private final int m_sortOrder;
+		private volatile boolean m_resolved;
+		private Charset m_charset;
+		private CodePageTranscoder m_transcoder;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param number
+		 *            the code page number
+		 * @param codePage
+		 *            the code page as stored in a host connection
+		 * @param description
+		 *            the display description
+		 * @param sortOrder
+		 *            the position in display order
+		 */
+		private Entry(int number, String codePage, String description, int sortOrder)
+		{
+			m_number = number;
+			m_codePage = codePage;
+			m_description = description;
+			m_sortOrder = sortOrder;
+		}
+
+		/**
+		 * Looks up the charset and transcoder of the code page, once.
+		 */
+		private void resolve()
+		{
+			if (!m_resolved)
+			{
+				synchronized (this)
+				{
+					if (!m_resolved)
+					{
+						try
+						{
+							m_charset = CodePageTranscoder.lookupCharset(m_number);
+							m_transcoder = CodePageTranscoder.forCodePage(m_codePage);
+						}
+						catch (UnsupportedCharsetException e)
+						{
+							// no charset, or a multi-byte one
+						}
+						m_resolved = true;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the code page number.
+		 *
+		 * @return the number
+		 */
+		public int getNumber()
+		{
+			return m_number;
+		}
+
+		/**
+		 * Returns the code page as stored in a host connection.
+		 *
+		 * @return the code page, such as "037"
+		 */
+		public String getCodePage()
+		{
+			return m_codePage;
+		}
+
+		/**
+		 * Returns the display description.
+		 *
+		 * @return the description
+		 */
+		public String getDescription()
+		{
+			return m_description;
+		}
+
+		/**
+		 * Returns the position of the entry in display order.
+		 *
+		 * @return the sort order
+		 */
+		public int getSortOrder()
+		{
+			return m_sortOrder;
+		}
+
+		/**
+		 * Returns the JDK charset of the code page.
+		 *
+		 * @return the charset, or null if the JVM has none
+		 */
+		public Charset getCharset()
+		{
+			resolve();
+			return m_charset;
+		}
+
+		/**
+		 * Returns the transcoder of the code page.
+		 *
+		 * @return the transcoder, or null if the code page has no single-byte charset
+		 */
+		public CodePageTranscoder getTranscoder()
+		{
+			resolve();
+			return m_transcoder;
+		}
+	}
+}
@@ -0,0 +1,231 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Class used to record how long builds spend resolving configuration and building CLI arguments.
+ * <p>
+ * Every stage has a {@link LatencyHistogram}, and stages timed for a known host connection are also recorded per connection.
+ * Timing a stage costs two calls to {@link System#nanoTime()} and a few uncontended atomic increments; it can be turned off
+ * with the <code>enabled</code> system property.
+ */
+public class ConfigurationMetrics
+{
+	// Constants
+	private static final boolean ENABLED = Boolean
+			.parseBoolean(System.getProperty(ConfigurationMetrics.class.getName() + ".enabled", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final ConfigurationMetrics INSTANCE = new ConfigurationMetrics(ENABLED);
+
+	/**
+	 * The timed stages.
+	 */
+	public enum Stage
+	{
+		/** Looking up a host connection by identifier. */
+		HOST_CONNECTION,
+		/** Looking up the login credentials. */
+		LOGIN_CREDENTIALS,
+		/** Extracting the certificate from certificate credentials. */
+		X509_CERTIFICATE,
+		/** Reading the installed CLI version. */
+		CLI_VERSION,
+		/** Building the common CLI arguments, including the stages above it depends on. */
+		ARGUMENT_BUILDER
+	}
+
+	// Member Variables
+	private final boolean m_enabled;
+	private final AtomicReferenceArray<LatencyHistogram> m_stages = new AtomicReferenceArray<>(Stage.values().length);
+	private final ConcurrentMap<String, AtomicReferenceArray<LatencyHistogram>> m_connections = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the metrics shared by every build on the controller.
+	 *
+	 * @return the metrics
+	 */
+	public static ConfigurationMetrics get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param enabled
+	 *            <code>false</code> to record nothing
+	 */
+	ConfigurationMetrics(boolean enabled)
+	{
+		m_enabled = enabled;
+	}
+
+	/**
+	 * Returns the start time of a stage.
+	 *
+	 * @return the value of {@link System#nanoTime()}, or 0 if the metrics are disabled
+	 */
+	public long start()
+	{
+		return m_enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records a stage that is not tied to a host connection.
+	 *
+	 * @param stage
+	 *            the stage
+	 * @param start
+	 *            the value returned by {@link #start()} when the stage began
+	 */
+	public void record(Stage stage, long start)
+	{
+		record(stage, null, start);
+	}
+
+	/**
+	 * Records a stage.
+	 *
+	 * @param stage
+	 *            the stage
+	 * @param connectionId
+	 *            the identifier of the host connection the stage ran for; null if none or unknown
+	 * @param start
+	 *            the value returned by {@link #start()} when the stage began
+	 */
+	public void record(Stage stage, String connectionId, long start)
+	{
+		if (!m_enabled)
+		{
+			return;
+		}
+
+		long nanos = System.nanoTime() - start;
+		getHistogram(m_stages, stage).record(nanos);
+		if (connectionId != null)
+		{
+			String key = connectionId.toLowerCase(Locale.ENGLISH);
+			AtomicReferenceArray<LatencyHistogram> histograms = m_connections.get(key);
+			if (histograms == null)
+			{
+				histograms = m_connections.computeIfAbsent(key,
+						k -> new AtomicReferenceArray<LatencyHistogram>(Stage.values().length));
+			}
+			getHistogram(histograms, stage).record(nanos);
+		}
+	}
+
+	/**
+	 * Returns a snapshot of every stage that has been recorded.
+	 *
+	 * @return the snapshots, in stage order, named after their stages
+	 */
+	public List<LatencyHistogram.Snapshot> getStageSnapshots()
+	{
+		return snapshots(m_stages);
+	}
+
+	/**
+	 * Returns a snapshot of every stage recorded for each host connection.
+	 *
+	 * @return the snapshots keyed by lower case host connection identifier, in identifier order
+	 */
+	public Map<String, List<LatencyHistogram.Snapshot>> getConnectionSnapshots()
+	{
+		Map<String, List<LatencyHistogram.Snapshot>> snapshots = new TreeMap<>();
+		for (Map.Entry<String, AtomicReferenceArray<LatencyHistogram>> entry : m_connections.entrySet())
+		{
+			snapshots.put(entry.getKey(), snapshots(entry.getValue()));
+		}
+
+		return snapshots;
+	}
+
+	/**
+	 * Discards everything recorded so far.
+	 */
+	public void reset()
+	{
+		for (int i = 0; i < m_stages.length(); i++)
+		{
+			m_stages.set(i, null);
+		}
+		m_connections.clear();
+	}
+
+	/**
+	 * Returns the histogram of a stage, creating it on first use.
+	 * <p>
+	 * The histogram returned is never null, even if {@link #reset()} clears the stage at the same time; a value recorded
+	 * into a histogram that a reset has just discarded is simply lost.
+	 *
+	 * @param histograms
+	 *            the histograms indexed by stage
+	 * @param stage
+	 *            the stage
+	 *
+	 * @return the histogram
+	 */
+	private static LatencyHistogram getHistogram(AtomicReferenceArray<LatencyHistogram> histograms, Stage stage)
+	{
+		int index = stage.ordinal();
+		LatencyHistogram histogram = histograms.get(index);
+		while (histogram == null)
+		{
+			LatencyHistogram newHistogram = new LatencyHistogram();
+			if (histograms.compareAndSet(index, null, newHistogram))
+			{
+				return newHistogram;
+			}
+			histogram = histograms.get(index);
+		}
+
+		return histogram;
+	}
+
+	/**
+	 * Returns snapshots of the recorded histograms.
+	 *
+	 * @param histograms
+	 *            the histograms indexed by stage
+	 *
+	 * @return the snapshots of the stages that have a histogram
+	 */
+	private static List<LatencyHistogram.Snapshot> snapshots(AtomicReferenceArray<LatencyHistogram> histograms)
+	{
+		List<LatencyHistogram.Snapshot> snapshots = new ArrayList<>();
+		for (Stage stage : Stage.values())
+		{
+			LatencyHistogram histogram = histograms.get(stage.ordinal());
+			if (histogram != null)
+			{
+				snapshots.add(histogram.snapshot(stage.name()));
+			}
+		}
+
+		return snapshots;
+	}
+}
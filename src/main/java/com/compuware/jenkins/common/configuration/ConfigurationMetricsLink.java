@@ -0,0 +1,198 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import hudson.Extension;
+import hudson.model.Api;
+import hudson.model.ManagementLink;
+import jenkins.model.Jenkins;
+
+/**
+ * Management page showing the latencies recorded by {@link ConfigurationMetrics}.
+ * <p>
+ * The same figures are available as JSON or XML through the page's remote API, <code>api/json</code>.
+ */
+@Extension
+@ExportedBean
+public class ConfigurationMetricsLink extends ManagementLink
+{
+	/* 
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName()
+	{
+		return "monitor.png"; //$NON-NLS-1$
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName()
+	{
+		return Messages.configurationMetricsDisplayName();
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see hudson.model.ManagementLink#getDescription()
+	 */
+	@Override
+	public String getDescription()
+	{
+		return Messages.configurationMetricsDescription();
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName()
+	{
+		return "compuware-metrics"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the remote API of the page.
+	 *
+	 * @return the remote API
+	 */
+	public Api getApi()
+	{
+		Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+		return new Api(this);
+	}
+
+	/**
+	 * Returns the latencies of every stage.
+	 *
+	 * @return the stage snapshots
+	 */
+	@Exported(inline = true)
+	public List<LatencyHistogram.Snapshot> getStages()
+	{
+		return ConfigurationMetrics.get().getStageSnapshots();
+	}
+
+	/**
+	 * Returns the latencies of every host connection.
+	 *
+	 * @return the host connection metrics, in identifier order
+	 */
+	@Exported(inline = true)
+	public List<ConnectionMetrics> getConnections()
+	{
+		// look up descriptions directly, so viewing the page does not add to the host connection lookup metrics
+		Map<String, String> descriptions = new HashMap<>();
+		for (HostConnection connection : CpwrGlobalConfiguration.get().getHostConnections())
+		{
+			descriptions.put(connection.getConnectionId().toLowerCase(Locale.ENGLISH), connection.getDescription());
+		}
+
+		List<ConnectionMetrics> connections = new ArrayList<>();
+		for (Map.Entry<String, List<LatencyHistogram.Snapshot>> entry : ConfigurationMetrics.get().getConnectionSnapshots()
+				.entrySet())
+		{
+			connections.add(new ConnectionMetrics(entry.getKey(), StringUtils.defaultString(descriptions.get(entry.getKey())),
+					entry.getValue()));
+		}
+
+		return connections;
+	}
+
+	/**
+	 * Discards everything recorded so far.
+	 *
+	 * @return a redirect back to the page
+	 */
+	@RequirePOST
+	public HttpResponse doReset()
+	{
+		Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+		ConfigurationMetrics.get().reset();
+		return HttpResponses.redirectToDot();
+	}
+
+	/**
+	 * The latencies recorded for one host connection.
+	 */
+	@ExportedBean(defaultVisibility = 2)
+	public static final class ConnectionMetrics
+	{
+		private final String m_connectionId;
+		private final String m_description;
+		private final List<LatencyHistogram.Snapshot> m_stages;
+
+		private ConnectionMetrics(String connectionId, String description, List<LatencyHistogram.Snapshot> stages)
+		{
+			m_connectionId = connectionId;
+			m_description = description;
+			m_stages = stages;
+		}
+
+		/**
+		 * Returns the host connection identifier.
+		 *
+		 * @return the identifier, in lower case
+		 */
+		@Exported
+		public String getConnectionId()
+		{
+			return m_connectionId;
+		}
+
+		/**
+		 * Returns the description of the host connection.
+		 *
+		 * @return the description; empty if the connection no longer exists
+		 */
+		@Exported
+		public String getDescription()
+		{
+			return m_description;
+		}
+
+		/**
+		 * Returns the latencies of the stages recorded for the host connection.
+		 *
+		 * @return the stage snapshots
+		 */
+		@Exported(inline = true)
+		public List<LatencyHistogram.Snapshot> getStages()
+		{
+			return m_stages;
+		}
+	}
+}
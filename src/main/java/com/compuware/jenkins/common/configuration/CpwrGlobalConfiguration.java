@@ -17,7 +17,14 @@
  */
 package com.compuware.jenkins.common.configuration;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.Principal;
@@ -26,18 +33,36 @@ import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.interceptor.RequirePOST;
 
 import com.cloudbees.plugins.credentials.CredentialsProvider;
 import com.cloudbees.plugins.credentials.common.StandardCertificateCredentials;
@@ -45,22 +70,31 @@ import com.cloudbees.plugins.credentials.common.StandardCredentials;
 import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
 import com.cloudbees.plugins.credentials.domains.DomainRequirement;
 import com.cloudbees.plugins.credentials.matchers.IdMatcher;
+import com.compuware.jenkins.common.configuration.ConfigurationMetrics.Stage;
 import com.compuware.jenkins.common.utils.ArgumentUtils;
 import com.compuware.jenkins.common.utils.CLIVersionUtils;
 import com.compuware.jenkins.common.utils.CommonConstants;
-import com.compuware.jenkins.common.utils.NumericStringComparator;
 
 import hudson.AbortException;
-import hudson.CopyOnWrite;
+import hudson.BulkChange;
 import hudson.Extension;
+import hudson.FilePath;
 import hudson.Launcher;
 import hudson.init.InitMilestone;
 import hudson.init.Initializer;
+import hudson.init.Terminator;
 import hudson.model.Item;
+import hudson.model.TaskListener;
+import hudson.model.listeners.SaveableListener;
 import hudson.security.ACL;
 import hudson.util.ArgumentListBuilder;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
+import hudson.util.NamingThreadFactory;
 import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 
@@ -73,7 +107,6 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	// Constants
 	private static final Logger LOGGER = Logger.getLogger("hudson.CpwrGlobalConfiguration"); //$NON-NLS-1$
 
-	private static final String CODE_PAGE_MAPPINGS = "com.compuware.jenkins.common.configuration.codePageMappings"; //$NON-NLS-1$
 	private static final String PROTOCOL_MAPPINGS = "com.compuware.jenkins.common.configuration.protocolMappings"; //$NON-NLS-1$
 	/** Host connection instance ID defined in config.jelly */
 	private static final String HOST_CONN_INSTANCE_ID = "hostConn"; //$NON-NLS-1$
@@ -84,22 +117,63 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	private static final String TIMEOUT_ID = "timeout"; //$NON-NLS-1$
 	private static final String CONNECTION_ID = "connectionId"; //$NON-NLS-1$
 	private static final String CES_URL_ID = "cesUrl"; //$NON-NLS-1$
+	private static final String ENDPOINT_POLICY_ID = "endpointPolicy"; //$NON-NLS-1$
 	private static final String TOPAZ_CLI_LOCATION_WINDOWS_ID = "topazCLILocationWindows"; //$NON-NLS-1$
 	private static final String TOPAZ_CLI_LOCATION_LINUX_ID = "topazCLILocationLinux"; //$NON-NLS-1$
+	private static final String MAX_CONCURRENT_INVOCATIONS_ID = "maxConcurrentInvocations"; //$NON-NLS-1$
 	private static final String DEFAULT_TOPAZ_CLI_LOCATION_WINDOWS = "C:\\Program Files\\Compuware\\Topaz Workbench CLI"; //$NON-NLS-1$
 	private static final String DEFAULT_TOPAZ_CLI_LOCATION_LINUX = "/opt/Compuware/TopazCLI"; //$NON-NLS-1$
 	private static final String PROTOCOL_NONE = "None"; //$NON-NLS-1$
+	private static final long SAVE_DELAY_MILLIS = Long.getLong(CpwrGlobalConfiguration.class.getName() + ".saveDelayMillis", //$NON-NLS-1$
+			2000);
+	private static final boolean JOURNAL_ENABLED = Boolean.getBoolean(CpwrGlobalConfiguration.class.getName() + ".journal"); //$NON-NLS-1$
+	private static final int JOURNAL_COMPACT_THRESHOLD = Integer
+			.getInteger(CpwrGlobalConfiguration.class.getName() + ".journalCompactThreshold", 1000); //$NON-NLS-1$
+	private static final String JOURNAL_EXTENSION = ".journal"; //$NON-NLS-1$
+	private static final int ARGUMENT_THREADS = Integer.getInteger(CpwrGlobalConfiguration.class.getName() + ".argumentThreads", //$NON-NLS-1$
+			Math.max(4, Runtime.getRuntime().availableProcessors()));
+	private static final int ARGUMENT_QUEUE_SIZE = Integer
+			.getInteger(CpwrGlobalConfiguration.class.getName() + ".argumentQueueSize", 256); //$NON-NLS-1$
+
+	// Runs the stages of getArgumentBuilderAsync. The pool and its queue are bounded; once both are full the stage runs on the
+	// calling thread, so a burst of builds degrades to the serial behavior of getArgumentBuilder instead of piling up.
+	private static final Executor ARGUMENT_EXECUTOR = createArgumentExecutor();
 	
 	// Member Variables
-	@CopyOnWrite
-	private volatile HostConnection[] m_hostConnections = new HostConnection[0];
-
+	// The saved form of the configuration: read from the configuration file by load() and written to it by save(), both
+	// holding the monitor. Everything else reads and changes the configuration through m_snapshot.
+	private HostConnection[] m_hostConnections = new HostConnection[0];
 	private String m_topazCLILocationWindows = DEFAULT_TOPAZ_CLI_LOCATION_WINDOWS;
 	private String m_topazCLILocationLinux = DEFAULT_TOPAZ_CLI_LOCATION_LINUX;
+	private int m_maxConcurrentInvocations = HostConnectionLimiter.UNLIMITED;
+
+	// The current configuration; readers take it with a single volatile read, writers publish a new one with compare-and-swap.
+	private final transient AtomicReference<GlobalConfigurationSnapshot> m_snapshot = new AtomicReference<>(
+			new GlobalConfigurationSnapshot(0, m_hostConnections, m_topazCLILocationWindows, m_topazCLILocationLinux,
+					m_maxConcurrentInvocations));
 
 	// Used to indicate if the configuration needs saving; used only in the context of migration.
 	protected transient boolean m_needsSaving = false;
 
+	// Once jobs are loaded, programmatic changes are saved by the write-behind saver.
+	private transient volatile boolean m_writeBehind = false;
+	private final transient DebouncedSaver m_saver = new DebouncedSaver(new Runnable()
+	{
+		@Override
+		public void run()
+		{
+			save();
+		}
+	}, SAVE_DELAY_MILLIS, Timer.get());
+
+	// Host connection changes appended since the configuration file was last written.
+	private transient HostConnectionJournal m_journal;
+
+	// The configuration is loaded on first access, or in the background once extensions are known, whichever comes first.
+	private final transient AtomicBoolean m_loadStarted = new AtomicBoolean();
+	private final transient CountDownLatch m_loadLatch = new CountDownLatch(1);
+	private transient volatile boolean m_loaded = false;
+
     /**
 	 * Returns the singleton instance.
 	 * 
@@ -113,11 +187,12 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	/**
 	 * Constructor.
 	 * <p>
-	 * Clients should not call this - use {@link #get()} instead.
+	 * Clients should not call this - use {@link #get()} instead. The configuration file is not read here, but on first access,
+	 * so a large configuration does not slow down extension discovery.
 	 */
 	public CpwrGlobalConfiguration()
 	{
-		load();
+		// loaded by ensureLoaded()
 	}
 
 	/**
@@ -127,24 +202,234 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public boolean needsSaving()
 	{
+		ensureLoaded();
 		return m_needsSaving;
 	}
 
+	/**
+	 * Starts loading the configuration in the background, off the startup critical path.
+	 */
+	@Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+	public static void startLoading()
+	{
+		final CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
+		Timer.get().submit(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				globalConfig.ensureLoaded();
+			}
+		});
+	}
+
 	/**
 	 * Perform initialization after all jobs have been loaded.
+	 * <p>
+	 * If the configuration is still loading, the migration save is left to the loader.
 	 */
 	@Initializer(after = InitMilestone.JOB_LOADED)
 	public static void jobLoaded()
 	{
 		CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
-		if (globalConfig.needsSaving())
+		globalConfig.m_writeBehind = true;
+		globalConfig.saveIfNeeded();
+	}
+
+	/**
+	 * Loads the configuration unless it has been loaded already.
+	 * <p>
+	 * The first caller loads it on its own thread; callers arriving while it is loading wait for it to finish. Once loaded, this
+	 * is a single volatile read.
+	 */
+	private void ensureLoaded()
+	{
+		if (m_loaded)
+		{
+			return;
+		}
+
+		if (m_loadStarted.compareAndSet(false, true))
+		{
+			load();
+			saveIfNeeded();
+			return;
+		}
+
+		long start = System.nanoTime();
+		boolean interrupted = false;
+		while (!m_loaded)
+		{
+			try
+			{
+				m_loadLatch.await();
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		LOGGER.fine(String.format("Waited %d ms for the Compuware global configuration to load.", //$NON-NLS-1$
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+	}
+
+	/**
+	 * Saves the configuration if loading it migrated old settings, once both loading and job loading have finished.
+	 */
+	private synchronized void saveIfNeeded()
+	{
+		if (m_loaded && m_writeBehind && m_needsSaving)
 		{
-			globalConfig.save();
+			save();
+			m_needsSaving = false;
 
 			LOGGER.info("Compuware global configuration has been saved."); //$NON-NLS-1$
 		}
 	}
 
+	/**
+	 * Writes any pending changes before Jenkins shuts down.
+	 */
+	@Terminator
+	public static void flushPendingSave()
+	{
+		CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
+		if (globalConfig != null)
+		{
+			globalConfig.m_saver.flush();
+		}
+	}
+
+	/**
+	 * Loads the configuration file and replays the host connection journal on top of it.
+	 * <p>
+	 * A journal is replayed even when journaling has since been turned off, so no change is lost; it is then compacted into the
+	 * configuration file once jobs are loaded.
+	 */
+	@Override
+	public synchronized void load()
+	{
+		long start = System.nanoTime();
+		try
+		{
+			loadAndReplay();
+			m_snapshot.set(m_snapshot.get().with(m_hostConnections, m_topazCLILocationWindows, m_topazCLILocationLinux,
+					m_maxConcurrentInvocations));
+		}
+		finally
+		{
+			m_loaded = true;
+			m_loadLatch.countDown();
+		}
+
+		LOGGER.info(String.format("Loaded %d Compuware host connections in %d ms on thread %s.", m_hostConnections.length, //$NON-NLS-1$
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Thread.currentThread().getName()));
+	}
+
+	/**
+	 * Reads the configuration file into the saved form and replays the host connection journal on top of it.
+	 * <p>
+	 * Package-private so benchmarks, which run without a Jenkins instance, can start from an empty configuration.
+	 */
+	void loadAndReplay()
+	{
+		super.load();
+
+		if (m_journal == null)
+		{
+			Path configPath = getConfigFile().getFile().toPath();
+			m_journal = new HostConnectionJournal(Paths.get(configPath + JOURNAL_EXTENSION));
+		}
+
+		try
+		{
+			HostConnection[] connections = m_journal.replay(m_hostConnections);
+			int recordCount = m_journal.getRecordCount();
+			if (recordCount > 0)
+			{
+				m_hostConnections = connections;
+				m_needsSaving |= !JOURNAL_ENABLED || recordCount >= JOURNAL_COMPACT_THRESHOLD;
+
+				LOGGER.info(String.format("Replayed %d host connection journal records.", recordCount)); //$NON-NLS-1$
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			// the host connections changed since the configuration file was written are missing until the journal is fixed
+			LOGGER.log(Level.SEVERE, "Unable to replay the host connection journal. It is kept as it is, and host connection " //$NON-NLS-1$
+					+ "changes are saved to the configuration file until it is repaired or removed.", e); //$NON-NLS-1$
+		}
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see hudson.model.Descriptor#save()
+	 */
+	@Override
+	public void save()
+	{
+		// never write the defaults over a configuration that has not been read yet
+		ensureLoaded();
+
+		synchronized (this)
+		{
+			// the state is written now, so a pending write-behind save has nothing left to do
+			m_saver.cancel();
+
+			GlobalConfigurationSnapshot snapshot = m_snapshot.get();
+			m_hostConnections = snapshot.hostConnections();
+			m_topazCLILocationWindows = snapshot.getTopazCLILocationWindows();
+			m_topazCLILocationLinux = snapshot.getTopazCLILocationLinux();
+			m_maxConcurrentInvocations = snapshot.getMaxConcurrentInvocations();
+
+			if (m_journal == null || m_journal.getRecordCount() == 0)
+			{
+				super.save();
+				return;
+			}
+
+			// the journal may only be reset once its records are known to be in the configuration file
+			if (BulkChange.contains(this))
+			{
+				return;
+			}
+
+			try
+			{
+				getConfigFile().write(this);
+				m_journal.reset();
+				SaveableListener.fireOnChange(this, getConfigFile());
+			}
+			catch (IOException e)
+			{
+				LOGGER.log(Level.WARNING, "Failed to save " + getConfigFile(), e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Records that the configuration changed outside of the configuration page.
+	 * <p>
+	 * Before jobs are loaded the change is saved at the <code>JOB_LOADED</code> milestone, as during migration; afterwards it
+	 * is saved by the write-behind saver, together with any other changes made within the save delay.
+	 */
+	private void changed()
+	{
+		if (m_writeBehind)
+		{
+			m_saver.requestSave();
+		}
+		else
+		{
+			m_needsSaving = true;
+		}
+	}
+
 	/**
 	 * Returns the list of host connections.
 	 * 
@@ -152,18 +437,20 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public HostConnection[] getHostConnections()
 	{
-		HostConnection[] hostConnections = new HostConnection[m_hostConnections.length];
+		HostConnection[] currentConnections = getSnapshot().hostConnections();
+		HostConnection[] hostConnections = new HostConnection[currentConnections.length];
 
-		for (int i = 0; i < m_hostConnections.length; i++)
+		for (int i = 0; i < currentConnections.length; i++)
 		{
 			hostConnections[i] = new HostConnection(
-				m_hostConnections[i].getDescription(),
-				m_hostConnections[i].getHostPort(),
-				m_hostConnections[i].getProtocol(),
-				m_hostConnections[i].getCodePage(),
-				m_hostConnections[i].getTimeout(),
-				m_hostConnections[i].getConnectionId(),
-				m_hostConnections[i].getCesUrl());
+				currentConnections[i].getDescription(),
+				currentConnections[i].getHostPorts(),
+				currentConnections[i].getProtocol(),
+				currentConnections[i].getCodePage(),
+				currentConnections[i].getTimeout(),
+				currentConnections[i].getConnectionId(),
+				currentConnections[i].getCesUrl(),
+				currentConnections[i].getEndpointPolicy());
 		}
 
 		return hostConnections;
@@ -179,20 +466,11 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public HostConnection getHostConnection(String connectionId)
 	{
-		HostConnection hostConnection = null;
-
-		if (connectionId != null)
-		{
-			for (HostConnection connection : m_hostConnections)
-			{
-				if (connectionId.equalsIgnoreCase(connection.getConnectionId()))
-				{
-					hostConnection = connection;
-					break;
-				}
-			}
-		}
+		long start = ConfigurationMetrics.get().start();
+		HostConnection hostConnection = getSnapshot().getHostConnection(connectionId);
 
+		// only known connections are recorded per connection, so unknown identifiers cannot grow the metrics
+		ConfigurationMetrics.get().record(Stage.HOST_CONNECTION, hostConnection != null ? connectionId : null, start);
 		return hostConnection;
 	}
 
@@ -204,11 +482,59 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public void setHostConnections(HostConnection... connections)
 	{
-		m_hostConnections = connections;
+		ensureLoaded();
+		if (!replaceHostConnections(connections))
+		{
+			changed();
+		}
+	}
+
+	/**
+	 * Replaces the host connections, appending the change to the journal if journaling is enabled.
+	 * <p>
+	 * Once the journal has grown past its threshold, a write-behind save compacts it into the configuration file.
+	 * 
+	 * @param connections
+	 *            the new host connections
+	 * 
+	 * @return <code>true</code> if the change was journaled; otherwise the configuration still has to be saved
+	 */
+	private boolean replaceHostConnections(HostConnection[] connections)
+	{
+		HostConnection[] oldConnections;
+		boolean journaled = false;
+
+		// host connection writers hold the monitor, so journal records are appended in publication order
+		synchronized (this)
+		{
+			oldConnections = m_snapshot.getAndUpdate(snapshot -> snapshot.withHostConnections(connections)).hostConnections();
+
+			if (JOURNAL_ENABLED && m_writeBehind && m_journal != null)
+			{
+				try
+				{
+					journaled = m_journal.append(oldConnections, connections);
+				}
+				catch (IOException e)
+				{
+					LOGGER.log(Level.WARNING, "Unable to append to the host connection journal.", e); //$NON-NLS-1$
+				}
+
+				if (journaled && m_journal.getRecordCount() >= JOURNAL_COMPACT_THRESHOLD)
+				{
+					m_saver.requestSave();
+				}
+			}
+		}
+
+		CesClientRegistry.get().invalidateChanged(oldConnections, connections);
+		return journaled;
 	}
 
 	/**
 	 * Returns a host connection for a given host:port and code page, if one exists.
+	 * <p>
+	 * A connection with several endpoints matches if any of its endpoints matches.
 	 * 
 	 * @param hostPort
 	 *            the host and port in the form of 'host:port'
@@ -219,35 +545,161 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public HostConnection getHostConnection(String hostPort, String codePage)
 	{
-		HostConnection connection = null;
+		return getSnapshot().getHostConnection(hostPort, codePage);
+	}
+
+	/**
+	 * Adds the given host connection to the list of host connections.
+	 * 
+	 * @param connection
+	 *            connection to add
+	 */
+	public void addHostConnection(HostConnection connection)
+	{
+		ensureLoaded();
+		synchronized (this)
+		{
+			List<HostConnection> newConnectionsList = new ArrayList<>(Arrays.asList(m_snapshot.get().hostConnections()));
+			newConnectionsList.add(connection);
+			setHostConnections(newConnectionsList.toArray(new HostConnection[newConnectionsList.size()]));
+		}
+	}
+
+	/**
+	 * Imports host connections in a single swap, so builds never see a partially imported list.
+	 * <p>
+	 * When merging, an imported connection replaces the existing connection with the same identifier in place, and any other
+	 * imported connection is added at the end.
+	 * 
+	 * @param connections
+	 *            the validated host connections, as read by a {@link HostConnectionImporter}
+	 * @param replace
+	 *            <code>true</code> to replace every existing connection, <code>false</code> to merge
+	 * 
+	 * @return the number of host connections configured after the import
+	 */
+	public int importHostConnections(List<HostConnection> connections, boolean replace)
+	{
+		ensureLoaded();
+
+		synchronized (this)
+		{
+			HostConnection[] currentConnections = m_snapshot.get().hostConnections();
+			Map<String, HostConnection> merged = new LinkedHashMap<>();
+			if (!replace)
+			{
+				for (HostConnection connection : currentConnections)
+				{
+					merged.put(connection.getConnectionId().toLowerCase(Locale.ENGLISH), connection);
+				}
+			}
+			for (HostConnection connection : connections)
+			{
+				merged.put(connection.getConnectionId().toLowerCase(Locale.ENGLISH), connection);
+			}
+
+			HostConnection[] hostConnectionArray = merged.values().toArray(new HostConnection[merged.size()]);
+			if (!Arrays.equals(currentConnections, hostConnectionArray) && !replaceHostConnections(hostConnectionArray))
+			{
+				save();
+			}
+
+			return hostConnectionArray.length;
+		}
+	}
+
+	/**
+	 * Imports host connections from the request body.
+	 * <p>
+	 * The body is read as UTF-8 in the format given by the <code>format</code> parameter, <code>csv</code> by default. Nothing is
+	 * imported if any row is invalid; the errors are returned with a "400 Bad Request" status.
+	 * 
+	 * @param req
+	 *            the request
+	 * @param rsp
+	 *            the response
+	 * @param format
+	 *            <code>csv</code> or <code>json</code>
+	 * @param replace
+	 *            <code>true</code> to replace every existing connection, <code>false</code> to merge
+	 * 
+	 * @throws IOException
+	 *             if the request could not be read or the response could not be written
+	 */
+	@RequirePOST
+	public void doImportHostConnections(StaplerRequest req, StaplerResponse rsp, @QueryParameter String format,
+			@QueryParameter boolean replace) throws IOException
+	{
+		Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+		rsp.setContentType("text/plain;charset=UTF-8"); //$NON-NLS-1$
+		HostConnectionFormat hostConnectionFormat;
+		try
+		{
+			hostConnectionFormat = HostConnectionFormat.fromName(StringUtils.defaultIfEmpty(format, HostConnectionFormat.CSV.name()));
+		}
+		catch (IllegalArgumentException e)
+		{
+			rsp.setStatus(StaplerResponse.SC_BAD_REQUEST);
+			rsp.getWriter().println(e.getMessage());
+			return;
+		}
 
-		String host = StringUtils.substringBefore(hostPort, CommonConstants.COLON);
-		String port = StringUtils.substringAfter(hostPort, CommonConstants.COLON);
-		for (HostConnection conn : m_hostConnections)
+		HostConnectionImporter importer = new HostConnectionImporter(
+				(HostConnection.DescriptorImpl) Jenkins.get().getDescriptorOrDie(HostConnection.class),
+				getSnapshot().hostConnections());
+		boolean valid;
+		try (Reader reader = new InputStreamReader(req.getInputStream(), StandardCharsets.UTF_8))
 		{
-			if (conn.getHost().equalsIgnoreCase(host) && conn.getPort().equalsIgnoreCase(port)
-					&& conn.getCodePage().equalsIgnoreCase(codePage))
+			valid = importer.read(reader, hostConnectionFormat);
+		}
+
+		if (!valid)
+		{
+			rsp.setStatus(StaplerResponse.SC_BAD_REQUEST);
+			for (String error : importer.getErrors())
 			{
-				connection = conn;
-				break;
+				rsp.getWriter().println(error);
 			}
+			return;
 		}
 
-		return connection;
+		int total = importHostConnections(importer.getConnections(), replace);
+		rsp.getWriter().println(Messages.importHostConnectionsResult(importer.getConnections().size(), total));
 	}
 
 	/**
-	 * Adds the given host connection to the list of host connections.
+	 * Exports the host connections in the format given by the <code>format</code> parameter, <code>csv</code> by default.
 	 * 
-	 * @param connection
-	 *            connection to add
+	 * @param rsp
+	 *            the response
+	 * @param format
+	 *            <code>csv</code> or <code>json</code>
+	 * 
+	 * @throws IOException
+	 *             if the response could not be written
 	 */
-	public void addHostConnection(HostConnection connection)
+	public void doExportHostConnections(StaplerResponse rsp, @QueryParameter String format) throws IOException
 	{
-		List<HostConnection> newConnectionsList = new ArrayList<>(Arrays.asList(m_hostConnections));
-		newConnectionsList.add(connection);
-		setHostConnections(newConnectionsList.toArray(new HostConnection[newConnectionsList.size()]));
-		m_needsSaving = true;
+		Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+		HostConnectionFormat hostConnectionFormat;
+		try
+		{
+			hostConnectionFormat = HostConnectionFormat.fromName(StringUtils.defaultIfEmpty(format, HostConnectionFormat.CSV.name()));
+		}
+		catch (IllegalArgumentException e)
+		{
+			rsp.setContentType("text/plain;charset=UTF-8"); //$NON-NLS-1$
+			rsp.setStatus(StaplerResponse.SC_BAD_REQUEST);
+			rsp.getWriter().println(e.getMessage());
+			return;
+		}
+
+		HostConnection[] hostConnections = getSnapshot().hostConnections();
+		rsp.setContentType(hostConnectionFormat.getContentType() + ";charset=UTF-8"); //$NON-NLS-1$
+		Writer writer = new OutputStreamWriter(rsp.getOutputStream(), StandardCharsets.UTF_8);
+		hostConnectionFormat.write(hostConnections, writer);
 	}
 
 	/* 
@@ -269,32 +721,96 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 		else
 		{
 			JSONArray jsonHostConnections = JSONArray.fromObject(jsonValue);
-			hostConnectionArray = new HostConnection[jsonHostConnections.size()];
+			List<HostConnection> hostConnectionList = new ArrayList<>(jsonHostConnections.size());
+			BitSet generatedIds = new BitSet();
 			
 			for (int i = 0; i < jsonHostConnections.size(); i++)
 			{
 				JSONObject jsonHostConnection = jsonHostConnections.getJSONObject(i);
-				hostConnectionArray[i] = new HostConnection(
+				String connectionId = jsonHostConnection.optString(CONNECTION_ID);
+				if (StringUtils.isBlank(connectionId))
+				{
+					generatedIds.set(i);
+				}
+				hostConnectionList.add(new HostConnection(
 					jsonHostConnection.getString(DESCRIPTION_ID),
 					jsonHostConnection.getString(HOST_PORT_ID),
 					jsonHostConnection.getString(PROTOCOL),
 					jsonHostConnection.getString(CODE_PAGE_ID),
 					jsonHostConnection.getString(TIMEOUT_ID),
-					jsonHostConnection.getString(CONNECTION_ID),
-					jsonHostConnection.getString(CES_URL_ID));
+					connectionId,
+					jsonHostConnection.getString(CES_URL_ID),
+					jsonHostConnection.optString(ENDPOINT_POLICY_ID)));
 			}
-		}
 
-		setHostConnections(hostConnectionArray);
+			// connections without an identifier keep the one of the current connection they match, as on import
+			hostConnectionList = HostConnectionImporter.reuseConnectionIds(m_snapshot.get().hostConnections(), hostConnectionList,
+					generatedIds);
+			hostConnectionArray = hostConnectionList.toArray(new HostConnection[hostConnectionList.size()]);
+		}
 
-		m_topazCLILocationWindows = json.getString(TOPAZ_CLI_LOCATION_WINDOWS_ID);
-		m_topazCLILocationLinux = json.getString(TOPAZ_CLI_LOCATION_LINUX_ID);
+		String topazCLILocationWindows = json.getString(TOPAZ_CLI_LOCATION_WINDOWS_ID);
+		String topazCLILocationLinux = json.getString(TOPAZ_CLI_LOCATION_LINUX_ID);
+		int maxConcurrentInvocations = NumberUtils.toInt(json.optString(MAX_CONCURRENT_INVOCATIONS_ID),
+				HostConnectionLimiter.UNLIMITED);
 
-		save();
+		apply(hostConnectionArray, topazCLILocationWindows, topazCLILocationLinux, maxConcurrentInvocations);
 
 		return true;
 	}
 
+	/**
+	 * Applies a complete configuration, as submitted on the configuration page or by configuration as code.
+	 * <p>
+	 * The settings are published as a single snapshot, so a build never sees the new host connections with the old CLI
+	 * locations. Nothing is saved if nothing changed, and a change to the host connections alone is journaled when journaling
+	 * is enabled.
+	 * 
+	 * @param hostConnectionArray
+	 *            the host connections
+	 * @param topazCLILocationWindows
+	 *            the CLI location on Windows
+	 * @param topazCLILocationLinux
+	 *            the CLI location on Linux
+	 * @param maxConcurrentInvocations
+	 *            the maximum number of concurrent invocations per host connection
+	 * 
+	 * @return <code>true</code> if anything changed
+	 */
+	boolean apply(HostConnection[] hostConnectionArray, String topazCLILocationWindows, String topazCLILocationLinux,
+			int maxConcurrentInvocations)
+	{
+		ensureLoaded();
+
+		synchronized (this)
+		{
+			GlobalConfigurationSnapshot current = m_snapshot.get();
+
+			// an unchanged form neither rewrites the file nor invalidates anything derived from the connections
+			if (current.hasSettings(hostConnectionArray, topazCLILocationWindows, topazCLILocationLinux, maxConcurrentInvocations))
+			{
+				LOGGER.fine("Compuware global configuration is unchanged and was not saved."); //$NON-NLS-1$
+				return false;
+			}
+
+			if (!current.hasSettings(topazCLILocationWindows, topazCLILocationLinux, maxConcurrentInvocations))
+			{
+				HostConnection[] oldConnections = m_snapshot.getAndUpdate(snapshot -> snapshot.with(hostConnectionArray,
+						topazCLILocationWindows, topazCLILocationLinux, maxConcurrentInvocations)).hostConnections();
+				CesClientRegistry.get().invalidateChanged(oldConnections, hostConnectionArray);
+			}
+			else if (replaceHostConnections(hostConnectionArray))
+			{
+				LOGGER.fine("Compuware host connection changes were journaled."); //$NON-NLS-1$
+				return true;
+			}
+
+			save();
+
+			return true;
+		}
+	}
+
 	/**
 	 * Fills in the encryption protocol selection box with encryption protocols.
 	 *
@@ -340,25 +856,29 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	{
 		ListBoxModel codePageModel = new ListBoxModel();
 
-		ResourceBundle cpBundle = ResourceBundle.getBundle(CODE_PAGE_MAPPINGS);
-		Set<String> cpNumberSet = cpBundle.keySet();
-
-		// sort the code page values (for display purposes)
-		List<String> cpNumberList = new ArrayList<>(cpNumberSet);
-		Collections.sort(cpNumberList, new NumericStringComparator());
-
-		Iterator<String> iterator = cpNumberList.iterator();
-		while (iterator.hasNext())
+		// the registry is already in display order
+		for (CodePageRegistry.Entry entry : CodePageRegistry.get().getEntries())
 		{
-			String cpNumber = iterator.next();
-			String cpDescription = cpBundle.getString(cpNumber);
-
-			codePageModel.add(cpDescription, cpNumber);
+			codePageModel.add(entry.getDescription(), entry.getCodePage());
 		}
 
 		return codePageModel;
 	}
 
+	/**
+	 * Returns the current configuration.
+	 * <p>
+	 * Callers that need several settings should take one snapshot and read them all from it, so they see a single
+	 * configuration even if it changes in the meantime.
+	 * 
+	 * @return the current configuration snapshot
+	 */
+	public GlobalConfigurationSnapshot getSnapshot()
+	{
+		ensureLoaded();
+		return m_snapshot.get();
+	}
+
 	/**
 	 * Returns the Topaz Workbench CLI location based on node.
 	 * 
@@ -369,14 +889,7 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public String getTopazCLILocation(Launcher launcher)
 	{
-		if (launcher.isUnix())
-		{
-			return m_topazCLILocationLinux;
-		}
-		else
-		{
-			return m_topazCLILocationWindows;
-		}
+		return getSnapshot().getTopazCLILocation(launcher);
 	}
 
 	/**
@@ -386,7 +899,7 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public String getTopazCLILocationWindows()
 	{
-		return m_topazCLILocationWindows;
+		return getSnapshot().getTopazCLILocationWindows();
 	}
 
 	/**
@@ -396,7 +909,7 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public String getTopazCLILocationLinux()
 	{
-		return m_topazCLILocationLinux;
+		return getSnapshot().getTopazCLILocationLinux();
 	}
 
 	/**
@@ -407,7 +920,9 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 */
 	public void setTopazCLILocationWindows(String location)
 	{
-		m_topazCLILocationWindows = location;
+		ensureLoaded();
+		m_snapshot.updateAndGet(snapshot -> snapshot.withTopazCLILocationWindows(location));
+		changed();
 	}
 
 	/**
@@ -417,7 +932,52 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 *            the install directory
 	 */
 	public void setTopazCLILocationLinux(String location) {
-		m_topazCLILocationLinux = location;
+		ensureLoaded();
+		m_snapshot.updateAndGet(snapshot -> snapshot.withTopazCLILocationLinux(location));
+		changed();
+	}
+
+	/**
+	 * Returns the maximum number of CLI invocations allowed to run against a single host connection at the same time.
+	 * 
+	 * @return the maximum number of concurrent invocations; 0 if not limited
+	 */
+	public int getMaxConcurrentInvocations()
+	{
+		return getSnapshot().getMaxConcurrentInvocations();
+	}
+
+	/**
+	 * Sets the maximum number of CLI invocations allowed to run against a single host connection at the same time.
+	 * 
+	 * @param maxConcurrentInvocations
+	 *            the maximum number of concurrent invocations; 0 if not limited
+	 */
+	public void setMaxConcurrentInvocations(int maxConcurrentInvocations)
+	{
+		ensureLoaded();
+		int limit = Math.max(HostConnectionLimiter.UNLIMITED, maxConcurrentInvocations);
+		m_snapshot.updateAndGet(snapshot -> snapshot.withMaxConcurrentInvocations(limit));
+		changed();
+	}
+
+	/**
+	 * Validation for the 'Maximum concurrent invocations per host connection' text field.
+	 * 
+	 * @param value
+	 *            value passed from the config.jelly "maxConcurrentInvocations" field
+	 * 
+	 * @return validation message
+	 */
+	public FormValidation doCheckMaxConcurrentInvocations(@QueryParameter String value)
+	{
+		String tempValue = StringUtils.trimToEmpty(value);
+		if (!tempValue.isEmpty() && (!StringUtils.isNumeric(tempValue) || NumberUtils.toInt(tempValue, -1) < 0))
+		{
+			return FormValidation.error(Messages.checkMaxConcurrentInvocationsError());
+		}
+
+		return FormValidation.ok();
 	}
 	
 	/**
@@ -431,6 +991,7 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 * 			this object can be of type UsernamePasswordCredentialsImpl or CertificateCredentialsImpl.
 	 */
 	public StandardCredentials getLoginCredentials(Item project, String credentialsId) {
+		long start = ConfigurationMetrics.get().start();
 		StandardCredentials credentials = null;
 
 		List<StandardCredentials> credentialsList = CredentialsProvider.lookupCredentials(StandardCredentials.class,
@@ -443,6 +1004,7 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 			}
 		}
 
+		ConfigurationMetrics.get().record(Stage.LOGIN_CREDENTIALS, start);
 		return credentials;
 	}
 	
@@ -507,16 +1069,21 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 * @throws KeyStoreException ~ unable to find an <code>X509Certificate</code> from a <code>StandardCertificateCredentials</code>
 	 */
 	public X509Certificate getX509Certificate(StandardCertificateCredentials credentials) throws KeyStoreException {
+		long start = ConfigurationMetrics.get().start();
 		Certificate certificate = null;
 		X509Certificate x509 = null;
 
-		KeyStore keyStoreFromSystem = credentials.getKeyStore();
-		for (Enumeration<String> enumeration = keyStoreFromSystem.aliases(); enumeration.hasMoreElements();) {
-			String alias = enumeration.nextElement();
-			certificate = keyStoreFromSystem.getCertificate(alias);
-			if (certificate instanceof X509Certificate) {
-				x509 = (X509Certificate) certificate;
+		try {
+			KeyStore keyStoreFromSystem = credentials.getKeyStore();
+			for (Enumeration<String> enumeration = keyStoreFromSystem.aliases(); enumeration.hasMoreElements();) {
+				String alias = enumeration.nextElement();
+				certificate = keyStoreFromSystem.getCertificate(alias);
+				if (certificate instanceof X509Certificate) {
+					x509 = (X509Certificate) certificate;
+				}
 			}
+		} finally {
+			ConfigurationMetrics.get().record(Stage.X509_CERTIFICATE, start);
 		}
 
 		return x509;
@@ -549,6 +1116,11 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 
 	/**
 	 * Get an argument list builder for the common arguments.
+	 * <p>
+	 * The arguments hold no slot on the host connection, so the invocation does not count against the maximum number of
+	 * concurrent invocations, and the host connection endpoint they point at is released as soon as they are built, so it is
+	 * not counted as in flight and the outcome of the invocation cannot be recorded against it. Use
+	 * {@link #getCLIArguments(String, String, Item, String, String, TaskListener)} to hold both until the CLI has finished.
 	 * 
 	 * @param scriptFileArg
 	 *            the name of the application script used to start the CLI
@@ -563,37 +1135,347 @@ public class CpwrGlobalConfiguration extends GlobalConfiguration
 	 * 
 	 * @return a new argument list builder initialized with common arguments
 	 * @throws AbortException
-	 *             if unable to initialize the argument builder
+	 *             if unable to initialize the argument builder, or if the host connection is known to be unavailable
 	 */
 	public ArgumentListBuilder getArgumentBuilder(String scriptFileArg, String cliVersion, Item project, String credentialsId,
 			String connectionId) throws AbortException {
+		HostConnection connection = getHostConnection(connectionId);
+		try (CLIArguments cliArgs = buildCLIArguments(scriptFileArg, cliVersion, project, credentialsId, connectionId,
+				connection, null)) {
+			return cliArgs.getArgumentBuilder();
+		}
+	}
+
+	/**
+	 * Get the common arguments together with a slot on their host connection and the endpoint they point at.
+	 * <p>
+	 * If the number of concurrent invocations per host connection is limited, this first waits for a slot on the host
+	 * connection, writing a message to the build log if it has to wait. The slot and the endpoint are held until the returned
+	 * arguments are closed, so close them once the CLI has finished, preferably with try-with-resources.
+	 * 
+	 * @param scriptFileArg
+	 *            the name of the application script used to start the CLI
+	 * @param cliVersion
+	 *            the CLI version for testing compatibility
+	 * @param project
+	 *            the jenkins project
+	 * @param credentialsId
+	 *            the identifier of credentials to use
+	 * @param connectionId
+	 *            the identifier of the host connection to use
+	 * @param listener
+	 *            the build listener; can be null
+	 * 
+	 * @return the common arguments
+	 * @throws AbortException
+	 *             if unable to initialize the arguments, or if every endpoint of the host connection is known to be unavailable
+	 * @throws InterruptedException
+	 *             if the build was interrupted while waiting for a slot
+	 */
+	public CLIArguments getCLIArguments(String scriptFileArg, String cliVersion, Item project, String credentialsId,
+			String connectionId, TaskListener listener) throws AbortException, InterruptedException {
+		HostConnection connection = getHostConnection(connectionId);
+		HostConnectionLimiter.Permit permit = connection != null ? getLimiter().acquire(connection, listener) : null;
+		try {
+			CLIArguments cliArgs = buildCLIArguments(scriptFileArg, cliVersion, project, credentialsId, connectionId,
+					connection, permit);
+			permit = null;
+			return cliArgs;
+		} finally {
+			if (permit != null) {
+				permit.close();
+			}
+		}
+	}
+
+	/**
+	 * Builds the common arguments, selecting the endpoint they point at.
+	 * <p>
+	 * The returned arguments take over the given slot; if they cannot be built, the slot is left to the caller to release.
+	 * Arguments that hold a slot are for an invocation, so they also record its usage of the host connection.
+	 * 
+	 * @param scriptFileArg
+	 *            the name of the application script used to start the CLI
+	 * @param cliVersion
+	 *            the CLI version for testing compatibility
+	 * @param project
+	 *            the jenkins project
+	 * @param credentialsId
+	 *            the identifier of credentials to use
+	 * @param connectionId
+	 *            the identifier of the host connection to use
+	 * @param connection
+	 *            the host connection to use
+	 * @param permit
+	 *            the slot on the host connection; can be null
+	 * 
+	 * @return the common arguments
+	 * @throws AbortException
+	 *             if unable to initialize the arguments, or if every endpoint of the host connection is known to be unavailable
+	 */
+	private CLIArguments buildCLIArguments(String scriptFileArg, String cliVersion, Item project, String credentialsId,
+			String connectionId, HostConnection connection, HostConnectionLimiter.Permit permit) throws AbortException {
+		long start = ConfigurationMetrics.get().start();
 		ArgumentListBuilder args = new ArgumentListBuilder();
 		args.add(scriptFileArg);
 
+		HostEndpointSelector.Selection selection = null;
+		try {
+			selection = getEndpointSelector().acquire(connection);
+			addConnectionArgs(args, selection, cliVersion);
+
+			StandardCredentials credentials = getLoginCredentials(project, credentialsId);
+			addCredentialsArgs(args, credentials);
+
+			CLIArguments cliArgs = new CLIArguments(args, selection, permit,
+					permit != null ? HostConnectionUsage.get().start(selection.getConnection()) : null);
+			selection = null;
+			return cliArgs;
+		} finally {
+			if (selection != null) {
+				selection.close();
+			}
+			ConfigurationMetrics.get().record(Stage.ARGUMENT_BUILDER, connection != null ? connectionId : null, start);
+		}
+	}
+
+	/**
+	 * Returns the limiter that hands out the slots on host connections.
+	 * 
+	 * @return the shared limiter
+	 */
+	HostConnectionLimiter getLimiter() {
+		return HostConnectionLimiter.get();
+	}
+
+	/**
+	 * Get the common arguments without blocking the calling thread.
+	 * <p>
+	 * Reading the CLI version from the CLI directory, looking up the host connection and resolving and encoding the
+	 * credentials run at the same time on a bounded pool, so the arguments are ready after the slowest of them rather than
+	 * after all of them in turn. The CLI version is also checked against the minimum version, as
+	 * {@link CLIVersionUtils#checkCLICompatibility(FilePath, String)} does.
+	 * <p>
+	 * If the number of concurrent invocations per host connection is limited, the calling thread first waits for a slot on
+	 * the host connection, so that no thread of the pool is tied up waiting for one. The slot and the endpoint are held until
+	 * the arguments are closed, so close them once the CLI has finished. If they cannot be built, the returned future
+	 * completes exceptionally with a {@link CompletionException} whose cause is the exception
+	 * {@link #getCLIArguments(String, String, Item, String, String, TaskListener)} would have thrown, and neither the slot nor
+	 * the endpoint is left acquired.
+	 * 
+	 * @param scriptFileArg
+	 *            the name of the application script used to start the CLI
+	 * @param cliDirectory
+	 *            the Topaz CLI install directory
+	 * @param minimumVersion
+	 *            the minimum CLI version required by the calling plugin
+	 * @param project
+	 *            the jenkins project
+	 * @param credentialsId
+	 *            the identifier of credentials to use
+	 * @param connectionId
+	 *            the identifier of the host connection to use
+	 * 
+	 * @return a future for the common arguments
+	 */
+	public CompletableFuture<CLIArguments> getArgumentBuilderAsync(String scriptFileArg, FilePath cliDirectory,
+			String minimumVersion, Item project, String credentialsId, String connectionId) {
+		CompletableFuture<String> cliVersion = CompletableFuture
+				.supplyAsync(() -> readCLIVersion(cliDirectory, minimumVersion), ARGUMENT_EXECUTOR);
+		return getArgumentBuilderAsync(scriptFileArg, cliVersion, project, credentialsId, connectionId, ARGUMENT_EXECUTOR);
+	}
+
+	/**
+	 * Get the common arguments without blocking the calling thread, for a CLI version that is already known.
+	 * 
+	 * @param scriptFileArg
+	 *            the name of the application script used to start the CLI
+	 * @param cliVersion
+	 *            the CLI version for testing compatibility
+	 * @param project
+	 *            the jenkins project
+	 * @param credentialsId
+	 *            the identifier of credentials to use
+	 * @param connectionId
+	 *            the identifier of the host connection to use
+	 * 
+	 * @return a future for the common arguments
+	 * @see #getArgumentBuilderAsync(String, FilePath, String, Item, String, String)
+	 */
+	public CompletableFuture<CLIArguments> getArgumentBuilderAsync(String scriptFileArg, String cliVersion, Item project,
+			String credentialsId, String connectionId) {
+		return getArgumentBuilderAsync(scriptFileArg, CompletableFuture.completedFuture(cliVersion), project, credentialsId,
+				connectionId, ARGUMENT_EXECUTOR);
+	}
+
+	/**
+	 * Builds the common arguments from stages running on the given executor.
+	 * <p>
+	 * The connection arguments need both the selected endpoint and the CLI version, and the credentials arguments need the
+	 * resolved credentials, so there are two independent chains that are joined at the end. The resulting arguments are the
+	 * same, in the same order, as those of {@link #getCLIArguments(String, String, Item, String, String, TaskListener)}. The
+	 * slot on the host connection is taken on the calling thread first, and if any stage fails, it and the selected endpoint
+	 * are released.
+	 * 
+	 * @param scriptFileArg
+	 *            the name of the application script used to start the CLI
+	 * @param cliVersion
+	 *            the future CLI version
+	 * @param project
+	 *            the jenkins project
+	 * @param credentialsId
+	 *            the identifier of credentials to use
+	 * @param connectionId
+	 *            the identifier of the host connection to use
+	 * @param executor
+	 *            the executor to run the stages on
+	 * 
+	 * @return a future for the common arguments
+	 */
+	CompletableFuture<CLIArguments> getArgumentBuilderAsync(String scriptFileArg, CompletableFuture<String> cliVersion,
+			Item project, String credentialsId, String connectionId, Executor executor) {
 		HostConnection connection = getHostConnection(connectionId);
-		addConnectionArgs(args, connection, cliVersion);
+		HostConnectionLimiter.Permit permit;
+		try {
+			permit = connection != null ? getLimiter().acquire(connection, null) : null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			CompletableFuture<CLIArguments> interrupted = new CompletableFuture<>();
+			interrupted.completeExceptionally(new CompletionException(e));
+			return interrupted;
+		}
+		long start = ConfigurationMetrics.get().start();
+
+		CompletableFuture<HostEndpointSelector.Selection> selection = CompletableFuture.supplyAsync(() -> {
+			try {
+				return getEndpointSelector().acquire(connection);
+			} catch (AbortException e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
 
-		StandardCredentials credentials = getLoginCredentials(project, credentialsId);
-		addCredentialsArgs(args, credentials);
+		CompletableFuture<ArgumentListBuilder> credentialsArgs = CompletableFuture.supplyAsync(() -> {
+			ArgumentListBuilder args = new ArgumentListBuilder();
+			try {
+				addCredentialsArgs(args, getLoginCredentials(project, credentialsId));
+			} catch (AbortException e) {
+				throw new CompletionException(e);
+			}
+			return args;
+		}, executor);
 
-		return args;
+		CompletableFuture<ArgumentListBuilder> connectionArgs = selection.thenCombine(cliVersion, (endpoint, version) -> {
+			ArgumentListBuilder args = new ArgumentListBuilder();
+			try {
+				addConnectionArgs(args, endpoint, version);
+			} catch (AbortException e) {
+				throw new CompletionException(e);
+			}
+			return args;
+		});
+
+		return connectionArgs.thenCombine(credentialsArgs, (hostArgs, loginArgs) -> {
+			ArgumentListBuilder args = new ArgumentListBuilder();
+			args.add(scriptFileArg);
+			addAll(args, hostArgs);
+			addAll(args, loginArgs);
+			HostEndpointSelector.Selection endpoint = selection.join();
+			return new CLIArguments(args, endpoint, permit, HostConnectionUsage.get().start(endpoint.getConnection()));
+		}).whenComplete((cliArgs, e) -> {
+			HostEndpointSelector.Selection endpoint = selection.isCompletedExceptionally() ? null : selection.getNow(null);
+			if (e != null) {
+				if (endpoint != null) {
+					endpoint.close();
+				}
+				if (permit != null) {
+					permit.close();
+				}
+			}
+			ConfigurationMetrics.get().record(Stage.ARGUMENT_BUILDER, endpoint != null ? connectionId : null, start);
+		});
 	}
 
 	/**
-	 * Adds the connection arguments.
+	 * Reads the CLI version and checks that it is at least the minimum version.
+	 * 
+	 * @param cliDirectory
+	 *            the Topaz CLI install directory
+	 * @param minimumVersion
+	 *            the minimum CLI version
+	 * 
+	 * @return the CLI version
+	 * @throws CompletionException
+	 *             if the version could not be read or is too old
+	 */
+	private static String readCLIVersion(FilePath cliDirectory, String minimumVersion) {
+		try {
+			String version = CLIVersionUtils.getCLIVersion(cliDirectory, minimumVersion);
+			CLIVersionUtils.checkCLICompatibility(version, minimumVersion);
+			return version;
+		} catch (IOException e) {
+			throw new CompletionException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(e);
+		}
+	}
+
+	/**
+	 * Adds all arguments of one builder to another, keeping their masks.
+	 * 
+	 * @param args
+	 *            the argument list builder to add to
+	 * @param other
+	 *            the argument list builder to add from
+	 */
+	private static void addAll(ArgumentListBuilder args, ArgumentListBuilder other) {
+		List<String> values = other.toList();
+		boolean[] masks = other.toMaskArray();
+		for (int i = 0; i < values.size(); i++) {
+			args.add(values.get(i), masks[i]);
+		}
+	}
+
+	/**
+	 * Creates the executor that runs the stages of {@link #getArgumentBuilderAsync(String, FilePath, String, Item, String, String)}.
+	 * 
+	 * @return the executor
+	 */
+	private static Executor createArgumentExecutor() {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(ARGUMENT_THREADS, ARGUMENT_THREADS, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(ARGUMENT_QUEUE_SIZE),
+				new NamingThreadFactory(new DaemonThreadFactory(), "CpwrGlobalConfiguration.argumentBuilder"), //$NON-NLS-1$
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Returns the selector that picks the endpoint of a host connection for the arguments.
+	 * 
+	 * @return the shared endpoint selector
+	 */
+	HostEndpointSelector getEndpointSelector() {
+		return HostEndpointSelector.get();
+	}
+
+	/**
+	 * Adds the connection arguments for the endpoint picked by the {@link HostEndpointSelector}.
 	 * 
 	 * @param args
 	 *            the argument list builder to add the connection details to
-	 * @param connection
-	 *            the connection to add
+	 * @param selection
+	 *            the selected endpoint of the connection to add
 	 * @param cliVersion
 	 *            the CLI version
 	 * @throws AbortException
 	 *             if the encryption protocol is not supported
 	 */
-	private void addConnectionArgs(ArgumentListBuilder args, HostConnection connection, String cliVersion) throws AbortException {
-		args.add(CommonConstants.HOST_PARM, ArgumentUtils.escapeForScript(connection.getHost()));
-		args.add(CommonConstants.PORT_PARM, ArgumentUtils.escapeForScript(connection.getPort()));
+	private void addConnectionArgs(ArgumentListBuilder args, HostEndpointSelector.Selection selection, String cliVersion)
+			throws AbortException {
+		HostConnection connection = selection.getConnection();
+		args.add(CommonConstants.HOST_PARM, ArgumentUtils.escapeForScript(selection.getHost()));
+		args.add(CommonConstants.PORT_PARM, ArgumentUtils.escapeForScript(selection.getPort()));
 
 		// do not pass protocol on command line if null, empty, blank, or 'None'
 		String protocol = connection.getProtocol();
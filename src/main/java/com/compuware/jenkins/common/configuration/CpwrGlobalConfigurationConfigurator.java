@@ -0,0 +1,210 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+
+import hudson.Extension;
+import hudson.util.FormValidation;
+import io.jenkins.plugins.casc.BaseConfigurator;
+import io.jenkins.plugins.casc.ConfigurationContext;
+import io.jenkins.plugins.casc.ConfiguratorException;
+import io.jenkins.plugins.casc.model.CNode;
+import io.jenkins.plugins.casc.model.Mapping;
+import jenkins.model.Jenkins;
+
+/**
+ * Configuration as code support for the Compuware global configuration.
+ * <p>
+ * The generic configurator binds every host connection through its data bound constructor and saves the configuration for
+ * each attribute it sets. This one reads the host connections straight from the YAML nodes, validates them with the same rules
+ * as the configuration page, and applies the whole configuration in one swap, which is not saved if nothing changed. Attributes
+ * left out of the YAML keep their current values. Variables and secret references in values are resolved through the secret
+ * sources of the configuration context, as the generic configurator does. Exporting still uses the generic attribute
+ * description.
+ */
+@Extension(optional = true)
+public class CpwrGlobalConfigurationConfigurator extends BaseConfigurator<CpwrGlobalConfiguration>
+{
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.CpwrGlobalConfigurationConfigurator"); //$NON-NLS-1$
+
+	private static final String HOST_CONNECTIONS = "hostConnections"; //$NON-NLS-1$
+	private static final String TOPAZ_CLI_LOCATION_WINDOWS = "topazCLILocationWindows"; //$NON-NLS-1$
+	private static final String TOPAZ_CLI_LOCATION_LINUX = "topazCLILocationLinux"; //$NON-NLS-1$
+	private static final String MAX_CONCURRENT_INVOCATIONS = "maxConcurrentInvocations"; //$NON-NLS-1$
+
+	/* 
+	 * (non-Javadoc)
+	 * @see io.jenkins.plugins.casc.Configurator#getTarget()
+	 */
+	@Override
+	public Class<CpwrGlobalConfiguration> getTarget()
+	{
+		return CpwrGlobalConfiguration.class;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see io.jenkins.plugins.casc.BaseConfigurator#instance(io.jenkins.plugins.casc.model.Mapping, io.jenkins.plugins.casc.ConfigurationContext)
+	 */
+	@Override
+	protected CpwrGlobalConfiguration instance(Mapping mapping, ConfigurationContext context)
+	{
+		return CpwrGlobalConfiguration.get();
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see io.jenkins.plugins.casc.BaseConfigurator#configure(io.jenkins.plugins.casc.model.Mapping, java.lang.Object, boolean, io.jenkins.plugins.casc.ConfigurationContext)
+	 */
+	@Override
+	protected void configure(Mapping config, CpwrGlobalConfiguration instance, boolean dryrun, ConfigurationContext context)
+			throws ConfiguratorException
+	{
+		long start = System.nanoTime();
+
+		// settings missing from the YAML keep their current values, all taken from the same configuration
+		GlobalConfigurationSnapshot current = instance.getSnapshot();
+		CNode hostConnectionsNode = config.remove(HOST_CONNECTIONS);
+		HostConnection[] hostConnections = hostConnectionsNode != null
+				? readHostConnections(hostConnectionsNode, current.getHostConnections(), context)
+				: current.getHostConnections();
+		String topazCLILocationWindows = getScalar(config, TOPAZ_CLI_LOCATION_WINDOWS, current.getTopazCLILocationWindows(),
+				context);
+		String topazCLILocationLinux = getScalar(config, TOPAZ_CLI_LOCATION_LINUX, current.getTopazCLILocationLinux(), context);
+		String maxConcurrentInvocations = getScalar(config, MAX_CONCURRENT_INVOCATIONS,
+				String.valueOf(current.getMaxConcurrentInvocations()), context);
+		if (instance.doCheckMaxConcurrentInvocations(maxConcurrentInvocations).kind == FormValidation.Kind.ERROR)
+		{
+			throw new ConfiguratorException(this, Messages.checkMaxConcurrentInvocationsError());
+		}
+
+		if (!config.isEmpty())
+		{
+			throw new ConfiguratorException(this,
+					String.format("Invalid configuration elements for type %s: %s", getTarget().getName(), config.keySet())); //$NON-NLS-1$
+		}
+
+		if (!dryrun)
+		{
+			boolean changed = instance.apply(hostConnections, topazCLILocationWindows, topazCLILocationLinux,
+					NumberUtils.toInt(maxConcurrentInvocations, HostConnectionLimiter.UNLIMITED));
+			LOGGER.info(String.format("Applied %d host connections from configuration as code in %d ms%s.", //$NON-NLS-1$
+					hostConnections.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+					changed ? "" : " (unchanged)")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Reads and validates the host connections of a YAML sequence.
+	 * <p>
+	 * A host connection given without a <code>connectionId</code> takes the identifier of the current connection with the same
+	 * endpoints and code page, so applying the same YAML again leaves the configuration unchanged.
+	 *
+	 * @param node
+	 *            the sequence of host connection mappings
+	 * @param currentConnections
+	 *            the current host connections
+	 * @param context
+	 *            the configuration context, which resolves variables and secrets in the values
+	 *
+	 * @return the host connections
+	 * @throws ConfiguratorException
+	 *             if the node is not a sequence of mappings, or if any host connection is invalid
+	 */
+	private HostConnection[] readHostConnections(CNode node, HostConnection[] currentConnections, ConfigurationContext context)
+			throws ConfiguratorException
+	{
+		HostConnectionImporter importer = new HostConnectionImporter(
+				(HostConnection.DescriptorImpl) Jenkins.get().getDescriptorOrDie(HostConnection.class), currentConnections);
+
+		int rowNumber = 0;
+		for (CNode item : node.asSequence())
+		{
+			rowNumber++;
+			Map<String, String> row = new HashMap<>();
+			for (Map.Entry<String, CNode> entry : item.asMapping().entrySet())
+			{
+				if (!HostConnectionFormat.isColumn(entry.getKey()))
+				{
+					throw new ConfiguratorException(this,
+							Messages.importRowError(rowNumber, Messages.importUnknownColumnError(entry.getKey())));
+				}
+				row.put(entry.getKey(), resolve(entry.getValue(), context));
+			}
+			importer.add(rowNumber, row);
+		}
+
+		List<String> errors = importer.getErrors();
+		if (!errors.isEmpty())
+		{
+			throw new ConfiguratorException(this, StringUtils.join(errors, '\n'));
+		}
+
+		List<HostConnection> connections = importer.getConnections();
+		return connections.toArray(new HostConnection[connections.size()]);
+	}
+
+	/**
+	 * Removes a scalar attribute from the mapping and returns its resolved value.
+	 *
+	 * @param config
+	 *            the mapping
+	 * @param key
+	 *            the attribute name
+	 * @param defaultValue
+	 *            the value if the attribute is not given
+	 * @param context
+	 *            the configuration context
+	 *
+	 * @return the value
+	 * @throws ConfiguratorException
+	 *             if the attribute is not a scalar
+	 */
+	private static String getScalar(Mapping config, String key, String defaultValue, ConfigurationContext context)
+			throws ConfiguratorException
+	{
+		CNode node = config.remove(key);
+		return node != null ? resolve(node, context) : defaultValue;
+	}
+
+	/**
+	 * Returns the value of a scalar with its variables and secret references, such as <code>${CES_URL}</code>, resolved the
+	 * way the generic configurator resolves them.
+	 *
+	 * @param node
+	 *            the scalar
+	 * @param context
+	 *            the configuration context
+	 *
+	 * @return the resolved value
+	 * @throws ConfiguratorException
+	 *             if the node is not a scalar
+	 */
+	private static String resolve(CNode node, ConfigurationContext context) throws ConfiguratorException
+	{
+		return context.getSecretSourceResolver().resolve(node.asScalar().getValue());
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind saver that coalesces save requests.
+ * <p>
+ * The first request schedules a save after a short delay; requests made before the save runs are folded into it, so a burst
+ * of changes costs a single write. {@link #flush()} runs a pending save immediately and waits for one in progress, so nothing
+ * is lost on shutdown.
+ */
+final class DebouncedSaver
+{
+	// Member Variables
+	private final Runnable m_saveAction;
+	private final long m_delayMillis;
+	private final ScheduledExecutorService m_executor;
+	private final Object m_saveLock = new Object();
+	private ScheduledFuture<?> m_pending;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param saveAction
+	 *            writes the state
+	 * @param delayMillis
+	 *            the time requests are collected before the save runs
+	 * @param executor
+	 *            runs the delayed saves
+	 */
+	DebouncedSaver(Runnable saveAction, long delayMillis, ScheduledExecutorService executor)
+	{
+		m_saveAction = saveAction;
+		m_delayMillis = delayMillis;
+		m_executor = executor;
+	}
+
+	/**
+	 * Requests a save, scheduling one unless a save is already pending.
+	 */
+	synchronized void requestSave()
+	{
+		if (m_pending == null)
+		{
+			m_pending = m_executor.schedule(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					flush();
+				}
+			}, m_delayMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns whether a save is pending.
+	 *
+	 * @return <code>true</code> if a save is scheduled but has not started
+	 */
+	synchronized boolean isPending()
+	{
+		return m_pending != null;
+	}
+
+	/**
+	 * Cancels a pending save, because the state is about to be saved directly.
+	 */
+	synchronized void cancel()
+	{
+		if (m_pending != null)
+		{
+			m_pending.cancel(false);
+			m_pending = null;
+		}
+	}
+
+	/**
+	 * Runs a pending save now, after any save in progress has finished.
+	 * <p>
+	 * The scheduled save runs through here too, so a save that was already flushed is not repeated.
+	 */
+	void flush()
+	{
+		synchronized (m_saveLock)
+		{
+			if (takePending())
+			{
+				m_saveAction.run();
+			}
+		}
+	}
+
+	/**
+	 * Clears the pending save.
+	 *
+	 * @return <code>true</code> if a save was pending
+	 */
+	private synchronized boolean takePending()
+	{
+		if (m_pending == null)
+		{
+			return false;
+		}
+
+		m_pending.cancel(false);
+		m_pending = null;
+		return true;
+	}
+}
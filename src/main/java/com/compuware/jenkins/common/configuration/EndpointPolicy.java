@@ -0,0 +1,73 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Policies used to pick one of the "host:port" endpoints of a host connection that lists several.
+ */
+public enum EndpointPolicy
+{
+	/** Use the first endpoint that is not known to be down; later endpoints are only used for failover. */
+	FAILOVER,
+	/** Rotate through the endpoints that are not known to be down. */
+	ROUND_ROBIN,
+	/** Use the endpoint with the fewest invocations in flight among those not known to be down. */
+	LEAST_OUTSTANDING;
+
+	/**
+	 * Returns the display name of this policy.
+	 * 
+	 * @return the display name
+	 */
+	public String getDisplayName()
+	{
+		switch (this)
+		{
+			case ROUND_ROBIN:
+				return Messages.endpointPolicyRoundRobin();
+			case LEAST_OUTSTANDING:
+				return Messages.endpointPolicyLeastOutstanding();
+			default:
+				return Messages.endpointPolicyFailover();
+		}
+	}
+
+	/**
+	 * Returns the policy with the given name.
+	 * <p>
+	 * A blank or unknown name returns {@link #FAILOVER}, which always uses the first endpoint of a single-endpoint connection.
+	 * 
+	 * @param name
+	 *            the policy name
+	 * 
+	 * @return the policy
+	 */
+	public static EndpointPolicy fromName(String name)
+	{
+		for (EndpointPolicy policy : values())
+		{
+			if (policy.name().equalsIgnoreCase(StringUtils.trimToEmpty(name)))
+			{
+				return policy;
+			}
+		}
+
+		return FAILOVER;
+	}
+}
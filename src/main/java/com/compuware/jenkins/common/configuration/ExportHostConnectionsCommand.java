@@ -0,0 +1,60 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.kohsuke.args4j.Option;
+
+import hudson.Extension;
+import hudson.cli.CLICommand;
+import jenkins.model.Jenkins;
+
+/**
+ * CLI command that exports the host connections to standard output as UTF-8.
+ */
+@Extension
+public class ExportHostConnectionsCommand extends CLICommand
+{
+	@Option(name = "-format", metaVar = "FORMAT", usage = "The output format: csv (the default) or json for JSON lines.")
+	public String m_format = HostConnectionFormat.CSV.name();
+
+	/* 
+	 * (non-Javadoc)
+	 * @see hudson.cli.CLICommand#getShortDescription()
+	 */
+	@Override
+	public String getShortDescription()
+	{
+		return Messages.exportHostConnectionsCommandDescription();
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see hudson.cli.CLICommand#run()
+	 */
+	@Override
+	protected int run() throws Exception
+	{
+		Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+		HostConnectionFormat format = HostConnectionFormat.fromName(m_format);
+		format.write(CpwrGlobalConfiguration.get().getHostConnections(), new OutputStreamWriter(stdout, StandardCharsets.UTF_8));
+		return 0;
+	}
+}
@@ -0,0 +1,327 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+import hudson.Launcher;
+
+/**
+ * An immutable view of the Compuware global configuration.
+ * <p>
+ * Every change to the configuration publishes a new snapshot with the next generation number, so a build that takes a
+ * snapshot sees the host connections and CLI locations of a single configuration, never a mix of an old and a new one.
+ * Snapshots with a higher generation number were published later.
+ */
+public final class GlobalConfigurationSnapshot
+{
+	// Member Variables
+	private final long m_generation;
+	private final HostConnection[] m_hostConnections;
+	private final String m_topazCLILocationWindows;
+	private final String m_topazCLILocationLinux;
+	private final int m_maxConcurrentInvocations;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param generation
+	 *            the generation number
+	 * @param hostConnections
+	 *            the host connections; the array is not copied and must not be modified afterwards
+	 * @param topazCLILocationWindows
+	 *            the CLI location on Windows
+	 * @param topazCLILocationLinux
+	 *            the CLI location on Linux
+	 * @param maxConcurrentInvocations
+	 *            the maximum number of concurrent invocations per host connection
+	 */
+	GlobalConfigurationSnapshot(long generation, HostConnection[] hostConnections, String topazCLILocationWindows,
+			String topazCLILocationLinux, int maxConcurrentInvocations)
+	{
+		m_generation = generation;
+		m_hostConnections = hostConnections != null ? hostConnections : new HostConnection[0];
+		m_topazCLILocationWindows = topazCLILocationWindows;
+		m_topazCLILocationLinux = topazCLILocationLinux;
+		m_maxConcurrentInvocations = maxConcurrentInvocations;
+	}
+
+	/**
+	 * Returns the generation number.
+	 *
+	 * @return the generation number, which increases with every published change
+	 */
+	public long getGeneration()
+	{
+		return m_generation;
+	}
+
+	/**
+	 * Returns the host connections.
+	 *
+	 * @return a copy of the host connections
+	 */
+	public HostConnection[] getHostConnections()
+	{
+		return m_hostConnections.clone();
+	}
+
+	/**
+	 * Returns the host connections without copying them, for callers in this package that only read them.
+	 *
+	 * @return the host connections
+	 */
+	HostConnection[] hostConnections()
+	{
+		return m_hostConnections;
+	}
+
+	/**
+	 * Returns the host connection with the given identifier.
+	 *
+	 * @param connectionId
+	 *            the connection identifier, compared ignoring case
+	 *
+	 * @return the host connection; can be null
+	 */
+	public HostConnection getHostConnection(String connectionId)
+	{
+		if (connectionId != null)
+		{
+			for (HostConnection connection : m_hostConnections)
+			{
+				if (connectionId.equalsIgnoreCase(connection.getConnectionId()))
+				{
+					return connection;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the host connection with an endpoint at the given host and port and the given code page.
+	 *
+	 * @param hostPort
+	 *            the host and port in the form of 'host:port'
+	 * @param codePage
+	 *            the code page
+	 *
+	 * @return the host connection; can be null
+	 */
+	public HostConnection getHostConnection(String hostPort, String codePage)
+	{
+		String host = StringUtils.substringBefore(hostPort, CommonConstants.COLON);
+		String port = StringUtils.substringAfter(hostPort, CommonConstants.COLON);
+		for (HostConnection connection : m_hostConnections)
+		{
+			if (connection.getCodePage().equalsIgnoreCase(codePage) && hasEndpoint(connection, host, port))
+			{
+				return connection;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the CLI location for the node of the given launcher.
+	 *
+	 * @param launcher
+	 *            launcher for starting a process
+	 *
+	 * @return the CLI location
+	 */
+	public String getTopazCLILocation(Launcher launcher)
+	{
+		return launcher.isUnix() ? m_topazCLILocationLinux : m_topazCLILocationWindows;
+	}
+
+	/**
+	 * Returns the CLI location on Windows.
+	 *
+	 * @return the CLI location
+	 */
+	public String getTopazCLILocationWindows()
+	{
+		return m_topazCLILocationWindows;
+	}
+
+	/**
+	 * Returns the CLI location on Linux.
+	 *
+	 * @return the CLI location
+	 */
+	public String getTopazCLILocationLinux()
+	{
+		return m_topazCLILocationLinux;
+	}
+
+	/**
+	 * Returns the maximum number of CLI invocations allowed to run against a single host connection at the same time.
+	 *
+	 * @return the maximum number of concurrent invocations; 0 if not limited
+	 */
+	public int getMaxConcurrentInvocations()
+	{
+		return m_maxConcurrentInvocations;
+	}
+
+	/**
+	 * Returns whether this snapshot holds the given settings.
+	 *
+	 * @param hostConnections
+	 *            the host connections
+	 * @param topazCLILocationWindows
+	 *            the CLI location on Windows
+	 * @param topazCLILocationLinux
+	 *            the CLI location on Linux
+	 * @param maxConcurrentInvocations
+	 *            the maximum number of concurrent invocations per host connection
+	 *
+	 * @return <code>true</code> if every setting is equal
+	 */
+	boolean hasSettings(HostConnection[] hostConnections, String topazCLILocationWindows, String topazCLILocationLinux,
+			int maxConcurrentInvocations)
+	{
+		return Arrays.equals(m_hostConnections, hostConnections) && hasSettings(topazCLILocationWindows, topazCLILocationLinux,
+				maxConcurrentInvocations);
+	}
+
+	/**
+	 * Returns whether this snapshot holds the given settings other than the host connections.
+	 *
+	 * @param topazCLILocationWindows
+	 *            the CLI location on Windows
+	 * @param topazCLILocationLinux
+	 *            the CLI location on Linux
+	 * @param maxConcurrentInvocations
+	 *            the maximum number of concurrent invocations per host connection
+	 *
+	 * @return <code>true</code> if every setting is equal
+	 */
+	boolean hasSettings(String topazCLILocationWindows, String topazCLILocationLinux, int maxConcurrentInvocations)
+	{
+		return StringUtils.equals(m_topazCLILocationWindows, topazCLILocationWindows)
+				&& StringUtils.equals(m_topazCLILocationLinux, topazCLILocationLinux)
+				&& m_maxConcurrentInvocations == maxConcurrentInvocations;
+	}
+
+	/**
+	 * Returns the next generation with every setting replaced.
+	 *
+	 * @param hostConnections
+	 *            the host connections; the array must not be modified afterwards
+	 * @param topazCLILocationWindows
+	 *            the CLI location on Windows
+	 * @param topazCLILocationLinux
+	 *            the CLI location on Linux
+	 * @param maxConcurrentInvocations
+	 *            the maximum number of concurrent invocations per host connection
+	 *
+	 * @return the new snapshot
+	 */
+	GlobalConfigurationSnapshot with(HostConnection[] hostConnections, String topazCLILocationWindows,
+			String topazCLILocationLinux, int maxConcurrentInvocations)
+	{
+		return new GlobalConfigurationSnapshot(m_generation + 1, hostConnections, topazCLILocationWindows, topazCLILocationLinux,
+				maxConcurrentInvocations);
+	}
+
+	/**
+	 * Returns the next generation with the host connections replaced.
+	 *
+	 * @param hostConnections
+	 *            the host connections; the array must not be modified afterwards
+	 *
+	 * @return the new snapshot
+	 */
+	GlobalConfigurationSnapshot withHostConnections(HostConnection[] hostConnections)
+	{
+		return with(hostConnections, m_topazCLILocationWindows, m_topazCLILocationLinux, m_maxConcurrentInvocations);
+	}
+
+	/**
+	 * Returns the next generation with the CLI location on Windows replaced.
+	 *
+	 * @param location
+	 *            the CLI location
+	 *
+	 * @return the new snapshot
+	 */
+	GlobalConfigurationSnapshot withTopazCLILocationWindows(String location)
+	{
+		return with(m_hostConnections, location, m_topazCLILocationLinux, m_maxConcurrentInvocations);
+	}
+
+	/**
+	 * Returns the next generation with the CLI location on Linux replaced.
+	 *
+	 * @param location
+	 *            the CLI location
+	 *
+	 * @return the new snapshot
+	 */
+	GlobalConfigurationSnapshot withTopazCLILocationLinux(String location)
+	{
+		return with(m_hostConnections, m_topazCLILocationWindows, location, m_maxConcurrentInvocations);
+	}
+
+	/**
+	 * Returns the next generation with the maximum number of concurrent invocations replaced.
+	 *
+	 * @param maxConcurrentInvocations
+	 *            the maximum number of concurrent invocations per host connection
+	 *
+	 * @return the new snapshot
+	 */
+	GlobalConfigurationSnapshot withMaxConcurrentInvocations(int maxConcurrentInvocations)
+	{
+		return with(m_hostConnections, m_topazCLILocationWindows, m_topazCLILocationLinux, maxConcurrentInvocations);
+	}
+
+	/**
+	 * Returns whether the given host connection has an endpoint with the given host and port.
+	 *
+	 * @param connection
+	 *            the host connection
+	 * @param host
+	 *            the host
+	 * @param port
+	 *            the port
+	 *
+	 * @return <code>true</code> if a matching endpoint exists
+	 */
+	private static boolean hasEndpoint(HostConnection connection, String host, String port)
+	{
+		for (String endpoint : connection.getEndpoints())
+		{
+			if (StringUtils.substringBefore(endpoint, CommonConstants.COLON).equalsIgnoreCase(host)
+					&& StringUtils.substringAfter(endpoint, CommonConstants.COLON).equalsIgnoreCase(port))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
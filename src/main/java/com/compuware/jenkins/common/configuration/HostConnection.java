@@ -18,7 +18,13 @@ package com.compuware.jenkins.common.configuration;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
 
 import org.apache.commons.lang.StringUtils;
 import org.kohsuke.stapler.DataBoundConstructor;
@@ -30,12 +36,19 @@ import hudson.Extension;
 import hudson.model.AbstractDescribableImpl;
 import hudson.model.Descriptor;
 import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
 
 /**
  * Class used to store the data for a host connection.
  */
 public class HostConnection extends AbstractDescribableImpl<HostConnection>
 {
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.HostConnection"); //$NON-NLS-1$
+
+	// connections are copied often, so each unknown code page is only reported once
+	private static final Set<String> REPORTED_CODE_PAGES = ConcurrentHashMap.newKeySet();
+
 	// Member Variables
 	private final String m_description;
 	private final String m_hostPort;
@@ -44,6 +57,7 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 	private final String m_timeout;
 	private final String m_connectionId;
 	private final String m_cesUrl;
+	private final String m_endpointPolicy;
 
 	/**
 	 * Constructor.
@@ -62,9 +76,12 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 	 *            a unique identifier
 	 * @param cesUrl
 	 *            a CES URL
+	 * @param endpointPolicy
+	 *            the name of the {@link EndpointPolicy} used to pick one of several host:port endpoints
 	 */
 	@DataBoundConstructor
-	public HostConnection(String description, String hostPort, String protocol, String codePage, String timeout, String connectionId, String cesUrl)
+	public HostConnection(String description, String hostPort, String protocol, String codePage, String timeout, String connectionId,
+			String cesUrl, String endpointPolicy)
 	{
 		m_description = StringUtils.trimToEmpty(description);
 		m_hostPort = StringUtils.trimToEmpty(hostPort);
@@ -73,6 +90,35 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 		m_timeout = StringUtils.trimToEmpty(timeout);
 		m_connectionId = generateId(connectionId);
 		m_cesUrl = StringUtils.trimToEmpty(cesUrl);
+		m_endpointPolicy = EndpointPolicy.fromName(endpointPolicy).name();
+
+		if (!m_codePage.isEmpty() && !CodePageRegistry.get().isRegistered(m_codePage) && REPORTED_CODE_PAGES.add(m_codePage))
+		{
+			LOGGER.warning(String.format("Host connection %s uses unknown code page %s.", m_description, m_codePage)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param description
+	 *            the description of the host connection
+	 * @param hostPort
+	 *            the host:port
+	 * @param protocol
+	 *            the encryption protocol
+	 * @param codePage
+	 *            the code page to be used for the host connection
+	 * @param timeout
+	 *            the read/write timeout to honor on the host connection
+	 * @param connectionId
+	 *            a unique identifier
+	 * @param cesUrl
+	 *            a CES URL
+	 */
+	public HostConnection(String description, String hostPort, String protocol, String codePage, String timeout, String connectionId, String cesUrl)
+	{
+		this(description, hostPort, protocol, codePage, timeout, connectionId, cesUrl, null);
 	}
 
 	/**
@@ -126,33 +172,91 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 	/**
 	 * Returns this connection's host and port.
 	 * <p>
-	 * The format is "host:port".
+	 * The format is "host:port". If the connection has several endpoints, the first one is returned; use
+	 * {@link #getEndpoints()} for all of them.
 	 * 
 	 * @return the host/port
 	 */
 	public String getHostPort()
+	{
+		return getFirstEndpoint();
+	}
+
+	/**
+	 * Returns this connection's endpoints as entered: a single "host:port", or a comma-separated list of "host:port" endpoints
+	 * serving the same system. Used for databinding and to save the connection.
+	 * 
+	 * @return the host/port endpoints
+	 */
+	public String getHostPorts()
 	{
 		return m_hostPort;
 	}
 
+	/**
+	 * Returns this connection's "host:port" endpoints.
+	 * 
+	 * @return the endpoints, in the order they were specified
+	 */
+	public List<String> getEndpoints()
+	{
+		List<String> endpoints = new ArrayList<>();
+		for (String endpoint : StringUtils.split(m_hostPort, CommonConstants.COMMA))
+		{
+			String trimmedEndpoint = StringUtils.trimToEmpty(endpoint);
+			if (!trimmedEndpoint.isEmpty())
+			{
+				endpoints.add(trimmedEndpoint);
+			}
+		}
+
+		return endpoints;
+	}
+
 	/**
 	 * Returns this connection's host.
+	 * <p>
+	 * If the connection has several endpoints, the host of the first one is returned.
 	 * 
 	 * @return the host
 	 */
 	public String getHost()
 	{
-		return StringUtils.substringBefore(getHostPort(), CommonConstants.COLON);
+		return StringUtils.substringBefore(getFirstEndpoint(), CommonConstants.COLON);
 	}
 
 	/**
 	 * Returns this connection's port.
+	 * <p>
+	 * If the connection has several endpoints, the port of the first one is returned.
 	 * 
 	 * @return the port
 	 */
 	public String getPort()
 	{
-		return StringUtils.substringAfter(getHostPort(), CommonConstants.COLON);
+		return StringUtils.substringAfter(getFirstEndpoint(), CommonConstants.COLON);
+	}
+
+	/**
+	 * Returns the first "host:port" endpoint.
+	 * 
+	 * @return the first endpoint
+	 */
+	private String getFirstEndpoint()
+	{
+		return StringUtils.trimToEmpty(StringUtils.substringBefore(m_hostPort, CommonConstants.COMMA));
+	}
+
+	/**
+	 * Returns the name of the policy used to pick one of this connection's endpoints.
+	 * <p>
+	 * Connections saved before endpoint policies existed use {@link EndpointPolicy#FAILOVER}.
+	 * 
+	 * @return the endpoint policy name
+	 */
+	public String getEndpointPolicy()
+	{
+		return m_endpointPolicy != null ? m_endpointPolicy : EndpointPolicy.FAILOVER.name();
 	}
 
 	/**
@@ -229,6 +333,47 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 		return m_cesUrl;
 	}
 
+	/**
+	 * Returns whether the given object is a host connection with the same settings.
+	 * <p>
+	 * Settings are compared as returned by their getters, so a blank timeout equals "0" and a connection loaded without an
+	 * endpoint policy equals one using the default policy.
+	 * 
+	 * @param obj
+	 *            the object to compare with
+	 * 
+	 * @return <code>true</code> if every setting is equal
+	 */
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (obj == null || obj.getClass() != getClass())
+		{
+			return false;
+		}
+
+		HostConnection other = (HostConnection) obj;
+		return Objects.equals(m_description, other.m_description) && Objects.equals(m_hostPort, other.m_hostPort)
+				&& Objects.equals(m_protocol, other.m_protocol) && Objects.equals(m_codePage, other.m_codePage)
+				&& getTimeout().equals(other.getTimeout()) && Objects.equals(m_connectionId, other.m_connectionId)
+				&& Objects.equals(m_cesUrl, other.m_cesUrl) && getEndpointPolicy().equals(other.getEndpointPolicy());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(m_description, m_hostPort, m_protocol, m_codePage, getTimeout(), m_connectionId, m_cesUrl,
+				getEndpointPolicy());
+	}
+
 	/**
 	 * DescriptorImpl is used to create instances of <code>CodeCoverageBuilder</code>. It also contains the global configuration
 	 * options as fields, just like the <code>CodeCoverageBuilder</code> contains the configuration options for a job
@@ -267,6 +412,8 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 
 		/**
 		 * Validation for the 'Host:port' text field.
+		 * <p>
+		 * Several endpoints may be given, separated by commas; each one is validated.
 		 * 
 		 * @param value
 		 *            value passed from the config.jelly "hostPort" field
@@ -274,10 +421,38 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 		 * @return validation message
 		 */
 		public FormValidation doCheckHostPort(@QueryParameter String value)
+		{
+			String tempValue = StringUtils.trimToEmpty(value);
+			if (tempValue.isEmpty())
+			{
+				return FormValidation.error(Messages.checkHostPortEmptyError());
+			}
+
+			FormValidation result = FormValidation.ok();
+			for (String endpoint : StringUtils.splitPreserveAllTokens(tempValue, CommonConstants.COMMA))
+			{
+				result = checkEndpoint(StringUtils.trimToEmpty(endpoint));
+				if (result.kind != FormValidation.Kind.OK)
+				{
+					break;
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * Validation for a single "host:port" endpoint.
+		 * 
+		 * @param tempValue
+		 *            the trimmed endpoint
+		 * 
+		 * @return validation message
+		 */
+		private FormValidation checkEndpoint(String tempValue)
 		{
 			FormValidation result;
 
-			String tempValue = StringUtils.trimToEmpty(value);
 			if (tempValue.isEmpty())
 			{
 				result = FormValidation.error(Messages.checkHostPortEmptyError());
@@ -365,6 +540,25 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 			return FormValidation.ok();
 		}
 
+		/**
+		 * Validation for the code page selection.
+		 * 
+		 * @param value
+		 *            value passed from the config.jelly "codePage" field
+		 * 
+		 * @return validation message
+		 */
+		public FormValidation doCheckCodePage(@QueryParameter String value)
+		{
+			String tempValue = StringUtils.trimToEmpty(value);
+			if (!tempValue.isEmpty() && !CodePageRegistry.get().isRegistered(tempValue))
+			{
+				return FormValidation.warning(Messages.checkCodePageUnknownWarning(tempValue));
+			}
+
+			return FormValidation.ok();
+		}
+
 		/**
 		 * Validation for the host timeout text field.
 		 * 
@@ -398,6 +592,22 @@ public class HostConnection extends AbstractDescribableImpl<HostConnection>
 			return FormValidation.ok();
 		}
 
+		/**
+		 * Fills in the endpoint policy selection box.
+		 *
+		 * @return endpoint policy selections
+		 */
+		public ListBoxModel doFillEndpointPolicyItems()
+		{
+			ListBoxModel policyModel = new ListBoxModel();
+			for (EndpointPolicy policy : EndpointPolicy.values())
+			{
+				policyModel.add(policy.getDisplayName(), policy.name());
+			}
+
+			return policyModel;
+		}
+
 		/**
 		 * Validation for the 'CES URL' text field.
 		 * 
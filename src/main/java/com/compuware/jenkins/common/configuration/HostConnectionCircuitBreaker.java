@@ -0,0 +1,429 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+import hudson.AbortException;
+
+/**
+ * Class used to stop builds from invoking the CLI against a host connection that is known to be down.
+ * <p>
+ * Every host connection has its own circuit, which starts out closed; a host connection with several endpoints has one
+ * circuit per endpoint. Consumers report the outcome of each CLI invocation; after a number of consecutive failures the
+ * circuit opens and {@link #checkAvailable(HostConnection)} fails fast instead of letting the build wait for the CLI to time
+ * out. Once the open period has passed, the circuit is half open and a single trial invocation is let through: success closes
+ * the circuit, failure opens it again. A trial whose outcome is never reported expires after another open period so the
+ * circuit cannot get stuck.
+ */
+public class HostConnectionCircuitBreaker
+{
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.HostConnectionCircuitBreaker"); //$NON-NLS-1$
+
+	private static final int DEFAULT_FAILURE_THRESHOLD = Integer
+			.getInteger(HostConnectionCircuitBreaker.class.getName() + ".failureThreshold", 5); //$NON-NLS-1$
+	private static final long DEFAULT_OPEN_MILLIS = TimeUnit.SECONDS
+			.toMillis(Long.getLong(HostConnectionCircuitBreaker.class.getName() + ".openSeconds", 60)); //$NON-NLS-1$
+	private static final int PROBE_TIMEOUT_MILLIS = 5000;
+
+	private static final HostConnectionCircuitBreaker INSTANCE = new HostConnectionCircuitBreaker(DEFAULT_FAILURE_THRESHOLD,
+			DEFAULT_OPEN_MILLIS, new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					return System.currentTimeMillis();
+				}
+			});
+
+	/**
+	 * The states of a circuit.
+	 */
+	public enum State
+	{
+		/** Invocations are allowed. */
+		CLOSED,
+		/** Invocations fail fast. */
+		OPEN,
+		/** A single trial invocation is allowed. */
+		HALF_OPEN
+	}
+
+	// Member Variables
+	private final int m_failureThreshold;
+	private final long m_openMillis;
+	private final LongSupplier m_clock;
+	private final ConcurrentMap<String, Circuit> m_circuits = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the circuit breaker shared by every build on the controller.
+	 *
+	 * @return the circuit breaker
+	 */
+	public static HostConnectionCircuitBreaker get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param failureThreshold
+	 *            the number of consecutive failures that opens a circuit
+	 * @param openMillis
+	 *            the time a circuit stays open before a trial invocation is allowed
+	 * @param clock
+	 *            supplies the current time in milliseconds
+	 */
+	HostConnectionCircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock)
+	{
+		m_failureThreshold = failureThreshold;
+		m_openMillis = openMillis;
+		m_clock = clock;
+	}
+
+	/**
+	 * Checks whether the CLI may be invoked against the given host connection.
+	 * <p>
+	 * If the host connection lists several endpoints, it is available as long as the circuit of one of them is not open. The
+	 * check changes nothing: a half open circuit counts as available, and its trial invocation is left for the
+	 * {@link HostEndpointSelector} to take when the arguments are built.
+	 *
+	 * @param connection
+	 *            the host connection
+	 *
+	 * @throws AbortException
+	 *             if the circuit of every endpoint of the host connection is open
+	 */
+	public void checkAvailable(HostConnection connection) throws AbortException
+	{
+		long remainingMillis = Long.MAX_VALUE;
+		for (String endpoint : HostEndpointSelector.getEndpoints(connection))
+		{
+			Circuit circuit = getCircuit(HostEndpointSelector.getCircuitKey(connection, endpoint));
+			if (circuit.getState() != State.OPEN)
+			{
+				return;
+			}
+			remainingMillis = Math.min(remainingMillis, circuit.getRemainingOpenMillis());
+		}
+
+		throw newUnavailableException(connection.getDescription(), remainingMillis);
+	}
+
+	/**
+	 * Finds the first of the given circuits that lets an invocation through, and takes its trial if it is half open.
+	 * <p>
+	 * A closed circuit is preferred; otherwise the first half open circuit whose trial has not been taken yet is used, and
+	 * its trial is taken.
+	 *
+	 * @param keys
+	 *            the circuit keys, in order of preference; not empty
+	 * @param description
+	 *            the description used in the error message
+	 *
+	 * @return the index of the key of the circuit to use
+	 * @throws AbortException
+	 *             if every circuit is open
+	 */
+	int allowRequest(List<String> keys, String description) throws AbortException
+	{
+		List<Circuit> circuits = new ArrayList<>(keys.size());
+		for (int i = 0; i < keys.size(); i++)
+		{
+			Circuit circuit = getCircuit(keys.get(i));
+			if (circuit.getState() == State.CLOSED)
+			{
+				return i;
+			}
+			circuits.add(circuit);
+		}
+
+		long remainingMillis = Long.MAX_VALUE;
+		for (int i = 0; i < circuits.size(); i++)
+		{
+			Circuit circuit = circuits.get(i);
+			if (circuit.allowRequest())
+			{
+				return i;
+			}
+			remainingMillis = Math.min(remainingMillis, circuit.getRemainingOpenMillis());
+		}
+
+		throw newUnavailableException(description, remainingMillis);
+	}
+
+	/**
+	 * Returns the exception thrown when a host connection is unavailable.
+	 *
+	 * @param description
+	 *            the description of the host connection
+	 * @param remainingMillis
+	 *            the time until a circuit of the host connection lets an invocation through
+	 *
+	 * @return the exception
+	 */
+	private static AbortException newUnavailableException(String description, long remainingMillis)
+	{
+		long retrySeconds = TimeUnit.MILLISECONDS.toSeconds(remainingMillis) + 1;
+		return new AbortException(Messages.hostConnectionUnavailableError(description, retrySeconds));
+	}
+
+	/**
+	 * Returns the state of the circuit of the given host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier, or the key of an endpoint circuit
+	 *
+	 * @return the state
+	 */
+	public State getState(String connectionId)
+	{
+		return getCircuit(connectionId).getState();
+	}
+
+	/**
+	 * Records that an invocation against the given host connection reached the host.
+	 * <p>
+	 * For a host connection with several endpoints, report the outcome through the
+	 * {@link HostEndpointSelector.Selection selection} of the endpoint that was used instead.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier, or the key of an endpoint circuit
+	 */
+	public void recordSuccess(String connectionId)
+	{
+		getCircuit(connectionId).recordSuccess();
+	}
+
+	/**
+	 * Records that an invocation against the given host connection could not reach the host.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier, or the key of an endpoint circuit
+	 */
+	public void recordFailure(String connectionId)
+	{
+		getCircuit(connectionId).recordFailure();
+	}
+
+	/**
+	 * Records the outcome of an invocation from its exit code.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier, or the key of an endpoint circuit
+	 * @param exitCode
+	 *            the CLI exit code
+	 * @param connectionFailureExitCodes
+	 *            the exit codes that mean the host could not be reached; any other exit code means it was reached
+	 */
+	public void recordExitCode(String connectionId, int exitCode, int... connectionFailureExitCodes)
+	{
+		for (int failureExitCode : connectionFailureExitCodes)
+		{
+			if (exitCode == failureExitCode)
+			{
+				recordFailure(connectionId);
+				return;
+			}
+		}
+
+		recordSuccess(connectionId);
+	}
+
+	/**
+	 * Probes every endpoint of the given host connection by opening a socket to its host and port, and records each result
+	 * against the circuit of the endpoint.
+	 *
+	 * @param connection
+	 *            the host connection
+	 *
+	 * @return <code>true</code> if any endpoint accepted the connection
+	 */
+	public boolean probe(HostConnection connection)
+	{
+		boolean reachable = false;
+		for (String endpoint : HostEndpointSelector.getEndpoints(connection))
+		{
+			String key = HostEndpointSelector.getCircuitKey(connection, endpoint);
+			if (probe(StringUtils.substringBefore(endpoint, CommonConstants.COLON),
+					NumberUtils.toInt(StringUtils.substringAfter(endpoint, CommonConstants.COLON), -1)))
+			{
+				recordSuccess(key);
+				reachable = true;
+			}
+			else
+			{
+				recordFailure(key);
+			}
+		}
+
+		return reachable;
+	}
+
+	/**
+	 * Opens and closes a socket to the given host and port.
+	 *
+	 * @param host
+	 *            the host
+	 * @param port
+	 *            the port
+	 *
+	 * @return <code>true</code> if the host accepted the connection
+	 */
+	static boolean probe(String host, int port)
+	{
+		if (port < 0)
+		{
+			return false;
+		}
+
+		try (Socket socket = new Socket())
+		{
+			socket.connect(new InetSocketAddress(host, port), PROBE_TIMEOUT_MILLIS);
+			return true;
+		}
+		catch (IOException e)
+		{
+			LOGGER.fine(String.format("Probe of %s:%d failed: %s", host, port, e.getMessage())); //$NON-NLS-1$
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the circuit for the given key.
+	 *
+	 * @param key
+	 *            the circuit key
+	 *
+	 * @return the circuit
+	 */
+	private Circuit getCircuit(String key)
+	{
+		String normalizedKey = key.toLowerCase(Locale.ENGLISH);
+		Circuit circuit = m_circuits.get(normalizedKey);
+		if (circuit == null)
+		{
+			Circuit newCircuit = new Circuit(normalizedKey);
+			circuit = m_circuits.putIfAbsent(normalizedKey, newCircuit);
+			if (circuit == null)
+			{
+				circuit = newCircuit;
+			}
+		}
+
+		return circuit;
+	}
+
+	/**
+	 * The circuit of a single host connection.
+	 * <p>
+	 * Outcomes are only reported once per CLI invocation, so a monitor is cheap enough and keeps the transitions simple.
+	 */
+	private final class Circuit
+	{
+		private final String m_key;
+		private State m_state = State.CLOSED;
+		private int m_consecutiveFailures;
+		private long m_openedAt;
+		private long m_trialStartedAt = -1;
+
+		private Circuit(String key)
+		{
+			m_key = key;
+		}
+
+		private synchronized State getState()
+		{
+			if (m_state == State.OPEN && m_clock.getAsLong() - m_openedAt >= m_openMillis)
+			{
+				m_state = State.HALF_OPEN;
+			}
+
+			return m_state;
+		}
+
+		private synchronized boolean allowRequest()
+		{
+			State state = getState();
+			if (state == State.CLOSED)
+			{
+				return true;
+			}
+
+			long now = m_clock.getAsLong();
+			if (state == State.HALF_OPEN && (m_trialStartedAt < 0 || now - m_trialStartedAt >= m_openMillis))
+			{
+				m_trialStartedAt = now;
+				return true;
+			}
+
+			return false;
+		}
+
+		private synchronized long getRemainingOpenMillis()
+		{
+			long openUntil = m_state == State.OPEN ? m_openedAt + m_openMillis : m_trialStartedAt + m_openMillis;
+			return Math.max(0, openUntil - m_clock.getAsLong());
+		}
+
+		private synchronized void recordSuccess()
+		{
+			if (m_state != State.CLOSED)
+			{
+				LOGGER.info(String.format("Host connection %s is available again.", m_key)); //$NON-NLS-1$
+			}
+
+			m_state = State.CLOSED;
+			m_consecutiveFailures = 0;
+			m_trialStartedAt = -1;
+		}
+
+		private synchronized void recordFailure()
+		{
+			m_consecutiveFailures++;
+			if (getState() == State.HALF_OPEN || m_consecutiveFailures >= m_failureThreshold)
+			{
+				if (m_state == State.CLOSED)
+				{
+					LOGGER.warning(String.format("Host connection %s is unavailable after %d consecutive failures.", //$NON-NLS-1$
+							m_key, m_consecutiveFailures));
+				}
+
+				m_state = State.OPEN;
+				m_openedAt = m_clock.getAsLong();
+				m_trialStartedAt = -1;
+			}
+		}
+	}
+}
@@ -0,0 +1,525 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * The formats host connections can be imported from and exported to.
+ * <p>
+ * Both formats are read and written one connection at a time, so neither the document nor a tree of it is ever held in
+ * memory. Columns and keys are named after the host connection fields on the configuration page.
+ */
+public enum HostConnectionFormat
+{
+	/**
+	 * Comma separated values as described by RFC 4180, with a header row naming the columns.
+	 */
+	CSV
+	{
+		@Override
+		RowReader open(Reader reader) throws IOException
+		{
+			return new CsvRowReader(reader);
+		}
+
+		@Override
+		void writeHeader(Writer writer) throws IOException
+		{
+			for (int i = 0; i < COLUMNS.length; i++)
+			{
+				writer.write(i > 0 ? "," + COLUMNS[i] : COLUMNS[i]); //$NON-NLS-1$
+			}
+			writer.write(CRLF);
+		}
+
+		@Override
+		void write(HostConnection connection, Writer writer) throws IOException
+		{
+			String[] values = toValues(connection);
+			for (int i = 0; i < values.length; i++)
+			{
+				if (i > 0)
+				{
+					writer.write(',');
+				}
+				writer.write(quoteCsv(values[i]));
+			}
+			writer.write(CRLF);
+		}
+	},
+
+	/**
+	 * JSON lines: one JSON object per line.
+	 */
+	JSON
+	{
+		@Override
+		RowReader open(Reader reader) throws IOException
+		{
+			return new JsonRowReader(reader);
+		}
+
+		@Override
+		void writeHeader(Writer writer) throws IOException
+		{
+			// JSON lines have no header
+		}
+
+		@Override
+		void write(HostConnection connection, Writer writer) throws IOException
+		{
+			String[] values = toValues(connection);
+			JSONObject object = new JSONObject();
+			for (int i = 0; i < COLUMNS.length; i++)
+			{
+				object.put(COLUMNS[i], values[i]);
+			}
+			writer.write(object.toString());
+			writer.write('\n');
+		}
+	};
+
+	// Constants
+	static final String DESCRIPTION = "description"; //$NON-NLS-1$
+	static final String HOST_PORT = "hostPort"; //$NON-NLS-1$
+	static final String PROTOCOL = "protocol"; //$NON-NLS-1$
+	static final String CODE_PAGE = "codePage"; //$NON-NLS-1$
+	static final String TIMEOUT = "timeout"; //$NON-NLS-1$
+	static final String CONNECTION_ID = "connectionId"; //$NON-NLS-1$
+	static final String CES_URL = "cesUrl"; //$NON-NLS-1$
+	static final String ENDPOINT_POLICY = "endpointPolicy"; //$NON-NLS-1$
+
+	static final String[] COLUMNS = { DESCRIPTION, HOST_PORT, PROTOCOL, CODE_PAGE, TIMEOUT, CONNECTION_ID, CES_URL,
+			ENDPOINT_POLICY };
+
+	private static final String CRLF = "\r\n"; //$NON-NLS-1$
+
+	/**
+	 * Returns the format with the given name, ignoring case.
+	 *
+	 * @param name
+	 *            the format name
+	 *
+	 * @return the format
+	 * @throws IllegalArgumentException
+	 *             if there is no format with the given name
+	 */
+	public static HostConnectionFormat fromName(String name)
+	{
+		for (HostConnectionFormat format : values())
+		{
+			if (format.name().equalsIgnoreCase(StringUtils.trimToEmpty(name)))
+			{
+				return format;
+			}
+		}
+
+		throw new IllegalArgumentException(Messages.importUnknownFormatError(name));
+	}
+
+	/**
+	 * Returns the content type of the format.
+	 *
+	 * @return the MIME type
+	 */
+	public String getContentType()
+	{
+		return this == CSV ? "text/csv" : "application/x-ndjson"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Writes the given host connections.
+	 *
+	 * @param connections
+	 *            the host connections
+	 * @param writer
+	 *            the writer; it is flushed but not closed
+	 *
+	 * @throws IOException
+	 *             if the host connections could not be written
+	 */
+	public void write(HostConnection[] connections, Writer writer) throws IOException
+	{
+		writeHeader(writer);
+		for (HostConnection connection : connections)
+		{
+			write(connection, writer);
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Opens a reader for the rows of a document in this format.
+	 *
+	 * @param reader
+	 *            the document
+	 *
+	 * @return the row reader
+	 * @throws IOException
+	 *             if the document could not be read
+	 */
+	abstract RowReader open(Reader reader) throws IOException;
+
+	/**
+	 * Writes whatever precedes the first host connection.
+	 *
+	 * @param writer
+	 *            the writer
+	 *
+	 * @throws IOException
+	 *             if the header could not be written
+	 */
+	abstract void writeHeader(Writer writer) throws IOException;
+
+	/**
+	 * Writes a single host connection.
+	 *
+	 * @param connection
+	 *            the host connection
+	 * @param writer
+	 *            the writer
+	 *
+	 * @throws IOException
+	 *             if the host connection could not be written
+	 */
+	abstract void write(HostConnection connection, Writer writer) throws IOException;
+
+	/**
+	 * Returns the values of a host connection in column order.
+	 *
+	 * @param connection
+	 *            the host connection
+	 *
+	 * @return the values
+	 */
+	private static String[] toValues(HostConnection connection)
+	{
+		return new String[] { connection.getDescription(), connection.getHostPorts(), connection.getProtocol(),
+				connection.getCodePage(), connection.getTimeout(), connection.getConnectionId(), connection.getCesUrl(),
+				connection.getEndpointPolicy() };
+	}
+
+	/**
+	 * Quotes a CSV value if it contains a separator, quote or line break.
+	 *
+	 * @param value
+	 *            the value; can be null
+	 *
+	 * @return the value as written to a CSV document
+	 */
+	static String quoteCsv(String value)
+	{
+		String csvValue = StringUtils.defaultString(value);
+		if (StringUtils.containsAny(csvValue, ",\"\r\n")) //$NON-NLS-1$
+		{
+			return '"' + csvValue.replace("\"", "\"\"") + '"'; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		return csvValue;
+	}
+
+	/**
+	 * Signals a malformed document, as opposed to a document that could not be read.
+	 */
+	static final class FormatException extends IOException
+	{
+		private static final long serialVersionUID = 1L;
+
+		FormatException(String message)
+		{
+			super(message);
+		}
+	}
+
+	/**
+	 * Reads the rows of a document one at a time.
+	 */
+	interface RowReader
+	{
+		/**
+		 * Returns the next row.
+		 *
+		 * @return the values of the row keyed by column name; <code>null</code> at the end of the document
+		 * @throws FormatException
+		 *             if the document is malformed
+		 * @throws IOException
+		 *             if the document could not be read
+		 */
+		Map<String, String> next() throws IOException;
+
+		/**
+		 * Returns the number of the row last returned, starting at 1 for the first host connection.
+		 *
+		 * @return the row number
+		 */
+		int getRowNumber();
+	}
+
+	/**
+	 * Reads CSV rows, allowing quoted values to span lines.
+	 */
+	static final class CsvRowReader implements RowReader
+	{
+		private static final int EOF = -1;
+
+		private final Reader m_reader;
+		private final String[] m_header;
+		private int m_rowNumber;
+		private int m_pushedBack = EOF;
+
+		CsvRowReader(Reader reader) throws IOException
+		{
+			m_reader = reader;
+
+			String[] header = readRecord();
+			if (header == null)
+			{
+				header = new String[0];
+			}
+			for (int i = 0; i < header.length; i++)
+			{
+				header[i] = header[i].trim();
+				if (!isColumn(header[i]))
+				{
+					throw new FormatException(Messages.importUnknownColumnError(header[i]));
+				}
+			}
+			m_header = header;
+		}
+
+		@Override
+		public Map<String, String> next() throws IOException
+		{
+			String[] record;
+			do
+			{
+				record = readRecord();
+			}
+			while (record != null && record.length == 1 && record[0].isEmpty());
+
+			if (record == null)
+			{
+				return null;
+			}
+
+			m_rowNumber++;
+			if (record.length > m_header.length)
+			{
+				throw new FormatException(Messages.importRowError(m_rowNumber, Messages.importColumnCountError(m_header.length)));
+			}
+
+			Map<String, String> row = new HashMap<>();
+			for (int i = 0; i < record.length; i++)
+			{
+				row.put(m_header[i], record[i]);
+			}
+
+			return row;
+		}
+
+		@Override
+		public int getRowNumber()
+		{
+			return m_rowNumber;
+		}
+
+		/**
+		 * Reads the values of the next record.
+		 *
+		 * @return the values; <code>null</code> at the end of the document
+		 * @throws FormatException
+		 *             if a quoted value is not terminated
+		 * @throws IOException
+		 *             if the document could not be read
+		 */
+		private String[] readRecord() throws IOException
+		{
+			int c = read();
+			if (c == EOF)
+			{
+				return null;
+			}
+
+			List<String> values = new ArrayList<>();
+			StringBuilder value = new StringBuilder();
+			boolean quoted = false;
+			while (true)
+			{
+				if (quoted)
+				{
+					if (c == EOF)
+					{
+						throw new FormatException(Messages.importRowError(m_rowNumber + 1, Messages.importUnterminatedQuoteError()));
+					}
+					if (c == '"')
+					{
+						int next = read();
+						if (next == '"')
+						{
+							value.append('"');
+						}
+						else
+						{
+							quoted = false;
+							c = next;
+							continue;
+						}
+					}
+					else
+					{
+						value.append((char) c);
+					}
+				}
+				else if (c == '"' && value.length() == 0)
+				{
+					quoted = true;
+				}
+				else if (c == ',')
+				{
+					values.add(value.toString());
+					value.setLength(0);
+				}
+				else if (c == '\r' || c == '\n' || c == EOF)
+				{
+					if (c == '\r')
+					{
+						int next = read();
+						if (next != '\n')
+						{
+							m_pushedBack = next;
+						}
+					}
+					values.add(value.toString());
+					return values.toArray(new String[values.size()]);
+				}
+				else
+				{
+					value.append((char) c);
+				}
+
+				c = read();
+			}
+		}
+
+		private int read() throws IOException
+		{
+			if (m_pushedBack != EOF)
+			{
+				int c = m_pushedBack;
+				m_pushedBack = EOF;
+				return c;
+			}
+
+			return m_reader.read();
+		}
+	}
+
+	/**
+	 * Reads JSON lines, skipping blank lines.
+	 */
+	static final class JsonRowReader implements RowReader
+	{
+		private final BufferedReader m_reader;
+		private int m_rowNumber;
+
+		JsonRowReader(Reader reader)
+		{
+			m_reader = reader instanceof BufferedReader ? (BufferedReader) reader
+					: new BufferedReader(reader);
+		}
+
+		@Override
+		public Map<String, String> next() throws IOException
+		{
+			String line;
+			do
+			{
+				line = m_reader.readLine();
+			}
+			while (line != null && line.trim().isEmpty());
+
+			if (line == null)
+			{
+				return null;
+			}
+
+			m_rowNumber++;
+			JSONObject object;
+			try
+			{
+				object = JSONObject.fromObject(line);
+			}
+			catch (JSONException e)
+			{
+				throw new FormatException(Messages.importRowError(m_rowNumber, Messages.importInvalidJsonError()));
+			}
+
+			Map<String, String> row = new HashMap<>();
+			for (Object key : object.keySet())
+			{
+				String column = String.valueOf(key);
+				if (!isColumn(column))
+				{
+					throw new FormatException(Messages.importRowError(m_rowNumber, Messages.importUnknownColumnError(column)));
+				}
+				row.put(column, object.optString(column, null));
+			}
+
+			return row;
+		}
+
+		@Override
+		public int getRowNumber()
+		{
+			return m_rowNumber;
+		}
+	}
+
+	/**
+	 * Returns whether the given name is a column name.
+	 *
+	 * @param name
+	 *            the name
+	 *
+	 * @return <code>true</code> if it names a column
+	 */
+	static boolean isColumn(String name)
+	{
+		for (String column : COLUMNS)
+		{
+			if (column.equals(name))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,276 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.compuware.jenkins.common.configuration.HostConnection.DescriptorImpl;
+import com.compuware.jenkins.common.configuration.HostConnectionFormat.FormatException;
+import com.compuware.jenkins.common.configuration.HostConnectionFormat.RowReader;
+
+import hudson.util.FormValidation;
+
+/**
+ * Class used to read host connections for a bulk import.
+ * <p>
+ * The document is streamed one row at a time and every row is validated with the same rules as the configuration page, so the
+ * raw document is never held in memory. Nothing is applied here: once the whole document has been read without errors, the
+ * connections are handed to {@link CpwrGlobalConfiguration#importHostConnections(List, boolean)}, which swaps them in at once.
+ * <p>
+ * A row without a connection identifier takes the identifier of the existing connection it matches, so importing the same
+ * document again updates that connection instead of adding another one; see
+ * {@link #reuseConnectionIds(HostConnection[], List, BitSet)}.
+ */
+public class HostConnectionImporter
+{
+	// Constants
+	private static final int MAX_ERRORS = 100;
+
+	// Member Variables
+	private final DescriptorImpl m_descriptor;
+	private final List<HostConnection> m_connections = new ArrayList<>();
+	private final List<String> m_errors = new ArrayList<>();
+	private final Set<String> m_connectionIds = new HashSet<>();
+	private final BitSet m_generatedIds = new BitSet();
+	private final HostConnection[] m_existingConnections;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param descriptor
+	 *            the host connection descriptor whose validation rules are applied
+	 */
+	public HostConnectionImporter(DescriptorImpl descriptor)
+	{
+		this(descriptor, new HostConnection[0]);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param descriptor
+	 *            the host connection descriptor whose validation rules are applied
+	 * @param existingConnections
+	 *            the current host connections, whose identifiers are reused for matching rows without one
+	 */
+	public HostConnectionImporter(DescriptorImpl descriptor, HostConnection[] existingConnections)
+	{
+		m_descriptor = descriptor;
+		m_existingConnections = existingConnections.clone();
+	}
+
+	/**
+	 * Reads and validates the host connections of a document.
+	 * <p>
+	 * Reading stops at the first malformed row, or once too many rows failed validation.
+	 *
+	 * @param reader
+	 *            the document
+	 * @param format
+	 *            the format of the document
+	 *
+	 * @return <code>true</code> if every row was read and is valid
+	 * @throws IOException
+	 *             if the document could not be read
+	 */
+	public boolean read(Reader reader, HostConnectionFormat format) throws IOException
+	{
+		try
+		{
+			RowReader rows = format.open(reader);
+			Map<String, String> row;
+			while (m_errors.size() < MAX_ERRORS && (row = rows.next()) != null)
+			{
+				add(rows.getRowNumber(), row);
+			}
+		}
+		catch (FormatException e)
+		{
+			// a malformed document is reported like an invalid row; a failure to read it is thrown
+			m_errors.add(e.getMessage());
+		}
+
+		return m_errors.isEmpty();
+	}
+
+	/**
+	 * Returns the host connections read so far.
+	 *
+	 * @return the host connections, in document order
+	 */
+	public List<HostConnection> getConnections()
+	{
+		return Collections.unmodifiableList(reuseConnectionIds(m_existingConnections, m_connections, m_generatedIds));
+	}
+
+	/**
+	 * Returns the errors found so far.
+	 *
+	 * @return the error messages, each naming the row it applies to
+	 */
+	public List<String> getErrors()
+	{
+		return Collections.unmodifiableList(m_errors);
+	}
+
+	/**
+	 * Validates a row and, if it is valid, adds its host connection.
+	 *
+	 * @param rowNumber
+	 *            the row number used in error messages
+	 * @param row
+	 *            the values of the row keyed by column name
+	 *
+	 * @return <code>true</code> if the row is valid
+	 */
+	boolean add(int rowNumber, Map<String, String> row)
+	{
+		String description = row.get(HostConnectionFormat.DESCRIPTION);
+		String hostPort = row.get(HostConnectionFormat.HOST_PORT);
+		String codePage = row.get(HostConnectionFormat.CODE_PAGE);
+		String timeout = row.get(HostConnectionFormat.TIMEOUT);
+		String connectionId = row.get(HostConnectionFormat.CONNECTION_ID);
+		String cesUrl = row.get(HostConnectionFormat.CES_URL);
+
+		FormValidation[] validations = { m_descriptor.doCheckDescription(description), m_descriptor.doCheckHostPort(hostPort),
+				m_descriptor.doCheckCodePage(codePage), m_descriptor.doCheckTimeout(timeout),
+				m_descriptor.doCheckCesUrl(cesUrl) };
+		for (FormValidation validation : validations)
+		{
+			if (validation.kind == FormValidation.Kind.ERROR)
+			{
+				m_errors.add(Messages.importRowError(rowNumber, validation.getMessage()));
+				return false;
+			}
+		}
+
+		if (StringUtils.isNotBlank(connectionId) && !m_connectionIds.add(connectionId.trim().toLowerCase(Locale.ENGLISH)))
+		{
+			m_errors.add(Messages.importRowError(rowNumber, Messages.importDuplicateConnectionIdError(connectionId.trim())));
+			return false;
+		}
+
+		if (StringUtils.isBlank(connectionId))
+		{
+			m_generatedIds.set(m_connections.size());
+		}
+		m_connections.add(new HostConnection(description, hostPort, row.get(HostConnectionFormat.PROTOCOL), codePage, timeout,
+				connectionId, cesUrl, row.get(HostConnectionFormat.ENDPOINT_POLICY)));
+		return true;
+	}
+
+	/**
+	 * Gives each connection that was supplied without an identifier the identifier of the existing connection it stands for.
+	 * <p>
+	 * An existing connection matches when it has the same "host:port" endpoints and code page; one with the same description
+	 * is preferred. Each existing connection is matched at most once, and never if its identifier is given explicitly by one of
+	 * the connections. A connection that matches nothing keeps its generated identifier.
+	 *
+	 * @param existingConnections
+	 *            the current host connections
+	 * @param connections
+	 *            the supplied host connections
+	 * @param generatedIds
+	 *            the indexes of the supplied connections whose identifier was generated
+	 *
+	 * @return the supplied host connections with the matched identifiers
+	 */
+	static List<HostConnection> reuseConnectionIds(HostConnection[] existingConnections, List<HostConnection> connections,
+			BitSet generatedIds)
+	{
+		if (generatedIds.isEmpty() || existingConnections.length == 0)
+		{
+			return connections;
+		}
+
+		Set<String> givenIds = new HashSet<>();
+		for (int i = 0; i < connections.size(); i++)
+		{
+			if (!generatedIds.get(i))
+			{
+				givenIds.add(connections.get(i).getConnectionId().toLowerCase(Locale.ENGLISH));
+			}
+		}
+
+		List<HostConnection> unmatched = new ArrayList<>();
+		for (HostConnection existing : existingConnections)
+		{
+			if (!givenIds.contains(existing.getConnectionId().toLowerCase(Locale.ENGLISH)))
+			{
+				unmatched.add(existing);
+			}
+		}
+
+		List<HostConnection> result = new ArrayList<>(connections);
+		for (int i = generatedIds.nextSetBit(0); i >= 0 && i < result.size(); i = generatedIds.nextSetBit(i + 1))
+		{
+			HostConnection connection = result.get(i);
+			HostConnection match = null;
+			for (Iterator<HostConnection> iterator = unmatched.iterator(); iterator.hasNext();)
+			{
+				HostConnection existing = iterator.next();
+				if (isSameHost(existing, connection)
+						&& (match == null || existing.getDescription().equals(connection.getDescription())))
+				{
+					match = existing;
+					if (existing.getDescription().equals(connection.getDescription()))
+					{
+						break;
+					}
+				}
+			}
+
+			if (match != null)
+			{
+				unmatched.remove(match);
+				result.set(i, new HostConnection(connection.getDescription(), connection.getHostPorts(), connection.getProtocol(),
+						connection.getCodePage(), connection.getTimeout(), match.getConnectionId(), connection.getCesUrl(),
+						connection.getEndpointPolicy()));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns whether two host connections have the same endpoints and code page.
+	 *
+	 * @param first
+	 *            a host connection
+	 * @param second
+	 *            another host connection
+	 *
+	 * @return <code>true</code> if they connect to the same host the same way
+	 */
+	private static boolean isSameHost(HostConnection first, HostConnection second)
+	{
+		return first.getEndpoints().toString().equalsIgnoreCase(second.getEndpoints().toString())
+				&& first.getCodePage().equals(second.getCodePage());
+	}
+}
@@ -0,0 +1,357 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Append-only journal of host connection changes, kept next to the global configuration file.
+ * <p>
+ * The configuration file holds a base snapshot; every later change to the host connections is appended as one line per added,
+ * updated or removed connection, so a small edit costs a small write instead of rewriting the whole file. Replaying the
+ * journal on top of the base snapshot gives the current connections. Once the base snapshot has been rewritten, the journal is
+ * reset. A last line without a line terminator was cut short by a crash; it is cut off the file before anything else is
+ * appended.
+ * <p>
+ * A journal that cannot be replayed is kept as it is for an administrator to repair or remove: nothing is appended to it and
+ * it is never reset, so the changes it holds are not lost by a later save.
+ */
+final class HostConnectionJournal
+{
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.HostConnectionJournal"); //$NON-NLS-1$
+
+	private static final String PUT = "put"; //$NON-NLS-1$
+	private static final String REMOVE = "remove"; //$NON-NLS-1$
+	private static final int PUT_FIELD_COUNT = 9;
+
+	// Member Variables
+	private final Path m_file;
+	private int m_recordCount;
+	private boolean m_failed;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file
+	 *            the journal file
+	 */
+	HostConnectionJournal(Path file)
+	{
+		m_file = file;
+	}
+
+	/**
+	 * Returns whether the journal could not be replayed.
+	 *
+	 * @return <code>true</code> if the journal is kept as it is
+	 */
+	synchronized boolean isFailed()
+	{
+		return m_failed;
+	}
+
+	/**
+	 * Returns the number of records in the journal.
+	 *
+	 * @return the number of records replayed or appended since the journal was last reset
+	 */
+	synchronized int getRecordCount()
+	{
+		return m_recordCount;
+	}
+
+	/**
+	 * Replays the journal on top of the given base snapshot.
+	 *
+	 * @param base
+	 *            the host connections of the base snapshot
+	 *
+	 * @return the current host connections
+	 * @throws IOException
+	 *             if the journal could not be read or holds an invalid record; the journal is then kept as it is
+	 */
+	synchronized HostConnection[] replay(HostConnection[] base) throws IOException
+	{
+		m_recordCount = 0;
+		m_failed = false;
+		try
+		{
+			return replayRecords(base);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			m_recordCount = 0;
+			m_failed = true;
+			throw e;
+		}
+	}
+
+	/**
+	 * Replays the records of the journal on top of the given base snapshot, cutting off an incomplete last record.
+	 *
+	 * @param base
+	 *            the host connections of the base snapshot
+	 *
+	 * @return the current host connections
+	 * @throws IOException
+	 *             if the journal could not be read or holds an invalid record
+	 */
+	private HostConnection[] replayRecords(HostConnection[] base) throws IOException
+	{
+		Map<String, HostConnection> connections = new LinkedHashMap<>();
+		for (HostConnection connection : base)
+		{
+			connections.put(key(connection.getConnectionId()), connection);
+		}
+
+		byte[] bytes;
+		try
+		{
+			bytes = Files.readAllBytes(m_file);
+		}
+		catch (NoSuchFileException e)
+		{
+			return base;
+		}
+
+		// a record appended after an incomplete one would be joined to it, so the incomplete one is cut off first
+		int length = bytes.length;
+		while (length > 0 && bytes[length - 1] != '\n')
+		{
+			length--;
+		}
+		if (length < bytes.length)
+		{
+			LOGGER.warning(String.format("Discarding incomplete last record of %s.", m_file)); //$NON-NLS-1$
+			try (FileChannel channel = FileChannel.open(m_file, StandardOpenOption.WRITE))
+			{
+				channel.truncate(length);
+				channel.force(false);
+			}
+		}
+
+		String content = new String(bytes, 0, length, StandardCharsets.UTF_8);
+
+		int start = 0;
+		int end;
+		while ((end = content.indexOf('\n', start)) >= 0)
+		{
+			String line = content.substring(start, end);
+			start = end + 1;
+
+			List<String> fields = RecordFields.split(line);
+			if (PUT.equals(fields.get(0)) && fields.size() == PUT_FIELD_COUNT)
+			{
+				HostConnection connection = new HostConnection(fields.get(1), fields.get(2), fields.get(3), fields.get(4),
+						fields.get(5), fields.get(6), fields.get(7), fields.get(8));
+				connections.put(key(connection.getConnectionId()), connection);
+			}
+			else if (REMOVE.equals(fields.get(0)) && fields.size() == 2)
+			{
+				connections.remove(key(fields.get(1)));
+			}
+			else
+			{
+				throw new IOException(String.format("Invalid record %d in %s", m_recordCount + 1, m_file)); //$NON-NLS-1$
+			}
+
+			m_recordCount++;
+		}
+
+		return connections.values().toArray(new HostConnection[connections.size()]);
+	}
+
+	/**
+	 * Appends the records that turn the old host connections into the new ones.
+	 * <p>
+	 * Replay keeps the position of updated connections and adds new connections at the end, so a change that reorders the
+	 * existing connections, or leaves two connections with the same identifier, cannot be journaled; the base snapshot has to be
+	 * rewritten instead.
+	 *
+	 * @param oldConnections
+	 *            the host connections before the change
+	 * @param newConnections
+	 *            the host connections after the change
+	 *
+	 * @return <code>true</code> if the change was appended, <code>false</code> if it cannot be journaled or the journal could
+	 *         not be replayed
+	 * @throws IOException
+	 *             if the journal could not be written
+	 */
+	synchronized boolean append(HostConnection[] oldConnections, HostConnection[] newConnections) throws IOException
+	{
+		if (m_failed)
+		{
+			return false;
+		}
+
+		List<String> records = diff(oldConnections, newConnections);
+		if (records == null)
+		{
+			return false;
+		}
+		if (records.isEmpty())
+		{
+			return true;
+		}
+
+		StringBuilder builder = new StringBuilder();
+		for (String record : records)
+		{
+			builder.append(record).append('\n');
+		}
+
+		try (FileChannel channel = FileChannel.open(m_file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND))
+		{
+			ByteBuffer buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining())
+			{
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+
+		m_recordCount += records.size();
+		return true;
+	}
+
+	/**
+	 * Removes the journal once its records are part of a new base snapshot.
+	 *
+	 * @throws IOException
+	 *             if the journal could not be removed, or could not be replayed and is kept
+	 */
+	synchronized void reset() throws IOException
+	{
+		if (m_failed)
+		{
+			throw new IOException(String.format("%s could not be replayed and is kept.", m_file)); //$NON-NLS-1$
+		}
+
+		Files.deleteIfExists(m_file);
+		m_recordCount = 0;
+	}
+
+	/**
+	 * Returns the records that turn the old host connections into the new ones.
+	 *
+	 * @param oldConnections
+	 *            the host connections before the change
+	 * @param newConnections
+	 *            the host connections after the change
+	 *
+	 * @return the records; <code>null</code> if the change cannot be expressed as records
+	 */
+	static List<String> diff(HostConnection[] oldConnections, HostConnection[] newConnections)
+	{
+		Map<String, Integer> oldPositions = new HashMap<>();
+		for (int i = 0; i < oldConnections.length; i++)
+		{
+			oldPositions.put(key(oldConnections[i].getConnectionId()), i);
+		}
+
+		Map<String, HostConnection> newById = new HashMap<>();
+		List<String> puts = new ArrayList<>();
+		int lastPosition = -1;
+		boolean adding = false;
+		for (HostConnection connection : newConnections)
+		{
+			String key = key(connection.getConnectionId());
+			if (newById.put(key, connection) != null)
+			{
+				return null;
+			}
+
+			Integer position = oldPositions.get(key);
+			if (position == null)
+			{
+				adding = true;
+				puts.add(toRecord(connection));
+			}
+			else
+			{
+				// existing connections must keep their order and come before any added ones
+				if (adding || position < lastPosition)
+				{
+					return null;
+				}
+				lastPosition = position;
+
+				if (!connection.equals(oldConnections[position]))
+				{
+					puts.add(toRecord(connection));
+				}
+			}
+		}
+
+		List<String> records = new ArrayList<>();
+		for (HostConnection connection : oldConnections)
+		{
+			if (!newById.containsKey(key(connection.getConnectionId())))
+			{
+				records.add(RecordFields.join(REMOVE, connection.getConnectionId()));
+			}
+		}
+		records.addAll(puts);
+
+		return records;
+	}
+
+	/**
+	 * Returns the record that adds or updates the given host connection.
+	 *
+	 * @param connection
+	 *            the host connection
+	 *
+	 * @return the record
+	 */
+	private static String toRecord(HostConnection connection)
+	{
+		return RecordFields.join(PUT, connection.getDescription(), connection.getHostPorts(), connection.getProtocol(),
+				connection.getCodePage(), connection.getTimeout(), connection.getConnectionId(), connection.getCesUrl(),
+				connection.getEndpointPolicy());
+	}
+
+	/**
+	 * Returns the key of a host connection identifier; identifiers are compared ignoring case.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the key
+	 */
+	private static String key(String connectionId)
+	{
+		return connectionId.toLowerCase(Locale.ENGLISH);
+	}
+}
@@ -0,0 +1,233 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+import hudson.model.TaskListener;
+
+/**
+ * Class used to limit the number of CLI invocations running against a host connection at the same time.
+ * <p>
+ * Every host connection gets its own fair semaphore, so invocations against one connection never contend with invocations
+ * against another and waiting invocations are served in arrival order. The limit is read from the global configuration on
+ * every acquisition; when it changes, the semaphore of the connection is resized in place, so running invocations keep counting
+ * against the new limit and a lowered limit only lets new invocations start once enough running ones have finished.
+ * <p>
+ * {@link CpwrGlobalConfiguration#getCLIArguments(String, String, hudson.model.Item, String, String, TaskListener)} holds a
+ * slot until the arguments it returns are closed. Consumers that build their arguments any other way must acquire one here.
+ */
+public class HostConnectionLimiter
+{
+	/** A limit of 0 means the number of concurrent invocations is not limited. */
+	public static final int UNLIMITED = 0;
+
+	private static final HostConnectionLimiter INSTANCE = new HostConnectionLimiter(new IntSupplier()
+	{
+		@Override
+		public int getAsInt()
+		{
+			return CpwrGlobalConfiguration.get().getMaxConcurrentInvocations();
+		}
+	});
+
+	// Member Variables
+	private final IntSupplier m_limitSupplier;
+	private final ConcurrentMap<String, Slots> m_slots = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the limiter shared by every build on the controller.
+	 *
+	 * @return the limiter
+	 */
+	public static HostConnectionLimiter get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param limitSupplier
+	 *            supplies the maximum number of concurrent invocations per host connection
+	 */
+	HostConnectionLimiter(IntSupplier limitSupplier)
+	{
+		m_limitSupplier = limitSupplier;
+	}
+
+	/**
+	 * Acquires a slot on the given host connection, waiting for one to become free if necessary.
+	 * <p>
+	 * If the invocation has to wait, a message is written to the build log so the wait is visible to the build. The returned
+	 * permit must be closed when the invocation finishes, preferably with try-with-resources.
+	 *
+	 * @param connection
+	 *            the host connection the CLI is invoked against
+	 * @param listener
+	 *            the build listener; can be null
+	 *
+	 * @return the permit for the slot
+	 * @throws InterruptedException
+	 *             if the build was interrupted while waiting
+	 */
+	public Permit acquire(HostConnection connection, TaskListener listener) throws InterruptedException
+	{
+		int limit = m_limitSupplier.getAsInt();
+		if (limit <= UNLIMITED)
+		{
+			return new Permit(null);
+		}
+
+		Slots slots = getSlots(connection.getConnectionId(), limit);
+		if (!slots.tryAcquire())
+		{
+			if (listener != null)
+			{
+				listener.getLogger().println(Messages.waitingForHostSlot(connection.getDescription(), limit));
+			}
+			slots.acquire();
+		}
+
+		return new Permit(slots);
+	}
+
+	/**
+	 * Returns the number of invocations waiting for a slot on the given host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the number of waiting invocations
+	 */
+	public int getWaitingCount(String connectionId)
+	{
+		Slots slots = m_slots.get(connectionId.toLowerCase(Locale.ENGLISH));
+		return slots != null ? slots.getQueueLength() : 0;
+	}
+
+	/**
+	 * Returns the number of invocations holding a slot on the given host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the number of running invocations
+	 */
+	public int getRunningCount(String connectionId)
+	{
+		Slots slots = m_slots.get(connectionId.toLowerCase(Locale.ENGLISH));
+		return slots != null ? slots.getRunningCount() : 0;
+	}
+
+	/**
+	 * Returns the slots for the given host connection, resizing them if the limit changed.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param limit
+	 *            the current limit
+	 *
+	 * @return the slots
+	 */
+	private Slots getSlots(String connectionId, int limit)
+	{
+		String key = connectionId.toLowerCase(Locale.ENGLISH);
+		Slots slots = m_slots.get(key);
+		if (slots == null)
+		{
+			Slots newSlots = new Slots(limit);
+			slots = m_slots.putIfAbsent(key, newSlots);
+			if (slots == null)
+			{
+				return newSlots;
+			}
+		}
+
+		slots.resize(limit);
+		return slots;
+	}
+
+	/**
+	 * The slots of a single host connection.
+	 * <p>
+	 * Shrinking takes permits away even when they are held, so the available permits go negative until enough running
+	 * invocations have released theirs.
+	 */
+	private static final class Slots extends Semaphore
+	{
+		private static final long serialVersionUID = 1L;
+
+		private volatile int m_limit;
+
+		private Slots(int limit)
+		{
+			super(limit, true);
+			m_limit = limit;
+		}
+
+		private synchronized void resize(int limit)
+		{
+			int delta = limit - m_limit;
+			if (delta > 0)
+			{
+				release(delta);
+			}
+			else if (delta < 0)
+			{
+				reducePermits(-delta);
+			}
+			m_limit = limit;
+		}
+
+		private int getRunningCount()
+		{
+			return m_limit - availablePermits();
+		}
+	}
+
+	/**
+	 * A slot held by a running invocation.
+	 */
+	public static final class Permit implements AutoCloseable
+	{
+		private final Semaphore m_semaphore;
+		private final AtomicBoolean m_released = new AtomicBoolean();
+
+		private Permit(Semaphore semaphore)
+		{
+			m_semaphore = semaphore;
+		}
+
+		/**
+		 * Releases the slot. Releasing more than once has no effect.
+		 */
+		@Override
+		public void close()
+		{
+			if (m_semaphore != null && m_released.compareAndSet(false, true))
+			{
+				m_semaphore.release();
+			}
+		}
+	}
+}
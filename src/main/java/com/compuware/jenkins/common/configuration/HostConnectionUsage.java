@@ -0,0 +1,761 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+/**
+ * Class used to keep usage statistics for every host connection.
+ * <p>
+ * Every CLI invocation is wrapped in an {@link Invocation}, which counts it, tracks how many invocations run against the
+ * connection at the same time, and records its exit outcome and wall time. The history of each connection is a fixed-size
+ * ring buffer of time slots; a slot is reused once it falls out of the window, so the memory used per connection is bounded.
+ * The {@link CLIArguments} returned by
+ * {@link CpwrGlobalConfiguration#getCLIArguments(String, String, hudson.model.Item, String, String, hudson.model.TaskListener)}
+ * hold one until they are closed; consumers that build their arguments any other way must start their own. Recording never
+ * takes a lock. The history is written to a compact file in the Jenkins home directory periodically and on shutdown, and read
+ * back on startup.
+ */
+public class HostConnectionUsage
+{
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.HostConnectionUsage"); //$NON-NLS-1$
+
+	private static final int DEFAULT_SLOT_COUNT = Integer.getInteger(HostConnectionUsage.class.getName() + ".slots", 48); //$NON-NLS-1$
+	private static final long DEFAULT_SLOT_MILLIS = TimeUnit.MINUTES
+			.toMillis(Long.getLong(HostConnectionUsage.class.getName() + ".slotMinutes", 30)); //$NON-NLS-1$
+	private static final long SAVE_INTERVAL_MINUTES = Long.getLong(HostConnectionUsage.class.getName() + ".saveMinutes", 5); //$NON-NLS-1$
+	private static final String FILE_NAME = HostConnectionUsage.class.getName() + ".txt"; //$NON-NLS-1$
+	private static final char SLOT_SEPARATOR = ':';
+	private static final int SLOT_FIELD_COUNT = 7;
+	private static final char[] SPARK_CHARACTERS = { '\u2581', '\u2582', '\u2583', '\u2584', '\u2585', '\u2586', '\u2587',
+			'\u2588' };
+
+	private static final HostConnectionUsage INSTANCE = new HostConnectionUsage(DEFAULT_SLOT_COUNT, DEFAULT_SLOT_MILLIS,
+			new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					return System.currentTimeMillis();
+				}
+			});
+
+	/**
+	 * The outcomes of an invocation.
+	 */
+	public enum Outcome
+	{
+		/** The CLI exited with 0. */
+		SUCCEEDED,
+		/** The CLI exited with any other exit code. */
+		FAILED,
+		/** The invocation ended without an exit code, for example because the CLI could not be started. */
+		ERROR
+	}
+
+	// Member Variables
+	private final int m_slotCount;
+	private final long m_slotMillis;
+	private final LongSupplier m_clock;
+	private final ConcurrentMap<String, Usage> m_usages = new ConcurrentHashMap<>();
+	private final AtomicBoolean m_dirty = new AtomicBoolean();
+
+	/**
+	 * Returns the usage statistics shared by every build on the controller.
+	 *
+	 * @return the usage statistics
+	 */
+	public static HostConnectionUsage get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param slotCount
+	 *            the number of time slots kept per host connection
+	 * @param slotMillis
+	 *            the length of a time slot
+	 * @param clock
+	 *            supplies the current time in milliseconds
+	 */
+	HostConnectionUsage(int slotCount, long slotMillis, LongSupplier clock)
+	{
+		m_slotCount = slotCount;
+		m_slotMillis = slotMillis;
+		m_clock = clock;
+	}
+
+	/**
+	 * Reads the saved history and starts saving it periodically.
+	 */
+	@Initializer(after = InitMilestone.JOB_LOADED)
+	public static void loadHistory()
+	{
+		final HostConnectionUsage usage = get();
+		try
+		{
+			usage.load(getHistoryFile());
+		}
+		catch (IOException e)
+		{
+			LOGGER.log(Level.WARNING, "Unable to read the host connection usage history.", e); //$NON-NLS-1$
+		}
+
+		Timer.get().scheduleWithFixedDelay(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				saveHistory();
+			}
+		}, SAVE_INTERVAL_MINUTES, SAVE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+	}
+
+	/**
+	 * Saves the history if anything was recorded since it was last saved.
+	 */
+	@Terminator
+	public static void saveHistory()
+	{
+		try
+		{
+			get().saveIfChanged(getHistoryFile());
+		}
+		catch (IOException e)
+		{
+			LOGGER.log(Level.WARNING, "Unable to save the host connection usage history.", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns the file the history is saved in.
+	 *
+	 * @return the history file
+	 */
+	private static Path getHistoryFile()
+	{
+		return new File(Jenkins.get().getRootDir(), FILE_NAME).toPath();
+	}
+
+	/**
+	 * Starts an invocation against the given host connection.
+	 * <p>
+	 * The returned invocation must be closed when the CLI has finished, preferably with try-with-resources, after reporting
+	 * the exit code with {@link Invocation#setExitCode(int)}.
+	 *
+	 * @param connection
+	 *            the host connection the CLI is invoked against
+	 *
+	 * @return the invocation
+	 */
+	public Invocation start(HostConnection connection)
+	{
+		return start(connection.getConnectionId());
+	}
+
+	/**
+	 * Starts an invocation against the given host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the invocation
+	 */
+	Invocation start(String connectionId)
+	{
+		Usage usage = getUsage(connectionId);
+		long now = m_clock.getAsLong();
+		int running = usage.m_running.incrementAndGet();
+
+		Slot slot = usage.getSlot(period(now));
+		if (slot != null)
+		{
+			slot.m_invocations.increment();
+			slot.m_peak.accumulate(running);
+		}
+		usage.m_lastUsed = now;
+		m_dirty.set(true);
+
+		return new Invocation(usage, now);
+	}
+
+	/**
+	 * Returns the usage of the given host connection over the history window.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the usage
+	 */
+	public Snapshot getSnapshot(String connectionId)
+	{
+		Usage usage = m_usages.get(key(StringUtils.defaultString(connectionId)));
+		return usage != null ? usage.snapshot(period(m_clock.getAsLong())) : new Snapshot(new long[m_slotCount], 0, 0,
+				new long[Outcome.values().length], 0, 0);
+	}
+
+	/**
+	 * Returns the usage of every host connection that was used within the history window, sorted by host connection
+	 * identifier.
+	 *
+	 * @return the usage by host connection identifier
+	 */
+	public Map<String, Snapshot> getSnapshots()
+	{
+		long period = period(m_clock.getAsLong());
+		Map<String, Snapshot> snapshots = new TreeMap<>();
+		for (Map.Entry<String, Usage> entry : m_usages.entrySet())
+		{
+			Snapshot snapshot = entry.getValue().snapshot(period);
+			if (snapshot.getInvocations() > 0 || snapshot.getRunning() > 0)
+			{
+				snapshots.put(entry.getKey(), snapshot);
+			}
+		}
+
+		return Collections.unmodifiableMap(snapshots);
+	}
+
+	/**
+	 * Saves the history to the given file if anything was recorded since it was last saved or loaded.
+	 *
+	 * @param file
+	 *            the history file
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	void saveIfChanged(Path file) throws IOException
+	{
+		if (m_dirty.compareAndSet(true, false))
+		{
+			try
+			{
+				save(file);
+			}
+			catch (IOException e)
+			{
+				m_dirty.set(true);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Saves the history to the given file.
+	 * <p>
+	 * Each host connection is one record holding its identifier, the time it was last used, and the non-empty slots within
+	 * the history window. Host connections with no such slots are left out, so connections that were deleted or are no longer
+	 * used drop out of the file once the window has passed.
+	 *
+	 * @param file
+	 *            the history file
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	void save(Path file) throws IOException
+	{
+		long period = period(m_clock.getAsLong());
+		StringBuilder builder = new StringBuilder();
+		for (Map.Entry<String, Usage> entry : m_usages.entrySet())
+		{
+			Usage usage = entry.getValue();
+			List<String> fields = new ArrayList<>();
+			fields.add(entry.getKey());
+			fields.add(Long.toString(usage.m_lastUsed));
+			for (int i = 0; i < m_slotCount; i++)
+			{
+				Slot slot = usage.m_slots.get(i);
+				if (slot != null && slot.m_period > period - m_slotCount && slot.m_invocations.sum() > 0)
+				{
+					fields.add(slot.toRecord());
+				}
+			}
+
+			if (fields.size() > 2)
+			{
+				builder.append(RecordFields.join(fields.toArray(new String[fields.size()]))).append('\n');
+			}
+			else if (usage.m_running.get() == 0)
+			{
+				m_usages.remove(entry.getKey(), usage);
+			}
+		}
+
+		Path tempFile = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+		Files.write(tempFile, builder.toString().getBytes(StandardCharsets.UTF_8));
+		Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Loads the history from the given file, adding it to anything recorded already. Slots that have fallen out of the history
+	 * window are dropped.
+	 *
+	 * @param file
+	 *            the history file
+	 *
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	void load(Path file) throws IOException
+	{
+		List<String> lines;
+		try
+		{
+			lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		}
+		catch (NoSuchFileException e)
+		{
+			return;
+		}
+
+		long period = period(m_clock.getAsLong());
+		for (String line : lines)
+		{
+			List<String> fields = RecordFields.split(line);
+			if (fields.size() < 2)
+			{
+				continue;
+			}
+
+			try
+			{
+				Usage usage = getUsage(fields.get(0));
+				usage.m_lastUsed = Math.max(usage.m_lastUsed, Long.parseLong(fields.get(1)));
+				for (String record : fields.subList(2, fields.size()))
+				{
+					String[] values = StringUtils.split(record, SLOT_SEPARATOR);
+					long slotPeriod = values.length == SLOT_FIELD_COUNT ? Long.parseLong(values[0]) : -1;
+					Slot slot = slotPeriod > period - m_slotCount ? usage.getSlot(slotPeriod) : null;
+					if (slot != null)
+					{
+						slot.add(values);
+					}
+				}
+			}
+			catch (NumberFormatException e)
+			{
+				LOGGER.warning(String.format("Ignoring invalid usage record in %s: %s", file, e.getMessage())); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Returns the usage of the given host connection, creating it if needed.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the usage
+	 */
+	private Usage getUsage(String connectionId)
+	{
+		String key = key(connectionId);
+		Usage usage = m_usages.get(key);
+		if (usage == null)
+		{
+			Usage newUsage = new Usage();
+			usage = m_usages.putIfAbsent(key, newUsage);
+			if (usage == null)
+			{
+				usage = newUsage;
+			}
+		}
+
+		return usage;
+	}
+
+	/**
+	 * Returns the time slot period the given time falls in.
+	 *
+	 * @param millis
+	 *            the time in milliseconds
+	 *
+	 * @return the period
+	 */
+	private long period(long millis)
+	{
+		return millis / m_slotMillis;
+	}
+
+	private static String key(String connectionId)
+	{
+		return connectionId.toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * The usage of a single host connection.
+	 */
+	private final class Usage
+	{
+		private final AtomicInteger m_running = new AtomicInteger();
+		private final AtomicReferenceArray<Slot> m_slots = new AtomicReferenceArray<>(m_slotCount);
+		private volatile long m_lastUsed;
+
+		/**
+		 * Returns the slot of the given period, claiming the ring buffer entry from an older period if needed.
+		 *
+		 * @param period
+		 *            the period
+		 *
+		 * @return the slot, or <code>null</code> if the entry already holds a later period
+		 */
+		private Slot getSlot(long period)
+		{
+			int index = (int) (period % m_slotCount);
+			while (true)
+			{
+				Slot slot = m_slots.get(index);
+				if (slot != null && slot.m_period == period)
+				{
+					return slot;
+				}
+				if (slot != null && slot.m_period > period)
+				{
+					return null;
+				}
+
+				Slot newSlot = new Slot(period);
+				if (m_slots.compareAndSet(index, slot, newSlot))
+				{
+					return newSlot;
+				}
+			}
+		}
+
+		/**
+		 * Returns the usage within the history window ending with the given period.
+		 *
+		 * @param period
+		 *            the current period
+		 *
+		 * @return the usage
+		 */
+		private Snapshot snapshot(long period)
+		{
+			long[] invocations = new long[m_slotCount];
+			long[] outcomes = new long[Outcome.values().length];
+			long peak = 0;
+			long wallMillis = 0;
+			for (int i = 0; i < m_slotCount; i++)
+			{
+				Slot slot = m_slots.get(i);
+				if (slot != null && slot.m_period > period - m_slotCount && slot.m_period <= period)
+				{
+					invocations[(int) (m_slotCount - 1 - (period - slot.m_period))] = slot.m_invocations.sum();
+					for (Outcome outcome : Outcome.values())
+					{
+						outcomes[outcome.ordinal()] += slot.m_outcomes[outcome.ordinal()].sum();
+					}
+					peak = Math.max(peak, slot.m_peak.get());
+					wallMillis += slot.m_wallMillis.sum();
+				}
+			}
+
+			return new Snapshot(invocations, m_running.get(), (int) peak, outcomes, wallMillis, m_lastUsed);
+		}
+	}
+
+	/**
+	 * The usage of a host connection within one time slot.
+	 */
+	private static final class Slot
+	{
+		private final long m_period;
+		private final LongAdder m_invocations = new LongAdder();
+		private final LongAdder[] m_outcomes = new LongAdder[Outcome.values().length];
+		private final LongAdder m_wallMillis = new LongAdder();
+		private final LongAccumulator m_peak = new LongAccumulator(Math::max, 0);
+
+		private Slot(long period)
+		{
+			m_period = period;
+			for (int i = 0; i < m_outcomes.length; i++)
+			{
+				m_outcomes[i] = new LongAdder();
+			}
+		}
+
+		/**
+		 * Adds the values of a saved slot.
+		 *
+		 * @param values
+		 *            the period, invocations, outcome counts, wall time and peak
+		 */
+		private void add(String[] values)
+		{
+			m_invocations.add(Long.parseLong(values[1]));
+			for (int i = 0; i < m_outcomes.length; i++)
+			{
+				m_outcomes[i].add(Long.parseLong(values[2 + i]));
+			}
+			m_wallMillis.add(Long.parseLong(values[5]));
+			m_peak.accumulate(Long.parseLong(values[6]));
+		}
+
+		/**
+		 * Returns the saved form of the slot.
+		 *
+		 * @return the period, invocations, outcome counts, wall time and peak, separated by colons
+		 */
+		private String toRecord()
+		{
+			StringBuilder builder = new StringBuilder();
+			builder.append(m_period).append(SLOT_SEPARATOR).append(m_invocations.sum());
+			for (LongAdder outcome : m_outcomes)
+			{
+				builder.append(SLOT_SEPARATOR).append(outcome.sum());
+			}
+			builder.append(SLOT_SEPARATOR).append(m_wallMillis.sum()).append(SLOT_SEPARATOR).append(m_peak.get());
+
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * A running CLI invocation.
+	 */
+	public final class Invocation implements AutoCloseable
+	{
+		private final Usage m_usage;
+		private final long m_startedAt;
+		private final AtomicBoolean m_closed = new AtomicBoolean();
+		private volatile Outcome m_outcome = Outcome.ERROR;
+
+		private Invocation(Usage usage, long startedAt)
+		{
+			m_usage = usage;
+			m_startedAt = startedAt;
+		}
+
+		/**
+		 * Reports the exit code of the CLI.
+		 *
+		 * @param exitCode
+		 *            the exit code
+		 */
+		public void setExitCode(int exitCode)
+		{
+			m_outcome = exitCode == 0 ? Outcome.SUCCEEDED : Outcome.FAILED;
+		}
+
+		/**
+		 * Records the outcome and wall time of the invocation. An invocation with no reported exit code counts as an error.
+		 * Closing more than once has no effect.
+		 */
+		@Override
+		public void close()
+		{
+			if (m_closed.compareAndSet(false, true))
+			{
+				long now = m_clock.getAsLong();
+				m_usage.m_running.decrementAndGet();
+
+				Slot slot = m_usage.getSlot(period(now));
+				if (slot != null)
+				{
+					slot.m_outcomes[m_outcome.ordinal()].increment();
+					slot.m_wallMillis.add(Math.max(0, now - m_startedAt));
+				}
+				m_dirty.set(true);
+			}
+		}
+	}
+
+	/**
+	 * The usage of a host connection over the history window.
+	 */
+	public static final class Snapshot
+	{
+		private final long[] m_invocations;
+		private final int m_running;
+		private final int m_peak;
+		private final long[] m_outcomes;
+		private final long m_wallMillis;
+		private final long m_lastUsed;
+
+		private Snapshot(long[] invocations, int running, int peak, long[] outcomes, long wallMillis, long lastUsed)
+		{
+			m_invocations = invocations;
+			m_running = running;
+			m_peak = peak;
+			m_outcomes = outcomes;
+			m_wallMillis = wallMillis;
+			m_lastUsed = lastUsed;
+		}
+
+		/**
+		 * Returns the number of invocations started within the history window.
+		 *
+		 * @return the number of invocations
+		 */
+		public long getInvocations()
+		{
+			long total = 0;
+			for (long invocations : m_invocations)
+			{
+				total += invocations;
+			}
+
+			return total;
+		}
+
+		/**
+		 * Returns the number of invocations started in each time slot.
+		 *
+		 * @return the numbers of invocations, oldest slot first
+		 */
+		public long[] getInvocationsPerSlot()
+		{
+			return m_invocations.clone();
+		}
+
+		/**
+		 * Returns the number of invocations running now.
+		 *
+		 * @return the number of running invocations
+		 */
+		public int getRunning()
+		{
+			return m_running;
+		}
+
+		/**
+		 * Returns the largest number of invocations that ran at the same time within the history window.
+		 *
+		 * @return the concurrent peak
+		 */
+		public int getPeak()
+		{
+			return m_peak;
+		}
+
+		/**
+		 * Returns the number of invocations that finished with the given outcome within the history window.
+		 *
+		 * @param outcome
+		 *            the outcome
+		 *
+		 * @return the number of invocations
+		 */
+		public long getCount(Outcome outcome)
+		{
+			return m_outcomes[outcome.ordinal()];
+		}
+
+		/**
+		 * Returns the average wall time of the invocations that finished within the history window.
+		 *
+		 * @return the average wall time in milliseconds, or 0 if none finished
+		 */
+		public long getAverageWallMillis()
+		{
+			long finished = 0;
+			for (long count : m_outcomes)
+			{
+				finished += count;
+			}
+
+			return finished > 0 ? m_wallMillis / finished : 0;
+		}
+
+		/**
+		 * Returns the time the host connection was last used.
+		 *
+		 * @return the time in milliseconds, or 0 if it has not been used
+		 */
+		public long getLastUsed()
+		{
+			return m_lastUsed;
+		}
+
+		/**
+		 * Returns the number of invocations per time slot as a line of block characters, scaled to the busiest slot.
+		 *
+		 * @return the sparkline, oldest slot first
+		 */
+		public String getSparkline()
+		{
+			long max = 0;
+			for (long invocations : m_invocations)
+			{
+				max = Math.max(max, invocations);
+			}
+
+			StringBuilder builder = new StringBuilder(m_invocations.length);
+			for (long invocations : m_invocations)
+			{
+				int level = max > 0 ? (int) ((invocations * (SPARK_CHARACTERS.length - 1) + max - 1) / max) : 0;
+				builder.append(SPARK_CHARACTERS[level]);
+			}
+
+			return builder.toString();
+		}
+
+		/**
+		 * Returns a one line summary of the usage, for tooltips.
+		 *
+		 * @return the summary
+		 */
+		public String getSummary()
+		{
+			if (m_lastUsed == 0)
+			{
+				return Messages.hostConnectionNeverUsed();
+			}
+
+			return Messages.hostConnectionUsageSummary(getInvocations(), m_peak, getCount(Outcome.SUCCEEDED),
+					getCount(Outcome.FAILED), getCount(Outcome.ERROR), getAverageWallMillis(), new Date(m_lastUsed));
+		}
+	}
+}
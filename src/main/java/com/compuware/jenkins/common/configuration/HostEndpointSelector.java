@@ -0,0 +1,380 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+import hudson.AbortException;
+
+/**
+ * Class used to pick the "host:port" endpoint a CLI invocation is sent to when a host connection lists several endpoints.
+ * <p>
+ * Each endpoint has its own circuit in the {@link HostConnectionCircuitBreaker}, keyed by
+ * {@link #getCircuitKey(HostConnection, String)}; endpoints whose circuit is open are skipped, and an invocation is only
+ * refused when every endpoint is down. The number of invocations in flight is counted per endpoint from the time it is
+ * acquired until its {@link Selection} is closed.
+ */
+public class HostEndpointSelector
+{
+	// Constants
+	private static final char ENDPOINT_KEY_SEPARATOR = '@';
+
+	private static final HostEndpointSelector INSTANCE = new HostEndpointSelector(HostConnectionCircuitBreaker.get());
+
+	// Member Variables
+	private final HostConnectionCircuitBreaker m_circuitBreaker;
+	private final ConcurrentMap<String, AtomicInteger> m_nextIndexes = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, AtomicInteger> m_outstanding = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the selector shared by every build on the controller.
+	 *
+	 * @return the selector
+	 */
+	public static HostEndpointSelector get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param circuitBreaker
+	 *            the circuit breaker holding the health of each endpoint
+	 */
+	HostEndpointSelector(HostConnectionCircuitBreaker circuitBreaker)
+	{
+		m_circuitBreaker = circuitBreaker;
+	}
+
+	/**
+	 * Returns the circuit breaker key of an endpoint of a host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param endpoint
+	 *            the "host:port" endpoint
+	 *
+	 * @return the key
+	 */
+	public static String getEndpointKey(String connectionId, String endpoint)
+	{
+		return connectionId + ENDPOINT_KEY_SEPARATOR + endpoint.toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Returns the key of the circuit that holds the health of an endpoint of a host connection.
+	 * <p>
+	 * A host connection with a single endpoint keeps using its identifier as the key, so outcomes recorded against the
+	 * connection identifier still apply to it.
+	 *
+	 * @param connection
+	 *            the host connection
+	 * @param endpoint
+	 *            the "host:port" endpoint
+	 *
+	 * @return the key
+	 */
+	public static String getCircuitKey(HostConnection connection, String endpoint)
+	{
+		return connection.getEndpoints().size() <= 1 ? connection.getConnectionId()
+				: getEndpointKey(connection.getConnectionId(), endpoint);
+	}
+
+	/**
+	 * Returns the endpoints of a host connection, or its single, possibly blank, "host:port" if it lists none.
+	 *
+	 * @param connection
+	 *            the host connection
+	 *
+	 * @return the endpoints
+	 */
+	static List<String> getEndpoints(HostConnection connection)
+	{
+		List<String> endpoints = connection.getEndpoints();
+		return endpoints.isEmpty() ? Collections.singletonList(connection.getHostPort()) : endpoints;
+	}
+
+	/**
+	 * Acquires the endpoint the next invocation against the given host connection is sent to.
+	 * <p>
+	 * The endpoint policy picks among the endpoints whose circuit is closed. If none is closed, the first endpoint whose
+	 * circuit lets a trial invocation through is used. The returned selection must be closed once the invocation has
+	 * finished.
+	 *
+	 * @param connection
+	 *            the host connection
+	 *
+	 * @return the selected endpoint
+	 * @throws AbortException
+	 *             if the circuit of every endpoint is open
+	 */
+	public Selection acquire(HostConnection connection) throws AbortException
+	{
+		List<String> endpoints = getEndpoints(connection);
+		List<String> candidates = new ArrayList<>(endpoints.size());
+		List<String> others = new ArrayList<>(endpoints.size());
+		for (String endpoint : endpoints)
+		{
+			if (m_circuitBreaker.getState(getCircuitKey(connection, endpoint)) == HostConnectionCircuitBreaker.State.CLOSED)
+			{
+				candidates.add(endpoint);
+			}
+			else
+			{
+				others.add(endpoint);
+			}
+		}
+
+		// try the endpoint picked by the policy first, then those that may let a trial through
+		List<String> ordered = new ArrayList<>(endpoints.size());
+		if (!candidates.isEmpty())
+		{
+			ordered.add(pick(connection, candidates));
+		}
+		ordered.addAll(others);
+
+		List<String> keys = new ArrayList<>(ordered.size());
+		for (String endpoint : ordered)
+		{
+			keys.add(getCircuitKey(connection, endpoint));
+		}
+		String selected = ordered.get(m_circuitBreaker.allowRequest(keys, connection.getDescription()));
+
+		getCounter(m_outstanding, getEndpointKey(connection.getConnectionId(), selected)).incrementAndGet();
+
+		return new Selection(connection, selected);
+	}
+
+	/**
+	 * Picks one of the given healthy endpoints according to the endpoint policy of the host connection.
+	 *
+	 * @param connection
+	 *            the host connection
+	 * @param candidates
+	 *            the endpoints whose circuit is closed; not empty
+	 *
+	 * @return the endpoint
+	 */
+	private String pick(HostConnection connection, List<String> candidates)
+	{
+		if (candidates.size() == 1)
+		{
+			return candidates.get(0);
+		}
+
+		String selected;
+		switch (EndpointPolicy.fromName(connection.getEndpointPolicy()))
+		{
+			case ROUND_ROBIN:
+				int index = getCounter(m_nextIndexes, connection.getConnectionId().toLowerCase(Locale.ENGLISH))
+						.getAndIncrement();
+				selected = candidates.get(Math.floorMod(index, candidates.size()));
+				break;
+			case LEAST_OUTSTANDING:
+				selected = candidates.get(0);
+				int fewest = Integer.MAX_VALUE;
+				for (String candidate : candidates)
+				{
+					int outstanding = getOutstanding(connection, candidate);
+					if (outstanding < fewest)
+					{
+						fewest = outstanding;
+						selected = candidate;
+					}
+				}
+				break;
+			default:
+				selected = candidates.get(0);
+				break;
+		}
+
+		return selected;
+	}
+
+	/**
+	 * Records that an invocation sent to the given endpoint has finished.
+	 *
+	 * @param connection
+	 *            the host connection
+	 * @param endpoint
+	 *            the endpoint
+	 */
+	private void release(HostConnection connection, String endpoint)
+	{
+		AtomicInteger outstanding = m_outstanding.get(getEndpointKey(connection.getConnectionId(), endpoint));
+		if (outstanding != null)
+		{
+			outstanding.getAndUpdate(count -> Math.max(0, count - 1));
+		}
+	}
+
+	/**
+	 * Returns the number of invocations in flight against the given endpoint.
+	 *
+	 * @param connection
+	 *            the host connection
+	 * @param endpoint
+	 *            the "host:port" endpoint
+	 *
+	 * @return the number of invocations in flight
+	 */
+	public int getOutstanding(HostConnection connection, String endpoint)
+	{
+		AtomicInteger outstanding = m_outstanding.get(getEndpointKey(connection.getConnectionId(), endpoint));
+		return outstanding != null ? outstanding.get() : 0;
+	}
+
+	/**
+	 * Returns the counter for the given key, creating it if necessary.
+	 *
+	 * @param counters
+	 *            the counters
+	 * @param key
+	 *            the key
+	 *
+	 * @return the counter
+	 */
+	private static AtomicInteger getCounter(ConcurrentMap<String, AtomicInteger> counters, String key)
+	{
+		AtomicInteger counter = counters.get(key);
+		if (counter == null)
+		{
+			AtomicInteger newCounter = new AtomicInteger();
+			counter = counters.putIfAbsent(key, newCounter);
+			if (counter == null)
+			{
+				counter = newCounter;
+			}
+		}
+
+		return counter;
+	}
+
+	/**
+	 * An endpoint acquired for one CLI invocation.
+	 * <p>
+	 * Report the outcome of the invocation through this selection so it is recorded against the circuit of the endpoint that
+	 * was used, and close it once the invocation has finished. Closing it more than once has no further effect.
+	 */
+	public final class Selection implements AutoCloseable
+	{
+		private final HostConnection m_connection;
+		private final String m_endpoint;
+		private final AtomicBoolean m_closed = new AtomicBoolean();
+
+		private Selection(HostConnection connection, String endpoint)
+		{
+			m_connection = connection;
+			m_endpoint = endpoint;
+		}
+
+		/**
+		 * Returns the host connection.
+		 *
+		 * @return the host connection
+		 */
+		public HostConnection getConnection()
+		{
+			return m_connection;
+		}
+
+		/**
+		 * Returns the selected "host:port" endpoint.
+		 *
+		 * @return the endpoint
+		 */
+		public String getEndpoint()
+		{
+			return m_endpoint;
+		}
+
+		/**
+		 * Returns the host of the selected endpoint.
+		 *
+		 * @return the host
+		 */
+		public String getHost()
+		{
+			return StringUtils.substringBefore(m_endpoint, CommonConstants.COLON);
+		}
+
+		/**
+		 * Returns the port of the selected endpoint.
+		 *
+		 * @return the port
+		 */
+		public String getPort()
+		{
+			return StringUtils.substringAfter(m_endpoint, CommonConstants.COLON);
+		}
+
+		/**
+		 * Returns the key of the circuit of the selected endpoint.
+		 *
+		 * @return the circuit key
+		 */
+		public String getCircuitKey()
+		{
+			return HostEndpointSelector.getCircuitKey(m_connection, m_endpoint);
+		}
+
+		/**
+		 * Records the outcome of the invocation against the circuit of the selected endpoint.
+		 *
+		 * @param exitCode
+		 *            the CLI exit code
+		 * @param connectionFailureExitCodes
+		 *            the exit codes that mean the host could not be reached
+		 */
+		public void recordExitCode(int exitCode, int... connectionFailureExitCodes)
+		{
+			m_circuitBreaker.recordExitCode(getCircuitKey(), exitCode, connectionFailureExitCodes);
+		}
+
+		/**
+		 * Records that the invocation could not reach the selected endpoint.
+		 */
+		public void recordFailure()
+		{
+			m_circuitBreaker.recordFailure(getCircuitKey());
+		}
+
+		/**
+		 * Releases the endpoint.
+		 */
+		@Override
+		public void close()
+		{
+			if (m_closed.compareAndSet(false, true))
+			{
+				release(m_connection, m_endpoint);
+			}
+		}
+	}
+}
@@ -0,0 +1,277 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * Lock-free latency histogram.
+ * <p>
+ * Latencies are counted in log-linear buckets: every power of two is split into four buckets, so a percentile is accurate to
+ * within 25% of its value across the whole range, from nanoseconds to minutes, with a fixed 1.3 KB of buckets. Recording is a
+ * single atomic increment of the bucket plus striped counters for the count and total, so threads recording at the same time
+ * rarely contend.
+ */
+public class LatencyHistogram
+{
+	// Constants
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+	private static final int MAX_EXPONENT = 40;
+	private static final int BUCKET_COUNT = index(1L << (MAX_EXPONENT + 1)) + 1;
+
+	// Member Variables
+	private final AtomicLongArray m_buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder m_count = new LongAdder();
+	private final LongAdder m_totalNanos = new LongAdder();
+	private final LongAccumulator m_maxNanos = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos
+	 *            the latency in nanoseconds; negative values count as 0
+	 */
+	public void record(long nanos)
+	{
+		long value = Math.max(0, nanos);
+		m_buckets.incrementAndGet(index(value));
+		m_count.increment();
+		m_totalNanos.add(value);
+		m_maxNanos.accumulate(value);
+	}
+
+	/**
+	 * Returns a snapshot of the recorded latencies.
+	 * <p>
+	 * Latencies recorded while the snapshot is taken may or may not be part of it.
+	 *
+	 * @param name
+	 *            the name of the snapshot
+	 *
+	 * @return the snapshot
+	 */
+	public Snapshot snapshot(String name)
+	{
+		long[] buckets = new long[BUCKET_COUNT];
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++)
+		{
+			buckets[i] = m_buckets.get(i);
+			count += buckets[i];
+		}
+
+		return new Snapshot(name, buckets, count, m_totalNanos.sum(), m_maxNanos.get());
+	}
+
+	/**
+	 * Returns the bucket of the given latency.
+	 *
+	 * @param nanos
+	 *            the latency in nanoseconds, not negative
+	 *
+	 * @return the bucket index
+	 */
+	static int index(long nanos)
+	{
+		if (nanos < LINEAR_LIMIT)
+		{
+			return (int) nanos;
+		}
+
+		int exponent = Math.min(63 - Long.numberOfLeadingZeros(nanos), MAX_EXPONENT + 1);
+		int subBucket = exponent > MAX_EXPONENT ? 0 : (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Returns the highest latency counted in the given bucket.
+	 *
+	 * @param index
+	 *            the bucket index
+	 *
+	 * @return the latency in nanoseconds
+	 */
+	static long upperBound(int index)
+	{
+		if (index < LINEAR_LIMIT)
+		{
+			return index;
+		}
+
+		int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+		int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+		if (exponent > MAX_EXPONENT)
+		{
+			return Long.MAX_VALUE;
+		}
+
+		long base = 1L << exponent;
+		long width = base >>> SUB_BUCKET_BITS;
+		return base + (subBucket + 1) * width - 1;
+	}
+
+	/**
+	 * The latencies recorded by a histogram at one point in time.
+	 */
+	@ExportedBean(defaultVisibility = 2)
+	public static final class Snapshot
+	{
+		private final String m_name;
+		private final long[] m_buckets;
+		private final long m_count;
+		private final long m_totalNanos;
+		private final long m_maxNanos;
+
+		private Snapshot(String name, long[] buckets, long count, long totalNanos, long maxNanos)
+		{
+			m_name = name;
+			m_buckets = buckets;
+			m_count = count;
+			m_totalNanos = totalNanos;
+			m_maxNanos = maxNanos;
+		}
+
+		/**
+		 * Returns the name of the snapshot.
+		 *
+		 * @return the name, such as a stage name
+		 */
+		@Exported
+		public String getName()
+		{
+			return m_name;
+		}
+
+		/**
+		 * Returns the number of recorded latencies.
+		 *
+		 * @return the count
+		 */
+		@Exported
+		public long getCount()
+		{
+			return m_count;
+		}
+
+		/**
+		 * Returns the latency the given fraction of the recorded latencies did not exceed.
+		 * <p>
+		 * The result is the upper bound of the bucket the percentile falls in, capped by the highest recorded latency.
+		 *
+		 * @param fraction
+		 *            the fraction, such as 0.99 for the 99th percentile
+		 *
+		 * @return the latency in nanoseconds; 0 if nothing was recorded
+		 */
+		public long getPercentileNanos(double fraction)
+		{
+			if (m_count == 0)
+			{
+				return 0;
+			}
+
+			long rank = Math.max(1, (long) Math.ceil(fraction * m_count));
+			long seen = 0;
+			for (int i = 0; i < m_buckets.length; i++)
+			{
+				seen += m_buckets[i];
+				if (seen >= rank)
+				{
+					return Math.min(upperBound(i), m_maxNanos);
+				}
+			}
+
+			return m_maxNanos;
+		}
+
+		/**
+		 * Returns the mean latency.
+		 *
+		 * @return the mean in milliseconds
+		 */
+		@Exported
+		public double getMeanMillis()
+		{
+			return m_count > 0 ? toMillis(m_totalNanos / m_count) : 0;
+		}
+
+		/**
+		 * Returns the median latency.
+		 *
+		 * @return the 50th percentile in milliseconds
+		 */
+		@Exported
+		public double getP50Millis()
+		{
+			return toMillis(getPercentileNanos(0.5));
+		}
+
+		/**
+		 * Returns the 95th percentile latency.
+		 *
+		 * @return the 95th percentile in milliseconds
+		 */
+		@Exported
+		public double getP95Millis()
+		{
+			return toMillis(getPercentileNanos(0.95));
+		}
+
+		/**
+		 * Returns the 99th percentile latency.
+		 *
+		 * @return the 99th percentile in milliseconds
+		 */
+		@Exported
+		public double getP99Millis()
+		{
+			return toMillis(getPercentileNanos(0.99));
+		}
+
+		/**
+		 * Returns the highest latency.
+		 *
+		 * @return the maximum in milliseconds
+		 */
+		@Exported
+		public double getMaxMillis()
+		{
+			return toMillis(m_maxNanos);
+		}
+
+		/**
+		 * Converts nanoseconds to milliseconds, rounded to microseconds for display.
+		 *
+		 * @param nanos
+		 *            the nanoseconds
+		 *
+		 * @return the milliseconds
+		 */
+		private static double toMillis(long nanos)
+		{
+			return Math.round(nanos / (double) TimeUnit.MICROSECONDS.toNanos(1)) / 1000.0;
+		}
+	}
+}
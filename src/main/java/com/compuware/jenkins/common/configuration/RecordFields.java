@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tab-separated records of text fields, one record per line, as written by the host connection journal and the usage history.
+ * Separators, line terminators and escape characters inside a field are escaped with a backslash.
+ */
+final class RecordFields
+{
+	// Constants
+	private static final char SEPARATOR = '\t';
+	private static final char ESCAPE = '\\';
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods are static.
+	 */
+	private RecordFields()
+	{
+	}
+
+	/**
+	 * Joins the given fields into a record, escaping separators, line terminators and escape characters.
+	 *
+	 * @param fields
+	 *            the fields; <code>null</code> is written as an empty field
+	 *
+	 * @return the record
+	 */
+	static String join(String... fields)
+	{
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < fields.length; i++)
+		{
+			if (i > 0)
+			{
+				builder.append(SEPARATOR);
+			}
+
+			String field = fields[i] != null ? fields[i] : ""; //$NON-NLS-1$
+			for (int j = 0; j < field.length(); j++)
+			{
+				char c = field.charAt(j);
+				if (c == SEPARATOR)
+				{
+					builder.append(ESCAPE).append('t');
+				}
+				else if (c == '\n')
+				{
+					builder.append(ESCAPE).append('n');
+				}
+				else if (c == '\r')
+				{
+					builder.append(ESCAPE).append('r');
+				}
+				else if (c == ESCAPE)
+				{
+					builder.append(ESCAPE).append(ESCAPE);
+				}
+				else
+				{
+					builder.append(c);
+				}
+			}
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Splits a record into its fields, undoing the escaping done by {@link #join(String...)}.
+	 *
+	 * @param record
+	 *            the record
+	 *
+	 * @return the fields
+	 */
+	static List<String> split(String record)
+	{
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		for (int i = 0; i < record.length(); i++)
+		{
+			char c = record.charAt(i);
+			if (c == SEPARATOR)
+			{
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else if (c == ESCAPE && i + 1 < record.length())
+			{
+				char escaped = record.charAt(++i);
+				field.append(escaped == 't' ? SEPARATOR : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+			}
+			else
+			{
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+
+		return fields;
+	}
+}
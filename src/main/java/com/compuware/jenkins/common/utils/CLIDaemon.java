@@ -0,0 +1,377 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A warm Topaz CLI runtime that runs CLI commands one at a time, so a build does not pay the CLI startup for every step.
+ * <p>
+ * The daemon is a process started from the CLI directory. The controller talks to it over the process's standard input and
+ * output, one UTF-8 line per message:
+ * <ul>
+ * <li>the daemon writes <code>READY</code> once its runtime has started; anything it writes before that is ignored</li>
+ * <li>a command is sent as <code>RUN</code>, an optional <code>CWD</code> <i>directory</i>, one <code>ARG</code>
+ * <i>argument</i> per argument, starting with the CLI script, and <code>END</code></li>
+ * <li>the daemon answers with any number of <code>OUT</code> <i>line</i> and <code>ERR</code> <i>line</i> messages followed by
+ * <code>EXIT</code> <i>code</i></li>
+ * <li><code>QUIT</code> asks the daemon to stop</li>
+ * </ul>
+ * In the text after a keyword, a backslash is written as <code>\\</code>, a line feed as <code>\n</code> and a carriage return
+ * as <code>\r</code>. Arguments are only ever written to the daemon, never logged, since they include the login password.
+ * <p>
+ * Output is read by a pump thread and handed to the caller through a queue, so a build that is aborted while a command runs
+ * stops waiting at once; the daemon is then killed, since the state of the interrupted command is unknown.
+ */
+final class CLIDaemon implements Closeable
+{
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.CLIDaemon"); //$NON-NLS-1$
+
+	static final String READY = "READY"; //$NON-NLS-1$
+	static final String RUN = "RUN"; //$NON-NLS-1$
+	static final String CWD = "CWD "; //$NON-NLS-1$
+	static final String ARG = "ARG "; //$NON-NLS-1$
+	static final String END = "END"; //$NON-NLS-1$
+	static final String OUT = "OUT "; //$NON-NLS-1$
+	static final String ERR = "ERR "; //$NON-NLS-1$
+	static final String EXIT = "EXIT "; //$NON-NLS-1$
+	static final String QUIT = "QUIT"; //$NON-NLS-1$
+
+	private static final char ESCAPE = '\\';
+
+	// Member Variables
+	private final String m_name;
+	private final Writer m_stdin;
+	private final Runnable m_killer;
+	private final BlockingQueue<Optional<String>> m_lines = new LinkedBlockingQueue<>();
+	private int m_runs;
+	private volatile long m_lastUsed;
+	private volatile boolean m_broken;
+
+	/**
+	 * Constructor.
+	 * <p>
+	 * Starts the thread that reads the daemon output; call {@link #awaitReady(long, long)} before running commands.
+	 *
+	 * @param name
+	 *            the name used in log messages
+	 * @param stdout
+	 *            the standard output of the daemon process
+	 * @param stdin
+	 *            the standard input of the daemon process
+	 * @param killer
+	 *            kills the daemon process
+	 */
+	CLIDaemon(String name, InputStream stdout, OutputStream stdin, Runnable killer)
+	{
+		m_name = name;
+		m_stdin = new BufferedWriter(new OutputStreamWriter(stdin, StandardCharsets.UTF_8));
+		m_killer = killer;
+
+		Thread pump = new Thread(() -> pump(stdout), "CLIDaemon output pump: " + name); //$NON-NLS-1$
+		pump.setDaemon(true);
+		pump.start();
+	}
+
+	/**
+	 * Waits for the daemon to report that its runtime has started.
+	 *
+	 * @param timeoutMillis
+	 *            the maximum time to wait
+	 * @param now
+	 *            the current time in milliseconds, recorded as the time the daemon was last used
+	 *
+	 * @throws IOException
+	 *             if the daemon stopped or did not start in time
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while waiting
+	 */
+	void awaitReady(long timeoutMillis, long now) throws IOException, InterruptedException
+	{
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		String line;
+		do
+		{
+			long remaining = deadline - System.nanoTime();
+			Optional<String> next = remaining > 0 ? m_lines.poll(remaining, TimeUnit.NANOSECONDS) : null;
+			if (next == null)
+			{
+				m_broken = true;
+				throw new IOException(String.format("CLI daemon %s did not start within %d ms.", m_name, timeoutMillis)); //$NON-NLS-1$
+			}
+			line = nextLine(next);
+		}
+		while (!READY.equals(line));
+
+		m_lastUsed = now;
+	}
+
+	/**
+	 * Runs a CLI command and waits for it to finish.
+	 *
+	 * @param args
+	 *            the command arguments, starting with the CLI script
+	 * @param workDir
+	 *            the working directory of the command; can be null
+	 * @param logger
+	 *            receives the output of the command
+	 * @param now
+	 *            the current time in milliseconds, recorded as the time the daemon was last used
+	 *
+	 * @return the exit code of the command
+	 * @throws IOException
+	 *             if the daemon stopped while running the command
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while waiting; the daemon is killed
+	 */
+	synchronized int run(List<String> args, String workDir, PrintStream logger, long now)
+			throws IOException, InterruptedException
+	{
+		if (m_broken)
+		{
+			throw new IOException(String.format("CLI daemon %s stopped.", m_name)); //$NON-NLS-1$
+		}
+
+		try
+		{
+			m_stdin.write(RUN + '\n');
+			if (workDir != null)
+			{
+				m_stdin.write(CWD + escape(workDir) + '\n');
+			}
+			for (String arg : args)
+			{
+				m_stdin.write(ARG + escape(arg) + '\n');
+			}
+			m_stdin.write(END + '\n');
+			m_stdin.flush();
+
+			while (true)
+			{
+				String line = nextLine(m_lines.take());
+				if (line.startsWith(OUT) || line.startsWith(ERR))
+				{
+					logger.println(unescape(line.substring(OUT.length())));
+				}
+				else if (line.startsWith(EXIT))
+				{
+					m_runs++;
+					m_lastUsed = now;
+					return Integer.parseInt(line.substring(EXIT.length()).trim());
+				}
+				else
+				{
+					LOGGER.fine(String.format("CLI daemon %s wrote an unknown message: %s", m_name, line)); //$NON-NLS-1$
+				}
+			}
+		}
+		catch (IOException | NumberFormatException e)
+		{
+			m_broken = true;
+			throw new IOException(String.format("CLI daemon %s failed: %s", m_name, e.getMessage()), e); //$NON-NLS-1$
+		}
+		catch (InterruptedException e)
+		{
+			m_broken = true;
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the number of commands the daemon has run.
+	 *
+	 * @return the number of commands
+	 */
+	synchronized int getRuns()
+	{
+		return m_runs;
+	}
+
+	/**
+	 * Returns the time the daemon last started or finished a command.
+	 *
+	 * @return the time in milliseconds
+	 */
+	long getLastUsed()
+	{
+		return m_lastUsed;
+	}
+
+	/**
+	 * Returns whether the daemon can run more commands.
+	 *
+	 * @return <code>false</code> if the daemon stopped or failed
+	 */
+	boolean isUsable()
+	{
+		return !m_broken;
+	}
+
+	/**
+	 * Asks the daemon to stop and kills its process.
+	 */
+	@Override
+	public void close()
+	{
+		if (!m_broken)
+		{
+			m_broken = true;
+			try
+			{
+				m_stdin.write(QUIT + '\n');
+				m_stdin.flush();
+			}
+			catch (IOException e)
+			{
+				LOGGER.log(Level.FINE, String.format("Unable to ask CLI daemon %s to stop.", m_name), e); //$NON-NLS-1$
+			}
+		}
+
+		m_killer.run();
+	}
+
+	/**
+	 * Reads the daemon output into the line queue until the daemon closes it.
+	 *
+	 * @param stdout
+	 *            the standard output of the daemon process
+	 */
+	private void pump(InputStream stdout)
+	{
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(stdout, StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				m_lines.add(Optional.of(line));
+			}
+		}
+		catch (IOException e)
+		{
+			LOGGER.log(Level.FINE, String.format("Unable to read the output of CLI daemon %s.", m_name), e); //$NON-NLS-1$
+		}
+		finally
+		{
+			m_lines.add(Optional.empty());
+		}
+	}
+
+	/**
+	 * Returns the line from the queue, failing if the daemon output has ended.
+	 *
+	 * @param next
+	 *            the queued line, or empty at the end of the output
+	 *
+	 * @return the line
+	 * @throws IOException
+	 *             if the daemon output has ended
+	 */
+	private String nextLine(Optional<String> next) throws IOException
+	{
+		if (!next.isPresent())
+		{
+			// keep the end marker for anyone else waiting on the queue
+			m_lines.add(next);
+			m_broken = true;
+			throw new IOException(String.format("CLI daemon %s stopped.", m_name)); //$NON-NLS-1$
+		}
+
+		return next.get();
+	}
+
+	/**
+	 * Escapes text for a protocol line.
+	 *
+	 * @param text
+	 *            the text
+	 *
+	 * @return the escaped text
+	 */
+	static String escape(String text)
+	{
+		StringBuilder escaped = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if (c == ESCAPE)
+			{
+				escaped.append(ESCAPE).append(ESCAPE);
+			}
+			else if (c == '\n')
+			{
+				escaped.append(ESCAPE).append('n');
+			}
+			else if (c == '\r')
+			{
+				escaped.append(ESCAPE).append('r');
+			}
+			else
+			{
+				escaped.append(c);
+			}
+		}
+
+		return escaped.toString();
+	}
+
+	/**
+	 * Reverses {@link #escape(String)}.
+	 *
+	 * @param text
+	 *            the escaped text
+	 *
+	 * @return the text
+	 */
+	static String unescape(String text)
+	{
+		StringBuilder unescaped = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if (c == ESCAPE && i + 1 < text.length())
+			{
+				char next = text.charAt(++i);
+				unescaped.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+			}
+			else
+			{
+				unescaped.append(c);
+			}
+		}
+
+		return unescaped.toString();
+	}
+}
@@ -0,0 +1,517 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.Proc;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.util.ArgumentListBuilder;
+import hudson.util.LogTaskListener;
+import jenkins.util.Timer;
+
+/**
+ * Class used to run Topaz CLI commands on warm {@link CLIDaemon CLI daemons} instead of starting the CLI for every command.
+ * <p>
+ * Daemon mode is off unless the <code>com.compuware.jenkins.common.utils.CLIDaemonPool.enabled</code> system property is
+ * <code>true</code>, and it is only used for a CLI directory that contains the daemon script (<code>topazclidaemon.sh</code>
+ * or <code>topazclidaemon.bat</code>). Otherwise {@link #run(Launcher, FilePath, String, ArgumentListBuilder, FilePath,
+ * TaskListener) run} starts the CLI as a new process, as callers did before.
+ * <p>
+ * Daemons are kept per agent connection, CLI directory and CLI version, so a reconnected agent or an upgraded CLI never gets
+ * a stale daemon. A daemon runs one command at a time; concurrent commands on the same agent start more daemons. A daemon is
+ * stopped after a number of commands, after it has been idle for a while, and when Jenkins shuts down. A key is dropped once
+ * it has no idle daemons left, so the pool does not keep the channel of a disconnected agent.
+ */
+public class CLIDaemonPool
+{
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.CLIDaemonPool"); //$NON-NLS-1$
+
+	private static final boolean ENABLED = Boolean.getBoolean(CLIDaemonPool.class.getName() + ".enabled"); //$NON-NLS-1$
+	private static final int DEFAULT_MAX_RUNS = Integer.getInteger(CLIDaemonPool.class.getName() + ".maxRuns", 50); //$NON-NLS-1$
+	private static final long DEFAULT_IDLE_MILLIS = TimeUnit.MINUTES
+			.toMillis(Long.getLong(CLIDaemonPool.class.getName() + ".idleMinutes", 10)); //$NON-NLS-1$
+	private static final long START_TIMEOUT_MILLIS = TimeUnit.SECONDS
+			.toMillis(Long.getLong(CLIDaemonPool.class.getName() + ".startSeconds", 120)); //$NON-NLS-1$
+	private static final String SCRIPT_NAME = "topazclidaemon"; //$NON-NLS-1$
+	private static final String UNIX_SCRIPT_EXTENSION = ".sh"; //$NON-NLS-1$
+	private static final String WINDOWS_SCRIPT_EXTENSION = ".bat"; //$NON-NLS-1$
+
+	private static final CLIDaemonPool INSTANCE = new CLIDaemonPool(ENABLED, DEFAULT_MAX_RUNS, DEFAULT_IDLE_MILLIS,
+			new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					return System.currentTimeMillis();
+				}
+			});
+
+	// Member Variables
+	private final boolean m_enabled;
+	private final int m_maxRuns;
+	private final long m_idleMillis;
+	private final LongSupplier m_clock;
+	private final ConcurrentMap<Object, Deque<CLIDaemon>> m_idle = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the daemon pool shared by every build on the controller.
+	 *
+	 * @return the daemon pool
+	 */
+	public static CLIDaemonPool get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param enabled
+	 *            whether daemon mode is enabled
+	 * @param maxRuns
+	 *            the number of commands after which a daemon is replaced
+	 * @param idleMillis
+	 *            the time after which an unused daemon is stopped
+	 * @param clock
+	 *            supplies the current time in milliseconds
+	 */
+	CLIDaemonPool(boolean enabled, int maxRuns, long idleMillis, LongSupplier clock)
+	{
+		m_enabled = enabled;
+		m_maxRuns = maxRuns;
+		m_idleMillis = idleMillis;
+		m_clock = clock;
+	}
+
+	/**
+	 * Schedules stopping idle daemons.
+	 */
+	@Initializer(after = InitMilestone.JOB_LOADED)
+	public static void scheduleIdleCheck()
+	{
+		final CLIDaemonPool pool = get();
+		if (pool.isEnabled())
+		{
+			long periodMillis = Math.max(TimeUnit.SECONDS.toMillis(10), pool.m_idleMillis / 2);
+			Timer.get().scheduleWithFixedDelay(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					pool.closeIdle();
+				}
+			}, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops every daemon when Jenkins shuts down.
+	 */
+	@Terminator
+	public static void closeDaemons()
+	{
+		get().closeAll();
+	}
+
+	/**
+	 * Returns whether daemon mode is enabled.
+	 *
+	 * @return <code>true</code> if commands may run on daemons
+	 */
+	public boolean isEnabled()
+	{
+		return m_enabled;
+	}
+
+	/**
+	 * Runs a CLI command, on a warm daemon if daemon mode is enabled and the CLI provides one.
+	 * <p>
+	 * The output of the command is written to the listener. A command that was sent to a daemon is never run a second time,
+	 * since it may already have changed something on the host; if the daemon fails while running it, the failure is thrown.
+	 * If a daemon cannot be started, the command runs as a new process instead.
+	 *
+	 * @param launcher
+	 *            the launcher of the node to run on
+	 * @param cliDirectory
+	 *            the Topaz CLI install directory
+	 * @param cliVersion
+	 *            the installed CLI version
+	 * @param args
+	 *            the command, as returned by the argument builder of the global configuration
+	 * @param workDir
+	 *            the working directory of the command
+	 * @param listener
+	 *            the build listener
+	 *
+	 * @return the exit code of the command
+	 * @throws IOException
+	 *             if the command could not be run
+	 * @throws InterruptedException
+	 *             if the build was interrupted
+	 */
+	public int run(Launcher launcher, FilePath cliDirectory, String cliVersion, ArgumentListBuilder args, FilePath workDir,
+			TaskListener listener) throws IOException, InterruptedException
+	{
+		FilePath script = m_enabled
+				? cliDirectory.child(SCRIPT_NAME + (launcher.isUnix() ? UNIX_SCRIPT_EXTENSION : WINDOWS_SCRIPT_EXTENSION))
+				: null;
+		if (script != null && script.exists())
+		{
+			Key key = new Key(launcher.getChannel(), cliDirectory.getRemote(), cliVersion);
+			CLIDaemon daemon = null;
+			try
+			{
+				daemon = acquire(key, launcher, script, cliDirectory);
+			}
+			catch (IOException e)
+			{
+				LOGGER.log(Level.WARNING, String.format("Unable to start CLI daemon %s; starting the CLI instead.", key), e); //$NON-NLS-1$
+			}
+
+			if (daemon != null)
+			{
+				return run(key, daemon, args, workDir, listener);
+			}
+		}
+
+		return launcher.launch().cmds(args).pwd(workDir).stdout(listener).join();
+	}
+
+	/**
+	 * Runs a CLI command on the given daemon and returns the daemon to the pool.
+	 *
+	 * @param key
+	 *            the daemon key
+	 * @param daemon
+	 *            the daemon
+	 * @param args
+	 *            the command
+	 * @param workDir
+	 *            the working directory of the command; can be null
+	 * @param listener
+	 *            the build listener
+	 *
+	 * @return the exit code of the command
+	 * @throws IOException
+	 *             if the daemon failed while running the command; it is stopped
+	 * @throws InterruptedException
+	 *             if the build was interrupted; the daemon is stopped
+	 */
+	int run(Object key, CLIDaemon daemon, ArgumentListBuilder args, FilePath workDir, TaskListener listener)
+			throws IOException, InterruptedException
+	{
+		int exitCode;
+		try
+		{
+			exitCode = daemon.run(args.toList(), workDir != null ? workDir.getRemote() : null, listener.getLogger(),
+					m_clock.getAsLong());
+		}
+		catch (IOException e)
+		{
+			daemon.close();
+			throw e;
+		}
+
+		release(key, daemon);
+		return exitCode;
+	}
+
+	/**
+	 * Takes an idle daemon for the given key, starting one if there is none.
+	 *
+	 * @param key
+	 *            the daemon key
+	 * @param launcher
+	 *            the launcher of the node to start on
+	 * @param script
+	 *            the daemon script
+	 * @param cliDirectory
+	 *            the Topaz CLI install directory
+	 *
+	 * @return the daemon
+	 * @throws IOException
+	 *             if the daemon could not be started
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while the daemon was starting
+	 */
+	private CLIDaemon acquire(Key key, Launcher launcher, FilePath script, FilePath cliDirectory)
+			throws IOException, InterruptedException
+	{
+		CLIDaemon daemon = poll(key);
+		if (daemon == null)
+		{
+			LOGGER.fine(String.format("Starting CLI daemon %s.", key)); //$NON-NLS-1$
+			final Proc proc = launcher.launch().cmds(script.getRemote()).pwd(cliDirectory).readStdout().writeStdin()
+					.stderr(new LogTaskListener(LOGGER, Level.FINE).getLogger()).quiet(true).start();
+			daemon = start(key, proc);
+		}
+
+		return daemon;
+	}
+
+	/**
+	 * Wraps a started daemon process and waits for it to become ready.
+	 *
+	 * @param key
+	 *            the daemon key
+	 * @param proc
+	 *            the daemon process
+	 *
+	 * @return the daemon
+	 * @throws IOException
+	 *             if the daemon did not start
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while the daemon was starting
+	 */
+	private CLIDaemon start(Key key, final Proc proc) throws IOException, InterruptedException
+	{
+		CLIDaemon daemon = new CLIDaemon(key.toString(), proc.getStdout(), proc.getStdin(), new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					proc.kill();
+				}
+				catch (IOException e)
+				{
+					LOGGER.log(Level.FINE, "Unable to kill a CLI daemon.", e); //$NON-NLS-1$
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		return ready(daemon);
+	}
+
+	/**
+	 * Waits for a new daemon to become ready, stopping it if it does not.
+	 *
+	 * @param daemon
+	 *            the new daemon
+	 *
+	 * @return the daemon
+	 * @throws IOException
+	 *             if the daemon did not start
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while the daemon was starting
+	 */
+	CLIDaemon ready(CLIDaemon daemon) throws IOException, InterruptedException
+	{
+		try
+		{
+			daemon.awaitReady(START_TIMEOUT_MILLIS, m_clock.getAsLong());
+			return daemon;
+		}
+		catch (IOException | InterruptedException e)
+		{
+			daemon.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Takes an idle daemon for the given key, stopping any that can no longer be used.
+	 *
+	 * @param key
+	 *            the daemon key
+	 *
+	 * @return the daemon, or null if there is none
+	 */
+	CLIDaemon poll(Object key)
+	{
+		Deque<CLIDaemon> idle = m_idle.get(key);
+		CLIDaemon daemon;
+		while (idle != null && (daemon = idle.pollFirst()) != null)
+		{
+			if (daemon.isUsable() && !isExpired(daemon))
+			{
+				return daemon;
+			}
+			daemon.close();
+		}
+		removeIfEmpty(key);
+
+		return null;
+	}
+
+	/**
+	 * Returns a daemon after a command, keeping it for the next command unless it has reached its maximum number of commands.
+	 *
+	 * @param key
+	 *            the daemon key
+	 * @param daemon
+	 *            the daemon
+	 */
+	void release(Object key, CLIDaemon daemon)
+	{
+		if (!daemon.isUsable() || daemon.getRuns() >= m_maxRuns)
+		{
+			LOGGER.fine(String.format("Stopping CLI daemon %s after %d commands.", key, daemon.getRuns())); //$NON-NLS-1$
+			daemon.close();
+			return;
+		}
+
+		// the most recently used daemon is taken first, so the others go idle and are stopped; it is added while the key is
+		// locked so that an empty deque being dropped cannot take it along
+		m_idle.compute(key, (k, idle) -> {
+			Deque<CLIDaemon> daemons = idle != null ? idle : new ConcurrentLinkedDeque<>();
+			daemons.addFirst(daemon);
+			return daemons;
+		});
+	}
+
+	/**
+	 * Stops the daemons that have been idle for too long.
+	 */
+	void closeIdle()
+	{
+		for (Map.Entry<Object, Deque<CLIDaemon>> entry : m_idle.entrySet())
+		{
+			for (Iterator<CLIDaemon> it = entry.getValue().iterator(); it.hasNext();)
+			{
+				CLIDaemon daemon = it.next();
+				if ((!daemon.isUsable() || isExpired(daemon)) && entry.getValue().removeFirstOccurrence(daemon))
+				{
+					LOGGER.fine(String.format("Stopping idle CLI daemon %s.", entry.getKey())); //$NON-NLS-1$
+					daemon.close();
+				}
+			}
+			removeIfEmpty(entry.getKey());
+		}
+	}
+
+	/**
+	 * Stops every idle daemon.
+	 */
+	void closeAll()
+	{
+		for (Map.Entry<Object, Deque<CLIDaemon>> entry : m_idle.entrySet())
+		{
+			CLIDaemon daemon;
+			while ((daemon = entry.getValue().pollFirst()) != null)
+			{
+				daemon.close();
+			}
+			removeIfEmpty(entry.getKey());
+		}
+	}
+
+	/**
+	 * Drops the given key if it has no idle daemons left.
+	 *
+	 * @param key
+	 *            the daemon key
+	 */
+	private void removeIfEmpty(Object key)
+	{
+		m_idle.computeIfPresent(key, (k, idle) -> idle.isEmpty() ? null : idle);
+	}
+
+	/**
+	 * Returns the number of idle daemons for the given key.
+	 *
+	 * @param key
+	 *            the daemon key
+	 *
+	 * @return the number of idle daemons
+	 */
+	int getIdleCount(Object key)
+	{
+		Deque<CLIDaemon> idle = m_idle.get(key);
+		return idle != null ? idle.size() : 0;
+	}
+
+	/**
+	 * Returns the number of keys that have idle daemons.
+	 *
+	 * @return the number of keys
+	 */
+	int getKeyCount()
+	{
+		return m_idle.size();
+	}
+
+	private boolean isExpired(CLIDaemon daemon)
+	{
+		return m_clock.getAsLong() - daemon.getLastUsed() >= m_idleMillis;
+	}
+
+	/**
+	 * Identifies the daemons that can run a command: the same agent connection, CLI directory and CLI version.
+	 */
+	private static final class Key
+	{
+		private final VirtualChannel m_channel;
+		private final String m_cliLocation;
+		private final String m_cliVersion;
+
+		private Key(VirtualChannel channel, String cliLocation, String cliVersion)
+		{
+			m_channel = channel;
+			m_cliLocation = cliLocation;
+			m_cliVersion = cliVersion;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof Key))
+			{
+				return false;
+			}
+
+			Key other = (Key) obj;
+			return m_channel == other.m_channel && m_cliLocation.equals(other.m_cliLocation)
+					&& Objects.equals(m_cliVersion, other.m_cliVersion);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(System.identityHashCode(m_channel), m_cliLocation, m_cliVersion);
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%s %s (%s)", m_channel, m_cliLocation, m_cliVersion); //$NON-NLS-1$
+		}
+	}
+}
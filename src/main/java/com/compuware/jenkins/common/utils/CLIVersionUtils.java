@@ -30,6 +30,8 @@ import org.apache.commons.lang.StringUtils;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
+import com.compuware.jenkins.common.configuration.ConfigurationMetrics;
+import com.compuware.jenkins.common.configuration.ConfigurationMetrics.Stage;
 import com.compuware.jenkins.common.configuration.Messages;
 
 import hudson.AbortException;
@@ -67,21 +69,29 @@ public class CLIVersionUtils
 	public static String getCLIVersion(FilePath cliDirectory, String minimumVersion) throws IOException, InterruptedException
 	{
 		String version = ""; //$NON-NLS-1$
-		
-		if (!cliDirectory.exists())
+		long start = ConfigurationMetrics.get().start();
+
+		try
 		{
-			throw new AbortException(Messages.cliNotInstalledError());
-		}
+			if (!cliDirectory.exists())
+			{
+				throw new AbortException(Messages.cliNotInstalledError());
+			}
 
-		FilePath versionFilePath = cliDirectory.child(cliDirectory.getRemote() + CommonConstants.SLASH + CommonConstants.VERSION_FILE);
-		
-		if (!versionFilePath.exists())
+			FilePath versionFilePath = cliDirectory.child(cliDirectory.getRemote() + CommonConstants.SLASH + CommonConstants.VERSION_FILE);
+
+			if (!versionFilePath.exists())
+			{
+				throw new AbortException(Messages.cliOldUnknownVersionError(minimumVersion));
+			}
+
+			version = parseXml(versionFilePath.read());
+		}
+		finally
 		{
-			throw new AbortException(Messages.cliOldUnknownVersionError(minimumVersion));
+			ConfigurationMetrics.get().record(Stage.CLI_VERSION, start);
 		}
-				
-		version = parseXml(versionFilePath.read());
-		
+
 		return version;
 	}
 
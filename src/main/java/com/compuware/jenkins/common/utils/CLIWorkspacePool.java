@@ -0,0 +1,366 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compuware.jenkins.common.configuration.Messages;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Executor;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.slaves.ComputerListener;
+import hudson.slaves.OfflineCause;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Class used to hand out reusable Topaz CLI workspaces, the {@link CommonConstants#TOPAZ_CLI_WORKSPACE} directory passed to
+ * the CLI with {@link CommonConstants#DATA_PARM}.
+ * <p>
+ * Starting the CLI in a new workspace makes Eclipse create and index its metadata every time. Pooled workspaces live under
+ * the root directory of the node and are kept per node, executor and CLI version, so each CLI run finds the metadata left by
+ * the previous run on the same executor. Before a workspace is handed out, only its volatile state is reset: the projects and
+ * the resources model from the last run, the workspace lock and the log; preferences and the state of other Eclipse plug-ins
+ * are kept. A workspace is leased to one CLI run at a time; parallel runs on the same executor get workspaces of their own.
+ * <p>
+ * The pooled workspaces of a node are deleted when the node comes back online, since CLI processes that were running when it
+ * went offline may have left them in any state.
+ */
+public class CLIWorkspacePool
+{
+	// Constants
+	private static final Logger LOGGER = Logger.getLogger("hudson.CLIWorkspacePool"); //$NON-NLS-1$
+
+	private static final String POOL_DIRECTORY = "topaz-cli-workspaces"; //$NON-NLS-1$
+	private static final String METADATA_DIRECTORY = ".metadata"; //$NON-NLS-1$
+	private static final String RESOURCES_PLUGIN_DIRECTORY = ".plugins" + File.separator + "org.eclipse.core.resources"; //$NON-NLS-1$ //$NON-NLS-2$
+	private static final String LOCK_FILE = ".lock"; //$NON-NLS-1$
+	private static final String LOG_FILE_SUFFIX = ".log"; //$NON-NLS-1$
+	private static final char SLOT_SEPARATOR = '-';
+	private static final char KEY_SEPARATOR = '/';
+
+	private static final CLIWorkspacePool INSTANCE = new CLIWorkspacePool();
+
+	// Member Variables
+	// the lease holding each key, so a lease that was forgotten cannot free the key of the lease that took it over
+	private final ConcurrentMap<String, Lease> m_leased = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the workspace pool shared by every build on the controller.
+	 *
+	 * @return the workspace pool
+	 */
+	public static CLIWorkspacePool get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor.
+	 */
+	CLIWorkspacePool()
+	{
+	}
+
+	/**
+	 * Leases a workspace for a CLI run on the given executor.
+	 *
+	 * @param executor
+	 *            the executor the build is running on
+	 * @param cliVersion
+	 *            the installed CLI version
+	 *
+	 * @return the lease; close it when the CLI run has finished, preferably with try-with-resources
+	 * @throws IOException
+	 *             if the workspace could not be prepared, or the node is offline
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while preparing the workspace
+	 */
+	public Lease acquire(Executor executor, String cliVersion) throws IOException, InterruptedException
+	{
+		return acquire(executor.getOwner(), executor.getNumber(), cliVersion);
+	}
+
+	/**
+	 * Leases a workspace for a CLI run on the given node and executor.
+	 *
+	 * @param computer
+	 *            the node the build is running on
+	 * @param executorNumber
+	 *            the number of the executor the build is running on
+	 * @param cliVersion
+	 *            the installed CLI version
+	 *
+	 * @return the lease; close it when the CLI run has finished, preferably with try-with-resources
+	 * @throws IOException
+	 *             if the workspace could not be prepared, or the node is offline
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while preparing the workspace
+	 */
+	public Lease acquire(Computer computer, int executorNumber, String cliVersion) throws IOException, InterruptedException
+	{
+		FilePath poolRoot = getPoolRoot(computer);
+		if (poolRoot == null)
+		{
+			throw new AbortException(Messages.cliWorkspaceOfflineError(computer.getDisplayName()));
+		}
+
+		return acquire(computer.getName(), poolRoot, executorNumber, cliVersion);
+	}
+
+	/**
+	 * Leases the first free workspace for the given executor, resetting its volatile state.
+	 *
+	 * @param nodeName
+	 *            the name of the node
+	 * @param poolRoot
+	 *            the directory holding the pooled workspaces of the node
+	 * @param executorNumber
+	 *            the number of the executor
+	 * @param cliVersion
+	 *            the CLI version
+	 *
+	 * @return the lease
+	 * @throws IOException
+	 *             if the workspace could not be prepared
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while preparing the workspace
+	 */
+	Lease acquire(String nodeName, FilePath poolRoot, int executorNumber, String cliVersion)
+			throws IOException, InterruptedException
+	{
+		String versionDirectory = toDirectoryName(cliVersion);
+		for (int slot = 0;; slot++)
+		{
+			String slotDirectory = Integer.toString(executorNumber);
+			if (slot > 0)
+			{
+				slotDirectory += SLOT_SEPARATOR + Integer.toString(slot);
+			}
+			String key = nodeName + KEY_SEPARATOR + versionDirectory + KEY_SEPARATOR + slotDirectory;
+			Lease lease = new Lease(key,
+					poolRoot.child(versionDirectory).child(slotDirectory).child(CommonConstants.TOPAZ_CLI_WORKSPACE));
+			if (m_leased.putIfAbsent(key, lease) == null)
+			{
+				boolean prepared = false;
+				try
+				{
+					lease.getWorkspace().act(new ResetCallable());
+					prepared = true;
+					return lease;
+				}
+				finally
+				{
+					if (!prepared)
+					{
+						lease.close();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of workspaces currently leased.
+	 *
+	 * @return the number of leased workspaces
+	 */
+	public int getLeasedCount()
+	{
+		return m_leased.size();
+	}
+
+	/**
+	 * Forgets the leases on a node whose CLI runs have ended because it went offline.
+	 *
+	 * @param nodeName
+	 *            the name of the node
+	 */
+	void forget(String nodeName)
+	{
+		String prefix = nodeName + KEY_SEPARATOR;
+		m_leased.keySet().removeIf(key -> key.startsWith(prefix));
+	}
+
+	/**
+	 * Returns the directory holding the pooled workspaces of the given node.
+	 *
+	 * @param computer
+	 *            the node
+	 *
+	 * @return the directory, or null if the node is offline
+	 */
+	private static FilePath getPoolRoot(Computer computer)
+	{
+		Node node = computer.getNode();
+		FilePath root = node != null ? node.getRootPath() : null;
+		return root != null ? root.child(POOL_DIRECTORY) : null;
+	}
+
+	/**
+	 * Returns a CLI version as a directory name.
+	 *
+	 * @param cliVersion
+	 *            the CLI version
+	 *
+	 * @return the directory name
+	 */
+	private static String toDirectoryName(String cliVersion)
+	{
+		String name = cliVersion != null ? cliVersion.replaceAll("[^A-Za-z0-9._-]", "_") : ""; //$NON-NLS-1$ //$NON-NLS-2$
+		return name.isEmpty() || name.startsWith(".") ? "unknown" + name : name; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * A workspace leased to a CLI run.
+	 */
+	public final class Lease implements AutoCloseable
+	{
+		private final String m_key;
+		private final FilePath m_workspace;
+
+		private Lease(String key, FilePath workspace)
+		{
+			m_key = key;
+			m_workspace = workspace;
+		}
+
+		/**
+		 * Returns the workspace to pass to the CLI with {@link CommonConstants#DATA_PARM}.
+		 *
+		 * @return the workspace directory
+		 */
+		public FilePath getWorkspace()
+		{
+			return m_workspace;
+		}
+
+		/**
+		 * Returns the workspace to the pool. Releasing more than once, or after the lease was forgotten, has no effect.
+		 */
+		@Override
+		public void close()
+		{
+			m_leased.remove(m_key, this);
+		}
+	}
+
+	/**
+	 * Resets the volatile state of a workspace on the node that holds it, creating the workspace if it does not exist yet.
+	 */
+	static final class ResetCallable extends MasterToSlaveFileCallable<Void>
+	{
+		private static final long serialVersionUID = 1L;
+
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+		 */
+		@Override
+		public Void invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException
+		{
+			Files.createDirectories(workspace.toPath());
+
+			// the projects of the last run, and the resources model that describes them
+			File[] children = workspace.listFiles();
+			if (children != null)
+			{
+				for (File child : children)
+				{
+					if (!METADATA_DIRECTORY.equals(child.getName()))
+					{
+						Util.deleteRecursive(child);
+					}
+				}
+			}
+
+			File metadata = new File(workspace, METADATA_DIRECTORY);
+			Util.deleteRecursive(new File(metadata, RESOURCES_PLUGIN_DIRECTORY));
+
+			// the lock left by a CLI that did not shut down cleanly, and the log and its backups
+			File[] metadataFiles = metadata.listFiles();
+			if (metadataFiles != null)
+			{
+				for (File file : metadataFiles)
+				{
+					if (file.isFile() && (LOCK_FILE.equals(file.getName()) || file.getName().endsWith(LOG_FILE_SUFFIX)))
+					{
+						Util.deleteFile(file);
+					}
+				}
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 * Forgets the leases of a node that goes offline and deletes its pooled workspaces when it comes back online.
+	 */
+	@Extension
+	public static final class NodeListener extends ComputerListener
+	{
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.slaves.ComputerListener#onOffline(hudson.model.Computer, hudson.slaves.OfflineCause)
+		 */
+		@Override
+		public void onOffline(Computer computer, OfflineCause cause)
+		{
+			get().forget(computer.getName());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.slaves.ComputerListener#onOnline(hudson.model.Computer, hudson.model.TaskListener)
+		 */
+		@Override
+		public void onOnline(Computer computer, TaskListener listener)
+		{
+			FilePath poolRoot = getPoolRoot(computer);
+			try
+			{
+				if (poolRoot != null && poolRoot.exists())
+				{
+					poolRoot.deleteRecursive();
+					LOGGER.fine(String.format("Deleted the pooled Topaz CLI workspaces of %s.", computer.getDisplayName())); //$NON-NLS-1$
+				}
+			}
+			catch (IOException e)
+			{
+				LOGGER.log(Level.WARNING,
+						String.format("Unable to delete the pooled Topaz CLI workspaces of %s.", computer.getDisplayName()), e); //$NON-NLS-1$
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
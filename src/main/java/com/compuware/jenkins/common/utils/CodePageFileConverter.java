@@ -0,0 +1,262 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Converts EBCDIC files, such as job output, compile listings and downloaded datasets, to text files.
+ * <p>
+ * The source file is read and decoded with a {@link CodePageTranscoder} through fixed-size heap buffers, so heap use does
+ * not depend on the file size. The file is not mapped, so it is not held open after the conversion. When a record length is
+ * given, the file is treated as fixed-length records and a newline is written after every record. The {@link FilePath} variant
+ * runs on the node that holds the files so the data does not cross the remoting channel.
+ */
+public final class CodePageFileConverter
+{
+	// Constants
+	private static final int CHUNK_SIZE = 64 * 1024;
+	private static final char NEWLINE = '\n';
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods are static.
+	 */
+	private CodePageFileConverter()
+	{
+	}
+
+	/**
+	 * Converts an EBCDIC file to a text file.
+	 * 
+	 * @param source
+	 *            the EBCDIC file
+	 * @param target
+	 *            the text file to create or replace
+	 * @param codePage
+	 *            the code page of the source file
+	 * @param recordLength
+	 *            the logical record length (LRECL), or 0 if the file has no record boundaries
+	 * @param targetCharset
+	 *            the charset of the text file
+	 * 
+	 * @return the number of bytes converted
+	 * @throws IOException
+	 *             if either file could not be accessed
+	 * @throws IllegalArgumentException
+	 *             if the code page is not supported or the record length is negative
+	 */
+	public static long toText(Path source, Path target, String codePage, int recordLength, Charset targetCharset)
+			throws IOException
+	{
+		if (recordLength < 0)
+		{
+			throw new IllegalArgumentException(String.format("Invalid record length: %d", recordLength)); //$NON-NLS-1$
+		}
+
+		CodePageTranscoder transcoder = CodePageTranscoder.forCodePage(codePage);
+		CharsetEncoder encoder = targetCharset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		ByteBuffer bytes = ByteBuffer.allocate(CHUNK_SIZE);
+		CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE + 1);
+		ByteBuffer encoded = ByteBuffer.allocate((int) Math.ceil(chars.capacity() * encoder.maxBytesPerChar()));
+
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			long size = 0;
+			int recordColumn = 0;
+			while (in.read(bytes) >= 0)
+			{
+				bytes.flip();
+				size += bytes.remaining();
+				while (bytes.hasRemaining())
+				{
+					// leave room for the newline that may end the record
+					int n = Math.min(bytes.remaining(), chars.remaining() - 1);
+					if (recordLength > 0)
+					{
+						n = Math.min(n, recordLength - recordColumn);
+					}
+
+					transcoder.decode(bytes.array(), bytes.position(), n, chars.array(), chars.position());
+					bytes.position(bytes.position() + n);
+					chars.position(chars.position() + n);
+
+					if (recordLength > 0)
+					{
+						recordColumn += n;
+						if (recordColumn == recordLength)
+						{
+							chars.put(NEWLINE);
+							recordColumn = 0;
+						}
+					}
+
+					if (chars.remaining() <= 1)
+					{
+						writeChars(chars, encoder, encoded, out, false);
+					}
+				}
+				bytes.clear();
+			}
+
+			if (recordColumn > 0)
+			{
+				chars.put(NEWLINE);
+			}
+			writeChars(chars, encoder, encoded, out, true);
+
+			return size;
+		}
+	}
+
+	/**
+	 * Converts an EBCDIC file to a text file on the node that holds them.
+	 * 
+	 * @param source
+	 *            the EBCDIC file
+	 * @param target
+	 *            the text file to create or replace; must be on the same node as the source
+	 * @param codePage
+	 *            the code page of the source file
+	 * @param recordLength
+	 *            the logical record length (LRECL), or 0 if the file has no record boundaries
+	 * @param targetCharset
+	 *            the charset of the text file
+	 * 
+	 * @return the number of bytes converted
+	 * @throws IOException
+	 *             if either file could not be accessed
+	 * @throws InterruptedException
+	 *             if the conversion was interrupted
+	 * @throws IllegalArgumentException
+	 *             if the files are on different nodes
+	 */
+	public static long toText(FilePath source, FilePath target, String codePage, int recordLength, Charset targetCharset)
+			throws IOException, InterruptedException
+	{
+		checkSameNode(source, target);
+		return source.act(new ToTextCallable(target.getRemote(), codePage, recordLength, targetCharset.name()));
+	}
+
+	/**
+	 * Checks the given files are on the same node, so a callable run on the node of the source can open the target.
+	 * 
+	 * @param source
+	 *            the source file
+	 * @param target
+	 *            the target file
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the files are on different nodes
+	 */
+	static void checkSameNode(FilePath source, FilePath target)
+	{
+		if (source.getChannel() != target.getChannel())
+		{
+			throw new IllegalArgumentException(String.format("%s and %s are not on the same node", source.getRemote(), //$NON-NLS-1$
+					target.getRemote()));
+		}
+	}
+
+	/**
+	 * Encodes the decoded characters and writes them to the target file.
+	 */
+	private static void writeChars(CharBuffer chars, CharsetEncoder encoder, ByteBuffer encoded, FileChannel out,
+			boolean endOfInput) throws IOException
+	{
+		chars.flip();
+		CoderResult result = encoder.encode(chars, encoded, endOfInput);
+		if (endOfInput && result.isUnderflow())
+		{
+			encoder.flush(encoded);
+		}
+
+		encoded.flip();
+		while (encoded.hasRemaining())
+		{
+			out.write(encoded);
+		}
+
+		encoded.clear();
+		// a trailing high surrogate cannot come from a single-byte code page, but keep anything the encoder left behind
+		chars.compact();
+	}
+
+	/**
+	 * Callable that converts a file on the node that holds it.
+	 */
+	static final class ToTextCallable extends MasterToSlaveFileCallable<Long>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final String m_target;
+		private final String m_codePage;
+		private final int m_recordLength;
+		private final String m_targetCharset;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param target
+		 *            the path of the text file on the node
+		 * @param codePage
+		 *            the code page of the source file
+		 * @param recordLength
+		 *            the logical record length, or 0
+		 * @param targetCharset
+		 *            the name of the charset of the text file
+		 */
+		ToTextCallable(String target, String codePage, int recordLength, String targetCharset)
+		{
+			m_target = target;
+			m_codePage = codePage;
+			m_recordLength = recordLength;
+			m_targetCharset = targetCharset;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+		 */
+		@Override
+		public Long invoke(File source, VirtualChannel channel) throws IOException
+		{
+			return toText(source.toPath(), Paths.get(m_target), m_codePage, m_recordLength, Charset.forName(m_targetCharset));
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Reader that decodes an EBCDIC byte stream with a {@link CodePageTranscoder}.
+ * <p>
+ * When a record length is given, the stream is treated as fixed-length records (RECFM F/FB) and a newline is inserted after
+ * every record, including a short last record. Memory use is bounded by a fixed buffer regardless of the stream length.
+ */
+public class CodePageReader extends Reader
+{
+	// Constants
+	private static final int BUFFER_SIZE = 8192;
+	private static final char NEWLINE = '\n';
+
+	// Member Variables
+	private final InputStream m_in;
+	private final CodePageTranscoder m_transcoder;
+	private final int m_recordLength;
+	private final byte[] m_buffer = new byte[BUFFER_SIZE];
+	private int m_bufferPosition;
+	private int m_bufferLimit;
+	private int m_recordColumn;
+	private boolean m_newlinePending;
+	private boolean m_eof;
+
+	/**
+	 * Constructor for a stream without record boundaries.
+	 * 
+	 * @param in
+	 *            the EBCDIC input stream
+	 * @param codePage
+	 *            the code page of the stream
+	 */
+	public CodePageReader(InputStream in, String codePage)
+	{
+		this(in, codePage, 0);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param in
+	 *            the EBCDIC input stream
+	 * @param codePage
+	 *            the code page of the stream
+	 * @param recordLength
+	 *            the logical record length (LRECL), or 0 if the stream has no record boundaries
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the code page is not supported or the record length is negative
+	 */
+	public CodePageReader(InputStream in, String codePage, int recordLength)
+	{
+		if (recordLength < 0)
+		{
+			throw new IllegalArgumentException(String.format("Invalid record length: %d", recordLength)); //$NON-NLS-1$
+		}
+
+		m_in = in;
+		m_transcoder = CodePageTranscoder.forCodePage(codePage);
+		m_recordLength = recordLength;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Reader#read(char[], int, int)
+	 */
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException
+	{
+		synchronized (lock)
+		{
+			if (len == 0)
+			{
+				return 0;
+			}
+
+			int count = 0;
+			while (count < len)
+			{
+				if (m_newlinePending)
+				{
+					cbuf[off + count++] = NEWLINE;
+					m_newlinePending = false;
+					continue;
+				}
+
+				if (m_bufferPosition == m_bufferLimit)
+				{
+					// return what has been read rather than block for more
+					if ((count > 0 && m_in.available() <= 0) || !fill())
+					{
+						break;
+					}
+				}
+
+				int n = Math.min(len - count, m_bufferLimit - m_bufferPosition);
+				if (m_recordLength > 0)
+				{
+					n = Math.min(n, m_recordLength - m_recordColumn);
+				}
+
+				m_transcoder.decode(m_buffer, m_bufferPosition, n, cbuf, off + count);
+				m_bufferPosition += n;
+				count += n;
+				if (m_recordLength > 0)
+				{
+					m_recordColumn += n;
+					if (m_recordColumn == m_recordLength)
+					{
+						endRecord();
+					}
+				}
+			}
+
+			return count == 0 ? -1 : count;
+		}
+	}
+
+	/**
+	 * Refills the buffer.
+	 * 
+	 * @return <code>false</code> if the end of the stream was reached and there is nothing more to return
+	 * @throws IOException
+	 *             if the stream could not be read
+	 */
+	private boolean fill() throws IOException
+	{
+		if (!m_eof)
+		{
+			int read;
+			do
+			{
+				read = m_in.read(m_buffer);
+			}
+			while (read == 0);
+
+			if (read > 0)
+			{
+				m_bufferPosition = 0;
+				m_bufferLimit = read;
+				return true;
+			}
+
+			m_eof = true;
+			if (m_recordColumn > 0)
+			{
+				// terminate a short last record; the caller returns the newline on its next pass
+				endRecord();
+				m_bufferPosition = m_bufferLimit = 0;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Ends the current record.
+	 */
+	private void endRecord()
+	{
+		m_recordColumn = 0;
+		m_newlinePending = true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Reader#ready()
+	 */
+	@Override
+	public boolean ready() throws IOException
+	{
+		synchronized (lock)
+		{
+			return m_newlinePending || m_bufferPosition < m_bufferLimit || m_in.available() > 0;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Reader#close()
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		m_in.close();
+	}
+}
@@ -0,0 +1,439 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+
+/**
+ * Table driven transcoder for the single-byte EBCDIC code pages a host connection can use.
+ * <p>
+ * Instances are obtained by code page number, as returned by <code>HostConnection.getCodePage()</code>, and are shared. Each
+ * transcoder precomputes a 256-entry decode table and a two-level encode table that only allocates the 256-byte pages of the
+ * Unicode range the code page actually maps; unmapped characters encode to the code page's substitution byte and unmapped bytes
+ * decode to U+FFFD, exactly as the JDK <code>Charset</code> does with {@link CodingErrorAction#REPLACE}. Every character
+ * encodes to exactly one byte, so a surrogate pair encodes to two substitution bytes. Conversions work on caller-supplied
+ * arrays or buffers and do not allocate.
+ * <p>
+ * Transcoders are immutable and thread safe.
+ */
+public final class CodePageTranscoder
+{
+	// Constants
+	private static final int TABLE_SIZE = 256;
+	private static final int PAGE_COUNT = 256;
+	private static final int BYTE_MASK = 0xFF;
+	private static final int PAGE_SHIFT = 8;
+	private static final String[] CHARSET_NAME_FORMATS = { "IBM%03d", "IBM0%d", "Cp%03d", "x-IBM%d" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private static final ConcurrentMap<Integer, CodePageTranscoder> TRANSCODERS = new ConcurrentHashMap<>();
+
+	// Member Variables
+	private final int m_codePage;
+	private final Charset m_charset;
+	private final char[] m_decodeTable;
+	private final byte[][] m_encodePages;
+
+	/**
+	 * Returns the transcoder for the given code page.
+	 * 
+	 * @param codePage
+	 *            the code page number, such as "1047" or "037"
+	 * 
+	 * @return the shared transcoder
+	 * @throws IllegalArgumentException
+	 *             if the code page is not a number
+	 * @throws UnsupportedCharsetException
+	 *             if the JVM has no single-byte charset for the code page
+	 */
+	public static CodePageTranscoder forCodePage(String codePage)
+	{
+		int number = NumberUtils.toInt(StringUtils.trimToEmpty(codePage), -1);
+		if (number < 0)
+		{
+			throw new IllegalArgumentException(String.format("Invalid code page: %s", codePage)); //$NON-NLS-1$
+		}
+
+		CodePageTranscoder transcoder = TRANSCODERS.get(number);
+		if (transcoder == null)
+		{
+			CodePageTranscoder newTranscoder = new CodePageTranscoder(number, lookupCharset(number));
+			transcoder = TRANSCODERS.putIfAbsent(number, newTranscoder);
+			if (transcoder == null)
+			{
+				transcoder = newTranscoder;
+			}
+		}
+
+		return transcoder;
+	}
+
+	/**
+	 * Returns whether a transcoder is available for the given code page.
+	 * 
+	 * @param codePage
+	 *            the code page number
+	 * 
+	 * @return <code>true</code> if {@link #forCodePage(String)} succeeds for the code page
+	 */
+	public static boolean isSupported(String codePage)
+	{
+		try
+		{
+			forCodePage(codePage);
+			return true;
+		}
+		catch (IllegalArgumentException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the JDK charset for the given code page number, trying the names the JDK registers EBCDIC charsets under.
+	 * 
+	 * @param codePage
+	 *            the code page number
+	 * 
+	 * @return the charset
+	 * @throws UnsupportedCharsetException
+	 *             if the JVM has no charset for the code page
+	 */
+	public static Charset lookupCharset(int codePage)
+	{
+		for (String format : CHARSET_NAME_FORMATS)
+		{
+			String name = String.format(format, codePage);
+			if (Charset.isSupported(name))
+			{
+				return Charset.forName(name);
+			}
+		}
+
+		throw new UnsupportedCharsetException(String.valueOf(codePage));
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param codePage
+	 *            the code page number
+	 * @param charset
+	 *            the charset the tables are built from
+	 * 
+	 * @throws UnsupportedCharsetException
+	 *             if the charset is not a single-byte charset
+	 */
+	CodePageTranscoder(int codePage, Charset charset)
+	{
+		m_codePage = codePage;
+		m_charset = charset;
+
+		try
+		{
+			m_decodeTable = buildDecodeTable(charset);
+			m_encodePages = buildEncodePages(charset);
+		}
+		catch (CharacterCodingException e)
+		{
+			throw new UnsupportedCharsetException(charset.name());
+		}
+	}
+
+	/**
+	 * Builds the decode table by decoding every byte value in one pass.
+	 */
+	private static char[] buildDecodeTable(Charset charset) throws CharacterCodingException
+	{
+		byte[] allBytes = new byte[TABLE_SIZE];
+		for (int i = 0; i < TABLE_SIZE; i++)
+		{
+			allBytes[i] = (byte) i;
+		}
+
+		CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		CharBuffer decoded = decoder.decode(ByteBuffer.wrap(allBytes));
+		if (decoded.remaining() != TABLE_SIZE)
+		{
+			// a stateful or multi-byte code page
+			throw new UnsupportedCharsetException(charset.name());
+		}
+
+		char[] table = new char[TABLE_SIZE];
+		decoded.get(table);
+		return table;
+	}
+
+	/**
+	 * Builds the encode pages by encoding every UTF-16 code unit, one page at a time.
+	 * <p>
+	 * Pages that only contain the substitution byte share a single array. Surrogates have no single-byte encoding, so the
+	 * surrogate pages are always the substitution page.
+	 */
+	private static byte[][] buildEncodePages(Charset charset) throws CharacterCodingException
+	{
+		CharsetEncoder encoder = charset.newEncoder();
+		if (encoder.maxBytesPerChar() != 1.0f)
+		{
+			throw new UnsupportedCharsetException(charset.name());
+		}
+		encoder.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		byte substitution = encoder.replacement()[0];
+		byte[] substitutionPage = new byte[TABLE_SIZE];
+		Arrays.fill(substitutionPage, substitution);
+
+		byte[][] pages = new byte[PAGE_COUNT][];
+		char[] pageChars = new char[TABLE_SIZE];
+		for (int page = 0; page < PAGE_COUNT; page++)
+		{
+			if (page >= (Character.MIN_SURROGATE >>> PAGE_SHIFT) && page <= (Character.MAX_SURROGATE >>> PAGE_SHIFT))
+			{
+				pages[page] = substitutionPage;
+				continue;
+			}
+
+			for (int i = 0; i < TABLE_SIZE; i++)
+			{
+				pageChars[i] = (char) ((page << PAGE_SHIFT) | i);
+			}
+
+			ByteBuffer encoded = encoder.encode(CharBuffer.wrap(pageChars));
+			if (encoded.remaining() != TABLE_SIZE)
+			{
+				throw new UnsupportedCharsetException(charset.name());
+			}
+
+			byte[] pageBytes = new byte[TABLE_SIZE];
+			encoded.get(pageBytes);
+			pages[page] = Arrays.equals(pageBytes, substitutionPage) ? substitutionPage : pageBytes;
+		}
+
+		return pages;
+	}
+
+	/**
+	 * Returns the code page number.
+	 * 
+	 * @return the code page number
+	 */
+	public int getCodePage()
+	{
+		return m_codePage;
+	}
+
+	/**
+	 * Returns the JDK charset this transcoder is equivalent to.
+	 * 
+	 * @return the charset
+	 */
+	public Charset getCharset()
+	{
+		return m_charset;
+	}
+
+	/**
+	 * Decodes a single byte.
+	 * 
+	 * @param b
+	 *            the byte
+	 * 
+	 * @return the character
+	 */
+	public char decode(byte b)
+	{
+		return m_decodeTable[b & BYTE_MASK];
+	}
+
+	/**
+	 * Encodes a single character.
+	 * 
+	 * @param c
+	 *            the character
+	 * 
+	 * @return the byte
+	 */
+	public byte encode(char c)
+	{
+		return m_encodePages[c >>> PAGE_SHIFT][c & BYTE_MASK];
+	}
+
+	/**
+	 * Decodes bytes into characters.
+	 * 
+	 * @param src
+	 *            the source bytes
+	 * @param srcOffset
+	 *            the offset of the first byte to decode
+	 * @param length
+	 *            the number of bytes to decode
+	 * @param dst
+	 *            the destination characters
+	 * @param dstOffset
+	 *            the offset of the first character to write
+	 * 
+	 * @return the number of characters written, which is always <code>length</code>
+	 */
+	public int decode(byte[] src, int srcOffset, int length, char[] dst, int dstOffset)
+	{
+		char[] table = m_decodeTable;
+		for (int i = 0; i < length; i++)
+		{
+			dst[dstOffset + i] = table[src[srcOffset + i] & BYTE_MASK];
+		}
+
+		return length;
+	}
+
+	/**
+	 * Encodes characters into bytes.
+	 * 
+	 * @param src
+	 *            the source characters
+	 * @param srcOffset
+	 *            the offset of the first character to encode
+	 * @param length
+	 *            the number of characters to encode
+	 * @param dst
+	 *            the destination bytes
+	 * @param dstOffset
+	 *            the offset of the first byte to write
+	 * 
+	 * @return the number of bytes written, which is always <code>length</code>
+	 */
+	public int encode(char[] src, int srcOffset, int length, byte[] dst, int dstOffset)
+	{
+		byte[][] pages = m_encodePages;
+		byte[] latin1 = pages[0];
+
+		// most mainframe text is Latin-1, which a single lookup covers
+		for (int i = 0; i < length; i++)
+		{
+			char c = src[srcOffset + i];
+			dst[dstOffset + i] = c < TABLE_SIZE ? latin1[c] : pages[c >>> PAGE_SHIFT][c & BYTE_MASK];
+		}
+
+		return length;
+	}
+
+	/**
+	 * Decodes as many bytes as both buffers allow, advancing both buffers.
+	 * 
+	 * @param src
+	 *            the source buffer
+	 * @param dst
+	 *            the destination buffer
+	 * 
+	 * @return the number of bytes decoded
+	 */
+	public int decode(ByteBuffer src, CharBuffer dst)
+	{
+		int length = Math.min(src.remaining(), dst.remaining());
+		if (src.hasArray() && dst.hasArray())
+		{
+			decode(src.array(), src.arrayOffset() + src.position(), length, dst.array(), dst.arrayOffset() + dst.position());
+			src.position(src.position() + length);
+			dst.position(dst.position() + length);
+		}
+		else
+		{
+			for (int i = 0; i < length; i++)
+			{
+				dst.put(m_decodeTable[src.get() & BYTE_MASK]);
+			}
+		}
+
+		return length;
+	}
+
+	/**
+	 * Encodes as many characters as both buffers allow, advancing both buffers.
+	 * 
+	 * @param src
+	 *            the source buffer
+	 * @param dst
+	 *            the destination buffer
+	 * 
+	 * @return the number of characters encoded
+	 */
+	public int encode(CharBuffer src, ByteBuffer dst)
+	{
+		int length = Math.min(src.remaining(), dst.remaining());
+		if (src.hasArray() && dst.hasArray())
+		{
+			encode(src.array(), src.arrayOffset() + src.position(), length, dst.array(), dst.arrayOffset() + dst.position());
+			src.position(src.position() + length);
+			dst.position(dst.position() + length);
+		}
+		else
+		{
+			for (int i = 0; i < length; i++)
+			{
+				dst.put(encode(src.get()));
+			}
+		}
+
+		return length;
+	}
+
+	/**
+	 * Decodes the given bytes into a new string.
+	 * 
+	 * @param bytes
+	 *            the bytes
+	 * 
+	 * @return the string
+	 */
+	public String decode(byte[] bytes)
+	{
+		char[] chars = new char[bytes.length];
+		decode(bytes, 0, bytes.length, chars, 0);
+		return new String(chars);
+	}
+
+	/**
+	 * Encodes the given string into a new byte array.
+	 * 
+	 * @param string
+	 *            the string
+	 * 
+	 * @return the bytes
+	 */
+	public byte[] encode(String string)
+	{
+		byte[] bytes = new byte[string.length()];
+		for (int i = 0; i < bytes.length; i++)
+		{
+			bytes[i] = encode(string.charAt(i));
+		}
+
+		return bytes;
+	}
+}
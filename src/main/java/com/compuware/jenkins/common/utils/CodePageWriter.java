@@ -0,0 +1,248 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Writer that encodes characters to an EBCDIC byte stream with a {@link CodePageTranscoder}.
+ * <p>
+ * When a record length is given, the output is written as fixed-length records (RECFM F/FB): each line ends the current
+ * record, which is padded with blanks, and a line longer than the record length continues in the next record so no data is
+ * lost. Carriage returns are dropped so both LF and CRLF text can be written. Memory use is bounded by a fixed buffer.
+ */
+public class CodePageWriter extends Writer
+{
+	// Constants
+	private static final int BUFFER_SIZE = 8192;
+	private static final char NEWLINE = '\n';
+	private static final char CARRIAGE_RETURN = '\r';
+	private static final char BLANK = ' ';
+
+	// Member Variables
+	private final OutputStream m_out;
+	private final CodePageTranscoder m_transcoder;
+	private final int m_recordLength;
+	private final byte m_blank;
+	private final byte[] m_buffer = new byte[BUFFER_SIZE];
+	private int m_bufferPosition;
+	private int m_recordColumn;
+	private boolean m_closed;
+
+	/**
+	 * Constructor for a stream without record boundaries.
+	 * 
+	 * @param out
+	 *            the EBCDIC output stream
+	 * @param codePage
+	 *            the code page of the stream
+	 */
+	public CodePageWriter(OutputStream out, String codePage)
+	{
+		this(out, codePage, 0);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param out
+	 *            the EBCDIC output stream
+	 * @param codePage
+	 *            the code page of the stream
+	 * @param recordLength
+	 *            the logical record length (LRECL), or 0 to write the characters as they are
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the code page is not supported or the record length is negative
+	 */
+	public CodePageWriter(OutputStream out, String codePage, int recordLength)
+	{
+		if (recordLength < 0)
+		{
+			throw new IllegalArgumentException(String.format("Invalid record length: %d", recordLength)); //$NON-NLS-1$
+		}
+
+		m_out = out;
+		m_transcoder = CodePageTranscoder.forCodePage(codePage);
+		m_recordLength = recordLength;
+		m_blank = m_transcoder.encode(BLANK);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Writer#write(char[], int, int)
+	 */
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException
+	{
+		synchronized (lock)
+		{
+			ensureOpen();
+			if (m_recordLength == 0)
+			{
+				encode(cbuf, off, len);
+				return;
+			}
+
+			int end = off + len;
+			int segmentStart = off;
+			for (int i = off; i < end; i++)
+			{
+				char c = cbuf[i];
+				if (c == NEWLINE || c == CARRIAGE_RETURN)
+				{
+					writeRecordData(cbuf, segmentStart, i - segmentStart);
+					if (c == NEWLINE)
+					{
+						padRecord();
+					}
+					segmentStart = i + 1;
+				}
+			}
+			writeRecordData(cbuf, segmentStart, end - segmentStart);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Writer#flush()
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		synchronized (lock)
+		{
+			ensureOpen();
+			flushBuffer();
+			m_out.flush();
+		}
+	}
+
+	/**
+	 * Pads a partial last record, then flushes and closes the stream.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		synchronized (lock)
+		{
+			if (m_closed)
+			{
+				return;
+			}
+
+			try
+			{
+				if (m_recordColumn > 0)
+				{
+					padRecord();
+				}
+				flushBuffer();
+			}
+			finally
+			{
+				m_closed = true;
+				m_out.close();
+			}
+		}
+	}
+
+	/**
+	 * Writes line data into the current record, continuing into new records as each one fills up.
+	 */
+	private void writeRecordData(char[] cbuf, int off, int len) throws IOException
+	{
+		int written = 0;
+		while (written < len)
+		{
+			if (m_recordColumn == m_recordLength)
+			{
+				m_recordColumn = 0;
+			}
+
+			int n = Math.min(len - written, m_recordLength - m_recordColumn);
+			encode(cbuf, off + written, n);
+			m_recordColumn += n;
+			written += n;
+		}
+	}
+
+	/**
+	 * Pads the current record with blanks and starts a new one.
+	 */
+	private void padRecord() throws IOException
+	{
+		int padding = m_recordLength - m_recordColumn;
+		while (padding > 0)
+		{
+			if (m_bufferPosition == BUFFER_SIZE)
+			{
+				flushBuffer();
+			}
+
+			int n = Math.min(padding, BUFFER_SIZE - m_bufferPosition);
+			for (int i = 0; i < n; i++)
+			{
+				m_buffer[m_bufferPosition++] = m_blank;
+			}
+			padding -= n;
+		}
+
+		m_recordColumn = 0;
+	}
+
+	/**
+	 * Encodes characters into the buffer, flushing it whenever it fills up.
+	 */
+	private void encode(char[] cbuf, int off, int len) throws IOException
+	{
+		int encoded = 0;
+		while (encoded < len)
+		{
+			if (m_bufferPosition == BUFFER_SIZE)
+			{
+				flushBuffer();
+			}
+
+			int n = Math.min(len - encoded, BUFFER_SIZE - m_bufferPosition);
+			m_transcoder.encode(cbuf, off + encoded, n, m_buffer, m_bufferPosition);
+			m_bufferPosition += n;
+			encoded += n;
+		}
+	}
+
+	private void flushBuffer() throws IOException
+	{
+		if (m_bufferPosition > 0)
+		{
+			m_out.write(m_buffer, 0, m_bufferPosition);
+			m_bufferPosition = 0;
+		}
+	}
+
+	private void ensureOpen() throws IOException
+	{
+		if (m_closed)
+		{
+			throw new IOException("Stream closed"); //$NON-NLS-1$
+		}
+	}
+}
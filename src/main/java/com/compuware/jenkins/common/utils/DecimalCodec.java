@@ -0,0 +1,411 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+
+/**
+ * Decoders and encoders for mainframe packed decimal (COMP-3) and zoned decimal (DISPLAY) fields.
+ * <p>
+ * All methods use absolute offsets, so they work on any <code>ByteBuffer</code> slice without changing its position. Fields
+ * of up to {@link #MAX_LONG_PRECISION} digits are decoded to and encoded from an unscaled <code>long</code> without
+ * allocating; longer fields use <code>BigDecimal</code>. Sign nibbles are validated: A, C, E and F are positive, B and D are
+ * negative, anything else, like a digit nibble above 9, throws a <code>NumberFormatException</code>. Encoders write the
+ * preferred signs C and D.
+ * <p>
+ * Zoned digits are F0 to F9, which is the same in every EBCDIC code page a host connection can use.
+ */
+public final class DecimalCodec
+{
+	/** The maximum number of digits decoded to a <code>long</code>. */
+	public static final int MAX_LONG_PRECISION = 18;
+
+	// Constants
+	private static final int NIBBLE_MASK = 0x0F;
+	private static final int NIBBLE_SHIFT = 4;
+	private static final int ZONE = 0xF0;
+	private static final int POSITIVE_SIGN = 0x0C;
+	private static final int NEGATIVE_SIGN = 0x0D;
+	private static final int MAX_DIGIT = 9;
+	private static final long[] POWERS_OF_TEN = new long[MAX_LONG_PRECISION + 1];
+
+	static
+	{
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++)
+		{
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods are static.
+	 */
+	private DecimalCodec()
+	{
+	}
+
+	/**
+	 * Returns the number of digits a packed decimal field of the given length holds.
+	 * 
+	 * @param length
+	 *            the field length in bytes
+	 * 
+	 * @return the number of digits
+	 */
+	public static int getPackedPrecision(int length)
+	{
+		return 2 * length - 1;
+	}
+
+	/**
+	 * Decodes a packed decimal field to its unscaled value.
+	 * <p>
+	 * A field of 10 bytes holds 19 digits and is accepted as long as its first digit is 0, as it always is for a PIC S9(18)
+	 * COMP-3 field.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the field
+	 * @param offset
+	 *            the absolute offset of the field
+	 * @param length
+	 *            the field length in bytes
+	 * 
+	 * @return the unscaled value
+	 * @throws NumberFormatException
+	 *             if the field has an invalid digit or sign, or does not fit in a <code>long</code>
+	 */
+	public static long decodePacked(ByteBuffer buffer, int offset, int length)
+	{
+		int precision = getPackedPrecision(length);
+		if (precision > MAX_LONG_PRECISION + 1
+				|| (precision == MAX_LONG_PRECISION + 1 && (buffer.get(offset) & 0xFF) >>> NIBBLE_SHIFT != 0))
+		{
+			throw new NumberFormatException(String.format("Packed decimal field at offset %d exceeds %d digits", //$NON-NLS-1$
+					offset, MAX_LONG_PRECISION));
+		}
+
+		long value = 0;
+		int last = offset + length - 1;
+		for (int i = offset; i < last; i++)
+		{
+			int b = buffer.get(i) & 0xFF;
+			value = value * 100 + digit(b >>> NIBBLE_SHIFT, i) * 10 + digit(b & NIBBLE_MASK, i);
+		}
+
+		int b = buffer.get(last) & 0xFF;
+		value = value * 10 + digit(b >>> NIBBLE_SHIFT, last);
+		return isNegative(b & NIBBLE_MASK, last) ? -value : value;
+	}
+
+	/**
+	 * Decodes a packed decimal field of any length.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the field
+	 * @param offset
+	 *            the absolute offset of the field
+	 * @param length
+	 *            the field length in bytes
+	 * @param scale
+	 *            the number of implied decimal places
+	 * 
+	 * @return the value
+	 * @throws NumberFormatException
+	 *             if the field has an invalid digit or sign
+	 */
+	public static BigDecimal decodePackedBigDecimal(ByteBuffer buffer, int offset, int length, int scale)
+	{
+		if (getPackedPrecision(length) <= MAX_LONG_PRECISION)
+		{
+			return BigDecimal.valueOf(decodePacked(buffer, offset, length), scale);
+		}
+
+		BigInteger unscaled = BigInteger.ZERO;
+		long chunk = 0;
+		int chunkDigits = 0;
+		int last = offset + length - 1;
+		for (int i = offset; i <= last; i++)
+		{
+			int b = buffer.get(i) & 0xFF;
+			chunk = chunk * 10 + digit(b >>> NIBBLE_SHIFT, i);
+			chunkDigits++;
+			if (i < last)
+			{
+				chunk = chunk * 10 + digit(b & NIBBLE_MASK, i);
+				chunkDigits++;
+			}
+
+			// fold the digits into the result before the chunk can overflow
+			if (chunkDigits >= MAX_LONG_PRECISION - 1 || i == last)
+			{
+				unscaled = unscaled.multiply(BigInteger.valueOf(POWERS_OF_TEN[chunkDigits])).add(BigInteger.valueOf(chunk));
+				chunk = 0;
+				chunkDigits = 0;
+			}
+		}
+
+		if (isNegative(buffer.get(last) & NIBBLE_MASK, last))
+		{
+			unscaled = unscaled.negate();
+		}
+
+		return new BigDecimal(unscaled, scale);
+	}
+
+	/**
+	 * Encodes an unscaled value as a packed decimal field.
+	 * 
+	 * @param value
+	 *            the unscaled value
+	 * @param buffer
+	 *            the buffer to write the field to
+	 * @param offset
+	 *            the absolute offset of the field
+	 * @param length
+	 *            the field length in bytes
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the value does not fit in the field
+	 */
+	public static void encodePacked(long value, ByteBuffer buffer, int offset, int length)
+	{
+		// work with a non-positive remainder so Long.MIN_VALUE needs no special case
+		long remainder = value > 0 ? -value : value;
+		int last = offset + length - 1;
+
+		int digit = (int) -(remainder % 10);
+		remainder /= 10;
+		buffer.put(last, (byte) (digit << NIBBLE_SHIFT | (value < 0 ? NEGATIVE_SIGN : POSITIVE_SIGN)));
+
+		for (int i = last - 1; i >= offset; i--)
+		{
+			int low = (int) -(remainder % 10);
+			remainder /= 10;
+			int high = (int) -(remainder % 10);
+			remainder /= 10;
+			buffer.put(i, (byte) (high << NIBBLE_SHIFT | low));
+		}
+
+		if (remainder != 0)
+		{
+			throw new IllegalArgumentException(String.format("%d does not fit in a %d byte packed decimal field", value, //$NON-NLS-1$
+					length));
+		}
+	}
+
+	/**
+	 * Encodes a value as a packed decimal field of any length.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param scale
+	 *            the number of implied decimal places
+	 * @param buffer
+	 *            the buffer to write the field to
+	 * @param offset
+	 *            the absolute offset of the field
+	 * @param length
+	 *            the field length in bytes
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the value does not fit in the field
+	 * @throws ArithmeticException
+	 *             if the value has more decimal places than the scale
+	 */
+	public static void encodePacked(BigDecimal value, int scale, ByteBuffer buffer, int offset, int length)
+	{
+		BigInteger unscaled = value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue();
+		if (unscaled.bitLength() < Long.SIZE)
+		{
+			encodePacked(unscaled.longValue(), buffer, offset, length);
+			return;
+		}
+
+		String digits = unscaled.abs().toString();
+		int precision = getPackedPrecision(length);
+		if (digits.length() > precision)
+		{
+			throw new IllegalArgumentException(String.format("%s does not fit in a %d byte packed decimal field", value, //$NON-NLS-1$
+					length));
+		}
+
+		// digit j of the field, counting from the left over all 2 * length - 1 digit nibbles
+		int padding = precision - digits.length();
+		for (int i = 0; i < length; i++)
+		{
+			int high = digitAt(digits, 2 * i - padding);
+			int low = i < length - 1 ? digitAt(digits, 2 * i + 1 - padding)
+					: (unscaled.signum() < 0 ? NEGATIVE_SIGN : POSITIVE_SIGN);
+			buffer.put(offset + i, (byte) (high << NIBBLE_SHIFT | low));
+		}
+	}
+
+	/**
+	 * Decodes a zoned decimal field to its unscaled value.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the field
+	 * @param offset
+	 *            the absolute offset of the field
+	 * @param length
+	 *            the field length in bytes, which is also its number of digits
+	 * 
+	 * @return the unscaled value
+	 * @throws NumberFormatException
+	 *             if the field has an invalid zone, digit or sign, or more than {@link #MAX_LONG_PRECISION} digits
+	 */
+	public static long decodeZoned(ByteBuffer buffer, int offset, int length)
+	{
+		if (length > MAX_LONG_PRECISION)
+		{
+			throw new NumberFormatException(String.format("Zoned decimal field at offset %d exceeds %d digits", //$NON-NLS-1$
+					offset, MAX_LONG_PRECISION));
+		}
+
+		long value = 0;
+		int last = offset + length - 1;
+		for (int i = offset; i < last; i++)
+		{
+			value = value * 10 + zonedDigit(buffer.get(i) & 0xFF, i);
+		}
+
+		int b = buffer.get(last) & 0xFF;
+		value = value * 10 + digit(b & NIBBLE_MASK, last);
+		return isNegative(b >>> NIBBLE_SHIFT, last) ? -value : value;
+	}
+
+	/**
+	 * Decodes a zoned decimal field of any length.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the field
+	 * @param offset
+	 *            the absolute offset of the field
+	 * @param length
+	 *            the field length in bytes
+	 * @param scale
+	 *            the number of implied decimal places
+	 * 
+	 * @return the value
+	 * @throws NumberFormatException
+	 *             if the field has an invalid zone, digit or sign
+	 */
+	public static BigDecimal decodeZonedBigDecimal(ByteBuffer buffer, int offset, int length, int scale)
+	{
+		if (length <= MAX_LONG_PRECISION)
+		{
+			return BigDecimal.valueOf(decodeZoned(buffer, offset, length), scale);
+		}
+
+		int last = offset + length - 1;
+		char[] digits = new char[length];
+		for (int i = offset; i < last; i++)
+		{
+			digits[i - offset] = (char) ('0' + zonedDigit(buffer.get(i) & 0xFF, i));
+		}
+		int b = buffer.get(last) & 0xFF;
+		digits[length - 1] = (char) ('0' + digit(b & NIBBLE_MASK, last));
+
+		BigInteger unscaled = new BigInteger(new String(digits));
+		return new BigDecimal(isNegative(b >>> NIBBLE_SHIFT, last) ? unscaled.negate() : unscaled, scale);
+	}
+
+	/**
+	 * Encodes an unscaled value as a zoned decimal field.
+	 * 
+	 * @param value
+	 *            the unscaled value
+	 * @param buffer
+	 *            the buffer to write the field to
+	 * @param offset
+	 *            the absolute offset of the field
+	 * @param length
+	 *            the field length in bytes
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the value does not fit in the field
+	 */
+	public static void encodeZoned(long value, ByteBuffer buffer, int offset, int length)
+	{
+		long remainder = value > 0 ? -value : value;
+		int last = offset + length - 1;
+
+		int digit = (int) -(remainder % 10);
+		remainder /= 10;
+		buffer.put(last, (byte) ((value < 0 ? NEGATIVE_SIGN : POSITIVE_SIGN) << NIBBLE_SHIFT | digit));
+
+		for (int i = last - 1; i >= offset; i--)
+		{
+			buffer.put(i, (byte) (ZONE | (int) -(remainder % 10)));
+			remainder /= 10;
+		}
+
+		if (remainder != 0)
+		{
+			throw new IllegalArgumentException(String.format("%d does not fit in a %d byte zoned decimal field", value, //$NON-NLS-1$
+					length));
+		}
+	}
+
+	private static int digit(int nibble, int offset)
+	{
+		if (nibble > MAX_DIGIT)
+		{
+			throw new NumberFormatException(String.format("Invalid digit 0x%X at offset %d", nibble, offset)); //$NON-NLS-1$
+		}
+
+		return nibble;
+	}
+
+	private static int zonedDigit(int b, int offset)
+	{
+		if ((b & ZONE) != ZONE)
+		{
+			throw new NumberFormatException(String.format("Invalid zone 0x%02X at offset %d", b, offset)); //$NON-NLS-1$
+		}
+
+		return digit(b & NIBBLE_MASK, offset);
+	}
+
+	private static boolean isNegative(int sign, int offset)
+	{
+		switch (sign)
+		{
+			case 0x0B:
+			case NEGATIVE_SIGN:
+				return true;
+			case 0x0A:
+			case POSITIVE_SIGN:
+			case 0x0E:
+			case 0x0F:
+				return false;
+			default:
+				throw new NumberFormatException(String.format("Invalid sign 0x%X at offset %d", sign, offset)); //$NON-NLS-1$
+		}
+	}
+
+	private static int digitAt(String digits, int index)
+	{
+		return index < 0 ? 0 : digits.charAt(index) - '0';
+	}
+}
@@ -0,0 +1,446 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Converts large EBCDIC files and buffers in parallel with fork/join.
+ * <p>
+ * Single-byte code pages are stateless per byte, so the input can be split into record-aligned chunks that are converted
+ * independently. The target charset must also be single-byte (such as ISO-8859-1, windows-1252 or another EBCDIC code page),
+ * which makes every output offset a function of the input offset: the output is sized up front and each chunk writes its own
+ * region of it. Conversion goes through a 256-entry byte translation table built from the {@link CodePageTranscoder}.
+ * <p>
+ * For text in a multi-byte charset such as UTF-8, use {@link CodePageFileConverter}. Converters are immutable and thread
+ * safe.
+ */
+public final class ParallelCodePageConverter
+{
+	// Constants
+	private static final int TABLE_SIZE = 256;
+	private static final int BYTE_MASK = 0xFF;
+	private static final long CHUNK_SIZE = 4L * 1024 * 1024;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final char NEWLINE = '\n';
+
+	// Member Variables
+	private final String m_codePage;
+	private final Charset m_targetCharset;
+	private final int m_recordLength;
+	private final ForkJoinPool m_pool;
+	private final byte[] m_table = new byte[TABLE_SIZE];
+	private final byte m_newline;
+
+	/**
+	 * Constructor using the common fork/join pool.
+	 * 
+	 * @param codePage
+	 *            the code page of the input
+	 * @param targetCharset
+	 *            the single-byte charset of the output
+	 * @param recordLength
+	 *            the logical record length (LRECL) of the input, or 0 if it has no record boundaries; when given, a newline
+	 *            is written after every record
+	 */
+	public ParallelCodePageConverter(String codePage, Charset targetCharset, int recordLength)
+	{
+		this(codePage, targetCharset, recordLength, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param codePage
+	 *            the code page of the input
+	 * @param targetCharset
+	 *            the single-byte charset of the output
+	 * @param recordLength
+	 *            the logical record length (LRECL) of the input, or 0 if it has no record boundaries
+	 * @param pool
+	 *            the pool the chunks are converted in
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the code page is not supported, the target charset is not single-byte or the record length is negative
+	 */
+	public ParallelCodePageConverter(String codePage, Charset targetCharset, int recordLength, ForkJoinPool pool)
+	{
+		if (recordLength < 0)
+		{
+			throw new IllegalArgumentException(String.format("Invalid record length: %d", recordLength)); //$NON-NLS-1$
+		}
+
+		CharsetEncoder encoder = targetCharset.newEncoder();
+		if (encoder.maxBytesPerChar() != 1.0f)
+		{
+			throw new IllegalArgumentException(String.format("Not a single-byte charset: %s", targetCharset.name())); //$NON-NLS-1$
+		}
+
+		CodePageTranscoder transcoder = CodePageTranscoder.forCodePage(codePage);
+		char[] chars = new char[TABLE_SIZE];
+		for (int i = 0; i < TABLE_SIZE; i++)
+		{
+			chars[i] = transcoder.decode((byte) i);
+		}
+		ByteBuffer encoded = targetCharset.encode(new String(chars) + NEWLINE);
+		encoded.get(m_table);
+
+		m_codePage = codePage;
+		m_targetCharset = targetCharset;
+		m_recordLength = recordLength;
+		m_pool = pool;
+		m_newline = encoded.get();
+	}
+
+	/**
+	 * Returns the size of the output for an input of the given size.
+	 * 
+	 * @param inputSize
+	 *            the input size in bytes
+	 * 
+	 * @return the output size in bytes
+	 */
+	public long getOutputSize(long inputSize)
+	{
+		return m_recordLength > 0 ? inputSize + (inputSize + m_recordLength - 1) / m_recordLength : inputSize;
+	}
+
+	/**
+	 * Converts the remaining bytes of a buffer into another buffer, advancing both buffers.
+	 * 
+	 * @param source
+	 *            the input buffer
+	 * @param target
+	 *            the output buffer, with at least {@link #getOutputSize(long)} bytes remaining
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the output buffer is too small
+	 */
+	public void convert(final ByteBuffer source, final ByteBuffer target)
+	{
+		long inputSize = source.remaining();
+		long outputSize = getOutputSize(inputSize);
+		if (target.remaining() < outputSize)
+		{
+			throw new IllegalArgumentException(String.format("Output buffer needs %d bytes, has %d", //$NON-NLS-1$
+					outputSize, target.remaining()));
+		}
+
+		final int sourceStart = source.position();
+		final int targetStart = target.position();
+		m_pool.invoke(new ChunkTask(new Regions()
+		{
+			@Override
+			ByteBuffer input(long position, int length)
+			{
+				return slice(source, sourceStart + (int) position, length);
+			}
+
+			@Override
+			ByteBuffer output(long position, int length)
+			{
+				return slice(target, targetStart + (int) position, length);
+			}
+		}, 0, inputSize));
+
+		source.position(source.limit());
+		target.position(targetStart + (int) outputSize);
+	}
+
+	/**
+	 * Converts a file into another file, which is created or replaced.
+	 * <p>
+	 * Each chunk reads its own region of the input into a heap buffer and writes its region of the output at its own position,
+	 * so files of any size can be converted. The files are not mapped, so neither is held open after the conversion.
+	 * 
+	 * @param source
+	 *            the input file
+	 * @param target
+	 *            the output file
+	 * 
+	 * @return the size of the output file
+	 * @throws IOException
+	 *             if either file could not be accessed
+	 */
+	public long convert(Path source, Path target) throws IOException
+	{
+		try (final FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+				final FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ,
+						StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			long inputSize = in.size();
+			long outputSize = getOutputSize(inputSize);
+			if (outputSize == 0)
+			{
+				return 0;
+			}
+
+			// size the output up front so concurrent writes never have to extend it
+			out.write(ByteBuffer.allocate(1), outputSize - 1);
+
+			m_pool.invoke(new ChunkTask(new Regions()
+			{
+				@Override
+				ByteBuffer input(long position, int length) throws IOException
+				{
+					ByteBuffer buffer = ByteBuffer.allocate(length);
+					while (buffer.hasRemaining())
+					{
+						if (in.read(buffer, position + buffer.position()) < 0)
+						{
+							throw new EOFException(String.format("%s ended at %d bytes", source, //$NON-NLS-1$
+									position + buffer.position()));
+						}
+					}
+					buffer.flip();
+					return buffer;
+				}
+
+				@Override
+				ByteBuffer output(long position, int length)
+				{
+					return ByteBuffer.allocate(length);
+				}
+
+				@Override
+				void write(long position, ByteBuffer output) throws IOException
+				{
+					output.flip();
+					while (output.hasRemaining())
+					{
+						out.write(output, position + output.position());
+					}
+				}
+			}, 0, inputSize));
+
+			return outputSize;
+		}
+		catch (UncheckedIOException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Converts a file into another file on the node that holds them.
+	 * 
+	 * @param source
+	 *            the input file
+	 * @param target
+	 *            the output file; must be on the same node as the input
+	 * 
+	 * @return the size of the output file
+	 * @throws IOException
+	 *             if either file could not be accessed
+	 * @throws InterruptedException
+	 *             if the conversion was interrupted
+	 * @throws IllegalArgumentException
+	 *             if the files are on different nodes
+	 */
+	public long convert(FilePath source, FilePath target) throws IOException, InterruptedException
+	{
+		CodePageFileConverter.checkSameNode(source, target);
+		return source.act(new ConvertCallable(target.getRemote(), m_codePage, m_targetCharset.name(), m_recordLength));
+	}
+
+	/**
+	 * Converts one region of input into its region of output.
+	 * 
+	 * @param in
+	 *            the input region
+	 * @param out
+	 *            the output region
+	 */
+	private void convertRegion(ByteBuffer in, ByteBuffer out)
+	{
+		byte[] table = m_table;
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int column = 0;
+		while (in.hasRemaining())
+		{
+			int n = Math.min(in.remaining(), BUFFER_SIZE);
+			if (m_recordLength > 0)
+			{
+				n = Math.min(n, m_recordLength - column);
+			}
+
+			in.get(buffer, 0, n);
+			for (int i = 0; i < n; i++)
+			{
+				buffer[i] = table[buffer[i] & BYTE_MASK];
+			}
+			out.put(buffer, 0, n);
+
+			if (m_recordLength > 0)
+			{
+				column += n;
+				if (column == m_recordLength)
+				{
+					out.put(m_newline);
+					column = 0;
+				}
+			}
+		}
+
+		// only the last region can end with a short record
+		if (column > 0)
+		{
+			out.put(m_newline);
+		}
+	}
+
+	/**
+	 * Returns the output offset of a record-aligned input offset.
+	 */
+	private long toOutputOffset(long inputOffset)
+	{
+		return m_recordLength > 0 ? inputOffset + inputOffset / m_recordLength : inputOffset;
+	}
+
+	private static ByteBuffer slice(ByteBuffer buffer, int position, int length)
+	{
+		ByteBuffer slice = buffer.duplicate();
+		slice.limit(position + length).position(position);
+		return slice;
+	}
+
+	/**
+	 * Supplies the input and output regions of a chunk.
+	 */
+	private abstract static class Regions
+	{
+		abstract ByteBuffer input(long position, int length) throws IOException;
+
+		abstract ByteBuffer output(long position, int length) throws IOException;
+
+		/**
+		 * Stores an output region once it has been filled; output regions that are views of the target need nothing.
+		 */
+		void write(long position, ByteBuffer output) throws IOException
+		{
+		}
+	}
+
+	/**
+	 * Task that splits its input range at record boundaries until it is small enough to convert directly.
+	 */
+	private final class ChunkTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final transient Regions m_regions;
+		private final long m_start;
+		private final long m_end;
+
+		private ChunkTask(Regions regions, long start, long end)
+		{
+			m_regions = regions;
+			m_start = start;
+			m_end = end;
+		}
+
+		@Override
+		protected void compute()
+		{
+			long length = m_end - m_start;
+			if (length > CHUNK_SIZE && (m_recordLength == 0 || length >= 2L * m_recordLength))
+			{
+				long middle = m_start + length / 2;
+				if (m_recordLength > 0)
+				{
+					middle -= (middle - m_start) % m_recordLength;
+				}
+
+				invokeAll(new ChunkTask(m_regions, m_start, middle), new ChunkTask(m_regions, middle, m_end));
+				return;
+			}
+
+			try
+			{
+				long outputStart = toOutputOffset(m_start);
+				ByteBuffer output = m_regions.output(outputStart, (int) getOutputSize(length));
+				convertRegion(m_regions.input(m_start, (int) length), output);
+				m_regions.write(outputStart, output);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Callable that converts a file on the node that holds it.
+	 */
+	static final class ConvertCallable extends MasterToSlaveFileCallable<Long>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final String m_target;
+		private final String m_codePage;
+		private final String m_targetCharset;
+		private final int m_recordLength;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param target
+		 *            the path of the output file on the node
+		 * @param codePage
+		 *            the code page of the input
+		 * @param targetCharset
+		 *            the name of the charset of the output
+		 * @param recordLength
+		 *            the logical record length, or 0
+		 */
+		ConvertCallable(String target, String codePage, String targetCharset, int recordLength)
+		{
+			m_target = target;
+			m_codePage = codePage;
+			m_targetCharset = targetCharset;
+			m_recordLength = recordLength;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+		 */
+		@Override
+		public Long invoke(File source, VirtualChannel channel) throws IOException
+		{
+			return new ParallelCodePageConverter(m_codePage, Charset.forName(m_targetCharset), m_recordLength)
+					.convert(source.toPath(), Paths.get(m_target));
+		}
+	}
+}
@@ -0,0 +1,380 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the numeric fields of a fixed-length record, like a COBOL copybook, and decodes them in bulk.
+ * <p>
+ * {@link #decodeBatch(ByteBuffer, long[])} decodes every field of many records into a caller-supplied array of unscaled values
+ * without allocating; the scale of each field gives the position of its implied decimal point. Binary fields are always read
+ * big-endian, as the host writes them, whatever the byte order of the buffer. Layouts are immutable and thread safe.
+ */
+public final class RecordLayout
+{
+	/**
+	 * The storage formats of numeric fields.
+	 */
+	public enum FieldType
+	{
+		/** Packed decimal, COMP-3. */
+		PACKED,
+		/** Zoned decimal, DISPLAY. */
+		ZONED,
+		/** Big-endian two's complement binary of 2, 4 or 8 bytes, COMP or COMP-4. */
+		BINARY
+	}
+
+	// Member Variables
+	private final int m_recordLength;
+	private final Field[] m_fields;
+	private final boolean m_fitsInLong;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param recordLength
+	 *            the record length in bytes
+	 * @param fields
+	 *            the numeric fields of the record
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the record length is not positive or a field does not lie within the record
+	 */
+	public RecordLayout(int recordLength, Field... fields)
+	{
+		if (recordLength <= 0)
+		{
+			throw new IllegalArgumentException(String.format("Invalid record length: %d", recordLength)); //$NON-NLS-1$
+		}
+
+		boolean fitsInLong = true;
+		for (Field field : fields)
+		{
+			if (field.getOffset() + field.getLength() > recordLength)
+			{
+				throw new IllegalArgumentException(String.format("Field %s does not lie within the %d byte record", //$NON-NLS-1$
+						field.getName(), recordLength));
+			}
+			fitsInLong &= field.fitsInLong();
+		}
+
+		m_recordLength = recordLength;
+		m_fields = fields.clone();
+		m_fitsInLong = fitsInLong;
+	}
+
+	/**
+	 * Returns the record length.
+	 * 
+	 * @return the record length in bytes
+	 */
+	public int getRecordLength()
+	{
+		return m_recordLength;
+	}
+
+	/**
+	 * Returns the fields.
+	 * 
+	 * @return an unmodifiable list of the fields
+	 */
+	public List<Field> getFields()
+	{
+		return Collections.unmodifiableList(Arrays.asList(m_fields));
+	}
+
+	/**
+	 * Returns the index of the field with the given name.
+	 * 
+	 * @param name
+	 *            the field name
+	 * 
+	 * @return the index, or -1 if there is no such field
+	 */
+	public int indexOf(String name)
+	{
+		for (int i = 0; i < m_fields.length; i++)
+		{
+			if (m_fields[i].getName().equals(name))
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Decodes one field of a record to its unscaled value.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the record
+	 * @param recordOffset
+	 *            the absolute offset of the record
+	 * @param fieldIndex
+	 *            the index of the field
+	 * 
+	 * @return the unscaled value
+	 * @throws NumberFormatException
+	 *             if the field is invalid or does not fit in a <code>long</code>
+	 */
+	public long decodeUnscaled(ByteBuffer buffer, int recordOffset, int fieldIndex)
+	{
+		Field field = m_fields[fieldIndex];
+		int offset = recordOffset + field.getOffset();
+		switch (field.getType())
+		{
+			case PACKED:
+				return DecimalCodec.decodePacked(buffer, offset, field.getLength());
+			case ZONED:
+				return DecimalCodec.decodeZoned(buffer, offset, field.getLength());
+			default:
+				return decodeBinary(buffer, offset, field.getLength());
+		}
+	}
+
+	/**
+	 * Decodes the fields of every whole record remaining in the buffer, up to the capacity of the values array.
+	 * <p>
+	 * The value of field <code>f</code> of record <code>r</code> is stored at <code>values[r * fieldCount + f]</code>. The
+	 * buffer position is advanced past the decoded records.
+	 * 
+	 * @param records
+	 *            the buffer holding the records
+	 * @param values
+	 *            receives the unscaled values
+	 * 
+	 * @return the number of records decoded
+	 * @throws IllegalStateException
+	 *             if a field of the layout does not fit in a <code>long</code>
+	 * @throws NumberFormatException
+	 *             if a field is invalid
+	 */
+	public int decodeBatch(ByteBuffer records, long[] values)
+	{
+		if (!m_fitsInLong)
+		{
+			throw new IllegalStateException("The record layout has fields that do not fit in a long"); //$NON-NLS-1$
+		}
+
+		int fieldCount = m_fields.length;
+		int recordCount = records.remaining() / m_recordLength;
+		if (fieldCount > 0)
+		{
+			recordCount = Math.min(recordCount, values.length / fieldCount);
+		}
+
+		int recordOffset = records.position();
+		int valueIndex = 0;
+		for (int r = 0; r < recordCount; r++)
+		{
+			for (int f = 0; f < fieldCount; f++)
+			{
+				values[valueIndex++] = decodeUnscaled(records, recordOffset, f);
+			}
+			recordOffset += m_recordLength;
+		}
+
+		records.position(recordOffset);
+		return recordCount;
+	}
+
+	/**
+	 * Decodes every field of a record, whatever its precision.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the record
+	 * @param recordOffset
+	 *            the absolute offset of the record
+	 * @param values
+	 *            receives the values, one per field
+	 * 
+	 * @throws NumberFormatException
+	 *             if a field is invalid
+	 */
+	public void decode(ByteBuffer buffer, int recordOffset, BigDecimal[] values)
+	{
+		for (int f = 0; f < m_fields.length; f++)
+		{
+			Field field = m_fields[f];
+			int offset = recordOffset + field.getOffset();
+			switch (field.getType())
+			{
+				case PACKED:
+					values[f] = DecimalCodec.decodePackedBigDecimal(buffer, offset, field.getLength(), field.getScale());
+					break;
+				case ZONED:
+					values[f] = DecimalCodec.decodeZonedBigDecimal(buffer, offset, field.getLength(), field.getScale());
+					break;
+				default:
+					values[f] = BigDecimal.valueOf(decodeBinary(buffer, offset, field.getLength()), field.getScale());
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Decodes a big-endian binary field, whatever the byte order of the buffer.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the field
+	 * @param offset
+	 *            the absolute offset of the field
+	 * @param length
+	 *            the field length, 2, 4 or 8 bytes
+	 * 
+	 * @return the value
+	 */
+	private static long decodeBinary(ByteBuffer buffer, int offset, int length)
+	{
+		boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+		switch (length)
+		{
+			case Short.BYTES:
+				short s = buffer.getShort(offset);
+				return bigEndian ? s : Short.reverseBytes(s);
+			case Integer.BYTES:
+				int i = buffer.getInt(offset);
+				return bigEndian ? i : Integer.reverseBytes(i);
+			default:
+				long l = buffer.getLong(offset);
+				return bigEndian ? l : Long.reverseBytes(l);
+		}
+	}
+
+	/**
+	 * A numeric field of a record.
+	 */
+	public static final class Field
+	{
+		private final String m_name;
+		private final FieldType m_type;
+		private final int m_offset;
+		private final int m_length;
+		private final int m_scale;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param name
+		 *            the field name
+		 * @param type
+		 *            the storage format
+		 * @param offset
+		 *            the offset of the field within the record
+		 * @param length
+		 *            the field length in bytes
+		 * @param scale
+		 *            the number of implied decimal places
+		 * 
+		 * @throws IllegalArgumentException
+		 *             if the offset or length is invalid for the storage format
+		 */
+		public Field(String name, FieldType type, int offset, int length, int scale)
+		{
+			if (offset < 0 || length < 1 || (type == FieldType.BINARY && length != Short.BYTES && length != Integer.BYTES
+					&& length != Long.BYTES))
+			{
+				throw new IllegalArgumentException(String.format("Invalid %s field %s at offset %d with length %d", type, //$NON-NLS-1$
+						name, offset, length));
+			}
+
+			m_name = name;
+			m_type = type;
+			m_offset = offset;
+			m_length = length;
+			m_scale = scale;
+		}
+
+		/**
+		 * Returns the field name.
+		 * 
+		 * @return the name
+		 */
+		public String getName()
+		{
+			return m_name;
+		}
+
+		/**
+		 * Returns the storage format.
+		 * 
+		 * @return the type
+		 */
+		public FieldType getType()
+		{
+			return m_type;
+		}
+
+		/**
+		 * Returns the offset of the field within the record.
+		 * 
+		 * @return the offset
+		 */
+		public int getOffset()
+		{
+			return m_offset;
+		}
+
+		/**
+		 * Returns the field length.
+		 * 
+		 * @return the length in bytes
+		 */
+		public int getLength()
+		{
+			return m_length;
+		}
+
+		/**
+		 * Returns the number of implied decimal places.
+		 * 
+		 * @return the scale
+		 */
+		public int getScale()
+		{
+			return m_scale;
+		}
+
+		/**
+		 * Returns whether every value of the field fits in a <code>long</code>.
+		 * <p>
+		 * A 10 byte packed field does, because it holds a PIC S9(18) value with a leading zero digit.
+		 * 
+		 * @return <code>true</code> if the field can be decoded to a <code>long</code>
+		 */
+		public boolean fitsInLong()
+		{
+			switch (m_type)
+			{
+				case PACKED:
+					return DecimalCodec.getPackedPrecision(m_length) <= DecimalCodec.MAX_LONG_PRECISION + 1;
+				case ZONED:
+					return m_length <= DecimalCodec.MAX_LONG_PRECISION;
+				default:
+					return true;
+			}
+		}
+	}
+}
@@ -0,0 +1,315 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Streaming reader for mainframe record formats, as downloaded by the CLI in binary.
+ * <p>
+ * Fixed formats (F, FB) are read as consecutive records of the record length; a short last record is returned as is. Variable
+ * formats read the 4-byte record descriptor word (RDW) in front of each record, and VB also the block descriptor word (BDW) in
+ * front of each block, including the extended BDW of large blocks. Spanned records (VS, VBS) are not supported.
+ * <p>
+ * Each call to {@link #next()} returns the same reusable view of the reader's fixed-size buffer, positioned on the data of the
+ * next record, so no bytes are copied and memory use does not depend on the input size. The view, and the characters returned
+ * by {@link #nextText()}, are only valid until the next call. Readers are not thread safe.
+ */
+public class RecordReader implements Closeable
+{
+	/**
+	 * The supported record formats.
+	 */
+	public enum RecordFormat
+	{
+		/** Fixed-length records. */
+		F,
+		/** Fixed-length blocked records; blocks have no descriptors, so this reads the same as F. */
+		FB,
+		/** Variable-length records, each preceded by an RDW. */
+		V,
+		/** Variable-length blocked records, each block preceded by a BDW. */
+		VB;
+
+		/**
+		 * Returns whether records of this format are preceded by an RDW.
+		 * 
+		 * @return <code>true</code> for the variable formats
+		 */
+		public boolean isVariable()
+		{
+			return this == V || this == VB;
+		}
+	}
+
+	// Constants
+	private static final int DESCRIPTOR_LENGTH = 4;
+	private static final int MAX_VARIABLE_RECORD_LENGTH = 0xFFFF;
+	private static final int MIN_BUFFER_SIZE = 64 * 1024;
+	private static final int EXTENDED_BDW_FLAG = 0x80000000;
+	private static final int HALFWORD_MASK = 0xFFFF;
+
+	// Member Variables
+	private final ReadableByteChannel m_channel;
+	private final RecordFormat m_format;
+	private final int m_recordLength;
+	private final CodePageTranscoder m_transcoder;
+	private final ByteBuffer m_buffer;
+	private final ByteBuffer m_view;
+	private final CharBuffer m_chars;
+	private long m_blockRemaining;
+	private long m_recordCount;
+	private boolean m_eof;
+
+	/**
+	 * Constructor for a reader without transcoding.
+	 * 
+	 * @param in
+	 *            the input stream
+	 * @param format
+	 *            the record format
+	 * @param recordLength
+	 *            the record length (LRECL) of a fixed format; ignored for variable formats
+	 */
+	public RecordReader(InputStream in, RecordFormat format, int recordLength)
+	{
+		this(Channels.newChannel(in), format, recordLength, null);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param channel
+	 *            the input channel
+	 * @param format
+	 *            the record format
+	 * @param recordLength
+	 *            the record length (LRECL) of a fixed format; ignored for variable formats
+	 * @param codePage
+	 *            the code page used by {@link #nextText()}, such as the host connection code page; can be null if records are
+	 *            only read as bytes
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the record length of a fixed format is not positive, or the code page is not supported
+	 */
+	public RecordReader(ReadableByteChannel channel, RecordFormat format, int recordLength, String codePage)
+	{
+		if (!format.isVariable() && recordLength <= 0)
+		{
+			throw new IllegalArgumentException(String.format("Invalid record length: %d", recordLength)); //$NON-NLS-1$
+		}
+
+		int maxRecordLength = format.isVariable() ? MAX_VARIABLE_RECORD_LENGTH : recordLength;
+		m_channel = channel;
+		m_format = format;
+		m_recordLength = recordLength;
+		m_transcoder = codePage != null ? CodePageTranscoder.forCodePage(codePage) : null;
+		m_buffer = ByteBuffer.allocate(Math.max(MIN_BUFFER_SIZE, maxRecordLength + DESCRIPTOR_LENGTH));
+		m_buffer.flip();
+		m_view = m_buffer.duplicate();
+		m_chars = m_transcoder != null ? CharBuffer.allocate(maxRecordLength) : null;
+	}
+
+	/**
+	 * Returns the next record.
+	 * 
+	 * @return a view of the record data, without its RDW, or null at the end of the input
+	 * @throws IOException
+	 *             if the input could not be read or a descriptor word is invalid
+	 */
+	public ByteBuffer next() throws IOException
+	{
+		int length;
+		if (m_format.isVariable())
+		{
+			if (m_format == RecordFormat.VB && m_blockRemaining == 0 && !readBlockDescriptor())
+			{
+				return null;
+			}
+
+			length = readRecordDescriptor();
+			if (length < 0)
+			{
+				return null;
+			}
+		}
+		else
+		{
+			length = Math.min(m_recordLength, fill(m_recordLength));
+			if (length == 0)
+			{
+				return null;
+			}
+		}
+
+		int position = m_buffer.position();
+		m_view.limit(position + length).position(position);
+		m_buffer.position(position + length);
+		m_recordCount++;
+		return m_view;
+	}
+
+	/**
+	 * Returns the next record transcoded with the code page of the reader.
+	 * 
+	 * @return the record characters, or null at the end of the input
+	 * @throws IOException
+	 *             if the input could not be read or a descriptor word is invalid
+	 * @throws IllegalStateException
+	 *             if the reader has no code page
+	 */
+	public CharBuffer nextText() throws IOException
+	{
+		if (m_transcoder == null)
+		{
+			throw new IllegalStateException("The record reader has no code page"); //$NON-NLS-1$
+		}
+
+		ByteBuffer record = next();
+		if (record == null)
+		{
+			return null;
+		}
+
+		m_chars.clear();
+		int position = record.position();
+		m_transcoder.decode(record, m_chars);
+		record.position(position);
+		m_chars.flip();
+		return m_chars;
+	}
+
+	/**
+	 * Returns the number of records read so far.
+	 * 
+	 * @return the record count
+	 */
+	public long getRecordCount()
+	{
+		return m_recordCount;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		m_channel.close();
+	}
+
+	/**
+	 * Reads the BDW of the next block.
+	 * 
+	 * @return <code>false</code> at the end of the input
+	 */
+	private boolean readBlockDescriptor() throws IOException
+	{
+		int available = fill(DESCRIPTOR_LENGTH);
+		if (available == 0)
+		{
+			return false;
+		}
+		checkDescriptor(available, "BDW"); //$NON-NLS-1$
+
+		int bdw = m_buffer.getInt();
+		long blockLength = (bdw & EXTENDED_BDW_FLAG) != 0 ? bdw & ~EXTENDED_BDW_FLAG : bdw >>> Short.SIZE;
+		if (blockLength < DESCRIPTOR_LENGTH)
+		{
+			throw new IOException(String.format("Invalid BDW 0x%08X after record %d", bdw, m_recordCount)); //$NON-NLS-1$
+		}
+
+		m_blockRemaining = blockLength - DESCRIPTOR_LENGTH;
+		return true;
+	}
+
+	/**
+	 * Reads the RDW of the next record and makes sure the whole record is buffered.
+	 * 
+	 * @return the length of the record data, or -1 at the end of the input
+	 */
+	private int readRecordDescriptor() throws IOException
+	{
+		int available = fill(DESCRIPTOR_LENGTH);
+		if (available == 0 && m_format == RecordFormat.V)
+		{
+			return -1;
+		}
+		checkDescriptor(available, "RDW"); //$NON-NLS-1$
+
+		int rdw = m_buffer.getInt(m_buffer.position());
+		int recordLength = rdw >>> Short.SIZE;
+		if (recordLength < DESCRIPTOR_LENGTH || (rdw & HALFWORD_MASK) != 0
+				|| (m_format == RecordFormat.VB && recordLength > m_blockRemaining))
+		{
+			throw new IOException(String.format("Invalid RDW 0x%08X after record %d", rdw, m_recordCount)); //$NON-NLS-1$
+		}
+
+		if (fill(recordLength) < recordLength)
+		{
+			throw new EOFException(String.format("Record %d is truncated", m_recordCount + 1)); //$NON-NLS-1$
+		}
+
+		m_buffer.position(m_buffer.position() + DESCRIPTOR_LENGTH);
+		m_blockRemaining -= recordLength;
+		return recordLength - DESCRIPTOR_LENGTH;
+	}
+
+	private void checkDescriptor(int available, String descriptor) throws EOFException
+	{
+		if (available < DESCRIPTOR_LENGTH)
+		{
+			throw new EOFException(String.format("Missing %s after record %d", descriptor, m_recordCount)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Makes sure the given number of bytes is buffered, unless the input ends first.
+	 * 
+	 * @param length
+	 *            the number of bytes needed
+	 * 
+	 * @return the number of bytes buffered, which is less than the length only at the end of the input
+	 */
+	private int fill(int length) throws IOException
+	{
+		if (m_buffer.remaining() < length && !m_eof)
+		{
+			m_buffer.compact();
+			while (m_buffer.position() < length)
+			{
+				if (m_channel.read(m_buffer) < 0)
+				{
+					m_eof = true;
+					break;
+				}
+			}
+			m_buffer.flip();
+		}
+
+		return m_buffer.remaining();
+	}
+}
@@ -0,0 +1,143 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Class for testing the shared CES client registry against an embedded HTTP server.
+ */
+@SuppressWarnings("nls")
+public class CesClientRegistryTest
+{
+	private static final String RESPONSE_BODY = "{\"status\":\"ok\"}";
+
+	private HttpServer m_server;
+	private String m_cesUrl;
+	private final Set<Integer> m_remotePorts = ConcurrentHashMap.newKeySet();
+
+	@Before
+	public void setUp() throws IOException
+	{
+		m_server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		m_server.createContext("/compuware/ws", exchange -> {
+			m_remotePorts.add(exchange.getRemoteAddress().getPort());
+			byte[] body = RESPONSE_BODY.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody())
+			{
+				out.write(body);
+			}
+		});
+		m_server.start();
+
+		m_cesUrl = "http://localhost:" + m_server.getAddress().getPort() + "/compuware/ws/";
+	}
+
+	@After
+	public void tearDown()
+	{
+		m_server.stop(0);
+	}
+
+	/**
+	 * Test CES URL normalization.
+	 */
+	@Test
+	public void normalizeTest()
+	{
+		assertEquals("Expected scheme and host to be lower cased and the default port added.", "https://cw01:443",
+				CesClientRegistry.normalize("HTTPS://CW01/"));
+		assertEquals("Expected trailing slashes to be removed.", "http://cw01:48226/compuware",
+				CesClientRegistry.normalize(" http://cw01:48226/compuware// "));
+	}
+
+	/**
+	 * Test equivalent CES URLs share a client and that changing a connection invalidates it.
+	 */
+	@Test
+	public void sharedClientTest()
+	{
+		CesClientRegistry registry = new CesClientRegistry(2, 60000);
+		HostConnection connection1 = new HostConnection("test", "cw01:1234", "1047", "0", "1", m_cesUrl);
+		HostConnection connection2 = new HostConnection("test", "cw01:5678", "1047", "0", "2",
+				"HTTP://LOCALHOST:" + m_server.getAddress().getPort() + "/compuware/ws");
+
+		CesClient client1 = registry.getClient(connection1);
+		assertSame("Expected equivalent CES URLs to share a client.", client1, registry.getClient(connection2));
+		assertEquals("Expected a single client.", 1, registry.size());
+
+		HostConnection changedConnection = new HostConnection("test", "cw01:1234", "1047", "5", "1", m_cesUrl);
+		registry.invalidateChanged(new HostConnection[] { connection1, connection2 },
+				new HostConnection[] { changedConnection, connection2 });
+		assertNotSame("Expected a new client after the connection changed.", client1, registry.getClient(changedConnection));
+	}
+
+	/**
+	 * Test connections with the same CES URL but different timeouts get clients with their own read timeout, and that
+	 * invalidating the CES URL drops all of them.
+	 */
+	@Test
+	public void timeoutTest()
+	{
+		CesClientRegistry registry = new CesClientRegistry(2, 60000);
+		CesClient client1 = registry.getClient(new HostConnection("test", "cw01:1234", "1047", "1", "1", m_cesUrl));
+		CesClient client2 = registry.getClient(new HostConnection("test", "cw01:1234", "1047", "2", "2", m_cesUrl));
+
+		assertNotSame("Expected a client per timeout.", client1, client2);
+		assertEquals("Expected the timeout of the first connection.", 60000, client1.getReadTimeoutMillis());
+		assertEquals("Expected the timeout of the second connection.", 120000, client2.getReadTimeoutMillis());
+		assertEquals("Expected both clients to call the same CES URL.", client1.getBaseUrl(), client2.getBaseUrl());
+
+		registry.invalidate(m_cesUrl);
+		assertEquals("Expected every client of the CES URL to be dropped.", 0, registry.size());
+	}
+
+	/**
+	 * Test requests are served and the persistent connection is reused.
+	 */
+	@Test
+	public void connectionReuseTest() throws IOException
+	{
+		CesClientRegistry registry = new CesClientRegistry(2, 60000);
+		CesClient client = registry.getClient(new HostConnection("test", "cw01:1234", "1047", "0", "1", m_cesUrl));
+
+		for (int i = 0; i < 5; i++)
+		{
+			CesResponse response = client.get("/ispw/levels", null);
+			assertEquals("Expected a successful response.", 200, response.getStatus());
+			assertEquals("Expected the response body.", RESPONSE_BODY, response.getBodyAsString());
+		}
+
+		assertEquals("Expected every request to reuse the same connection.", 1, m_remotePorts.size());
+	}
+}
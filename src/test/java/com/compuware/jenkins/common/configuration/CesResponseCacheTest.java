@@ -0,0 +1,174 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Class for testing the CES response cache against an embedded HTTP server.
+ */
+@SuppressWarnings("nls")
+public class CesResponseCacheTest
+{
+	private static final String ETAG = "\"v1\"";
+	private static final String LEVELS_PATH = "/ispw/levels";
+
+	private HttpServer m_server;
+	private CesClient m_client;
+	private final AtomicInteger m_requests = new AtomicInteger();
+	private final AtomicInteger m_notModified = new AtomicInteger();
+
+	@Before
+	public void setUp() throws IOException
+	{
+		m_server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		m_server.createContext("/", exchange -> {
+			m_requests.incrementAndGet();
+			exchange.getResponseHeaders().add("ETag", ETAG);
+			if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match")))
+			{
+				m_notModified.incrementAndGet();
+				exchange.sendResponseHeaders(304, -1);
+				exchange.close();
+				return;
+			}
+
+			byte[] body = exchange.getRequestURI().getPath().getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody())
+			{
+				out.write(body);
+			}
+		});
+		m_server.start();
+
+		String cesUrl = "http://localhost:" + m_server.getAddress().getPort();
+		m_client = new CesClientRegistry(2, 60000).getClient(new HostConnection("test", "cw01:1234", "1047", "0", "1", cesUrl));
+	}
+
+	@After
+	public void tearDown()
+	{
+		m_server.stop(0);
+	}
+
+	/**
+	 * Test a fresh response is returned without a request.
+	 */
+	@Test
+	public void freshResponseTest() throws IOException
+	{
+		CesResponseCache cache = new CesResponseCache(1024, TimeUnit.MINUTES.toMillis(5));
+
+		cache.get(m_client, "1", "creds", LEVELS_PATH, null);
+		CesResponse response = cache.get(m_client, "1", "creds", LEVELS_PATH, null);
+
+		assertEquals("Expected the cached body.", LEVELS_PATH, response.getBodyAsString());
+		assertEquals("Expected a single request.", 1, m_requests.get());
+
+		// other credentials never share an entry
+		cache.get(m_client, "1", "otherCreds", LEVELS_PATH, null);
+		assertEquals("Expected a request for other credentials.", 2, m_requests.get());
+	}
+
+	/**
+	 * Test an expired response is revalidated with a conditional request.
+	 */
+	@Test
+	public void revalidationTest() throws IOException
+	{
+		CesResponseCache cache = new CesResponseCache(1024, TimeUnit.MINUTES.toMillis(5));
+		cache.setTtl("/ispw", 0, TimeUnit.MILLISECONDS);
+
+		cache.get(m_client, "1", "creds", LEVELS_PATH, null);
+		CesResponse response = cache.get(m_client, "1", "creds", LEVELS_PATH, null);
+
+		assertEquals("Expected the cached body.", LEVELS_PATH, response.getBodyAsString());
+		assertEquals("Expected a conditional request.", 2, m_requests.get());
+		assertEquals("Expected a not modified answer.", 1, m_notModified.get());
+	}
+
+	/**
+	 * Test the least recently used entries are evicted once the cache is full.
+	 */
+	@Test
+	public void evictionTest() throws IOException
+	{
+		CesResponseCache cache = new CesResponseCache(2 * LEVELS_PATH.length(), TimeUnit.MINUTES.toMillis(5));
+
+		cache.get(m_client, "1", "creds", "/ispw/levelA", null);
+		cache.get(m_client, "1", "creds", "/ispw/levelB", null);
+		cache.get(m_client, "1", "creds", "/ispw/levelA", null);
+		cache.get(m_client, "1", "creds", "/ispw/levelC", null);
+		assertTrue("Expected the cache to stay within its limit.", cache.getCurrentBytes() <= 2 * LEVELS_PATH.length());
+		assertEquals("Expected three requests.", 3, m_requests.get());
+
+		// levelA was used more recently than levelB, so it is still cached
+		cache.get(m_client, "1", "creds", "/ispw/levelA", null);
+		assertEquals("Expected the recently used entry to be kept.", 3, m_requests.get());
+
+		cache.get(m_client, "1", "creds", "/ispw/levelB", null);
+		assertEquals("Expected the least recently used entry to be evicted.", 4, m_requests.get());
+	}
+
+	/**
+	 * Test requests for another representation get their own entry, and that a cached body cannot be changed by a caller.
+	 */
+	@Test
+	public void headersTest() throws IOException
+	{
+		CesResponseCache cache = new CesResponseCache(1024, TimeUnit.MINUTES.toMillis(5));
+
+		CesResponse json = cache.get(m_client, "1", "creds", LEVELS_PATH, Collections.singletonMap("Accept", "application/json"));
+		cache.get(m_client, "1", "creds", LEVELS_PATH, Collections.singletonMap("accept", "application/json"));
+		assertEquals("Expected header names to be compared ignoring case.", 1, m_requests.get());
+		cache.get(m_client, "1", "creds", LEVELS_PATH, Collections.singletonMap("Accept", "text/plain"));
+		assertEquals("Expected a request for another representation.", 2, m_requests.get());
+
+		json.getBody()[0] = 'x';
+		assertEquals("Expected the cached body to be unchanged.", LEVELS_PATH, cache
+				.get(m_client, "1", "creds", LEVELS_PATH, Collections.singletonMap("Accept", "application/json")).getBodyAsString());
+	}
+
+	/**
+	 * Test invalidating a host connection ignores the case of its identifier.
+	 */
+	@Test
+	public void invalidateTest() throws IOException
+	{
+		CesResponseCache cache = new CesResponseCache(1024, TimeUnit.MINUTES.toMillis(5));
+
+		cache.get(m_client, "Prod", "creds", LEVELS_PATH, null);
+		cache.invalidateConnection("PROD");
+		assertEquals("Expected the cached response to be removed.", 0, cache.getCurrentBytes());
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.configuration.CodePageRegistry.Entry;
+
+/**
+ * Class for testing the code page registry.
+ */
+@SuppressWarnings("nls")
+public class CodePageRegistryTest
+{
+	/**
+	 * Test every mapped code page is registered in numeric order with its description.
+	 */
+	@Test
+	public void entriesTest()
+	{
+		ResourceBundle mappings = ResourceBundle.getBundle("com.compuware.jenkins.common.configuration.codePageMappings");
+		CodePageRegistry registry = CodePageRegistry.get();
+		List<Entry> entries = registry.getEntries();
+		assertEquals(mappings.keySet().size(), entries.size());
+
+		for (int i = 0; i < entries.size(); i++)
+		{
+			Entry entry = entries.get(i);
+			assertEquals(i, entry.getSortOrder());
+			assertEquals(mappings.getString(entry.getCodePage()), entry.getDescription());
+			if (i > 0)
+			{
+				assertTrue("Expected numeric order.", entries.get(i - 1).getNumber() < entry.getNumber());
+			}
+		}
+		assertEquals("037", entries.get(0).getCodePage());
+		assertSame(registry, CodePageRegistry.get());
+	}
+
+	/**
+	 * Test code pages resolve by number to their charset and transcoder.
+	 */
+	@Test
+	public void lookupTest()
+	{
+		CodePageRegistry registry = CodePageRegistry.get();
+		assertSame(registry.getEntry("37"), registry.getEntry(" 037 "));
+		assertEquals(Charset.forName("IBM1047"), registry.getCharset("1047"));
+		assertNotNull(registry.getEntry(1047).getTranscoder());
+		assertTrue(registry.isRegistered("1140"));
+
+		assertFalse(registry.isRegistered("993"));
+		assertFalse(registry.isRegistered("abc"));
+		assertNull(registry.getCharset(null));
+
+		if (Charset.isSupported("IBM930"))
+		{
+			assertNotNull(registry.getCharset("930"));
+			assertNull("Expected no transcoder for a double-byte code page.", registry.getEntry(930).getTranscoder());
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.configuration.ConfigurationMetrics.Stage;
+
+/**
+ * Class for testing the configuration metrics.
+ */
+@SuppressWarnings("nls")
+public class ConfigurationMetricsTest
+{
+	/**
+	 * Test stages are recorded overall and per host connection.
+	 */
+	@Test
+	public void recordTest()
+	{
+		ConfigurationMetrics metrics = new ConfigurationMetrics(true);
+		metrics.record(Stage.ARGUMENT_BUILDER, "Prod", metrics.start());
+		metrics.record(Stage.ARGUMENT_BUILDER, "prod", metrics.start());
+		metrics.record(Stage.LOGIN_CREDENTIALS, metrics.start());
+
+		List<LatencyHistogram.Snapshot> stages = metrics.getStageSnapshots();
+		assertEquals("Expected only recorded stages, in stage order.", 2, stages.size());
+		assertEquals(Stage.LOGIN_CREDENTIALS.name(), stages.get(0).getName());
+		assertEquals(2, stages.get(1).getCount());
+
+		Map<String, List<LatencyHistogram.Snapshot>> connections = metrics.getConnectionSnapshots();
+		assertEquals("Expected connection identifiers to ignore case.", 1, connections.size());
+		assertEquals(2, connections.get("prod").get(0).getCount());
+
+		metrics.reset();
+		assertTrue(metrics.getStageSnapshots().isEmpty());
+		assertTrue(metrics.getConnectionSnapshots().isEmpty());
+	}
+
+	/**
+	 * Test disabled metrics record nothing.
+	 */
+	@Test
+	public void disabledTest()
+	{
+		ConfigurationMetrics metrics = new ConfigurationMetrics(false);
+		metrics.record(Stage.HOST_CONNECTION, "1", metrics.start());
+		assertTrue(metrics.getStageSnapshots().isEmpty());
+		assertTrue(metrics.getConnectionSnapshots().isEmpty());
+	}
+
+	/**
+	 * Test recording never fails while the metrics are being reset.
+	 */
+	@Test
+	public void concurrentResetTest() throws Exception
+	{
+		final ConfigurationMetrics metrics = new ConfigurationMetrics(true);
+		final AtomicBoolean done = new AtomicBoolean();
+		Thread resetter = new Thread(() -> {
+			while (!done.get())
+			{
+				metrics.reset();
+			}
+		});
+		resetter.start();
+		try
+		{
+			for (int i = 0; i < 200000; i++)
+			{
+				metrics.record(Stage.values()[i % Stage.values().length], "1", metrics.start());
+			}
+		}
+		finally
+		{
+			done.set(true);
+			resetter.join();
+		}
+	}
+}
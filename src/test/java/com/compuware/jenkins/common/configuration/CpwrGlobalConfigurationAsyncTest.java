@@ -0,0 +1,236 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+import hudson.AbortException;
+import hudson.model.Item;
+import hudson.util.ArgumentListBuilder;
+
+/**
+ * Class for testing the asynchronous argument builder of the global configuration.
+ * <p>
+ * Runs offline against an {@link OfflineGlobalConfiguration}.
+ */
+@SuppressWarnings("nls")
+public class CpwrGlobalConfigurationAsyncTest
+{
+	private static final String CLI_VERSION = "20.01.01";
+	private static final String CREDENTIALS_ID = "certificate";
+
+	private final ExecutorService m_executor = Executors.newFixedThreadPool(4);
+
+	@After
+	public void tearDown()
+	{
+		m_executor.shutdownNow();
+	}
+
+	/**
+	 * Test the asynchronous arguments, and their masks, are the same as the synchronous ones.
+	 */
+	@Test
+	public void sameArgumentsTest() throws Exception
+	{
+		OfflineGlobalConfiguration configuration = new OfflineGlobalConfiguration(
+				new HostConnection("HCI Prod", "cw01:1234", "TLS", "1047", "30", "1", null));
+		configuration.addCredentials(OfflineGlobalConfiguration.certificateCredentials(CREDENTIALS_ID));
+
+		ArgumentListBuilder expected = configuration.getArgumentBuilder("topazcli.sh", CLI_VERSION, null, CREDENTIALS_ID, "1");
+		try (CLIArguments actual = configuration.getArgumentBuilderAsync("topazcli.sh",
+				CompletableFuture.completedFuture(CLI_VERSION), null, CREDENTIALS_ID, "1", m_executor).get(1, TimeUnit.MINUTES))
+		{
+			assertEquals(expected.toList(), actual.getArgumentBuilder().toList());
+			assertArrayEquals(expected.toMaskArray(), actual.getArgumentBuilder().toMaskArray());
+			assertEquals("Expected the endpoint to be in flight.", 1, getOutstanding(configuration));
+		}
+		assertEquals("Expected the endpoint to be released.", 0, getOutstanding(configuration));
+	}
+
+	/**
+	 * Test the credentials are resolved while the CLI version is being read.
+	 * <p>
+	 * Each stage waits for the other to start, so the test would time out if they ran one after the other.
+	 */
+	@Test
+	public void parallelStagesTest() throws Exception
+	{
+		final CountDownLatch versionStarted = new CountDownLatch(1);
+		final CountDownLatch credentialsStarted = new CountDownLatch(1);
+		OfflineGlobalConfiguration configuration = new OfflineGlobalConfiguration(
+				new HostConnection("HCI Prod", "cw01:1234", "1047", "30", "1"))
+		{
+			@Override
+			public StandardCredentials getLoginCredentials(Item project, String credentialsId)
+			{
+				credentialsStarted.countDown();
+				await(versionStarted);
+				return super.getLoginCredentials(project, credentialsId);
+			}
+		};
+		configuration.addCredentials(OfflineGlobalConfiguration.certificateCredentials(CREDENTIALS_ID));
+
+		CompletableFuture<String> cliVersion = CompletableFuture.supplyAsync(() -> {
+			versionStarted.countDown();
+			await(credentialsStarted);
+			return CLI_VERSION;
+		}, m_executor);
+		try (CLIArguments args = configuration
+				.getArgumentBuilderAsync("topazcli.sh", cliVersion, null, CREDENTIALS_ID, "1", m_executor)
+				.get(1, TimeUnit.MINUTES))
+		{
+			assertTrue("Expected the certificate argument.",
+					args.getArgumentBuilder().toList().contains(CommonConstants.CERT_PARM));
+		}
+	}
+
+	/**
+	 * Test a stage failure completes the future with the exception the synchronous builder would throw.
+	 */
+	@Test
+	public void failedStageTest() throws Exception
+	{
+		OfflineGlobalConfiguration configuration = new OfflineGlobalConfiguration(
+				new HostConnection("HCI Prod", "cw01:1234", "TLS", "1047", "30", "1", null));
+		configuration.addCredentials(OfflineGlobalConfiguration.certificateCredentials(CREDENTIALS_ID));
+
+		try
+		{
+			configuration.getArgumentBuilderAsync("topazcli.sh", CompletableFuture.completedFuture("19.1.1"), null,
+					CREDENTIALS_ID, "1", m_executor).get(1, TimeUnit.MINUTES);
+			fail("Expected the CLI version to be too old for an encryption protocol.");
+		}
+		catch (ExecutionException e)
+		{
+			assertTrue("Expected an abort, but got " + e.getCause(), e.getCause() instanceof AbortException);
+		}
+		assertEquals("Expected the endpoint to be released.", 0, getOutstanding(configuration));
+	}
+
+	/**
+	 * Test the arguments hold a slot on their host connection until they are closed, and that a failure releases it.
+	 */
+	@Test
+	public void slotTest() throws Exception
+	{
+		OfflineGlobalConfiguration configuration = new OfflineGlobalConfiguration(
+				new HostConnection("HCI Prod", "cw01:1234", "TLS", "1047", "30", "1", null));
+		configuration.addCredentials(OfflineGlobalConfiguration.certificateCredentials(CREDENTIALS_ID));
+		configuration.setMaxConcurrentInvocations(1);
+		HostConnectionLimiter limiter = configuration.getLimiter();
+
+		try (CLIArguments args = configuration.getCLIArguments("topazcli.sh", CLI_VERSION, null, CREDENTIALS_ID, "1", null))
+		{
+			assertEquals("Expected the arguments to hold a slot.", 1, limiter.getRunningCount("1"));
+		}
+		assertEquals("Expected the slot to be released.", 0, limiter.getRunningCount("1"));
+
+		configuration.getArgumentBuilder("topazcli.sh", CLI_VERSION, null, CREDENTIALS_ID, "1");
+		assertEquals("Expected the argument builder to hold no slot.", 0, limiter.getRunningCount("1"));
+
+		try (CLIArguments args = configuration.getArgumentBuilderAsync("topazcli.sh",
+				CompletableFuture.completedFuture(CLI_VERSION), null, CREDENTIALS_ID, "1", m_executor).get(1, TimeUnit.MINUTES))
+		{
+			assertEquals("Expected the asynchronous arguments to hold a slot.", 1, limiter.getRunningCount("1"));
+		}
+		assertEquals("Expected the slot to be released.", 0, limiter.getRunningCount("1"));
+
+		try
+		{
+			configuration.getArgumentBuilderAsync("topazcli.sh", CompletableFuture.completedFuture("19.1.1"), null,
+					CREDENTIALS_ID, "1", m_executor).get(1, TimeUnit.MINUTES);
+			fail("Expected the CLI version to be too old for an encryption protocol.");
+		}
+		catch (ExecutionException e)
+		{
+			assertEquals("Expected the slot to be released.", 0, limiter.getRunningCount("1"));
+		}
+	}
+
+	/**
+	 * Test the usage of the host connection is recorded for the arguments of an invocation, but not for an argument builder.
+	 */
+	@Test
+	public void usageTest() throws Exception
+	{
+		OfflineGlobalConfiguration configuration = new OfflineGlobalConfiguration(
+				new HostConnection("HCI Usage", "cw01:1234", "1047", "30", "usage"));
+		configuration.addCredentials(OfflineGlobalConfiguration.certificateCredentials(CREDENTIALS_ID));
+		HostConnectionUsage usage = HostConnectionUsage.get();
+		long invocations = usage.getSnapshot("usage").getInvocations();
+		long succeeded = usage.getSnapshot("usage").getCount(HostConnectionUsage.Outcome.SUCCEEDED);
+
+		configuration.getArgumentBuilder("topazcli.sh", CLI_VERSION, null, CREDENTIALS_ID, "usage");
+		assertEquals("Expected no usage for an argument builder.", invocations, usage.getSnapshot("usage").getInvocations());
+
+		try (CLIArguments args = configuration.getCLIArguments("topazcli.sh", CLI_VERSION, null, CREDENTIALS_ID, "usage",
+				null))
+		{
+			assertEquals("Expected the invocation to be running.", 1, usage.getSnapshot("usage").getRunning());
+			args.recordExitCode(0);
+		}
+		try (CLIArguments args = configuration.getArgumentBuilderAsync("topazcli.sh",
+				CompletableFuture.completedFuture(CLI_VERSION), null, CREDENTIALS_ID, "usage", m_executor)
+				.get(1, TimeUnit.MINUTES))
+		{
+			assertEquals("Expected the invocation to be running.", 1, usage.getSnapshot("usage").getRunning());
+		}
+		assertEquals("Expected both invocations to be recorded.", invocations + 2,
+				usage.getSnapshot("usage").getInvocations());
+		assertEquals("Expected the reported exit code to be recorded.", succeeded + 1,
+				usage.getSnapshot("usage").getCount(HostConnectionUsage.Outcome.SUCCEEDED));
+		assertEquals("Expected no running invocation.", 0, usage.getSnapshot("usage").getRunning());
+	}
+
+	private static int getOutstanding(CpwrGlobalConfiguration configuration)
+	{
+		return HostEndpointSelector.get().getOutstanding(configuration.getHostConnection("1"), "cw01:1234");
+	}
+
+	private static void await(CountDownLatch latch)
+	{
+		try
+		{
+			if (!latch.await(10, TimeUnit.SECONDS))
+			{
+				throw new IllegalStateException("The other stage did not start.");
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,230 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+
+import hudson.AbortException;
+import hudson.util.ArgumentListBuilder;
+import hudson.util.ListBoxModel;
+import hudson.util.Secret;
+
+/**
+ * JMH benchmark of the global configuration paths every build step goes through: host connection lookup, argument building
+ * and the dropdown fills.
+ * <p>
+ * The configuration is an {@link OfflineGlobalConfiguration}, so no Jenkins instance is needed. Run with <code>main</code> from
+ * the test classpath, or with the <code>benchmark</code> profile; it is not part of the unit tests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("nls")
+public class CpwrGlobalConfigurationBenchmark
+{
+	private static final String CLI_VERSION = "20.01.01";
+	private static final String USERNAME_CREDENTIALS_ID = "username";
+	private static final String CERTIFICATE_CREDENTIALS_ID = "certificate";
+
+	private OfflineGlobalConfiguration m_configuration;
+
+	/**
+	 * Builds a small configuration with one credentials of each type.
+	 * 
+	 * @throws IOException
+	 *             if the test certificate could not be read
+	 * @throws GeneralSecurityException
+	 *             if the test certificate could not be loaded
+	 */
+	@Setup
+	public void setup() throws IOException, GeneralSecurityException
+	{
+		m_configuration = new OfflineGlobalConfiguration(connections(10));
+
+		Secret password = Mockito.mock(Secret.class, Mockito.withSettings().stubOnly());
+		Mockito.when(password.getPlainText()).thenReturn("pa$$word");
+		StandardUsernamePasswordCredentials usernameCredentials = Mockito.mock(StandardUsernamePasswordCredentials.class,
+				Mockito.withSettings().stubOnly());
+		Mockito.when(usernameCredentials.getId()).thenReturn(USERNAME_CREDENTIALS_ID);
+		Mockito.when(usernameCredentials.getUsername()).thenReturn("xdevreg");
+		Mockito.when(usernameCredentials.getPassword()).thenReturn(password);
+		m_configuration.addCredentials(usernameCredentials);
+
+		m_configuration.addCredentials(OfflineGlobalConfiguration.certificateCredentials(CERTIFICATE_CREDENTIALS_ID));
+	}
+
+	/**
+	 * Looks up a host connection by identifier.
+	 * 
+	 * @param registry
+	 *            the host connections
+	 * 
+	 * @return the host connection
+	 */
+	@Benchmark
+	public HostConnection lookupById(Registry registry)
+	{
+		return registry.m_configuration.getHostConnection(Integer.toString(registry.next()));
+	}
+
+	/**
+	 * Looks up a host connection by host, port and code page.
+	 * 
+	 * @param registry
+	 *            the host connections
+	 * 
+	 * @return the host connection
+	 */
+	@Benchmark
+	public HostConnection lookupByHostPort(Registry registry)
+	{
+		return registry.m_configuration.getHostConnection(hostPort(registry.next()), "1047");
+	}
+
+	/**
+	 * Builds the common arguments with username and password credentials.
+	 * 
+	 * @return the arguments
+	 * 
+	 * @throws AbortException
+	 *             if the arguments could not be built
+	 */
+	@Benchmark
+	public ArgumentListBuilder argumentBuilderUsername() throws AbortException
+	{
+		return m_configuration.getArgumentBuilder("topazcli.sh", CLI_VERSION, null, USERNAME_CREDENTIALS_ID, "5");
+	}
+
+	/**
+	 * Builds the common arguments with certificate credentials.
+	 * 
+	 * @return the arguments
+	 * 
+	 * @throws AbortException
+	 *             if the arguments could not be built
+	 */
+	@Benchmark
+	public ArgumentListBuilder argumentBuilderCertificate() throws AbortException
+	{
+		return m_configuration.getArgumentBuilder("topazcli.sh", CLI_VERSION, null, CERTIFICATE_CREDENTIALS_ID, "5");
+	}
+
+	/**
+	 * Fills the encryption protocol dropdown.
+	 * 
+	 * @return the protocols
+	 */
+	@Benchmark
+	public ListBoxModel fillProtocolItems()
+	{
+		return m_configuration.doFillProtocolItems();
+	}
+
+	/**
+	 * Fills the code page dropdown.
+	 * 
+	 * @return the code pages
+	 */
+	@Benchmark
+	public ListBoxModel fillCodePageItems()
+	{
+		return m_configuration.doFillCodePageItems();
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            not used
+	 * 
+	 * @throws RunnerException
+	 *             if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder().include(CpwrGlobalConfigurationBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	private static String hostPort(int index)
+	{
+		return String.format("lpar%05d.example.com:%d", index, 16196 + index % 4);
+	}
+
+	private static HostConnection[] connections(int size)
+	{
+		HostConnection[] connections = new HostConnection[size];
+		for (int i = 0; i < size; i++)
+		{
+			connections[i] = new HostConnection("LPAR " + i, hostPort(i), "1047", "0", Integer.toString(i));
+		}
+
+		return connections;
+	}
+
+	/**
+	 * Configurations of the registry sizes the lookups are measured at. Lookups cycle through every connection, so the
+	 * average covers the whole list.
+	 */
+	@State(Scope.Thread)
+	public static class Registry
+	{
+		/** The number of host connections; JMH requires parameters to be public fields. */
+		@Param({ "10", "100", "1000", "10000", "50000" })
+		public int size;
+
+		private OfflineGlobalConfiguration m_configuration;
+		private int m_next;
+
+		/**
+		 * Builds the host connections.
+		 */
+		@Setup
+		public void setup()
+		{
+			m_configuration = new OfflineGlobalConfiguration(connections(size));
+		}
+
+		private int next()
+		{
+			m_next = (m_next + 1) % size;
+			return m_next;
+		}
+	}
+}
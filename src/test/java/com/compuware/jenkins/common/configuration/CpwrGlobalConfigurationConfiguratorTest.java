@@ -0,0 +1,197 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import io.jenkins.plugins.casc.ConfigurationAsCode;
+import io.jenkins.plugins.casc.ConfiguratorException;
+
+/**
+ * Class for testing the configuration as code support of the global configuration.
+ */
+@SuppressWarnings("nls")
+public class CpwrGlobalConfigurationConfiguratorTest
+{
+	private static final Logger LOGGER = Logger.getLogger(CpwrGlobalConfigurationConfiguratorTest.class.getName());
+	private static final String HEADER = "unclassified:\n  cpwrGlobalConfiguration:\n";
+
+	@Rule
+	public JenkinsRule m_jenkinsRule = new JenkinsRule();
+
+	/**
+	 * Test a configuration is applied, and that applying it again does not rewrite the configuration file.
+	 */
+	@Test
+	public void configureTest() throws Exception
+	{
+		String yaml = HEADER //
+				+ "    topazCLILocationLinux: /opt/cli\n" //
+				+ "    maxConcurrentInvocations: 4\n" //
+				+ "    hostConnections:\n" //
+				+ "      - description: HCI Prod\n" //
+				+ "        hostPort: cw01:1234\n" //
+				+ "        codePage: \"1047\"\n" //
+				+ "        connectionId: \"1\"\n";
+		apply(yaml);
+
+		CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
+		assertEquals("/opt/cli", globalConfig.getTopazCLILocationLinux());
+		assertEquals(4, globalConfig.getMaxConcurrentInvocations());
+		assertEquals(1, globalConfig.getHostConnections().length);
+		assertEquals("cw01:1234", globalConfig.getHostConnection("1").getHostPort());
+
+		File configFile = new File(m_jenkinsRule.jenkins.getRootDir(), CpwrGlobalConfiguration.class.getName() + ".xml");
+		Files.delete(configFile.toPath());
+		apply(yaml);
+		assertFalse("Expected an unchanged configuration not to be saved.", configFile.exists());
+	}
+
+	/**
+	 * Test a host connection without an identifier keeps the identifier it was given when the YAML is applied again.
+	 */
+	@Test
+	public void missingConnectionIdTest() throws Exception
+	{
+		String yaml = HEADER //
+				+ "    hostConnections:\n" //
+				+ "      - description: HCI Prod\n" //
+				+ "        hostPort: cw01:1234\n" //
+				+ "        codePage: \"1047\"\n";
+		apply(yaml);
+		String connectionId = CpwrGlobalConfiguration.get().getHostConnections()[0].getConnectionId();
+
+		File configFile = new File(m_jenkinsRule.jenkins.getRootDir(), CpwrGlobalConfiguration.class.getName() + ".xml");
+		Files.delete(configFile.toPath());
+		apply(yaml);
+		assertEquals("Expected the identifier to be reused.", connectionId,
+				CpwrGlobalConfiguration.get().getHostConnections()[0].getConnectionId());
+		assertFalse("Expected an unchanged configuration not to be saved.", configFile.exists());
+	}
+
+	/**
+	 * Test variables in scalars are resolved before the values are validated and applied.
+	 */
+	@Test
+	public void variableTest() throws Exception
+	{
+		String yaml = HEADER //
+				+ "    topazCLILocationLinux: \"${CPWR_TEST_CLI_HOME:-/opt/cli}\"\n" //
+				+ "    maxConcurrentInvocations: \"${CPWR_TEST_MAX_INVOCATIONS:-2}\"\n" //
+				+ "    hostConnections:\n" //
+				+ "      - description: HCI Prod\n" //
+				+ "        hostPort: \"${CPWR_TEST_HOST_PORT:-cw01:1234}\"\n" //
+				+ "        codePage: \"1047\"\n" //
+				+ "        cesUrl: \"${CPWR_TEST_CES_URL:-http://ces01:2020}\"\n" //
+				+ "        connectionId: \"1\"\n";
+		apply(yaml);
+
+		CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
+		assertEquals("/opt/cli", globalConfig.getTopazCLILocationLinux());
+		assertEquals(2, globalConfig.getMaxConcurrentInvocations());
+		assertEquals("cw01:1234", globalConfig.getHostConnection("1").getHostPort());
+		assertEquals("http://ces01:2020", globalConfig.getHostConnection("1").getCesUrl());
+	}
+
+	/**
+	 * Test an invalid host connection rejects the whole document.
+	 */
+	@Test
+	public void invalidTest() throws Exception
+	{
+		String yaml = HEADER //
+				+ "    hostConnections:\n" //
+				+ "      - description: HCI Prod\n" //
+				+ "        hostPort: cw01:1234\n" //
+				+ "      - description: HCI Test\n" //
+				+ "        hostPort: cw02\n";
+		try
+		{
+			apply(yaml);
+			fail("Expected the invalid host connection to be rejected.");
+		}
+		catch (ConfiguratorException e)
+		{
+			// expected
+		}
+
+		assertEquals("Expected no host connection to be applied.", 0, CpwrGlobalConfiguration.get().getHostConnections().length);
+	}
+
+	/**
+	 * Benchmark applying a document with 5,000 host connections, then test applying it again unchanged neither saves the
+	 * configuration nor publishes a new snapshot.
+	 */
+	@Test
+	public void largeDocumentTest() throws Exception
+	{
+		int count = 5000;
+		StringBuilder yaml = new StringBuilder(HEADER).append("    hostConnections:\n");
+		for (int i = 0; i < count; i++)
+		{
+			yaml.append("      - description: HCI ").append(i).append('\n');
+			yaml.append("        hostPort: cw").append(i).append(":1234\n");
+			yaml.append("        codePage: \"1047\"\n");
+			yaml.append("        connectionId: \"").append(i).append("\"\n");
+		}
+
+		long start = System.nanoTime();
+		apply(yaml.toString());
+		long firstMillis = (System.nanoTime() - start) / 1000000;
+		long generation = CpwrGlobalConfiguration.get().getSnapshot().getGeneration();
+
+		File configFile = new File(m_jenkinsRule.jenkins.getRootDir(), CpwrGlobalConfiguration.class.getName() + ".xml");
+		Files.delete(configFile.toPath());
+		start = System.nanoTime();
+		apply(yaml.toString());
+		long secondMillis = (System.nanoTime() - start) / 1000000;
+
+		LOGGER.info(String.format("Applied %d host connections in %d ms; unchanged in %d ms.", count, firstMillis,
+				secondMillis));
+		assertEquals(count, CpwrGlobalConfiguration.get().getHostConnections().length);
+		assertFalse("Expected an unchanged configuration not to be saved.", configFile.exists());
+		assertEquals("Expected an unchanged configuration to keep its snapshot.", generation,
+				CpwrGlobalConfiguration.get().getSnapshot().getGeneration());
+	}
+
+	private static void apply(String yaml) throws IOException
+	{
+		Path file = Files.createTempFile("casc", ".yaml");
+		try
+		{
+			Files.write(file, yaml.getBytes(StandardCharsets.UTF_8));
+			ConfigurationAsCode.get().configure(file.toString());
+		}
+		finally
+		{
+			Files.delete(file);
+		}
+	}
+}
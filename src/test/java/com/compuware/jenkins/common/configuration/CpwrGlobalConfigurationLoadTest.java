@@ -0,0 +1,262 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+import hudson.Launcher;
+import hudson.model.TaskListener;
+
+/**
+ * Load test of the global configuration: many simulated builds read it while it is being reconfigured.
+ * <p>
+ * Runs offline against an {@link OfflineGlobalConfiguration} and remote launchers that are never connected. Every
+ * configuration generation <i>n</i> uses host "gen<i>n</i>-<i>i</i>", a timeout of <i>n</i> and CLI locations ending in
+ * <i>n</i>, so a reader can tell from a single result which generation it came from. The test fails if a result mixes
+ * generations, if a value is incomplete, or if a reader sees an older generation after a newer one. Readers that take a
+ * {@link GlobalConfigurationSnapshot} also check that all of its settings belong to the same generation. Throughput and
+ * latency percentiles are logged.
+ */
+@SuppressWarnings("nls")
+public class CpwrGlobalConfigurationLoadTest
+{
+	private static final Logger LOGGER = Logger.getLogger(CpwrGlobalConfigurationLoadTest.class.getName());
+	private static final int THREADS = Integer.getInteger(CpwrGlobalConfigurationLoadTest.class.getName() + ".threads", 32);
+	private static final int CALLS_PER_THREAD = Integer
+			.getInteger(CpwrGlobalConfigurationLoadTest.class.getName() + ".callsPerThread", 2000);
+	private static final int CONNECTION_COUNT = 50;
+	private static final String CREDENTIALS_ID = "certificate";
+	private static final Pattern HOST_PATTERN = Pattern.compile("\"?gen(\\d+)-(\\d+)\"?");
+	private static final Pattern TIMEOUT_PATTERN = Pattern.compile("\"?(\\d+)\"?");
+	private static final Pattern WINDOWS_PATTERN = Pattern.compile("C:\\\\Topaz CLI\\\\gen(\\d+)");
+	private static final Pattern LINUX_PATTERN = Pattern.compile("/opt/topaz-cli/gen(\\d+)");
+
+	/**
+	 * Test readers only ever see complete configurations, in order, while the configuration changes underneath them.
+	 */
+	@Test
+	public void concurrentReconfigurationTest() throws Exception
+	{
+		final OfflineGlobalConfiguration configuration = new OfflineGlobalConfiguration();
+		configuration.addCredentials(OfflineGlobalConfiguration.certificateCredentials(CREDENTIALS_ID));
+		apply(configuration, 0);
+
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final AtomicInteger generation = new AtomicInteger();
+		final List<String> violations = Collections.synchronizedList(new ArrayList<String>());
+		final LatencyHistogram argumentLatency = new LatencyHistogram();
+		final LatencyHistogram locationLatency = new LatencyHistogram();
+		final LatencyHistogram snapshotLatency = new LatencyHistogram();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+		try
+		{
+			Future<?> writer = executor.submit(new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				{
+					while (running.get())
+					{
+						apply(configuration, generation.incrementAndGet());
+					}
+					return null;
+				}
+			});
+
+			List<Future<?>> readers = new ArrayList<>();
+			long start = System.nanoTime();
+			for (int t = 0; t < THREADS; t++)
+			{
+				final long seed = t;
+				readers.add(executor.submit(new Callable<Void>()
+				{
+					@Override
+					public Void call() throws Exception
+					{
+						read(configuration, new Random(seed), argumentLatency, locationLatency, snapshotLatency, violations);
+						return null;
+					}
+				}));
+			}
+
+			for (Future<?> reader : readers)
+			{
+				reader.get(5, TimeUnit.MINUTES);
+			}
+			long elapsedNanos = System.nanoTime() - start;
+			running.set(false);
+			writer.get(1, TimeUnit.MINUTES);
+
+			report("getArgumentBuilder", argumentLatency, elapsedNanos);
+			report("getTopazCLILocation", locationLatency, elapsedNanos);
+			report("getSnapshot", snapshotLatency, elapsedNanos);
+			LOGGER.info(String.format("%d configuration changes applied.", generation.get()));
+		}
+		finally
+		{
+			running.set(false);
+			executor.shutdownNow();
+		}
+
+		assertTrue("Expected no torn configuration, but saw: " + violations.subList(0, Math.min(10, violations.size())),
+				violations.isEmpty());
+	}
+
+	/**
+	 * Simulates the configuration reads of many builds, checking every result.
+	 */
+	private static void read(OfflineGlobalConfiguration configuration, Random random, LatencyHistogram argumentLatency,
+			LatencyHistogram locationLatency, LatencyHistogram snapshotLatency, List<String> violations) throws Exception
+	{
+		Launcher windows = new Launcher.RemoteLauncher(TaskListener.NULL, null, false);
+		Launcher linux = new Launcher.RemoteLauncher(TaskListener.NULL, null, true);
+		long lastArgumentGeneration = -1;
+		long lastWindowsGeneration = -1;
+		long lastLinuxGeneration = -1;
+		long lastSnapshotGeneration = -1;
+
+		for (int i = 0; i < CALLS_PER_THREAD; i++)
+		{
+			int call = random.nextInt(3);
+			if (call == 0)
+			{
+				String connectionId = Integer.toString(random.nextInt(CONNECTION_COUNT));
+				long start = System.nanoTime();
+				List<String> args = configuration
+						.getArgumentBuilder("topazcli.sh", "20.01.01", null, CREDENTIALS_ID, connectionId).toList();
+				argumentLatency.record(System.nanoTime() - start);
+
+				Matcher host = HOST_PATTERN.matcher(argumentAfter(args, CommonConstants.HOST_PARM));
+				Matcher timeout = TIMEOUT_PATTERN.matcher(argumentAfter(args, CommonConstants.TIMEOUT_PARM));
+				if (!host.matches() || !timeout.matches() || !host.group(2).equals(connectionId)
+						|| !host.group(1).equals(timeout.group(1)))
+				{
+					violations.add("torn arguments " + args);
+					continue;
+				}
+				lastArgumentGeneration = checkOrder(Long.parseLong(host.group(1)), lastArgumentGeneration, "arguments",
+						violations);
+			}
+			else if (call == 1)
+			{
+				boolean unix = random.nextBoolean();
+				long start = System.nanoTime();
+				String location = configuration.getTopazCLILocation(unix ? linux : windows);
+				locationLatency.record(System.nanoTime() - start);
+
+				Matcher matcher = (unix ? LINUX_PATTERN : WINDOWS_PATTERN).matcher(String.valueOf(location));
+				if (!matcher.matches())
+				{
+					violations.add("incomplete CLI location " + location);
+					continue;
+				}
+				long locationGeneration = Long.parseLong(matcher.group(1));
+				if (unix)
+				{
+					lastLinuxGeneration = checkOrder(locationGeneration, lastLinuxGeneration, "Linux CLI location", violations);
+				}
+				else
+				{
+					lastWindowsGeneration = checkOrder(locationGeneration, lastWindowsGeneration, "Windows CLI location",
+							violations);
+				}
+			}
+			else
+			{
+				long start = System.nanoTime();
+				GlobalConfigurationSnapshot snapshot = configuration.getSnapshot();
+				HostConnection connection = snapshot.getHostConnection(Integer.toString(random.nextInt(CONNECTION_COUNT)));
+				String windowsLocation = snapshot.getTopazCLILocationWindows();
+				String linuxLocation = snapshot.getTopazCLILocationLinux();
+				snapshotLatency.record(System.nanoTime() - start);
+
+				Matcher host = HOST_PATTERN.matcher(connection != null ? connection.getHost() : "");
+				Matcher windowsMatcher = WINDOWS_PATTERN.matcher(String.valueOf(windowsLocation));
+				Matcher linuxMatcher = LINUX_PATTERN.matcher(String.valueOf(linuxLocation));
+				if (!host.matches() || !windowsMatcher.matches() || !linuxMatcher.matches()
+						|| !host.group(1).equals(windowsMatcher.group(1)) || !host.group(1).equals(linuxMatcher.group(1))
+						|| snapshot.getMaxConcurrentInvocations() != Integer.parseInt(host.group(1)) % 10)
+				{
+					violations.add(String.format("torn snapshot %d: %s, %s, %s, %d", snapshot.getGeneration(),
+							connection != null ? connection.getHost() : null, windowsLocation, linuxLocation,
+							snapshot.getMaxConcurrentInvocations()));
+					continue;
+				}
+				lastSnapshotGeneration = checkOrder(snapshot.getGeneration(), lastSnapshotGeneration, "snapshot", violations);
+			}
+		}
+	}
+
+	/**
+	 * Applies configuration generation <code>n</code> the way the configuration form does.
+	 */
+	private static void apply(OfflineGlobalConfiguration configuration, int n)
+	{
+		HostConnection[] connections = new HostConnection[CONNECTION_COUNT];
+		for (int i = 0; i < CONNECTION_COUNT; i++)
+		{
+			connections[i] = new HostConnection("Generation " + n, "gen" + n + "-" + i + ":" + (16196 + n % 100), "1047",
+					Integer.toString(n), Integer.toString(i));
+		}
+
+		configuration.apply(connections, "C:\\Topaz CLI\\gen" + n, "/opt/topaz-cli/gen" + n, n % 10);
+	}
+
+	private static long checkOrder(long generation, long lastGeneration, String what, List<String> violations)
+	{
+		if (generation < lastGeneration)
+		{
+			violations.add(String.format("%s went back from generation %d to %d", what, lastGeneration, generation));
+		}
+
+		return Math.max(generation, lastGeneration);
+	}
+
+	private static String argumentAfter(List<String> args, String parameter)
+	{
+		int index = args.indexOf(parameter);
+		return index >= 0 && index + 1 < args.size() ? args.get(index + 1) : "";
+	}
+
+	private static void report(String name, LatencyHistogram histogram, long elapsedNanos)
+	{
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot(name);
+		LOGGER.info(String.format("%s: %d calls, %.0f calls/s, p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms", name,
+				snapshot.getCount(), snapshot.getCount() * 1e9 / elapsedNanos, snapshot.getP50Millis(), snapshot.getP99Millis(),
+				snapshot.getPercentileNanos(0.999) / 1e6, snapshot.getMaxMillis()));
+	}
+}
@@ -152,6 +152,20 @@ public class CpwrGlobalConfigurationTest
 		}
 	}
 
+	/**
+	 * Test a new instance reads the saved configuration on first access, without an explicit load.
+	 */
+	@Test
+	public void lazyLoadTest()
+	{
+		m_globalConfig.setTopazCLILocationLinux(EXPECTED_TOPAZ_CLI_LOCATION_LINUX);
+		m_globalConfig.save();
+
+		CpwrGlobalConfiguration after = new CpwrGlobalConfiguration();
+		assertEquals("Expected the saved linux location to be loaded on first access.", EXPECTED_TOPAZ_CLI_LOCATION_LINUX,
+				after.getTopazCLILocationLinux());
+	}
+
 	/**
 	 * Perform a round trip test on the global configuration.
 	 * <p>
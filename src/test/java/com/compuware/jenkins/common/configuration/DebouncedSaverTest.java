@@ -0,0 +1,103 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Class for testing the write-behind saver.
+ */
+public class DebouncedSaverTest
+{
+	private final ScheduledExecutorService m_executor = Executors.newSingleThreadScheduledExecutor();
+	private final AtomicInteger m_saves = new AtomicInteger();
+
+	@After
+	public void tearDown()
+	{
+		m_executor.shutdownNow();
+	}
+
+	/**
+	 * Test a burst of requests results in a single save once the delay has passed.
+	 */
+	@Test
+	public void coalesceTest() throws InterruptedException
+	{
+		final CountDownLatch saved = new CountDownLatch(1);
+		DebouncedSaver saver = new DebouncedSaver(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				m_saves.incrementAndGet();
+				saved.countDown();
+			}
+		}, 200, m_executor);
+
+		for (int i = 0; i < 100; i++)
+		{
+			saver.requestSave();
+		}
+		assertTrue(saver.isPending());
+		assertTrue("Expected the save to run.", saved.await(5, TimeUnit.SECONDS));
+
+		Thread.sleep(400);
+		assertEquals("Expected the requests to be coalesced.", 1, m_saves.get());
+		assertFalse(saver.isPending());
+	}
+
+	/**
+	 * Test flushing saves a pending change immediately and only once, and that cancelling drops it.
+	 */
+	@Test
+	public void flushTest() throws InterruptedException
+	{
+		DebouncedSaver saver = new DebouncedSaver(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				m_saves.incrementAndGet();
+			}
+		}, 60000, m_executor);
+
+		saver.flush();
+		assertEquals("Expected no save without a request.", 0, m_saves.get());
+
+		saver.requestSave();
+		saver.flush();
+		saver.flush();
+		assertEquals("Expected the flush to save once.", 1, m_saves.get());
+
+		saver.requestSave();
+		saver.cancel();
+		saver.flush();
+		assertEquals("Expected a cancelled save not to run.", 1, m_saves.get());
+	}
+}
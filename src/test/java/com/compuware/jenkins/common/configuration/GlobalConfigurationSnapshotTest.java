@@ -0,0 +1,111 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import hudson.Launcher;
+import hudson.model.TaskListener;
+
+/**
+ * Class for testing the global configuration snapshot.
+ */
+@SuppressWarnings("nls")
+public class GlobalConfigurationSnapshotTest
+{
+	private final HostConnection m_prod = new HostConnection("HCI Prod", "cw01:1234", "1047", "0", "1");
+	private final HostConnection m_test = new HostConnection("HCI Test", "cw02:1234", "37", "0", "2");
+	private final GlobalConfigurationSnapshot m_snapshot = new GlobalConfigurationSnapshot(0,
+			new HostConnection[] { m_prod, m_test }, "C:\\Topaz CLI", "/opt/topaz-cli", 2);
+
+	/**
+	 * Test host connections are found by identifier and by endpoint and code page.
+	 */
+	@Test
+	public void lookupTest()
+	{
+		assertSame("Expected the connection with identifier 2.", m_test, m_snapshot.getHostConnection("2"));
+		assertNull("Expected no connection with identifier 3.", m_snapshot.getHostConnection("3"));
+		assertNull("Expected no connection without an identifier.", m_snapshot.getHostConnection(null));
+		assertSame("Expected the connection with a matching endpoint and code page.", m_prod,
+				m_snapshot.getHostConnection("CW01:1234", "1047"));
+		assertNull("Expected the code page to be matched.", m_snapshot.getHostConnection("cw01:1234", "37"));
+
+		assertEquals("/opt/topaz-cli", m_snapshot.getTopazCLILocation(new Launcher.RemoteLauncher(TaskListener.NULL, null, true)));
+		assertEquals("C:\\Topaz CLI",
+				m_snapshot.getTopazCLILocation(new Launcher.RemoteLauncher(TaskListener.NULL, null, false)));
+	}
+
+	/**
+	 * Test a changed snapshot is a new snapshot with the next generation, and that the original is left untouched.
+	 */
+	@Test
+	public void withTest()
+	{
+		GlobalConfigurationSnapshot changed = m_snapshot.withTopazCLILocationLinux("/usr/local/topaz-cli")
+				.withMaxConcurrentInvocations(5);
+		assertEquals("Expected each change to start a new generation.", 2, changed.getGeneration());
+		assertEquals("/usr/local/topaz-cli", changed.getTopazCLILocationLinux());
+		assertEquals("C:\\Topaz CLI", changed.getTopazCLILocationWindows());
+		assertEquals(5, changed.getMaxConcurrentInvocations());
+		assertSame("Expected the host connections to be shared.", m_snapshot.hostConnections(), changed.hostConnections());
+
+		assertEquals(0, m_snapshot.getGeneration());
+		assertEquals("/opt/topaz-cli", m_snapshot.getTopazCLILocationLinux());
+		assertEquals(2, m_snapshot.getMaxConcurrentInvocations());
+
+		GlobalConfigurationSnapshot replaced = m_snapshot.withHostConnections(new HostConnection[] { m_test });
+		assertEquals(1, replaced.getHostConnections().length);
+		assertNull("Expected the removed connection to be gone.", replaced.getHostConnection("1"));
+		assertSame(m_prod, m_snapshot.getHostConnection("1"));
+	}
+
+	/**
+	 * Test the host connections handed out cannot change the snapshot.
+	 */
+	@Test
+	public void getHostConnectionsTest()
+	{
+		HostConnection[] connections = m_snapshot.getHostConnections();
+		assertNotSame(m_snapshot.hostConnections(), connections);
+		connections[0] = null;
+		assertSame(m_prod, m_snapshot.getHostConnections()[0]);
+	}
+
+	/**
+	 * Test a snapshot is compared with submitted settings field by field.
+	 */
+	@Test
+	public void hasSettingsTest()
+	{
+		HostConnection[] equalConnections = new HostConnection[] {
+				new HostConnection("HCI Prod", "cw01:1234", "1047", "0", "1"),
+				new HostConnection("HCI Test", "cw02:1234", "37", "0", "2") };
+		assertTrue(m_snapshot.hasSettings(equalConnections, "C:\\Topaz CLI", "/opt/topaz-cli", 2));
+		assertFalse(m_snapshot.hasSettings(new HostConnection[] { m_prod }, "C:\\Topaz CLI", "/opt/topaz-cli", 2));
+		assertTrue(m_snapshot.hasSettings("C:\\Topaz CLI", "/opt/topaz-cli", 2));
+		assertFalse(m_snapshot.hasSettings("C:\\Topaz CLI", "/opt/topaz-cli", 3));
+		assertFalse(m_snapshot.hasSettings("D:\\Topaz CLI", "/opt/topaz-cli", 2));
+	}
+}
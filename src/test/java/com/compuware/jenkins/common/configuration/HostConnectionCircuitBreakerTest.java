@@ -0,0 +1,218 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.configuration.HostConnectionCircuitBreaker.State;
+
+import hudson.AbortException;
+import hudson.util.ArgumentListBuilder;
+
+/**
+ * Class for testing the host connection circuit breaker.
+ */
+@SuppressWarnings("nls")
+public class HostConnectionCircuitBreakerTest
+{
+	private static final long OPEN_MILLIS = 60000;
+
+	private final AtomicLong m_now = new AtomicLong(1000);
+	private final HostConnectionCircuitBreaker m_breaker = new HostConnectionCircuitBreaker(3, OPEN_MILLIS, m_now::get);
+	private final HostConnection m_connection = new HostConnection("HCI Prod", "cw01:1234", "1047", "0", "1");
+
+	/**
+	 * Test the circuit opens after consecutive failures, lets a single trial through once half open, and closes on success.
+	 */
+	@Test
+	public void openAndRecoverTest() throws AbortException
+	{
+		m_breaker.recordFailure("1");
+		m_breaker.recordFailure("1");
+		m_breaker.recordSuccess("1");
+		m_breaker.recordFailure("1");
+		m_breaker.recordFailure("1");
+		assertEquals("Expected a success to reset the failure count.", State.CLOSED, m_breaker.getState("1"));
+
+		m_breaker.recordFailure("1");
+		assertEquals("Expected the circuit to open.", State.OPEN, m_breaker.getState("1"));
+		assertUnavailable();
+
+		m_now.addAndGet(OPEN_MILLIS);
+		assertEquals("Expected the circuit to be half open.", State.HALF_OPEN, m_breaker.getState("1"));
+		m_breaker.checkAvailable(m_connection);
+		m_breaker.checkAvailable(m_connection);
+		assertEquals("Expected the check to leave the trial.", State.HALF_OPEN, m_breaker.getState("1"));
+		takeTrial();
+		assertNoTrial();
+
+		m_breaker.recordSuccess("1");
+		assertEquals("Expected the trial to close the circuit.", State.CLOSED, m_breaker.getState("1"));
+		m_breaker.checkAvailable(m_connection);
+	}
+
+	/**
+	 * Test a failed trial opens the circuit again and that a trial with no reported outcome expires.
+	 */
+	@Test
+	public void failedTrialTest() throws AbortException
+	{
+		for (int i = 0; i < 3; i++)
+		{
+			m_breaker.recordExitCode("1", 2, 2);
+		}
+		m_now.addAndGet(OPEN_MILLIS);
+		takeTrial();
+		m_breaker.recordFailure("1");
+		assertEquals("Expected the failed trial to open the circuit.", State.OPEN, m_breaker.getState("1"));
+		assertUnavailable();
+
+		m_now.addAndGet(OPEN_MILLIS);
+		takeTrial();
+		assertNoTrial();
+		m_now.addAndGet(OPEN_MILLIS);
+		takeTrial();
+
+		m_breaker.recordExitCode("1", 1, 2);
+		assertEquals("Expected an exit code other than a connection failure to close the circuit.", State.CLOSED,
+				m_breaker.getState("1"));
+	}
+
+	/**
+	 * Test probing a host feeds the circuit.
+	 */
+	@Test
+	public void probeTest() throws IOException
+	{
+		try (ServerSocket server = new ServerSocket(0))
+		{
+			HostConnection connection = new HostConnection("local", "localhost:" + server.getLocalPort(), "1047", "0", "2");
+			assertTrue("Expected the listening port to be reachable.", m_breaker.probe(connection));
+		}
+
+		HostConnection connection = new HostConnection("bad", "localhost:notAPort", "1047", "0", "3");
+		for (int i = 0; i < 3; i++)
+		{
+			assertFalse("Expected an invalid port to be unreachable.", m_breaker.probe(connection));
+		}
+		assertEquals("Expected failed probes to open the circuit.", State.OPEN, m_breaker.getState("3"));
+	}
+
+	/**
+	 * Test a host connection with several endpoints is probed per endpoint and stays available while one endpoint is up.
+	 */
+	@Test
+	public void endpointsTest() throws IOException
+	{
+		try (ServerSocket server = new ServerSocket(0))
+		{
+			String up = "localhost:" + server.getLocalPort();
+			HostConnection connection = new HostConnection("sysplex", "localhost:notAPort," + up, "1047", "0", "4");
+			for (int i = 0; i < 3; i++)
+			{
+				assertTrue("Expected the listening endpoint to be reachable.", m_breaker.probe(connection));
+			}
+			assertEquals("Expected failed probes to open the circuit of the endpoint.", State.OPEN,
+					m_breaker.getState(HostEndpointSelector.getEndpointKey("4", "localhost:notAPort")));
+			assertEquals("Expected the circuit of the listening endpoint to stay closed.", State.CLOSED,
+					m_breaker.getState(HostEndpointSelector.getEndpointKey("4", up)));
+			m_breaker.checkAvailable(connection);
+
+			m_breaker.recordFailure(HostEndpointSelector.getEndpointKey("4", up));
+			m_breaker.recordFailure(HostEndpointSelector.getEndpointKey("4", up));
+			m_breaker.recordFailure(HostEndpointSelector.getEndpointKey("4", up));
+			try
+			{
+				m_breaker.checkAvailable(connection);
+				fail("Expected the host connection to be unavailable when every endpoint is down.");
+			}
+			catch (AbortException e)
+			{
+				// expected
+			}
+		}
+	}
+
+	/**
+	 * Test checking a half open host connection leaves its trial for the arguments built next.
+	 */
+	@Test
+	public void checkThenBuildTest() throws Exception
+	{
+		for (int i = 0; i < 3; i++)
+		{
+			m_breaker.recordFailure("1");
+		}
+		m_now.addAndGet(OPEN_MILLIS);
+
+		OfflineGlobalConfiguration configuration = new OfflineGlobalConfiguration(m_connection)
+		{
+			@Override
+			HostEndpointSelector getEndpointSelector()
+			{
+				return new HostEndpointSelector(m_breaker);
+			}
+		};
+		configuration.addCredentials(OfflineGlobalConfiguration.certificateCredentials("certificate"));
+
+		m_breaker.checkAvailable(m_connection);
+		ArgumentListBuilder args = configuration.getArgumentBuilder("topazcli.sh", "20.01.01", null, "certificate", "1");
+		assertTrue("Expected the trial to be sent to the host.", args.toList().contains("\"cw01\""));
+		assertNoTrial();
+	}
+
+	private void takeTrial() throws AbortException
+	{
+		m_breaker.allowRequest(Collections.singletonList("1"), m_connection.getDescription());
+	}
+
+	private void assertNoTrial()
+	{
+		try
+		{
+			takeTrial();
+			fail("Expected the trial to be taken already.");
+		}
+		catch (AbortException e)
+		{
+			// expected
+		}
+	}
+
+	private void assertUnavailable()
+	{
+		try
+		{
+			m_breaker.checkAvailable(m_connection);
+			fail("Expected the host connection to be unavailable.");
+		}
+		catch (AbortException e)
+		{
+			// expected
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.configuration.HostConnectionFormat.FormatException;
+import com.compuware.jenkins.common.configuration.HostConnectionFormat.RowReader;
+
+/**
+ * Class for testing the host connection import and export formats.
+ */
+@SuppressWarnings("nls")
+public class HostConnectionFormatTest
+{
+	/**
+	 * Test exported CSV reads back with the same values, including quoted values spanning lines.
+	 */
+	@Test
+	public void csvRoundTripTest() throws IOException
+	{
+		HostConnection connection = new HostConnection("HCI \"Prod\",\r\nEast", "cw01:1234,cw02:1234", "TLSv1.2", "1047", "30",
+				"1", "http://ces:2020/", "ROUND_ROBIN");
+		StringWriter writer = new StringWriter();
+		HostConnectionFormat.CSV.write(new HostConnection[] { connection }, writer);
+
+		RowReader rows = HostConnectionFormat.CSV.open(new StringReader(writer.toString()));
+		Map<String, String> row = rows.next();
+		assertEquals("HCI \"Prod\",\r\nEast", row.get(HostConnectionFormat.DESCRIPTION));
+		assertEquals("cw01:1234,cw02:1234", row.get(HostConnectionFormat.HOST_PORT));
+		assertEquals("ROUND_ROBIN", row.get(HostConnectionFormat.ENDPOINT_POLICY));
+		assertEquals("Expected the row number to count connections, not lines.", 1, rows.getRowNumber());
+		assertNull("Expected a single row.", rows.next());
+	}
+
+	/**
+	 * Test columns may be given in any order and omitted, and that blank lines are skipped.
+	 */
+	@Test
+	public void csvColumnsTest() throws IOException
+	{
+		RowReader rows = HostConnectionFormat.CSV.open(new StringReader("hostPort,description\n\ncw01:1234,HCI Prod\n"));
+		Map<String, String> row = rows.next();
+		assertEquals("HCI Prod", row.get(HostConnectionFormat.DESCRIPTION));
+		assertEquals("cw01:1234", row.get(HostConnectionFormat.HOST_PORT));
+		assertNull("Expected an omitted column to have no value.", row.get(HostConnectionFormat.CODE_PAGE));
+		assertNull(rows.next());
+	}
+
+	/**
+	 * Test malformed documents are rejected.
+	 */
+	@Test
+	public void malformedTest() throws IOException
+	{
+		assertMalformed("description,hostname\n");
+		assertMalformed("description\nHCI Prod,cw01:1234\n");
+		assertMalformed("description\n\"HCI Prod\n");
+	}
+
+	/**
+	 * Test format names are matched ignoring case.
+	 */
+	@Test
+	public void fromNameTest()
+	{
+		assertEquals(HostConnectionFormat.JSON, HostConnectionFormat.fromName(" json "));
+		try
+		{
+			HostConnectionFormat.fromName("yaml");
+			fail("Expected an unknown format to be rejected.");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// expected
+		}
+	}
+
+	private static void assertMalformed(String document) throws IOException
+	{
+		try
+		{
+			RowReader rows = HostConnectionFormat.CSV.open(new StringReader(document));
+			rows.next();
+			fail("Expected a malformed document to be rejected: " + document);
+		}
+		catch (FormatException e)
+		{
+			// expected
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Class for testing the host connection importer.
+ */
+@SuppressWarnings("nls")
+public class HostConnectionImporterTest
+{
+	private final HostConnectionImporter m_importer = new HostConnectionImporter(new HostConnection.DescriptorImpl());
+
+	/**
+	 * Test valid rows become host connections in document order.
+	 */
+	@Test
+	public void importTest() throws IOException
+	{
+		String document = "description,hostPort,codePage,timeout,connectionId\n" //
+				+ "HCI Prod,cw01:1234,1047,0,1\n" //
+				+ "HCI Test,cw02:1234,1140,,\n";
+		assertTrue("Expected the document to be valid.", m_importer.read(new StringReader(document), HostConnectionFormat.CSV));
+
+		List<HostConnection> connections = m_importer.getConnections();
+		assertEquals(2, connections.size());
+		assertEquals("1", connections.get(0).getConnectionId());
+		assertEquals("HCI Test", connections.get(1).getDescription());
+		assertFalse("Expected an identifier to be generated.", connections.get(1).getConnectionId().isEmpty());
+	}
+
+	/**
+	 * Test invalid rows are reported with their row numbers and nothing is accepted from them.
+	 */
+	@Test
+	public void validationTest() throws IOException
+	{
+		String document = "description,hostPort,timeout,connectionId\n" //
+				+ ",cw01:1234,0,1\n" //
+				+ "HCI Test,cw02,0,2\n" //
+				+ "HCI Dev,cw03:1234,abc,3\n" //
+				+ "HCI QA,cw04:1234,0,a\n" //
+				+ "HCI QA2,cw05:1234,0,A\n";
+		assertFalse("Expected the document to be invalid.", m_importer.read(new StringReader(document), HostConnectionFormat.CSV));
+
+		List<String> errors = m_importer.getErrors();
+		assertEquals(4, errors.size());
+		assertEquals(Messages.importRowError(1, Messages.checkDescriptionEmptyError()), errors.get(0));
+		assertEquals(Messages.importRowError(2, Messages.checkHostPortFormatError()), errors.get(1));
+		assertEquals(Messages.importRowError(3, Messages.checkTimeoutError()), errors.get(2));
+		assertEquals(Messages.importRowError(5, Messages.importDuplicateConnectionIdError("A")), errors.get(3));
+	}
+
+	/**
+	 * Test rows without an identifier reuse the identifier of the existing connection with the same endpoints and code page.
+	 */
+	@Test
+	public void reuseConnectionIdTest() throws IOException
+	{
+		HostConnection[] existing = { new HostConnection("HCI Prod", "cw01:1234", "1047", "0", "1"),
+				new HostConnection("HCI Prod B", "cw01:1234", "1047", "0", "2"),
+				new HostConnection("HCI Test", "cw02:1234", "1047", "0", "3") };
+		HostConnectionImporter importer = new HostConnectionImporter(new HostConnection.DescriptorImpl(), existing);
+		String document = "description,hostPort,codePage,timeout,connectionId\n" //
+				+ "HCI Prod B,CW01:1234,1047,30,\n" //
+				+ "HCI Prod,cw01:1234,1047,30,\n" //
+				+ "HCI Test,cw02:1234,1140,,\n" //
+				+ "HCI Test 2,cw02:1234,1047,,3\n";
+		assertTrue("Expected the document to be valid.", importer.read(new StringReader(document), HostConnectionFormat.CSV));
+
+		List<HostConnection> connections = importer.getConnections();
+		assertEquals("Expected the connection with the same description to match.", "2", connections.get(0).getConnectionId());
+		assertEquals("Expected the connection with the same description to match.", "1", connections.get(1).getConnectionId());
+		assertFalse("Expected an identifier given explicitly not to be reused.",
+				"3".equals(connections.get(2).getConnectionId()));
+		assertEquals("Expected the generated identifier to be kept.", connections.get(2).getConnectionId(),
+				importer.getConnections().get(2).getConnectionId());
+		assertEquals("3", connections.get(3).getConnectionId());
+	}
+}
@@ -0,0 +1,164 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class for testing the host connection journal.
+ */
+@SuppressWarnings("nls")
+public class HostConnectionJournalTest
+{
+	private static final HostConnection PROD = new HostConnection("HCI Prod", "cw01:1234", "1047", "0", "1");
+	private static final HostConnection TEST = new HostConnection("HCI Test", "cw02:1234", "1047", "0", "2");
+	private static final HostConnection DEV = new HostConnection("HCI Dev", "cw03:1234", "1140", "0", "3");
+
+	private Path m_file;
+	private HostConnectionJournal m_journal;
+
+	@Before
+	public void setup() throws IOException
+	{
+		m_file = Files.createTempFile("hostConnections", ".journal");
+		Files.delete(m_file);
+		m_journal = new HostConnectionJournal(m_file);
+	}
+
+	@After
+	public void teardown() throws IOException
+	{
+		Files.deleteIfExists(m_file);
+	}
+
+	/**
+	 * Test appended changes replay on top of the base snapshot.
+	 */
+	@Test
+	public void replayTest() throws IOException
+	{
+		HostConnection[] base = { PROD, TEST };
+		assertArrayEquals("Expected a missing journal to leave the base unchanged.", base, m_journal.replay(base));
+
+		HostConnection renamedTest = new HostConnection("HCI Test\tB", "cw02:1234", "1047", "30", "2");
+		HostConnection[] updated = { PROD, renamedTest, DEV };
+		assertTrue("Expected an update and an addition to be journaled.", m_journal.append(base, updated));
+
+		HostConnection[] removed = { renamedTest, DEV };
+		assertTrue("Expected a removal to be journaled.", m_journal.append(updated, removed));
+		assertEquals("Expected one record per changed connection.", 3, m_journal.getRecordCount());
+
+		HostConnectionJournal reopened = new HostConnectionJournal(m_file);
+		assertArrayEquals("Expected the replay to give the current connections.", removed, reopened.replay(base));
+		assertEquals("Expected the replayed records to be counted.", 3, reopened.getRecordCount());
+
+		reopened.reset();
+		assertFalse("Expected the journal to be removed.", Files.exists(m_file));
+		assertEquals("Expected no records after a reset.", 0, reopened.getRecordCount());
+	}
+
+	/**
+	 * Test a change that reorders connections or duplicates an identifier cannot be journaled.
+	 */
+	@Test
+	public void diffTest()
+	{
+		HostConnection[] base = { PROD, TEST };
+		assertEquals("Expected no records for an unchanged list.", 0, HostConnectionJournal.diff(base, base).size());
+		assertNull("Expected a reorder to need a full save.",
+				HostConnectionJournal.diff(base, new HostConnection[] { TEST, PROD }));
+		assertNull("Expected an insertion before existing connections to need a full save.",
+				HostConnectionJournal.diff(base, new HostConnection[] { DEV, PROD, TEST }));
+		assertNull("Expected duplicate identifiers to need a full save.",
+				HostConnectionJournal.diff(base, new HostConnection[] { PROD, TEST, PROD }));
+	}
+
+	/**
+	 * Test a record cut short by a crash is cut off, so records appended afterwards replay.
+	 */
+	@Test
+	public void incompleteRecordTest() throws IOException
+	{
+		HostConnection[] base = { PROD };
+		HostConnection[] updated = { PROD, TEST };
+		m_journal.append(base, updated);
+		long length = Files.size(m_file);
+		Files.write(m_file, "put\tHCI Dev".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		HostConnectionJournal reopened = new HostConnectionJournal(m_file);
+		assertEquals("Expected the incomplete record to be ignored.", Arrays.asList(updated),
+				Arrays.asList(reopened.replay(base)));
+		assertEquals("Expected only complete records to be counted.", 1, reopened.getRecordCount());
+		assertEquals("Expected the incomplete record to be cut off.", length, Files.size(m_file));
+
+		HostConnection[] added = { PROD, TEST, DEV };
+		assertTrue("Expected an addition to be journaled.", reopened.append(updated, added));
+		assertEquals("Expected the appended record to replay.", Arrays.asList(added),
+				Arrays.asList(new HostConnectionJournal(m_file).replay(base)));
+	}
+
+	/**
+	 * Test a journal that cannot be replayed is kept: nothing is appended to it and it is not reset.
+	 */
+	@Test
+	public void invalidRecordTest() throws IOException
+	{
+		HostConnection[] base = { PROD };
+		Files.write(m_file, "put\tHCI Dev\n".getBytes(StandardCharsets.UTF_8));
+
+		try
+		{
+			m_journal.replay(base);
+			fail("Expected the invalid record to fail the replay.");
+		}
+		catch (IOException e)
+		{
+			// expected
+		}
+		assertTrue("Expected the journal to be marked as failed.", m_journal.isFailed());
+		assertEquals("Expected no records to be counted.", 0, m_journal.getRecordCount());
+		assertFalse("Expected nothing to be journaled.", m_journal.append(base, new HostConnection[] { PROD, TEST }));
+
+		try
+		{
+			m_journal.reset();
+			fail("Expected the journal to be kept.");
+		}
+		catch (IOException e)
+		{
+			// expected
+		}
+		assertEquals("Expected the journal to be unchanged.", "put\tHCI Dev\n",
+				new String(Files.readAllBytes(m_file), StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,198 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.configuration.HostConnectionLimiter.Permit;
+
+import hudson.util.ArgumentListBuilder;
+import hudson.util.StreamTaskListener;
+
+/**
+ * Class for testing the per host connection concurrency limiter.
+ */
+@SuppressWarnings("nls")
+public class HostConnectionLimiterTest
+{
+	private final HostConnection m_connection = new HostConnection("HCI Prod", "cw01:1234", "1047", "0", "1");
+	private final HostConnection m_otherConnection = new HostConnection("HCI Test", "cw01:5678", "1047", "0", "2");
+
+	/**
+	 * Test an invocation waits for a free slot and that other connections are not affected.
+	 */
+	@Test
+	public void limitTest() throws Exception
+	{
+		final HostConnectionLimiter limiter = new HostConnectionLimiter(() -> 2);
+		Permit permit1 = limiter.acquire(m_connection, null);
+		limiter.acquire(m_connection, null);
+		assertEquals("Expected two running invocations.", 2, limiter.getRunningCount("1"));
+
+		// another connection has its own slots
+		try (Permit otherPermit = limiter.acquire(m_otherConnection, null))
+		{
+			assertEquals("Expected one running invocation on the other connection.", 1, limiter.getRunningCount("2"));
+		}
+
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		final StreamTaskListener listener = new StreamTaskListener(log);
+		final CountDownLatch acquired = new CountDownLatch(1);
+		Thread waiter = new Thread(() -> {
+			try (Permit permit = limiter.acquire(m_connection, listener))
+			{
+				acquired.countDown();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		});
+		waiter.start();
+
+		assertFalse("Expected the third invocation to wait.", acquired.await(200, TimeUnit.MILLISECONDS));
+		assertEquals("Expected one waiting invocation.", 1, limiter.getWaitingCount("1"));
+		assertTrue("Expected the wait to be logged.", log.size() > 0);
+
+		permit1.close();
+		permit1.close();
+		assertTrue("Expected the third invocation to run once a slot was released.", acquired.await(5, TimeUnit.SECONDS));
+		waiter.join();
+		assertEquals("Expected a double release to be ignored.", 1, limiter.getRunningCount("1"));
+	}
+
+	/**
+	 * Test the limit is never exceeded under contention.
+	 */
+	@Test
+	public void contentionTest() throws Exception
+	{
+		final HostConnectionLimiter limiter = new HostConnectionLimiter(() -> 3);
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger peak = new AtomicInteger();
+
+		Thread[] threads = new Thread[16];
+		for (int i = 0; i < threads.length; i++)
+		{
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 200; j++)
+				{
+					try (Permit permit = limiter.acquire(m_connection, null))
+					{
+						peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+						running.decrementAndGet();
+					}
+					catch (InterruptedException e)
+					{
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		assertTrue("Expected the limit to be honored.", peak.get() <= 3);
+		assertEquals("Expected every slot to be released.", 0, limiter.getRunningCount("1"));
+	}
+
+	/**
+	 * Test a changed limit applies to the running invocations, so lowering it never lets more invocations run than the new
+	 * limit allows.
+	 */
+	@Test
+	public void resizeTest() throws Exception
+	{
+		final AtomicInteger limit = new AtomicInteger(2);
+		final HostConnectionLimiter limiter = new HostConnectionLimiter(limit::get);
+		Permit permit1 = limiter.acquire(m_connection, null);
+		Permit permit2 = limiter.acquire(m_connection, null);
+
+		limit.set(1);
+		permit1.close();
+		final CountDownLatch acquired = new CountDownLatch(1);
+		Thread waiter = new Thread(() -> {
+			try (Permit permit = limiter.acquire(m_connection, null))
+			{
+				acquired.countDown();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		});
+		waiter.start();
+
+		assertFalse("Expected the invocation to wait while the running one uses the lowered limit.",
+				acquired.await(200, TimeUnit.MILLISECONDS));
+		assertEquals("Expected one running invocation.", 1, limiter.getRunningCount("1"));
+		permit2.close();
+		assertTrue("Expected the invocation to run once the slot was freed.", acquired.await(10, TimeUnit.SECONDS));
+		waiter.join();
+
+		limit.set(3);
+		for (int i = 0; i < 3; i++)
+		{
+			limiter.acquire(m_connection, null);
+		}
+		assertEquals("Expected the raised limit to apply.", 3, limiter.getRunningCount("1"));
+	}
+
+	/**
+	 * Test a limit of 0 does not limit invocations.
+	 */
+	@Test
+	public void unlimitedTest() throws Exception
+	{
+		HostConnectionLimiter limiter = new HostConnectionLimiter(() -> HostConnectionLimiter.UNLIMITED);
+		for (int i = 0; i < 100; i++)
+		{
+			limiter.acquire(m_connection, null);
+		}
+		assertEquals("Expected no slots to be tracked.", 0, limiter.getRunningCount("1"));
+	}
+
+	/**
+	 * Test CLI arguments hold their slot until they are closed.
+	 */
+	@Test
+	public void argumentsTest() throws Exception
+	{
+		HostConnectionLimiter limiter = new HostConnectionLimiter(() -> 1);
+		HostEndpointSelector selector = new HostEndpointSelector(
+				new HostConnectionCircuitBreaker(1, 60000, System::currentTimeMillis));
+		try (CLIArguments args = new CLIArguments(new ArgumentListBuilder(), selector.acquire(m_connection),
+				limiter.acquire(m_connection, null), null))
+		{
+			assertEquals("Expected the arguments to hold a slot.", 1, limiter.getRunningCount("1"));
+		}
+		assertEquals("Expected closing the arguments to release the slot.", 0, limiter.getRunningCount("1"));
+	}
+}
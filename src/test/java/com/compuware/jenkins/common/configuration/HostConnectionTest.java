@@ -119,6 +119,21 @@ public class HostConnectionTest {
 		input = "abc:1234";
 		FormValidation validation = ((DescriptorImpl) m_globalHostConnectionConfig.getDescriptor()).doCheckHostPort(input);
 		assertThat("Expecting valid host port.", validation.kind, is(equalTo(Kind.OK)));
+
+		// invalid endpoint in a list of endpoints
+		input = "abc:1234,def";
+		expectedMsg = Messages.checkHostPortFormatError();
+		validateHostPortErrorMessage("Expecting missing colon message for the second endpoint.", input, expectedMsg);
+
+		// empty endpoint in a list of endpoints
+		input = "abc:1234,,def:1234";
+		expectedMsg = Messages.checkHostPortEmptyError();
+		validateHostPortErrorMessage("Expecting empty host port message for the second endpoint.", input, expectedMsg);
+
+		// valid list of endpoints
+		input = "abc:1234, def:1234";
+		validation = ((DescriptorImpl) m_globalHostConnectionConfig.getDescriptor()).doCheckHostPort(input);
+		assertThat("Expecting valid list of host ports.", validation.kind, is(equalTo(Kind.OK)));
 	}
 
 	/**
@@ -232,6 +247,24 @@ public class HostConnectionTest {
 		assertThat(msg, actualMsg, is(equalTo(expectedMsg)));
 	}
 
+	/**
+	 * Test host connections with the same settings are equal.
+	 */
+	@Test
+	public void equalsTest()
+	{
+		HostConnection connection = new HostConnection("HCI Prod", "cw01:1234", "PERSISTENT", "1047", "", "1", "http://ces:2020/", null);
+		HostConnection same = new HostConnection("HCI Prod ", "cw01:1234", "PERSISTENT", "1047", "0", "1", "http://ces:2020/", null);
+		assertThat("Expecting connections with the same settings to be equal.", same, is(equalTo(connection)));
+		assertThat("Expecting equal connections to have the same hash code.", same.hashCode(), is(equalTo(connection.hashCode())));
+
+		HostConnection otherCodePage = new HostConnection("HCI Prod", "cw01:1234", "PERSISTENT", "1140", "0", "1", "http://ces:2020/", null);
+		assertThat("Expecting a different code page to make connections unequal.", otherCodePage, is(not(equalTo(connection))));
+
+		HostConnection otherId = new HostConnection("HCI Prod", "cw01:1234", "PERSISTENT", "1047", "0", "2", "http://ces:2020/", null);
+		assertThat("Expecting a different connection ID to make connections unequal.", otherId, is(not(equalTo(connection))));
+	}
+
 	/**
 	 * Test the ces url.
 	 */
@@ -0,0 +1,132 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.configuration.HostConnectionUsage.Invocation;
+import com.compuware.jenkins.common.configuration.HostConnectionUsage.Outcome;
+import com.compuware.jenkins.common.configuration.HostConnectionUsage.Snapshot;
+
+/**
+ * Class for testing the host connection usage statistics.
+ */
+@SuppressWarnings("nls")
+public class HostConnectionUsageTest
+{
+	private static final long SLOT_MILLIS = 60000;
+
+	private final AtomicLong m_now = new AtomicLong(SLOT_MILLIS * 100);
+	private final HostConnectionUsage m_usage = new HostConnectionUsage(4, SLOT_MILLIS, m_now::get);
+
+	/**
+	 * Test invocations, the concurrent peak, outcomes and wall time are recorded.
+	 */
+	@Test
+	public void recordTest()
+	{
+		Invocation first = m_usage.start("Prod");
+		Invocation second = m_usage.start("prod");
+		m_now.addAndGet(1000);
+		first.setExitCode(0);
+		first.close();
+		first.close();
+		second.setExitCode(8);
+		second.close();
+		m_usage.start("prod").close();
+
+		Snapshot snapshot = m_usage.getSnapshot("PROD");
+		assertEquals(3, snapshot.getInvocations());
+		assertEquals(2, snapshot.getPeak());
+		assertEquals(0, snapshot.getRunning());
+		assertEquals(1, snapshot.getCount(Outcome.SUCCEEDED));
+		assertEquals(1, snapshot.getCount(Outcome.FAILED));
+		assertEquals("Expected an invocation with no exit code to count as an error.", 1, snapshot.getCount(Outcome.ERROR));
+		assertEquals(666, snapshot.getAverageWallMillis());
+		assertEquals(m_now.get(), snapshot.getLastUsed());
+		assertEquals(0, m_usage.getSnapshot("unused").getInvocations());
+	}
+
+	/**
+	 * Test the ring buffer keeps a fixed window of slots.
+	 */
+	@Test
+	public void windowTest()
+	{
+		for (int i = 1; i <= 6; i++)
+		{
+			for (int j = 0; j < i; j++)
+			{
+				m_usage.start("1").close();
+			}
+			m_now.addAndGet(SLOT_MILLIS);
+		}
+		m_now.addAndGet(-SLOT_MILLIS);
+
+		Snapshot snapshot = m_usage.getSnapshot("1");
+		assertArrayEquals("Expected only the last four slots.", new long[] { 3, 4, 5, 6 }, snapshot.getInvocationsPerSlot());
+		assertEquals(18, snapshot.getInvocations());
+		assertEquals("\u2585\u2586\u2587\u2588", snapshot.getSparkline());
+
+		m_now.addAndGet(SLOT_MILLIS * 10);
+		assertEquals("Expected old slots to fall out of the window.", 0, m_usage.getSnapshot("1").getInvocations());
+		assertTrue(m_usage.getSnapshots().isEmpty());
+	}
+
+	/**
+	 * Test the history survives a save and load, and that only changed history is saved.
+	 */
+	@Test
+	public void persistenceTest() throws IOException
+	{
+		Path file = Files.createTempFile("usage", ".txt");
+		try
+		{
+			Invocation invocation = m_usage.start("tab\there");
+			invocation.setExitCode(0);
+			invocation.close();
+			m_now.addAndGet(SLOT_MILLIS);
+			m_usage.start("2").close();
+			m_usage.saveIfChanged(file);
+
+			HostConnectionUsage loaded = new HostConnectionUsage(4, SLOT_MILLIS, m_now::get);
+			loaded.load(file);
+			assertEquals(2, loaded.getSnapshots().size());
+			Snapshot snapshot = loaded.getSnapshot("TAB\tHERE");
+			assertEquals(1, snapshot.getCount(Outcome.SUCCEEDED));
+			assertArrayEquals(new long[] { 0, 0, 1, 0 }, snapshot.getInvocationsPerSlot());
+			assertEquals(m_now.get() - SLOT_MILLIS, snapshot.getLastUsed());
+
+			Files.delete(file);
+			m_usage.saveIfChanged(file);
+			assertTrue("Expected unchanged history not to be saved.", Files.notExists(file));
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import hudson.AbortException;
+
+/**
+ * Class for testing the selection of host connection endpoints.
+ */
+@SuppressWarnings("nls")
+public class HostEndpointSelectorTest
+{
+	private static final String LPAR1 = "lpar1:16196";
+	private static final String LPAR2 = "lpar2:16196";
+	private static final String LPAR3 = "lpar3:16196";
+	private static final String ENDPOINTS = LPAR1 + ", " + LPAR2 + "," + LPAR3;
+
+	private final HostConnectionCircuitBreaker m_circuitBreaker = new HostConnectionCircuitBreaker(1, 60000,
+			System::currentTimeMillis);
+	private final HostEndpointSelector m_selector = new HostEndpointSelector(m_circuitBreaker);
+
+	/**
+	 * Test the endpoints are parsed and a single endpoint connection is unaffected.
+	 */
+	@Test
+	public void endpointsTest() throws AbortException
+	{
+		HostConnection connection = newConnection(ENDPOINTS, null);
+		assertEquals("Expected every endpoint.", Arrays.asList(LPAR1, LPAR2, LPAR3), connection.getEndpoints());
+		assertEquals("Expected the host of the first endpoint.", "lpar1", connection.getHost());
+		assertEquals("Expected the port of the first endpoint.", "16196", connection.getPort());
+		assertEquals("Expected the primary endpoint.", LPAR1, connection.getHostPort());
+		assertEquals("Expected the endpoints as entered.", ENDPOINTS, connection.getHostPorts());
+		assertEquals("Expected failover by default.", EndpointPolicy.FAILOVER.name(), connection.getEndpointPolicy());
+
+		HostConnection single = newConnection("cw01:1234", EndpointPolicy.ROUND_ROBIN.name());
+		assertEquals("Expected the single endpoint.", "cw01:1234", select(single));
+		assertEquals("Expected the single endpoint.", "cw01:1234", select(single));
+		assertEquals("Expected a single endpoint to use the connection circuit.", single.getConnectionId(),
+				HostEndpointSelector.getCircuitKey(single, "cw01:1234"));
+	}
+
+	/**
+	 * Test failover skips endpoints that are down, and that the connection is only unavailable when every endpoint is down.
+	 */
+	@Test
+	public void failoverTest() throws AbortException
+	{
+		HostConnection connection = newConnection(ENDPOINTS, EndpointPolicy.FAILOVER.name());
+		assertEquals("Expected the first endpoint.", LPAR1, select(connection));
+
+		try (HostEndpointSelector.Selection selection = m_selector.acquire(connection))
+		{
+			selection.recordExitCode(2, 2);
+		}
+		assertEquals("Expected failover to the second endpoint.", LPAR2, select(connection));
+
+		m_circuitBreaker.recordFailure(HostEndpointSelector.getEndpointKey(connection.getConnectionId(), LPAR2));
+		m_circuitBreaker.checkAvailable(connection);
+		assertEquals("Expected failover to the third endpoint.", LPAR3, select(connection));
+
+		m_circuitBreaker.recordFailure(HostEndpointSelector.getEndpointKey(connection.getConnectionId(), LPAR3));
+		try
+		{
+			m_selector.acquire(connection);
+			fail("Expected the connection to be unavailable when every endpoint is down.");
+		}
+		catch (AbortException e)
+		{
+			// expected
+		}
+		assertEquals("Expected nothing in flight.", 0, m_selector.getOutstanding(connection, LPAR1));
+	}
+
+	/**
+	 * Test a half open endpoint lets a single trial through when no endpoint is up.
+	 */
+	@Test
+	public void trialTest() throws AbortException
+	{
+		AtomicLong now = new AtomicLong();
+		HostConnectionCircuitBreaker circuitBreaker = new HostConnectionCircuitBreaker(1, 60000, now::get);
+		HostEndpointSelector selector = new HostEndpointSelector(circuitBreaker);
+		HostConnection connection = newConnection(LPAR1 + ',' + LPAR2, EndpointPolicy.FAILOVER.name());
+		circuitBreaker.recordFailure(HostEndpointSelector.getEndpointKey(connection.getConnectionId(), LPAR1));
+		circuitBreaker.recordFailure(HostEndpointSelector.getEndpointKey(connection.getConnectionId(), LPAR2));
+
+		now.addAndGet(60000);
+		try (HostEndpointSelector.Selection first = selector.acquire(connection);
+				HostEndpointSelector.Selection second = selector.acquire(connection))
+		{
+			assertEquals("Expected the trial of the first endpoint.", LPAR1, first.getEndpoint());
+			assertEquals("Expected the trial of the second endpoint.", LPAR2, second.getEndpoint());
+			second.recordExitCode(0, 2);
+		}
+		assertEquals("Expected the endpoint that recovered.", LPAR2, select(selector, connection));
+	}
+
+	/**
+	 * Test round robin rotates through the healthy endpoints.
+	 */
+	@Test
+	public void roundRobinTest() throws AbortException
+	{
+		HostConnection connection = newConnection(ENDPOINTS, EndpointPolicy.ROUND_ROBIN.name());
+		assertEquals("Expected the first endpoint.", LPAR1, select(connection));
+		assertEquals("Expected the second endpoint.", LPAR2, select(connection));
+		assertEquals("Expected the third endpoint.", LPAR3, select(connection));
+		assertEquals("Expected to wrap around.", LPAR1, select(connection));
+
+		m_circuitBreaker.recordFailure(HostEndpointSelector.getEndpointKey(connection.getConnectionId(), LPAR2));
+		for (int i = 0; i < 4; i++)
+		{
+			assertFalse("Expected the endpoint that is down to be skipped.", LPAR2.equals(select(connection)));
+		}
+	}
+
+	/**
+	 * Test the endpoint with the fewest invocations in flight is used, and that closing a selection releases it once.
+	 */
+	@Test
+	public void leastOutstandingTest() throws AbortException
+	{
+		HostConnection connection = newConnection(ENDPOINTS, EndpointPolicy.LEAST_OUTSTANDING.name());
+		HostEndpointSelector.Selection first = m_selector.acquire(connection);
+		HostEndpointSelector.Selection second = m_selector.acquire(connection);
+		HostEndpointSelector.Selection third = m_selector.acquire(connection);
+		assertEquals("Expected the first endpoint.", LPAR1, first.getEndpoint());
+		assertEquals("Expected the second endpoint.", LPAR2, second.getEndpoint());
+		assertEquals("Expected the third endpoint.", LPAR3, third.getEndpoint());
+
+		second.close();
+		second.close();
+		assertEquals("Expected a selection to be released once.", 0, m_selector.getOutstanding(connection, LPAR2));
+		HostEndpointSelector.Selection fourth = m_selector.acquire(connection);
+		assertEquals("Expected the endpoint with no invocations in flight.", LPAR2, fourth.getEndpoint());
+		assertEquals("Expected one invocation in flight.", 1, m_selector.getOutstanding(connection, LPAR2));
+
+		first.close();
+		third.close();
+		fourth.close();
+		assertEquals("Expected nothing in flight.", 0, m_selector.getOutstanding(connection, LPAR1));
+	}
+
+	private String select(HostConnection connection) throws AbortException
+	{
+		return select(m_selector, connection);
+	}
+
+	private static String select(HostEndpointSelector selector, HostConnection connection) throws AbortException
+	{
+		try (HostEndpointSelector.Selection selection = selector.acquire(connection))
+		{
+			return selection.getEndpoint();
+		}
+	}
+
+	private static HostConnection newConnection(String hostPort, String endpointPolicy)
+	{
+		return new HostConnection("sysplex", hostPort, "None", "1047", "0", null, null, endpointPolicy);
+	}
+}
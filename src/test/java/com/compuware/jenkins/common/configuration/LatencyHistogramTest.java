@@ -0,0 +1,115 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Class for testing the latency histogram.
+ */
+@SuppressWarnings("nls")
+public class LatencyHistogramTest
+{
+	/**
+	 * Test every latency falls in a bucket whose upper bound is within 25% of it.
+	 */
+	@Test
+	public void bucketTest()
+	{
+		int previous = -1;
+		for (long nanos = 0; nanos < (1L << 41); nanos = nanos < 64 ? nanos + 1 : nanos + nanos / 7)
+		{
+			int index = LatencyHistogram.index(nanos);
+			assertTrue("Expected buckets to increase with the latency.", index >= previous);
+			previous = index;
+
+			long upperBound = LatencyHistogram.upperBound(index);
+			assertTrue("Expected " + nanos + " to be within its bucket.", nanos <= upperBound);
+			assertTrue("Expected the bucket of " + nanos + " to be narrow.", upperBound - nanos <= nanos / 4);
+		}
+		assertEquals("Expected huge latencies to share the last bucket.", Long.MAX_VALUE,
+				LatencyHistogram.upperBound(LatencyHistogram.index(Long.MAX_VALUE)));
+	}
+
+	/**
+	 * Test percentiles of a known distribution.
+	 */
+	@Test
+	public void percentileTest()
+	{
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++)
+		{
+			histogram.record(i * 1000L);
+		}
+
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot("test");
+		assertEquals(1000, snapshot.getCount());
+		assertWithin(500000, snapshot.getPercentileNanos(0.5));
+		assertWithin(950000, snapshot.getPercentileNanos(0.95));
+		assertWithin(990000, snapshot.getPercentileNanos(0.99));
+		assertEquals("Expected the maximum to cap the last percentile.", 1000000, snapshot.getPercentileNanos(1));
+		assertEquals(0.5005, snapshot.getMeanMillis(), 0.001);
+		assertEquals(1.0, snapshot.getMaxMillis(), 0);
+		assertEquals("Expected no latencies to give zero percentiles.", 0,
+				new LatencyHistogram().snapshot("empty").getPercentileNanos(0.99));
+	}
+
+	/**
+	 * Test concurrent recording loses no latencies.
+	 */
+	@Test
+	public void concurrentTest() throws InterruptedException
+	{
+		final LatencyHistogram histogram = new LatencyHistogram();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++)
+		{
+			Thread thread = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					for (int i = 0; i < 100000; i++)
+					{
+						histogram.record(i % 5000);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		assertEquals(400000, histogram.snapshot("test").getCount());
+	}
+
+	private static void assertWithin(long expected, long actual)
+	{
+		assertTrue("Expected " + actual + " to be within 25% above " + expected + ".",
+				actual >= expected && actual <= expected + expected / 4);
+	}
+}
@@ -0,0 +1,170 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CertificateFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.cloudbees.plugins.credentials.CredentialsDescriptor;
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.common.StandardCertificateCredentials;
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+
+import hudson.model.Item;
+import hudson.util.Secret;
+
+/**
+ * A global configuration for benchmarks and load tests that run without a Jenkins instance.
+ * <p>
+ * It starts empty instead of reading the configuration file, never writes the file, and resolves credentials from a map
+ * instead of the credentials store. Its slots on host connections are limited by its own maximum number of concurrent
+ * invocations.
+ */
+class OfflineGlobalConfiguration extends CpwrGlobalConfiguration
+{
+	private final Map<String, StandardCredentials> m_credentials = new ConcurrentHashMap<>();
+	private final HostConnectionLimiter m_limiter = new HostConnectionLimiter(this::getMaxConcurrentInvocations);
+
+	/**
+	 * Constructor.
+	 *
+	 * @param connections
+	 *            the initial host connections
+	 */
+	OfflineGlobalConfiguration(HostConnection... connections)
+	{
+		setHostConnections(connections);
+	}
+
+	/**
+	 * Makes the given credentials available to {@link #getLoginCredentials(Item, String)}.
+	 *
+	 * @param credentials
+	 *            the credentials
+	 */
+	void addCredentials(StandardCredentials credentials)
+	{
+		m_credentials.put(credentials.getId(), credentials);
+	}
+
+	@Override
+	void loadAndReplay()
+	{
+		// nothing to read
+	}
+
+	@Override
+	public void save()
+	{
+		// nothing to write
+	}
+
+	@Override
+	HostConnectionLimiter getLimiter()
+	{
+		return m_limiter;
+	}
+
+	@Override
+	public StandardCredentials getLoginCredentials(Item project, String credentialsId)
+	{
+		return m_credentials.get(credentialsId);
+	}
+
+	/**
+	 * Returns certificate credentials holding the public test certificate, which needs no key store password.
+	 *
+	 * @param id
+	 *            the credentials identifier
+	 *
+	 * @return the credentials
+	 * @throws IOException
+	 *             if the test certificate could not be read
+	 * @throws GeneralSecurityException
+	 *             if the test certificate could not be loaded
+	 */
+	static StandardCertificateCredentials certificateCredentials(String id) throws IOException, GeneralSecurityException
+	{
+		KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+		keyStore.load(null, null);
+		try (InputStream stream = OfflineGlobalConfiguration.class.getResourceAsStream("/topaz-test.cer")) //$NON-NLS-1$
+		{
+			keyStore.setCertificateEntry(id, CertificateFactory.getInstance("X.509").generateCertificate(stream)); //$NON-NLS-1$
+		}
+
+		return new KeyStoreCredentials(id, keyStore);
+	}
+
+	/**
+	 * Certificate credentials holding an already loaded key store.
+	 */
+	private static final class KeyStoreCredentials implements StandardCertificateCredentials
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final String m_id;
+		private final transient KeyStore m_keyStore;
+
+		private KeyStoreCredentials(String id, KeyStore keyStore)
+		{
+			m_id = id;
+			m_keyStore = keyStore;
+		}
+
+		@Override
+		public String getId()
+		{
+			return m_id;
+		}
+
+		@Override
+		public String getDescription()
+		{
+			return m_id;
+		}
+
+		@Override
+		public CredentialsScope getScope()
+		{
+			return CredentialsScope.GLOBAL;
+		}
+
+		@Override
+		public CredentialsDescriptor getDescriptor()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public KeyStore getKeyStore()
+		{
+			return m_keyStore;
+		}
+
+		@Override
+		public Secret getPassword()
+		{
+			// the key store is already loaded, and a secret cannot be created without a Jenkins instance
+			return null;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Class for testing record fields.
+ */
+@SuppressWarnings("nls")
+public class RecordFieldsTest
+{
+	/**
+	 * Test fields survive escaping.
+	 */
+	@Test
+	public void escapeTest()
+	{
+		String[] fields = { "a\tb", "c\\nd", "e\r\nf", "", "\\" };
+		assertEquals(Arrays.asList(fields), RecordFields.split(RecordFields.join(fields)));
+	}
+
+	/**
+	 * Test empty and null fields.
+	 */
+	@Test
+	public void emptyFieldTest()
+	{
+		assertEquals("a\t\tb", RecordFields.join("a", null, "b"));
+		assertEquals(Arrays.asList("a", "", "b"), RecordFields.split("a\t\tb"));
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the argument escaping done for every CLI invocation.
+ * <p>
+ * Run with <code>main</code> from the test classpath, or with the <code>benchmark</code> profile; it is not part of the unit
+ * tests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArgumentUtilsBenchmark
+{
+	/** The argument; JMH requires parameters to be public fields. */
+	@Param({ "cw01.example.com", "pa\"ss word", "\"C:\\Program Files\\Compuware\",\"D:\\Topaz CLI\"" })
+	public String input;
+
+	/**
+	 * Escapes the argument for a script.
+	 * 
+	 * @return the escaped argument
+	 */
+	@Benchmark
+	public String escapeForScript()
+	{
+		return ArgumentUtils.escapeForScript(input);
+	}
+
+	/**
+	 * Escapes the argument as comma-delimited paths.
+	 * 
+	 * @return the escaped argument
+	 */
+	@Benchmark
+	public String escapeCommaDelimitedPaths()
+	{
+		return ArgumentUtils.escapeCommaDelimitedPathsForScript(input);
+	}
+
+	/**
+	 * Wraps the argument in double quotes.
+	 * 
+	 * @return the wrapped argument
+	 */
+	@Benchmark
+	public String wrapInDoubleQuotes()
+	{
+		return ArgumentUtils.wrapInDoubleQuotes(input);
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            not used
+	 * 
+	 * @throws RunnerException
+	 *             if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder().include(ArgumentUtilsBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import hudson.util.ArgumentListBuilder;
+import hudson.util.StreamTaskListener;
+
+/**
+ * Class for testing the reuse and recycling of CLI daemons, using the stand-in daemon script.
+ */
+@SuppressWarnings("nls")
+public class CLIDaemonPoolTest
+{
+	private static final long IDLE_MILLIS = 60000;
+	private static final String KEY = "node/20.01.01";
+
+	private final AtomicLong m_now = new AtomicLong(1000);
+	private final CLIDaemonPool m_pool = new CLIDaemonPool(true, 3, IDLE_MILLIS, m_now::get);
+
+	@Before
+	public void setUp()
+	{
+		Assume.assumeTrue("The stand-in daemon is a shell script.", File.pathSeparatorChar == ':');
+	}
+
+	@After
+	public void tearDown()
+	{
+		m_pool.closeAll();
+	}
+
+	/**
+	 * Test a daemon is reused for the next command and replaced after its maximum number of commands.
+	 */
+	@Test
+	public void recycleTest() throws Exception
+	{
+		String first = run(m_pool.ready(CLIDaemonTest.startStandIn()));
+		assertEquals("Expected the daemon to be kept.", 1, m_pool.getIdleCount(KEY));
+		assertEquals(first, run(m_pool.poll(KEY)));
+		assertEquals(first, run(m_pool.poll(KEY)));
+		assertEquals("Expected the daemon to be stopped after three commands.", 0, m_pool.getIdleCount(KEY));
+		assertNull(m_pool.poll(KEY));
+		assertEquals("Expected the key without idle daemons to be dropped.", 0, m_pool.getKeyCount());
+
+		assertNotEquals("Expected a new daemon.", first, run(m_pool.ready(CLIDaemonTest.startStandIn())));
+	}
+
+	/**
+	 * Test an idle daemon is stopped and that only the idle one is.
+	 */
+	@Test
+	public void idleTest() throws Exception
+	{
+		CLIDaemon idle = m_pool.ready(CLIDaemonTest.startStandIn());
+		run(idle);
+		m_now.addAndGet(IDLE_MILLIS / 2);
+		CLIDaemon recent = m_pool.ready(CLIDaemonTest.startStandIn());
+		run(recent);
+		assertEquals(2, m_pool.getIdleCount(KEY));
+
+		m_now.addAndGet(IDLE_MILLIS / 2);
+		m_pool.closeIdle();
+		assertEquals("Expected the idle daemon to be stopped.", 1, m_pool.getIdleCount(KEY));
+		assertSame(recent, m_pool.poll(KEY));
+
+		m_pool.release(KEY, recent);
+		m_now.addAndGet(IDLE_MILLIS);
+		assertNull("Expected an expired daemon not to be handed out.", m_pool.poll(KEY));
+		assertEquals("Expected the key without idle daemons to be dropped.", 0, m_pool.getKeyCount());
+	}
+
+	/**
+	 * Test the key is dropped once its last idle daemon is stopped, and kept while a daemon is idle.
+	 */
+	@Test
+	public void dropKeyTest() throws Exception
+	{
+		run(m_pool.ready(CLIDaemonTest.startStandIn()));
+		m_pool.closeIdle();
+		assertEquals("Expected the key of an idle daemon to be kept.", 1, m_pool.getKeyCount());
+
+		m_now.addAndGet(IDLE_MILLIS);
+		m_pool.closeIdle();
+		assertEquals("Expected the idle daemon to be stopped.", 0, m_pool.getIdleCount(KEY));
+		assertEquals("Expected the key without idle daemons to be dropped.", 0, m_pool.getKeyCount());
+	}
+
+	/**
+	 * Runs a command on the daemon through the pool and returns the daemon process named in its output.
+	 */
+	private String run(CLIDaemon daemon) throws Exception
+	{
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		ArgumentListBuilder args = new ArgumentListBuilder().add("topazcli.sh");
+		assertEquals(0, m_pool.run(KEY, daemon, args, null, new StreamTaskListener(log)));
+
+		String output = new String(log.toByteArray(), StandardCharsets.UTF_8).trim();
+		return output.substring(output.indexOf("daemon "), output.lastIndexOf(" run "));
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class for testing the CLI daemon protocol against a stand-in daemon script.
+ */
+@SuppressWarnings("nls")
+public class CLIDaemonTest
+{
+	private final ByteArrayOutputStream m_output = new ByteArrayOutputStream();
+	private final PrintStream m_logger = new PrintStream(m_output, true);
+	private CLIDaemon m_daemon;
+
+	@Before
+	public void setUp() throws Exception
+	{
+		Assume.assumeTrue("The stand-in daemon is a shell script.", File.pathSeparatorChar == ':');
+		m_daemon = startStandIn();
+		m_daemon.awaitReady(10000, 0);
+	}
+
+	@After
+	public void tearDown()
+	{
+		if (m_daemon != null)
+		{
+			m_daemon.close();
+		}
+	}
+
+	/**
+	 * Test commands are sent and their output and exit codes read back, with arguments that need escaping.
+	 */
+	@Test
+	public void runTest() throws Exception
+	{
+		assertEquals(0, m_daemon.run(Arrays.asList("topazcli.sh", "-host", "two\nlines", "C:\\Topaz CLI"), "/tmp/work", m_logger,
+				0));
+		assertEquals("cwd /tmp/work\ntopazcli.sh\n-host\ntwo\nlines\nC:\\Topaz CLI\n", withoutLastLine(output()));
+
+		m_output.reset();
+		assertEquals("Expected the failing command's exit code.", 3,
+				m_daemon.run(Arrays.asList("topazcli.sh", "fail"), null, m_logger, 0));
+		assertTrue("Expected the error output.", output().startsWith("topazcli.sh\nfailing\n"));
+		assertTrue("Expected the same daemon to run the second command.", output().endsWith(" run 2\n"));
+		assertEquals(2, m_daemon.getRuns());
+		assertTrue(m_daemon.isUsable());
+	}
+
+	/**
+	 * Test a daemon that stops while running a command fails the command and can no longer be used.
+	 */
+	@Test
+	public void stoppedTest() throws Exception
+	{
+		m_daemon.close();
+		try
+		{
+			m_daemon.run(Arrays.asList("topazcli.sh"), null, m_logger, 0);
+			fail("Expected the stopped daemon to fail.");
+		}
+		catch (IOException e)
+		{
+			// expected
+		}
+		assertFalse(m_daemon.isUsable());
+	}
+
+	/**
+	 * Test escaping round trips and keeps protocol lines on one line.
+	 */
+	@Test
+	public void escapeTest()
+	{
+		String text = "a\\b\nc\rd\\n";
+		String escaped = CLIDaemon.escape(text);
+		assertEquals("a\\\\b\\nc\\rd\\\\n", escaped);
+		assertEquals(text, CLIDaemon.unescape(escaped));
+	}
+
+	/**
+	 * Starts the stand-in daemon script as a local process.
+	 *
+	 * @return the daemon, not yet ready
+	 */
+	static CLIDaemon startStandIn() throws IOException, URISyntaxException
+	{
+		File script = new File(CLIDaemonTest.class.getResource("/cli-daemon-standin.sh").toURI());
+		final Process process = new ProcessBuilder("sh", script.getAbsolutePath()).redirectErrorStream(true).start();
+		return new CLIDaemon("stand-in", process.getInputStream(), process.getOutputStream(), process::destroy);
+	}
+
+	private String output()
+	{
+		return new String(m_output.toByteArray(), StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n");
+	}
+
+	private static String withoutLastLine(String text)
+	{
+		return text.substring(0, text.lastIndexOf('\n', text.length() - 2) + 1);
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import hudson.AbortException;
+
+/**
+ * JMH benchmark of the CLI version comparisons done before every CLI invocation.
+ * <p>
+ * Run with <code>main</code> from the test classpath, or with the <code>benchmark</code> profile; it is not part of the unit
+ * tests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CLIVersionUtilsBenchmark
+{
+	/** The installed CLI version; JMH requires parameters to be public fields. */
+	@Param({ "19.04.01", "20.01.01.01", "21.1" })
+	public String version;
+
+	private final NumericStringComparator m_comparator = new NumericStringComparator();
+
+	/**
+	 * Checks the installed version against a minimum version.
+	 * 
+	 * @throws IOException
+	 *             if the version is too old, which none of the parameters are
+	 * @throws InterruptedException
+	 *             not thrown
+	 */
+	@Benchmark
+	public void checkCLICompatibility() throws IOException, InterruptedException
+	{
+		CLIVersionUtils.checkCLICompatibility(version, "19.04.01"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Checks the installed version supports encryption protocols.
+	 * 
+	 * @throws AbortException
+	 *             if the version is too old, which none of the parameters are
+	 */
+	@Benchmark
+	public void checkProtocolSupported() throws AbortException
+	{
+		CLIVersionUtils.checkProtocolSupported(version);
+	}
+
+	/**
+	 * Compares the installed version with another as numeric strings.
+	 * 
+	 * @return the comparison result
+	 */
+	@Benchmark
+	public int compareNumericStrings()
+	{
+		return m_comparator.compare(version, "20.01.01"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            not used
+	 * 
+	 * @throws RunnerException
+	 *             if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder().include(CLIVersionUtilsBenchmark.class.getSimpleName()).build()).run();
+	}
+}
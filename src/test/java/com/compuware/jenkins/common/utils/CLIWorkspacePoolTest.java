@@ -0,0 +1,141 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.compuware.jenkins.common.utils.CLIWorkspacePool.Lease;
+
+import hudson.FilePath;
+import hudson.Util;
+
+/**
+ * Class for testing the pool of reusable Topaz CLI workspaces.
+ */
+@SuppressWarnings("nls")
+public class CLIWorkspacePoolTest
+{
+	private final CLIWorkspacePool m_pool = new CLIWorkspacePool();
+	private Path m_directory;
+	private FilePath m_poolRoot;
+
+	@Before
+	public void setup() throws IOException
+	{
+		m_directory = Files.createTempDirectory("workspaces");
+		m_poolRoot = new FilePath(m_directory.toFile());
+	}
+
+	@After
+	public void teardown() throws IOException
+	{
+		Util.deleteRecursive(m_directory.toFile());
+	}
+
+	/**
+	 * Test a workspace is reused by the same executor with only its volatile state reset.
+	 */
+	@Test
+	public void resetTest() throws Exception
+	{
+		File workspace;
+		try (Lease lease = m_pool.acquire("agent", m_poolRoot, 1, "20.01.01"))
+		{
+			workspace = new File(lease.getWorkspace().getRemote());
+			assertEquals(CommonConstants.TOPAZ_CLI_WORKSPACE, workspace.getName());
+			assertTrue("Expected the workspace to be created.", workspace.isDirectory());
+
+			// what a CLI run leaves behind
+			write(workspace, "project/.project");
+			write(workspace, ".metadata/.lock");
+			write(workspace, ".metadata/.log");
+			write(workspace, ".metadata/.bak_0.log");
+			write(workspace, ".metadata/.plugins/org.eclipse.core.resources/.root/1.tree");
+			write(workspace, ".metadata/.plugins/org.eclipse.core.runtime/.settings/prefs.prefs");
+			write(workspace, ".metadata/version.ini");
+		}
+
+		try (Lease lease = m_pool.acquire("agent", m_poolRoot, 1, "20.01.01"))
+		{
+			assertEquals("Expected the same workspace.", workspace.getPath(), lease.getWorkspace().getRemote());
+			assertFalse(new File(workspace, "project").exists());
+			assertFalse(new File(workspace, ".metadata/.lock").exists());
+			assertFalse(new File(workspace, ".metadata/.log").exists());
+			assertFalse(new File(workspace, ".metadata/.bak_0.log").exists());
+			assertFalse(new File(workspace, ".metadata/.plugins/org.eclipse.core.resources").exists());
+			assertTrue("Expected preferences to be kept.",
+					new File(workspace, ".metadata/.plugins/org.eclipse.core.runtime/.settings/prefs.prefs").exists());
+			assertTrue("Expected metadata to be kept.", new File(workspace, ".metadata/version.ini").exists());
+		}
+	}
+
+	/**
+	 * Test workspaces are kept apart by executor, CLI version and parallel runs, and that leases are released.
+	 */
+	@Test
+	public void leaseTest() throws Exception
+	{
+		try (Lease first = m_pool.acquire("agent", m_poolRoot, 0, "20.01.01");
+				Lease parallel = m_pool.acquire("agent", m_poolRoot, 0, "20.01.01");
+				Lease otherExecutor = m_pool.acquire("agent", m_poolRoot, 1, "20.01.01");
+				Lease otherVersion = m_pool.acquire("agent", m_poolRoot, 0, "20.04.01"))
+		{
+			assertNotEquals(first.getWorkspace().getRemote(), parallel.getWorkspace().getRemote());
+			assertNotEquals(first.getWorkspace().getRemote(), otherExecutor.getWorkspace().getRemote());
+			assertNotEquals(first.getWorkspace().getRemote(), otherVersion.getWorkspace().getRemote());
+			assertEquals(4, m_pool.getLeasedCount());
+
+			first.close();
+			first.close();
+			assertEquals(3, m_pool.getLeasedCount());
+		}
+		assertEquals(0, m_pool.getLeasedCount());
+
+		Lease stale = m_pool.acquire("agent", m_poolRoot, 0, "20.01.01");
+		m_pool.acquire("other", m_poolRoot, 0, "20.01.01");
+		m_pool.forget("agent");
+		assertEquals("Expected only the leases of the offline node to be forgotten.", 1, m_pool.getLeasedCount());
+
+		Lease current = m_pool.acquire("agent", m_poolRoot, 0, "20.01.01");
+		assertEquals("Expected the forgotten workspace to be leased again.", stale.getWorkspace().getRemote(),
+				current.getWorkspace().getRemote());
+		stale.close();
+		Lease next = m_pool.acquire("agent", m_poolRoot, 0, "20.01.01");
+		assertNotEquals("Expected a forgotten lease not to release the workspace of the current holder.",
+				current.getWorkspace().getRemote(), next.getWorkspace().getRemote());
+		assertEquals(3, m_pool.getLeasedCount());
+	}
+
+	private static void write(File workspace, String path) throws IOException
+	{
+		File file = new File(workspace, path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), new byte[] { 1 });
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class for testing the code page file converter.
+ */
+@SuppressWarnings("nls")
+public class CodePageFileConverterTest
+{
+	private Path m_directory;
+
+	@Before
+	public void setup() throws IOException
+	{
+		m_directory = Files.createTempDirectory("converter");
+	}
+
+	@After
+	public void teardown() throws IOException
+	{
+		for (File file : m_directory.toFile().listFiles())
+		{
+			Files.delete(file.toPath());
+		}
+		Files.delete(m_directory);
+	}
+
+	/**
+	 * Test converting a fixed-length record file larger than the conversion buffers.
+	 */
+	@Test
+	public void recordTest() throws IOException
+	{
+		StringBuilder records = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 5000; i++)
+		{
+			String record = String.format("%-80s", "RECORD " + i + " \u00e9\u00e8");
+			records.append(record);
+			expected.append(record).append('\n');
+		}
+		records.append("SHORT");
+		expected.append("SHORT\n");
+
+		Path source = m_directory.resolve("listing.ebcdic");
+		Path target = m_directory.resolve("listing.txt");
+		Files.write(source, records.toString().getBytes(Charset.forName("IBM1047")));
+
+		long converted = CodePageFileConverter.toText(source, target, "1047", 80, StandardCharsets.UTF_8);
+		assertEquals(Files.size(source), converted);
+		assertEquals(expected.toString(), new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Test the agent callable converts a file without record boundaries, replacing an existing target.
+	 */
+	@Test
+	public void callableTest() throws IOException
+	{
+		String text = CodePageReaderTest.repeat("NO RECORDS HERE\n", 10000);
+		Path source = m_directory.resolve("out.ebcdic");
+		Path target = m_directory.resolve("out.txt");
+		Files.write(source, text.getBytes(Charset.forName("IBM037")));
+		Files.write(target, CodePageReaderTest.repeat("OLD CONTENT ", 20000).getBytes(StandardCharsets.UTF_8));
+
+		new CodePageFileConverter.ToTextCallable(target.toString(), "037", 0, "UTF-8").invoke(source.toFile(), null);
+		assertEquals(text, new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+/**
+ * Class for testing the code page reader.
+ */
+@SuppressWarnings("nls")
+public class CodePageReaderTest
+{
+	private static final Charset IBM1047 = Charset.forName("IBM1047");
+
+	/**
+	 * Test reading a stream without record boundaries.
+	 */
+	@Test
+	public void streamTest() throws IOException
+	{
+		String text = repeat("SOME LISTING TEXT 0123456789 ", 1000);
+		assertEquals(text, readAll(new CodePageReader(new ByteArrayInputStream(text.getBytes(IBM1047)), "1047"), 100));
+	}
+
+	/**
+	 * Test newlines are inserted after every fixed-length record, including a short last record, across buffer refills.
+	 */
+	@Test
+	public void recordTest() throws IOException
+	{
+		byte[] records = "AAAABBBBCC".getBytes(IBM1047);
+		assertEquals("AAAA\nBBBB\nCC\n", readAll(new CodePageReader(new ByteArrayInputStream(records), "1047", 4), 3));
+		assertEquals("AAAA\nBBBB\nCC\n", readAll(new CodePageReader(new TrickleInputStream(records), "1047", 4), 1));
+
+		String record = repeat("X", 133);
+		byte[] listing = repeat(record, 200).getBytes(IBM1047);
+		assertEquals(repeat(record + "\n", 200), readAll(new CodePageReader(new ByteArrayInputStream(listing), "1047", 133), 4096));
+
+		assertEquals("", readAll(new CodePageReader(new ByteArrayInputStream(new byte[0]), "1047", 80), 10));
+	}
+
+	static String readAll(Reader reader, int chunkSize) throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+		char[] chunk = new char[chunkSize];
+		try (Reader r = reader)
+		{
+			int read;
+			while ((read = r.read(chunk, 0, chunk.length)) != -1)
+			{
+				builder.append(chunk, 0, read);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	static String repeat(String s, int count)
+	{
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++)
+		{
+			builder.append(s);
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Input stream that returns one byte per read and reports nothing available, like a slow network stream.
+	 */
+	private static final class TrickleInputStream extends InputStream
+	{
+		private final byte[] m_bytes;
+		private int m_position;
+
+		private TrickleInputStream(byte[] bytes)
+		{
+			m_bytes = bytes;
+		}
+
+		@Override
+		public int read()
+		{
+			return m_position < m_bytes.length ? m_bytes[m_position++] & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len)
+		{
+			int c = read();
+			if (c < 0)
+			{
+				return -1;
+			}
+			b[off] = (byte) c;
+			return 1;
+		}
+	}
+}
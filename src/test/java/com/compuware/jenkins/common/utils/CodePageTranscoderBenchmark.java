@@ -0,0 +1,180 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing the code page transcoder with the JDK charset path downstream plugins use today.
+ * <p>
+ * Run with <code>main</code> from the test classpath; it is not part of the unit tests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodePageTranscoderBenchmark
+{
+	/** The code page; JMH requires parameters to be public fields. */
+	@Param({ "037", "1047", "1140" })
+	public String codePage;
+
+	/** The number of bytes converted per operation. */
+	@Param({ "80", "65536" })
+	public int length;
+
+	private CodePageTranscoder m_transcoder;
+	private Charset m_charset;
+	private CharsetDecoder m_decoder;
+	private CharsetEncoder m_encoder;
+	private byte[] m_bytes;
+	private char[] m_chars;
+	private byte[] m_byteOut;
+	private char[] m_charOut;
+	private String m_string;
+
+	/**
+	 * Builds printable EBCDIC input of the configured length.
+	 */
+	@Setup
+	public void setup()
+	{
+		m_transcoder = CodePageTranscoder.forCodePage(codePage);
+		m_charset = m_transcoder.getCharset();
+		m_decoder = m_charset.newDecoder();
+		m_encoder = m_charset.newEncoder();
+
+		Random random = new Random(42);
+		m_chars = new char[length];
+		for (int i = 0; i < length; i++)
+		{
+			m_chars[i] = (char) (' ' + random.nextInt('~' - ' '));
+		}
+		m_string = new String(m_chars);
+		m_bytes = m_transcoder.encode(m_string);
+		m_byteOut = new byte[length];
+		m_charOut = new char[length];
+	}
+
+	/**
+	 * Decode with <code>new String(bytes, charset)</code>.
+	 * 
+	 * @return the decoded string
+	 */
+	@Benchmark
+	public String decodeJdkString()
+	{
+		return new String(m_bytes, m_charset);
+	}
+
+	/**
+	 * Decode with a reused <code>CharsetDecoder</code> into a reused buffer.
+	 * 
+	 * @return the coder result
+	 */
+	@Benchmark
+	public CoderResult decodeJdkDecoder()
+	{
+		m_decoder.reset();
+		return m_decoder.decode(ByteBuffer.wrap(m_bytes), CharBuffer.wrap(m_charOut), true);
+	}
+
+	/**
+	 * Decode with the transcoder into a reused array.
+	 * 
+	 * @return the decoded characters
+	 */
+	@Benchmark
+	public char[] decodeTranscoder()
+	{
+		m_transcoder.decode(m_bytes, 0, length, m_charOut, 0);
+		return m_charOut;
+	}
+
+	/**
+	 * Encode with <code>String.getBytes(charset)</code>.
+	 * 
+	 * @return the encoded bytes
+	 */
+	@Benchmark
+	public byte[] encodeJdkString()
+	{
+		return m_string.getBytes(m_charset);
+	}
+
+	/**
+	 * Encode with a reused <code>CharsetEncoder</code> into a reused buffer.
+	 * 
+	 * @return the coder result
+	 */
+	@Benchmark
+	public CoderResult encodeJdkEncoder()
+	{
+		m_encoder.reset();
+		return m_encoder.encode(CharBuffer.wrap(m_chars), ByteBuffer.wrap(m_byteOut), true);
+	}
+
+	/**
+	 * Encode with the transcoder into a reused array.
+	 * 
+	 * @return the encoded bytes
+	 */
+	@Benchmark
+	public byte[] encodeTranscoder()
+	{
+		m_transcoder.encode(m_chars, 0, length, m_byteOut, 0);
+		return m_byteOut;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            not used
+	 * 
+	 * @throws RunnerException
+	 *             if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder().include(CodePageTranscoderBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ResourceBundle;
+
+import org.junit.Test;
+
+/**
+ * Class for testing the code page transcoder.
+ */
+@SuppressWarnings("nls")
+public class CodePageTranscoderTest
+{
+	private static final String CODE_PAGE_MAPPINGS = "com.compuware.jenkins.common.configuration.codePageMappings";
+
+	/**
+	 * Test every configured code page with a transcoder converts exactly like its JDK charset.
+	 */
+	@Test
+	public void matchesCharsetTest()
+	{
+		int supported = 0;
+		for (String codePage : ResourceBundle.getBundle(CODE_PAGE_MAPPINGS).keySet())
+		{
+			if (!CodePageTranscoder.isSupported(codePage))
+			{
+				continue;
+			}
+			supported++;
+
+			CodePageTranscoder transcoder = CodePageTranscoder.forCodePage(codePage);
+			Charset charset = transcoder.getCharset();
+
+			byte[] allBytes = new byte[256];
+			for (int i = 0; i < allBytes.length; i++)
+			{
+				allBytes[i] = (byte) i;
+			}
+			assertEquals("Expected decoding to match the JDK for code page " + codePage + ".", new String(allBytes, charset),
+					transcoder.decode(allBytes));
+
+			char[] bmpChars = new char[Character.MIN_SURROGATE];
+			for (int i = 0; i < bmpChars.length; i++)
+			{
+				bmpChars[i] = (char) i;
+			}
+			byte[] encoded = new byte[bmpChars.length];
+			transcoder.encode(bmpChars, 0, bmpChars.length, encoded, 0);
+			assertArrayEquals("Expected encoding to match the JDK for code page " + codePage + ".",
+					new String(bmpChars).getBytes(charset), encoded);
+		}
+
+		assertTrue("Expected the common EBCDIC code pages to be supported.", supported > 0);
+		assertTrue(CodePageTranscoder.isSupported("037"));
+		assertTrue(CodePageTranscoder.isSupported("1047"));
+	}
+
+	/**
+	 * Test converting arrays and buffers, including offsets and buffers without a backing array.
+	 */
+	@Test
+	public void bufferTest()
+	{
+		CodePageTranscoder transcoder = CodePageTranscoder.forCodePage("1047");
+		byte[] ebcdic = transcoder.encode("HELLO, World 123");
+		assertArrayEquals("HELLO, World 123".getBytes(transcoder.getCharset()), ebcdic);
+
+		char[] chars = new char[20];
+		assertEquals(5, transcoder.decode(ebcdic, 7, 5, chars, 2));
+		assertEquals("World", new String(chars, 2, 5));
+
+		ByteBuffer src = ByteBuffer.allocateDirect(ebcdic.length);
+		src.put(ebcdic).flip();
+		CharBuffer dst = CharBuffer.allocate(5);
+		assertEquals(5, transcoder.decode(src, dst));
+		assertEquals(5, src.position());
+		dst.flip();
+		assertEquals("HELLO", dst.toString());
+
+		ByteBuffer out = ByteBuffer.allocate(16);
+		assertEquals(5, transcoder.encode(CharBuffer.wrap("HELLO"), out));
+		out.flip();
+		byte[] hello = new byte[out.remaining()];
+		out.get(hello);
+		assertEquals("HELLO", transcoder.decode(hello));
+		assertEquals('A', transcoder.decode(transcoder.encode('A')));
+		assertEquals(transcoder.encode('\uFFFF'), transcoder.encode('\uD800'));
+	}
+
+	/**
+	 * Test transcoders are shared and that invalid and unsupported code pages are rejected.
+	 */
+	@Test
+	public void unsupportedTest()
+	{
+		assertSame(CodePageTranscoder.forCodePage("37"), CodePageTranscoder.forCodePage("037"));
+		assertFalse(CodePageTranscoder.isSupported("abc"));
+		assertFalse(CodePageTranscoder.isSupported(null));
+		assertFalse(CodePageTranscoder.isSupported("99999"));
+
+		try
+		{
+			CodePageTranscoder.forCodePage("99999");
+			fail("Expected an unknown code page to be rejected.");
+		}
+		catch (UnsupportedCharsetException e)
+		{
+			assertEquals("99999", e.getCharsetName());
+		}
+
+		if (Charset.isSupported("IBM930"))
+		{
+			assertFalse("Expected a double-byte code page to be rejected.", CodePageTranscoder.isSupported("930"));
+		}
+	}
+}
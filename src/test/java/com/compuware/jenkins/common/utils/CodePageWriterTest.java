@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+/**
+ * Class for testing the code page writer.
+ */
+@SuppressWarnings("nls")
+public class CodePageWriterTest
+{
+	private static final Charset IBM037 = Charset.forName("IBM037");
+
+	/**
+	 * Test writing a stream without record boundaries.
+	 */
+	@Test
+	public void streamTest() throws IOException
+	{
+		String text = CodePageReaderTest.repeat("//JOBCARD JOB (ACCT),'NAME'\n", 1000);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (Writer writer = new CodePageWriter(out, "037"))
+		{
+			writer.write(text);
+		}
+		assertEquals(text, new String(out.toByteArray(), IBM037));
+	}
+
+	/**
+	 * Test lines are padded to the record length, long lines continue in the next record and CRLF is accepted.
+	 */
+	@Test
+	public void recordTest() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Writer writer = new CodePageWriter(out, "037", 5);
+		writer.write("AB\r\n\nABCDEFG\nABCDE\nXY");
+		writer.close();
+		assertEquals("AB        ABCDEFG   ABCDEXY   ", new String(out.toByteArray(), IBM037));
+
+		assertEquals("AB\nXY\n", CodePageReaderTest
+				.readAll(new CodePageReader(new ByteArrayInputStream("AB   XY   ".getBytes(IBM037)), "037", 5), 10)
+				.replace(" ", ""));
+
+		try
+		{
+			writer.write("more");
+			fail("Expected writing to a closed writer to fail.");
+		}
+		catch (IOException e)
+		{
+			// expected
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.compuware.jenkins.common.utils.RecordLayout.Field;
+import com.compuware.jenkins.common.utils.RecordLayout.FieldType;
+
+/**
+ * JMH benchmark comparing the batch record decode with the usual hex string and <code>BigDecimal</code> parsing.
+ * <p>
+ * Run with <code>main</code> from the test classpath; it is not part of the unit tests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecimalCodecBenchmark
+{
+	private static final int RECORD_COUNT = 10000;
+	private static final int RECORD_LENGTH = 32;
+	private static final RecordLayout LAYOUT = new RecordLayout(RECORD_LENGTH,
+			new Field("AMOUNT", FieldType.PACKED, 0, 8, 2), //$NON-NLS-1$
+			new Field("QUANTITY", FieldType.PACKED, 8, 4, 0), //$NON-NLS-1$
+			new Field("ACCOUNT", FieldType.ZONED, 12, 10, 0), //$NON-NLS-1$
+			new Field("RATE", FieldType.ZONED, 22, 6, 4)); //$NON-NLS-1$
+
+	private ByteBuffer m_records;
+	private long[] m_values;
+
+	/**
+	 * Builds the records.
+	 */
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(42);
+		m_records = ByteBuffer.allocate(RECORD_COUNT * RECORD_LENGTH);
+		for (int r = 0; r < RECORD_COUNT; r++)
+		{
+			int offset = r * RECORD_LENGTH;
+			DecimalCodec.encodePacked(random.nextLong() % 1000000000000000L, m_records, offset, 8);
+			DecimalCodec.encodePacked(random.nextInt(10000000), m_records, offset + 8, 4);
+			DecimalCodec.encodeZoned(random.nextInt(Integer.MAX_VALUE), m_records, offset + 12, 10);
+			DecimalCodec.encodeZoned(random.nextInt(1000000), m_records, offset + 22, 6);
+		}
+		m_values = new long[RECORD_COUNT * LAYOUT.getFields().size()];
+	}
+
+	/**
+	 * Decodes every record with the record layout.
+	 * 
+	 * @return the decoded values
+	 */
+	@Benchmark
+	public long[] decodeBatch()
+	{
+		m_records.rewind();
+		LAYOUT.decodeBatch(m_records, m_values);
+		return m_values;
+	}
+
+	/**
+	 * Decodes every record the way consumers hand roll it: hex digits into a string, then <code>BigDecimal</code>.
+	 * 
+	 * @param blackhole
+	 *            consumes the values
+	 */
+	@Benchmark
+	public void decodeBigDecimalStrings(Blackhole blackhole)
+	{
+		for (int r = 0; r < RECORD_COUNT; r++)
+		{
+			int offset = r * RECORD_LENGTH;
+			for (Field field : LAYOUT.getFields())
+			{
+				StringBuilder digits = new StringBuilder();
+				int start = offset + field.getOffset();
+				int end = start + field.getLength();
+				boolean negative;
+				if (field.getType() == FieldType.PACKED)
+				{
+					for (int i = start; i < end; i++)
+					{
+						digits.append(String.format("%02X", m_records.get(i) & 0xFF)); //$NON-NLS-1$
+					}
+					negative = digits.charAt(digits.length() - 1) == 'D';
+					digits.setLength(digits.length() - 1);
+				}
+				else
+				{
+					for (int i = start; i < end; i++)
+					{
+						digits.append(m_records.get(i) & 0x0F);
+					}
+					negative = (m_records.get(end - 1) & 0xF0) == 0xD0;
+				}
+
+				BigDecimal value = new BigDecimal(digits.toString()).movePointLeft(field.getScale());
+				blackhole.consume(negative ? value.negate() : value);
+			}
+		}
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            not used
+	 * 
+	 * @throws RunnerException
+	 *             if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder().include(DecimalCodecBenchmark.class.getSimpleName()).build()).run();
+	}
+}
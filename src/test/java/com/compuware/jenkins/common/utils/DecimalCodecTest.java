@@ -0,0 +1,152 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Class for testing the packed and zoned decimal codec.
+ */
+@SuppressWarnings("nls")
+public class DecimalCodecTest
+{
+	/**
+	 * Test decoding packed decimal fields, including slices, alternate signs and 10 byte PIC S9(18) fields.
+	 */
+	@Test
+	public void decodePackedTest()
+	{
+		ByteBuffer buffer = bytes(0xFF, 0x12, 0x34, 0x5C, 0x01, 0x2D, 0x7F, 0x7B);
+		assertEquals(12345, DecimalCodec.decodePacked(buffer, 1, 3));
+		assertEquals(-12, DecimalCodec.decodePacked(buffer, 4, 2));
+		assertEquals(7, DecimalCodec.decodePacked(buffer, 6, 1));
+		assertEquals(-7, DecimalCodec.decodePacked(buffer, 7, 1));
+
+		ByteBuffer slice = ((ByteBuffer) buffer.position(4)).slice();
+		assertEquals(-12, DecimalCodec.decodePacked(slice, 0, 2));
+
+		ByteBuffer max = bytes(0x09, 0x99, 0x99, 0x99, 0x99, 0x99, 0x99, 0x99, 0x99, 0x9D);
+		assertEquals(-999999999999999999L, DecimalCodec.decodePacked(max, 0, 10));
+		assertEquals(new BigDecimal("-9999999999999999.99"), DecimalCodec.decodePackedBigDecimal(max, 0, 10, 2));
+
+		assertInvalidPacked(bytes(0x12, 0x34), "Expected a digit sign nibble to be rejected.");
+		assertInvalidPacked(bytes(0x1A, 0x3C), "Expected a digit above 9 to be rejected.");
+		assertInvalidPacked(bytes(0x19, 0x99, 0x99, 0x99, 0x99, 0x99, 0x99, 0x99, 0x99, 0x9C),
+				"Expected a 19 digit value to be rejected.");
+	}
+
+	/**
+	 * Test packed decimal values round trip through the encoder, including the limits of a long and wide fields.
+	 */
+	@Test
+	public void packedRoundTripTest()
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		long[] values = { 0, 1, -1, 123456789, -987654321012345678L, 999999999999999999L };
+		for (long value : values)
+		{
+			DecimalCodec.encodePacked(value, buffer, 3, 10);
+			assertEquals(value, DecimalCodec.decodePacked(buffer, 3, 10));
+		}
+
+		DecimalCodec.encodePacked(-5, buffer, 0, 2);
+		assertEquals(0x00, buffer.get(0));
+		assertEquals(0x5D, buffer.get(1));
+
+		BigDecimal wide = new BigDecimal("-1234567890123456789012345678.901");
+		DecimalCodec.encodePacked(wide, 3, buffer, 0, 16);
+		assertEquals(wide, DecimalCodec.decodePackedBigDecimal(buffer, 0, 16, 3));
+		DecimalCodec.encodePacked(new BigDecimal("12.5"), 2, buffer, 0, 3);
+		assertEquals(new BigDecimal("12.50"), DecimalCodec.decodePackedBigDecimal(buffer, 0, 3, 2));
+
+		try
+		{
+			DecimalCodec.encodePacked(1000, buffer, 0, 2);
+			fail("Expected a value too large for the field to be rejected.");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// expected
+		}
+
+		DecimalCodec.encodePacked(Long.MIN_VALUE, buffer, 0, 10);
+		assertEquals(BigDecimal.valueOf(Long.MIN_VALUE), DecimalCodec.decodePackedBigDecimal(buffer, 0, 10, 0));
+	}
+
+	/**
+	 * Test zoned decimal fields decode, round trip and validate their zones and signs.
+	 */
+	@Test
+	public void zonedTest()
+	{
+		assertEquals(123, DecimalCodec.decodeZoned(bytes(0xF1, 0xF2, 0xC3), 0, 3));
+		assertEquals(-123, DecimalCodec.decodeZoned(bytes(0xF1, 0xF2, 0xD3), 0, 3));
+		assertEquals(123, DecimalCodec.decodeZoned(bytes(0xF1, 0xF2, 0xF3), 0, 3));
+
+		ByteBuffer buffer = ByteBuffer.allocate(20);
+		DecimalCodec.encodeZoned(-42, buffer, 0, 5);
+		assertEquals(-42, DecimalCodec.decodeZoned(buffer, 0, 5));
+		assertEquals((byte) 0xF0, buffer.get(0));
+		assertEquals((byte) 0xD2, buffer.get(4));
+
+		for (int i = 0; i < 20; i++)
+		{
+			buffer.put(i, (byte) 0xF9);
+		}
+		assertEquals(new BigDecimal("999999999999999999.99"), DecimalCodec.decodeZonedBigDecimal(buffer, 0, 20, 2));
+
+		try
+		{
+			DecimalCodec.decodeZoned(bytes(0x41, 0xC3), 0, 2);
+			fail("Expected an invalid zone to be rejected.");
+		}
+		catch (NumberFormatException e)
+		{
+			// expected
+		}
+	}
+
+	private static void assertInvalidPacked(ByteBuffer buffer, String message)
+	{
+		try
+		{
+			DecimalCodec.decodePacked(buffer, 0, buffer.capacity());
+			fail(message);
+		}
+		catch (NumberFormatException e)
+		{
+			// expected
+		}
+	}
+
+	static ByteBuffer bytes(int... values)
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(values.length);
+		for (int value : values)
+		{
+			buffer.put((byte) value);
+		}
+		buffer.flip();
+		return buffer;
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark showing how the parallel code page converter scales with the number of cores.
+ * <p>
+ * Converts a 256 MB buffer of 133-byte listing records with pools of increasing parallelism; a parallelism of 1 is the
+ * sequential baseline. Run with <code>main</code> from the test classpath; it is not part of the unit tests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:MaxDirectMemorySize=1g")
+@State(Scope.Benchmark)
+public class ParallelCodePageConverterBenchmark
+{
+	private static final int RECORD_LENGTH = 133;
+	private static final int INPUT_SIZE = 256 * 1024 * 1024;
+
+	/** The fork/join pool parallelism; JMH requires parameters to be public fields. */
+	@Param({ "1", "2", "4", "8" })
+	public int parallelism;
+
+	private ForkJoinPool m_pool;
+	private ParallelCodePageConverter m_converter;
+	private ByteBuffer m_source;
+	private ByteBuffer m_target;
+
+	/**
+	 * Builds the input and a converter for the configured parallelism.
+	 */
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		m_pool = new ForkJoinPool(parallelism);
+		m_converter = new ParallelCodePageConverter("1047", StandardCharsets.ISO_8859_1, RECORD_LENGTH, m_pool);
+
+		byte[] bytes = new byte[INPUT_SIZE];
+		new Random(42).nextBytes(bytes);
+		m_source = ByteBuffer.allocateDirect(INPUT_SIZE);
+		m_source.put(bytes).flip();
+		m_target = ByteBuffer.allocateDirect((int) m_converter.getOutputSize(INPUT_SIZE));
+	}
+
+	/**
+	 * Shuts the pool down.
+	 */
+	@TearDown(Level.Trial)
+	public void teardown()
+	{
+		m_pool.shutdown();
+	}
+
+	/**
+	 * Converts the whole buffer.
+	 * 
+	 * @return the output buffer
+	 */
+	@Benchmark
+	public ByteBuffer convert()
+	{
+		m_source.rewind();
+		m_target.clear();
+		m_converter.convert(m_source, m_target);
+		return m_target;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            not used
+	 * 
+	 * @throws RunnerException
+	 *             if the benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder().include(ParallelCodePageConverterBenchmark.class.getSimpleName()).build()).run();
+	}
+}
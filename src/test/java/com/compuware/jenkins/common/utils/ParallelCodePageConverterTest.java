@@ -0,0 +1,133 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Class for testing the parallel code page converter.
+ */
+@SuppressWarnings("nls")
+public class ParallelCodePageConverterTest
+{
+	private static final Charset IBM1047 = Charset.forName("IBM1047");
+
+	/**
+	 * Test converting buffers larger than a chunk, with and without records, matches a sequential conversion.
+	 */
+	@Test
+	public void bufferTest()
+	{
+		StringBuilder text = new StringBuilder();
+		StringBuilder lines = new StringBuilder();
+		for (int i = 0; text.length() < 9 * 1024 * 1024; i++)
+		{
+			String record = String.format("%-133s", "LINE " + i);
+			text.append(record);
+			lines.append(record).append('\n');
+		}
+		text.append("END");
+		lines.append("END\n");
+
+		ByteBuffer source = ByteBuffer.allocateDirect(text.length());
+		source.put(text.toString().getBytes(IBM1047)).flip();
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			ParallelCodePageConverter converter = new ParallelCodePageConverter("1047", StandardCharsets.ISO_8859_1, 133, pool);
+			ByteBuffer target = ByteBuffer.allocate((int) converter.getOutputSize(source.remaining()));
+			converter.convert(source, target);
+			assertEquals(0, source.remaining());
+			assertEquals(0, target.remaining());
+			assertEquals(lines.toString(), new String(target.array(), StandardCharsets.ISO_8859_1));
+
+			source.rewind();
+			converter = new ParallelCodePageConverter("1047", StandardCharsets.ISO_8859_1, 0, pool);
+			target = ByteBuffer.allocate(text.length());
+			converter.convert(source, target);
+			assertEquals(text.toString(), new String(target.array(), StandardCharsets.ISO_8859_1));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test converting a file between two code pages.
+	 */
+	@Test
+	public void fileTest() throws IOException
+	{
+		String text = CodePageReaderTest.repeat("[EBCDIC BRACKETS DIFFER]", 400000);
+		Path source = Files.createTempFile("parallel", ".1047");
+		Path target = Files.createTempFile("parallel", ".037");
+		try
+		{
+			Files.write(source, text.getBytes(IBM1047));
+			long size = new ParallelCodePageConverter.ConvertCallable(target.toString(), "1047", "IBM037", 0)
+					.invoke(source.toFile(), null);
+			assertEquals(text.length(), size);
+			assertEquals(text, new String(Files.readAllBytes(target), Charset.forName("IBM037")));
+		}
+		finally
+		{
+			Files.delete(source);
+			Files.delete(target);
+		}
+	}
+
+	/**
+	 * Test multi-byte targets and small output buffers are rejected.
+	 */
+	@Test
+	public void invalidTest()
+	{
+		try
+		{
+			new ParallelCodePageConverter("1047", StandardCharsets.UTF_8, 0);
+			fail("Expected a multi-byte target charset to be rejected.");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// expected
+		}
+
+		try
+		{
+			new ParallelCodePageConverter("1047", StandardCharsets.ISO_8859_1, 80).convert(ByteBuffer.allocate(80),
+					ByteBuffer.allocate(80));
+			fail("Expected an output buffer without room for the newline to be rejected.");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// expected
+		}
+	}
+}
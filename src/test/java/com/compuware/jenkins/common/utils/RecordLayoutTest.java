@@ -0,0 +1,133 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.utils.RecordLayout.Field;
+import com.compuware.jenkins.common.utils.RecordLayout.FieldType;
+
+/**
+ * Class for testing the record layout.
+ */
+@SuppressWarnings("nls")
+public class RecordLayoutTest
+{
+	private static final RecordLayout LAYOUT = new RecordLayout(20, new Field("AMOUNT", FieldType.PACKED, 0, 5, 2),
+			new Field("COUNT", FieldType.ZONED, 5, 4, 0), new Field("ID", FieldType.BINARY, 9, 4, 0));
+
+	/**
+	 * Test decoding a batch of records into unscaled values, limited by the size of the values array.
+	 */
+	@Test
+	public void batchTest()
+	{
+		ByteBuffer records = ByteBuffer.allocate(20 * 3 + 7);
+		for (int r = 0; r < 3; r++)
+		{
+			DecimalCodec.encodePacked(-12345 * (r + 1), records, r * 20, 5);
+			DecimalCodec.encodeZoned(r, records, r * 20 + 5, 4);
+			records.putInt(r * 20 + 9, 1000 + r);
+		}
+
+		long[] values = new long[6];
+		assertEquals(2, LAYOUT.decodeBatch(records, values));
+		assertEquals(40, records.position());
+		assertEquals(-24690, values[3]);
+		assertEquals(1, values[4]);
+		assertEquals(1001, values[5]);
+
+		assertEquals(1, LAYOUT.decodeBatch(records, values));
+		assertEquals(-37035, values[0]);
+		assertEquals(0, LAYOUT.decodeBatch(records, values));
+		assertEquals(2, LAYOUT.indexOf("ID"));
+	}
+
+	/**
+	 * Test decoding a record to scaled values, including a field too wide for a long.
+	 */
+	@Test
+	public void decodeTest()
+	{
+		RecordLayout layout = new RecordLayout(24, new Field("TOTAL", FieldType.PACKED, 0, 12, 4),
+				new Field("RATE", FieldType.ZONED, 12, 4, 3));
+		ByteBuffer record = ByteBuffer.allocate(24);
+		DecimalCodec.encodePacked(new BigDecimal("123456789012345678.9012"), 4, record, 0, 12);
+		DecimalCodec.encodeZoned(1250, record, 12, 4);
+
+		BigDecimal[] values = new BigDecimal[2];
+		layout.decode(record, 0, values);
+		assertEquals(new BigDecimal("123456789012345678.9012"), values[0]);
+		assertEquals(new BigDecimal("1.250"), values[1]);
+
+		try
+		{
+			layout.decodeBatch(record, new long[2]);
+			fail("Expected a batch decode of a field too wide for a long to fail.");
+		}
+		catch (IllegalStateException e)
+		{
+			// expected
+		}
+
+		try
+		{
+			new RecordLayout(10, new Field("LATE", FieldType.ZONED, 8, 4, 0));
+			fail("Expected a field beyond the record to be rejected.");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// expected
+		}
+
+		try
+		{
+			new RecordLayout(0);
+			fail("Expected an empty record to be rejected.");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test binary fields are read big-endian from a little-endian buffer.
+	 */
+	@Test
+	public void byteOrderTest()
+	{
+		RecordLayout layout = new RecordLayout(14, new Field("SHORT", FieldType.BINARY, 0, 2, 0),
+				new Field("INT", FieldType.BINARY, 2, 4, 0), new Field("LONG", FieldType.BINARY, 6, 8, 0));
+		ByteBuffer record = ByteBuffer.allocate(14);
+		record.putShort((short) -2).putInt(1000).putLong(-123456789012L).flip();
+		record.order(ByteOrder.LITTLE_ENDIAN);
+
+		long[] values = new long[3];
+		assertEquals(1, layout.decodeBatch(record, values));
+		assertEquals(-2, values[0]);
+		assertEquals(1000, values[1]);
+		assertEquals(-123456789012L, values[2]);
+	}
+}
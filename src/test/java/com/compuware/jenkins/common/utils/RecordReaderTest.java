@@ -0,0 +1,193 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.common.utils.RecordReader.RecordFormat;
+
+/**
+ * Class for testing the record reader.
+ */
+@SuppressWarnings("nls")
+public class RecordReaderTest
+{
+	private static final Charset IBM037 = Charset.forName("IBM037");
+
+	/**
+	 * Test reading fixed-length records, including a short last record, as bytes and as text.
+	 */
+	@Test
+	public void fixedTest() throws IOException
+	{
+		byte[] data = "RECORD01RECORD02REC".getBytes(IBM037);
+		try (RecordReader reader = new RecordReader(new ByteArrayInputStream(data), RecordFormat.FB, 8))
+		{
+			ByteBuffer record = reader.next();
+			assertEquals(8, record.remaining());
+			assertEquals(IBM037.encode("R").get(0), record.get(record.position()));
+			assertEquals(8, reader.next().remaining());
+			assertEquals(3, reader.next().remaining());
+			assertNull(reader.next());
+			assertEquals(3, reader.getRecordCount());
+		}
+
+		try (RecordReader reader = new RecordReader(Channels.newChannel(new ByteArrayInputStream(data)), RecordFormat.F, 8,
+				"037"))
+		{
+			assertEquals("RECORD01", reader.nextText().toString());
+			assertEquals("RECORD02", reader.nextText().toString());
+			assertEquals("REC", reader.nextText().toString());
+			assertNull(reader.nextText());
+		}
+	}
+
+	/**
+	 * Test reading variable-length records, unblocked and blocked, across many buffer refills.
+	 */
+	@Test
+	public void variableTest() throws IOException
+	{
+		ByteArrayOutputStream v = new ByteArrayOutputStream();
+		ByteArrayOutputStream vb = new ByteArrayOutputStream();
+		ByteArrayOutputStream block = new ByteArrayOutputStream();
+		for (int i = 0; i < 20000; i++)
+		{
+			byte[] record = rdw(("LINE " + i).getBytes(IBM037));
+			v.write(record);
+			block.write(record);
+			if (i % 100 == 99)
+			{
+				vb.write(bdw(block.toByteArray(), i % 200 == 199));
+				block.reset();
+			}
+		}
+
+		for (RecordFormat format : new RecordFormat[] { RecordFormat.V, RecordFormat.VB })
+		{
+			byte[] data = format == RecordFormat.V ? v.toByteArray() : vb.toByteArray();
+			try (RecordReader reader = new RecordReader(Channels.newChannel(new TrickleInputStream(data)), format, 0, "037"))
+			{
+				for (int i = 0; i < 20000; i++)
+				{
+					assertEquals("LINE " + i, reader.nextText().toString());
+				}
+				assertNull(reader.next());
+			}
+		}
+	}
+
+	/**
+	 * Test invalid and truncated descriptors are reported.
+	 */
+	@Test
+	public void invalidTest() throws IOException
+	{
+		assertInvalid(new byte[] { 0, 2, 0, 0 }, RecordFormat.V, IOException.class);
+		assertInvalid(new byte[] { 0, 9, 0, 0, 1 }, RecordFormat.V, EOFException.class);
+		assertInvalid(bdw(rdw(new byte[10]), false), RecordFormat.VB, null);
+		assertInvalid(new byte[] { 0, 8, 0, 0, 0, 9, 0, 0 }, RecordFormat.VB, IOException.class);
+	}
+
+	private static void assertInvalid(byte[] data, RecordFormat format, Class<? extends IOException> expected)
+			throws IOException
+	{
+		try (RecordReader reader = new RecordReader(new ByteArrayInputStream(data), format, 0))
+		{
+			while (reader.next() != null)
+			{
+				// read everything
+			}
+
+			if (expected != null)
+			{
+				fail("Expected " + expected.getSimpleName());
+			}
+		}
+		catch (IOException e)
+		{
+			assertEquals(expected, e.getClass());
+		}
+	}
+
+	private static byte[] rdw(byte[] data)
+	{
+		return ByteBuffer.allocate(data.length + 4).putShort((short) (data.length + 4)).putShort((short) 0).put(data).array();
+	}
+
+	private static byte[] bdw(byte[] data, boolean extended)
+	{
+		ByteBuffer block = ByteBuffer.allocate(data.length + 4);
+		if (extended)
+		{
+			block.putInt(0x80000000 | (data.length + 4));
+		}
+		else
+		{
+			block.putShort((short) (data.length + 4)).putShort((short) 0);
+		}
+
+		return block.put(data).array();
+	}
+
+	/**
+	 * Input stream that returns at most a few bytes per read.
+	 */
+	private static final class TrickleInputStream extends InputStream
+	{
+		private final byte[] m_bytes;
+		private int m_position;
+
+		private TrickleInputStream(byte[] bytes)
+		{
+			m_bytes = bytes;
+		}
+
+		@Override
+		public int read()
+		{
+			return m_position < m_bytes.length ? m_bytes[m_position++] & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len)
+		{
+			if (m_position == m_bytes.length)
+			{
+				return -1;
+			}
+
+			int n = Math.min(Math.min(len, 7), m_bytes.length - m_position);
+			System.arraycopy(m_bytes, m_position, b, off, n);
+			m_position += n;
+			return n;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+#!/bin/sh
+# Stand-in for a Topaz CLI daemon, used to test the daemon protocol.
+# Every argument of a command is written back as output, and "fail" makes the command exit with 3. The last output line of
+# a command names the process and the number of commands it has run, so tests can tell daemons apart.
+echo "Starting the stand-in CLI daemon"
+echo READY
+runs=0
+while IFS= read -r line
+do
+	case "$line" in
+		RUN)
+			code=0
+			;;
+		"CWD "*)
+			printf '%s\n' "OUT cwd ${line#CWD }"
+			;;
+		"ARG fail")
+			code=3
+			printf '%s\n' "ERR failing"
+			;;
+		"ARG "*)
+			printf '%s\n' "OUT ${line#ARG }"
+			;;
+		END)
+			runs=$((runs + 1))
+			printf '%s\n' "OUT daemon $$ run $runs"
+			printf '%s\n' "EXIT $code"
+			;;
+		QUIT)
+			exit 0
+			;;
+	esac
+done